@@ -0,0 +1,242 @@
+package org.ga4gh.ctk.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Realistic response payloads, built from the compliance data the test servers load
+ * (<tt>test-data/</tt>), so the benchmarks parse what the tests actually receive.</p>
+ * <p>The data dir is <tt>test-data</tt> or <tt>../test-data</tt>, whichever exists, or the
+ * <tt>ctk.benchmarks.testdata</tt> System property.</p>
+ */
+final class Payloads {
+
+    private static final Pattern CIGAR_UNIT = Pattern.compile("(\\d+)([MIDNSHP=X])");
+
+    private Payloads() {
+    }
+
+    /**
+     * Build the JSON of a <tt>SearchReadsResponse</tt> holding the first alignments of the
+     * compliance data's HG00096 reads.
+     *
+     * @param count   how many alignments
+     * @param message an empty builder of the response message, to check the JSON against
+     * @return the JSON, as a server would print it
+     * @throws IOException if the data can't be read
+     */
+    static String readsResponse(int count, Message.Builder message) throws IOException {
+        JsonArray alignments = new JsonArray();
+        String readGroupId = id("brca1", "HG00096", "SRR062634");
+        for (String line : lines("brca1_HG00096.sam", count, '@')) {
+            String[] sam = line.split("\t");
+            int flag = Integer.parseInt(sam[1]);
+            JsonObject read = new JsonObject();
+            read.addProperty("id", id("brca1", "HG00096", sam[0], sam[1]));
+            read.addProperty("readGroupId", readGroupId);
+            read.addProperty("fragmentName", sam[0]);
+            read.addProperty("improperPlacement", (flag & 0x2) == 0);
+            read.addProperty("duplicateFragment", (flag & 0x400) != 0);
+            read.addProperty("numberReads", (flag & 0x1) != 0 ? 2 : 1);
+            read.addProperty("fragmentLength", Integer.parseInt(sam[8]));
+            read.addProperty("readNumber", (flag & 0x80) != 0 ? 1 : 0);
+            read.addProperty("failedVendorQualityChecks", (flag & 0x200) != 0);
+            JsonObject alignment = new JsonObject();
+            alignment.add("position", position(sam[2], Long.parseLong(sam[3]) - 1, (flag & 0x10) != 0));
+            alignment.addProperty("mappingQuality", Integer.parseInt(sam[4]));
+            alignment.add("cigar", cigar(sam[5]));
+            read.add("alignment", alignment);
+            read.addProperty("secondaryAlignment", (flag & 0x100) != 0);
+            read.addProperty("supplementaryAlignment", (flag & 0x800) != 0);
+            read.addProperty("alignedSequence", sam[9]);
+            JsonArray quality = new JsonArray();
+            for (char q : sam[10].toCharArray()) {
+                quality.add(new JsonPrimitive(q - 33));
+            }
+            read.add("alignedQuality", quality);
+            if (!"*".equals(sam[6])) {
+                read.add("nextMatePosition", position("=".equals(sam[6]) ? sam[2] : sam[6],
+                                                      Long.parseLong(sam[7]) - 1, (flag & 0x20) != 0));
+            }
+            alignments.add(read);
+        }
+        JsonObject response = new JsonObject();
+        response.add("alignments", alignments);
+        response.addProperty("nextPageToken", "1");
+        return canonical(response, message);
+    }
+
+    /**
+     * Build the JSON of a <tt>SearchVariantsResponse</tt> holding the first variants of the
+     * compliance data's 1000 Genomes calls, with the calls of all three samples.
+     *
+     * @param count   how many variants
+     * @param message an empty builder of the response message, to check the JSON against
+     * @return the JSON, as a server would print it
+     * @throws IOException if the data can't be read
+     */
+    static String variantsResponse(int count, Message.Builder message) throws IOException {
+        String[] samples = {"HG00096", "HG00099", "HG00101"};
+        String variantSetId = id("brca1", "1kgPhase3");
+        JsonArray variants = new JsonArray();
+        for (String line : lines("brca1_1kgPhase3_variants.vcf", count, '#')) {
+            String[] vcf = line.split("\t");
+            long start = Long.parseLong(vcf[1]) - 1;
+            JsonObject variant = new JsonObject();
+            variant.addProperty("id", id("brca1", "1kgPhase3", vcf[0], Long.toString(start), vcf[3]));
+            variant.addProperty("variantSetId", variantSetId);
+            JsonArray names = new JsonArray();
+            names.add(new JsonPrimitive(vcf[2]));
+            variant.add("names", names);
+            variant.addProperty("referenceName", vcf[0]);
+            variant.addProperty("start", start);
+            variant.addProperty("end", start + vcf[3].length());
+            variant.addProperty("referenceBases", vcf[3]);
+            JsonArray alternates = new JsonArray();
+            for (String alt : vcf[4].split(",")) {
+                alternates.add(new JsonPrimitive(alt));
+            }
+            variant.add("alternateBases", alternates);
+            JsonObject attr = new JsonObject();
+            for (String info : vcf[7].split(";")) {
+                int eq = info.indexOf('=');
+                JsonObject value = new JsonObject();
+                value.addProperty("stringValue", eq < 0 ? "" : info.substring(eq + 1));
+                JsonArray values = new JsonArray();
+                values.add(value);
+                JsonObject list = new JsonObject();
+                list.add("values", values);
+                attr.add(eq < 0 ? info : info.substring(0, eq), list);
+            }
+            JsonObject attributes = new JsonObject();
+            attributes.add("attr", attr);
+            variant.add("attributes", attributes);
+            JsonArray calls = new JsonArray();
+            for (int i = 0; i < samples.length && 9 + i < vcf.length; i++) {
+                String gt = vcf[9 + i];
+                JsonObject call = new JsonObject();
+                call.addProperty("callSetName", samples[i]);
+                call.addProperty("callSetId", id("brca1", "1kgPhase3", samples[i]));
+                JsonArray genotype = new JsonArray();
+                for (String allele : gt.split("[|/]")) {
+                    genotype.add(new JsonPrimitive(".".equals(allele) ? -1 : Integer.parseInt(allele)));
+                }
+                call.add("genotype", genotype);
+                if (gt.contains("|")) {
+                    call.addProperty("phaseset", "*");
+                }
+                calls.add(call);
+            }
+            variant.add("calls", calls);
+            variants.add(variant);
+        }
+        JsonObject response = new JsonObject();
+        response.add("variants", variants);
+        response.addProperty("nextPageToken", "1");
+        return canonical(response, message);
+    }
+
+    /**
+     * Parse the JSON into the message and print it again, so the payload is exactly what
+     * {@link JsonFormat} would print, and fails here rather than in the benchmark if it
+     * doesn't fit the schema.
+     */
+    private static String canonical(JsonObject json, Message.Builder message) throws InvalidProtocolBufferException {
+        JsonFormat.parser().merge(json.toString(), message);
+        return JsonFormat.printer().print(message);
+    }
+
+    private static JsonObject position(String referenceName, long position, boolean reverse) {
+        JsonObject json = new JsonObject();
+        json.addProperty("referenceName", referenceName);
+        json.addProperty("position", position);
+        json.addProperty("strand", reverse ? "NEG_STRAND" : "POS_STRAND");
+        return json;
+    }
+
+    private static JsonArray cigar(String cigar) {
+        JsonArray units = new JsonArray();
+        Matcher unit = CIGAR_UNIT.matcher(cigar);
+        while (unit.find()) {
+            JsonObject json = new JsonObject();
+            json.addProperty("operation", operation(unit.group(2).charAt(0)));
+            json.addProperty("operationLength", Long.parseLong(unit.group(1)));
+            units.add(json);
+        }
+        return units;
+    }
+
+    private static String operation(char op) {
+        switch (op) {
+            case 'M': return "ALIGNMENT_MATCH";
+            case 'I': return "INSERT";
+            case 'D': return "DELETE";
+            case 'N': return "SKIP";
+            case 'S': return "CLIP_SOFT";
+            case 'H': return "CLIP_HARD";
+            case 'P': return "PAD";
+            case '=': return "SEQUENCE_MATCH";
+            default: return "SEQUENCE_MISMATCH";
+        }
+    }
+
+    /**
+     * Make an ID the way the reference server does, as base64 of a JSON array of names.
+     */
+    private static String id(String... names) {
+        JsonArray json = new JsonArray();
+        for (String name : names) {
+            json.add(new JsonPrimitive(name));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                     .encodeToString(json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read the first records of a data file, cycling through it again if it's too short.
+     */
+    private static List<String> lines(String name, int count, char headerStart) throws IOException {
+        List<String> records = new ArrayList<>();
+        for (String line : Files.readAllLines(dataDir().resolve(name), StandardCharsets.UTF_8)) {
+            if (!line.isEmpty() && line.charAt(0) != headerStart) {
+                records.add(line);
+            }
+        }
+        if (records.isEmpty()) {
+            throw new IOException("no records in " + name);
+        }
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(records.get(i % records.size()));
+        }
+        return lines;
+    }
+
+    private static Path dataDir() throws IOException {
+        String configured = System.getProperty("ctk.benchmarks.testdata");
+        if (configured != null) {
+            return Paths.get(configured);
+        }
+        for (String dir : new String[]{"test-data", "../test-data"}) {
+            if (Files.isDirectory(Paths.get(dir))) {
+                return Paths.get(dir);
+            }
+        }
+        throw new IOException("can't find the test-data dir; set -Dctk.benchmarks.testdata=<dir>");
+    }
+}
@@ -0,0 +1,77 @@
+package org.ga4gh.ctk.benchmarks;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.util.JsonFormat;
+import ga4gh.ReadServiceOuterClass.SearchReadsRequest;
+import ga4gh.VariantServiceOuterClass.SearchVariantsRequest;
+import org.ga4gh.ctk.transport.protobuf.JsonCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Printing typical search requests as JSON, as {@link org.ga4gh.ctk.transport.protobuf.Post}
+ * does for every JSON request it sends, with {@link JsonFormat} and with the {@link JsonCodec}
+ * that replaced it there. Both print the same JSON.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestJsonBenchmark {
+
+    private final JsonCodec readsCodec = JsonCodec.of(SearchReadsRequest.getDescriptor());
+
+    private final JsonCodec variantsCodec = JsonCodec.of(SearchVariantsRequest.getDescriptor());
+
+    private final SearchReadsRequest reads = SearchReadsRequest.newBuilder()
+            .setReferenceId("WyJoZzM3IiwiMSJd")
+            .addAllReadGroupIds(Arrays.asList("WyJicmNhMSIsInJncyIsIkhHMDAwOTYiLCJTUlIwNjI2MzQiXQ",
+                                              "WyJicmNhMSIsInJncyIsIkhHMDAwOTkiLCJTUlIwNjI2NzAiXQ"))
+            .setStart(41196311)
+            .setEnd(41277499)
+            .setPageSize(100)
+            .setPageToken("3")
+            .build();
+
+    private final SearchVariantsRequest variants = SearchVariantsRequest.newBuilder()
+            .setVariantSetId("WyJicmNhMSIsInZzIiwiMWtnUGhhc2UzIl0")
+            .addAllCallSetIds(Arrays.asList("WyJicmNhMSIsInZzIiwiMWtnUGhhc2UzIiwiSEcwMDA5NiJd",
+                                            "WyJicmNhMSIsInZzIiwiMWtnUGhhc2UzIiwiSEcwMDA5OSJd"))
+            .setReferenceName("1")
+            .setStart(41196311)
+            .setEnd(41277499)
+            .setPageSize(100)
+            .build();
+
+    @Benchmark
+    public String printSearchReadsRequest() throws InvalidProtocolBufferException {
+        return JsonFormat.printer().print(reads);
+    }
+
+    @Benchmark
+    public String printSearchVariantsRequest() throws InvalidProtocolBufferException {
+        return JsonFormat.printer().print(variants);
+    }
+
+    @Benchmark
+    public String printSearchReadsRequestWithCodec() throws InvalidProtocolBufferException {
+        return readsCodec.print(reads);
+    }
+
+    @Benchmark
+    public String printSearchVariantsRequestWithCodec() throws InvalidProtocolBufferException {
+        return variantsCodec.print(variants);
+    }
+}
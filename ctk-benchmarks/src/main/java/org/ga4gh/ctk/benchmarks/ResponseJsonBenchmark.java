@@ -0,0 +1,116 @@
+package org.ga4gh.ctk.benchmarks;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.util.JsonFormat;
+import ga4gh.ReadServiceOuterClass.SearchReadsResponse;
+import ga4gh.VariantServiceOuterClass.SearchVariantsResponse;
+import org.ga4gh.ctk.transport.protobuf.JsonCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Parsing search responses from JSON, as {@link org.ga4gh.ctk.transport.protobuf.Base}
+ * does for every JSON response it receives, and printing them, as it does to record binary
+ * responses. Each is measured with {@link JsonFormat} and with the {@link JsonCodec} that
+ * replaced it there. The payloads are pages of the compliance data's reads and variants,
+ * see {@link Payloads}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseJsonBenchmark {
+
+    /**
+     * The number of alignments or variants in the page.
+     */
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private String reads;
+
+    private String variants;
+
+    private SearchReadsResponse readsMessage;
+
+    private SearchVariantsResponse variantsMessage;
+
+    private final JsonCodec readsCodec = JsonCodec.of(SearchReadsResponse.getDescriptor());
+
+    private final JsonCodec variantsCodec = JsonCodec.of(SearchVariantsResponse.getDescriptor());
+
+    @Setup
+    public void setup() throws IOException {
+        SearchReadsResponse.Builder readsBuilder = SearchReadsResponse.newBuilder();
+        reads = Payloads.readsResponse(pageSize, readsBuilder);
+        readsMessage = readsBuilder.build();
+        SearchVariantsResponse.Builder variantsBuilder = SearchVariantsResponse.newBuilder();
+        variants = Payloads.variantsResponse(pageSize, variantsBuilder);
+        variantsMessage = variantsBuilder.build();
+        if (!reads.equals(readsCodec.print(readsMessage)) || !variants.equals(variantsCodec.print(variantsMessage))) {
+            throw new IllegalStateException("JsonCodec doesn't print what JsonFormat prints");
+        }
+    }
+
+    @Benchmark
+    public SearchReadsResponse.Builder parseSearchReadsResponse() throws InvalidProtocolBufferException {
+        SearchReadsResponse.Builder response = SearchReadsResponse.newBuilder();
+        JsonFormat.parser().merge(reads, response);
+        return response;
+    }
+
+    @Benchmark
+    public SearchVariantsResponse.Builder parseSearchVariantsResponse() throws InvalidProtocolBufferException {
+        SearchVariantsResponse.Builder response = SearchVariantsResponse.newBuilder();
+        JsonFormat.parser().merge(variants, response);
+        return response;
+    }
+
+    @Benchmark
+    public SearchReadsResponse.Builder parseSearchReadsResponseWithCodec() throws InvalidProtocolBufferException {
+        SearchReadsResponse.Builder response = SearchReadsResponse.newBuilder();
+        readsCodec.merge(reads, response);
+        return response;
+    }
+
+    @Benchmark
+    public SearchVariantsResponse.Builder parseSearchVariantsResponseWithCodec() throws InvalidProtocolBufferException {
+        SearchVariantsResponse.Builder response = SearchVariantsResponse.newBuilder();
+        variantsCodec.merge(variants, response);
+        return response;
+    }
+
+    @Benchmark
+    public String printSearchReadsResponse() throws InvalidProtocolBufferException {
+        return JsonFormat.printer().print(readsMessage);
+    }
+
+    @Benchmark
+    public String printSearchVariantsResponse() throws InvalidProtocolBufferException {
+        return JsonFormat.printer().print(variantsMessage);
+    }
+
+    @Benchmark
+    public String printSearchReadsResponseWithCodec() throws InvalidProtocolBufferException {
+        return readsCodec.print(readsMessage);
+    }
+
+    @Benchmark
+    public String printSearchVariantsResponseWithCodec() throws InvalidProtocolBufferException {
+        return variantsCodec.print(variantsMessage);
+    }
+}
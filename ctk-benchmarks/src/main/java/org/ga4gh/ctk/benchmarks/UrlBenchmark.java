@@ -0,0 +1,123 @@
+package org.ga4gh.ctk.benchmarks;
+
+import org.ga4gh.ctk.transport.FragmentEncoder;
+import org.ga4gh.ctk.transport.PercentEncoder;
+import org.ga4gh.ctk.transport.RouteTable;
+import org.ga4gh.ctk.transport.TransportUtils;
+import org.ga4gh.ctk.transport.URL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>The URL work done for every request: merging the url root with the endpoint's path
+ * (which {@link RouteTable} does once per endpoint, instead of {@link TransportUtils#makeUrl}
+ * per request), parsing and printing {@link URL}s, and encoding IDs into path segments.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlBenchmark {
+
+    private static final String ROOT = "http://localhost:8000/";
+
+    private static final String ROOT_WITH_PATH_AND_QUERY = "https://ga4gh.example.org:8443/ga4gh/v0.6?key=abc&x=1";
+
+    private static final String PATH = "reads/search";
+
+    private static final String GET_PATH = "readgroupsets/{id}";
+
+    /**
+     * A typical ID, base64 of a JSON array of names, as the reference server makes them.
+     */
+    private static final String ID = "WyJicmNhMSIsInJncyIsIkhHMDAwOTYiLCJTUlIwNjI2MzQiXQ";
+
+    /**
+     * An ID with characters that have to be escaped.
+     */
+    private static final String AWKWARD_ID = "brca1:HG00096/SRR062634 [phase 3]";
+
+    private URL parsed;
+
+    private final StringBuilder buffer = new StringBuilder(128);
+
+    @Setup
+    public void setup() {
+        parsed = new URL(ROOT_WITH_PATH_AND_QUERY);
+    }
+
+    @Benchmark
+    public String makeUrl() {
+        return TransportUtils.makeUrl(ROOT, PATH);
+    }
+
+    @Benchmark
+    public String makeUrlWithPathAndQuery() {
+        return TransportUtils.makeUrl(ROOT_WITH_PATH_AND_QUERY, GET_PATH);
+    }
+
+    @Benchmark
+    public String routeUrl() {
+        return RouteTable.route(ROOT, PATH).getTemplate();
+    }
+
+    @Benchmark
+    public String routeUrlWithId() {
+        return RouteTable.route(ROOT_WITH_PATH_AND_QUERY, GET_PATH).expand(ID);
+    }
+
+    @Benchmark
+    public URL parseUrl() {
+        return new URL(ROOT_WITH_PATH_AND_QUERY);
+    }
+
+    @Benchmark
+    public String printUrl() {
+        return parsed.toString();
+    }
+
+    @Benchmark
+    public String encodeId() throws UnsupportedEncodingException {
+        return FragmentEncoder.encode(ID, "UTF-8");
+    }
+
+    @Benchmark
+    public String encodeAwkwardId() throws UnsupportedEncodingException {
+        return FragmentEncoder.encode(AWKWARD_ID, "UTF-8");
+    }
+
+    @Benchmark
+    public String encodeAwkwardIdWithUrlEncoder() throws UnsupportedEncodingException {
+        return URLEncoder.encode(AWKWARD_ID, "UTF-8").replace("+", "%20");
+    }
+
+    @Benchmark
+    public String encodeAwkwardIdAsPathSegment() {
+        return PercentEncoder.PATH_SEGMENT.encode(AWKWARD_ID);
+    }
+
+    @Benchmark
+    public int encodeAwkwardIdIntoBuffer() {
+        buffer.setLength(0);
+        return PercentEncoder.PATH_SEGMENT.encode(AWKWARD_ID, buffer).length();
+    }
+
+    @Benchmark
+    public String routeUrlWithAwkwardId() {
+        return RouteTable.route(ROOT_WITH_PATH_AND_QUERY, GET_PATH).expand(AWKWARD_ID, PercentEncoder.PATH_SEGMENT);
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * <p>JMH microbenchmarks of the work the CTK client does for every request, apart from the
+ * network: building URLs, printing requests and parsing responses.</p>
+ *
+ * <p>The load generator measures a server; these measure the client, so that a change that
+ * makes the client slower shows up here before it skews the load runs. Build the module and
+ * run, from the repository root (the response payloads are read from <tt>test-data/</tt>),</p>
+ * <pre>
+ *     java -jar ctk-benchmarks/target/ctk-benchmarks-*-jar-with-dependencies.jar
+ * </pre>
+ * <p>followed by any JMH options, e.g. a benchmark name pattern such as <tt>ResponseJson</tt>,
+ * or <tt>-rf json -rff before.json</tt> to keep the results for comparison.</p>
+ */
+package org.ga4gh.ctk.benchmarks;
@@ -67,6 +67,12 @@ public class Application implements CtkLogs,CommandLineRunner {
         log.debug("Application launched from " + location.getFile());
         log.debug("command line args: " + Arrays.toString(args));
 
-        testrunner.doTestRun(); // does a single run
+        if (props.ctk_matrix != null && !props.ctk_matrix.isEmpty()) {
+            // several targets at once
+            // wait for the summary, which is written in the background
+            testrunner.doMatrixRun(MatrixTarget.parseList(props.ctk_matrix, props.ctk_tgt_dataset_id)).join();
+        } else {
+            testrunner.doTestRun(); // does a single run
+        }
     }
 }
\ No newline at end of file
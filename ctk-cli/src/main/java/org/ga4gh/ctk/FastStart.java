@@ -0,0 +1,56 @@
+package org.ga4gh.ctk;
+
+import org.ga4gh.ctk.config.Props;
+import org.ga4gh.ctk.config.PropsResolver;
+
+import java.io.File;
+
+/**
+ * <p>A lean entry point for a single test run, for when JVM startup is most of the cost
+ * (a health probe running a handful of tests, say).</p>
+ * <p>It does what {@link Application} does for a single run, without starting Spring or Ant:
+ * the {@link Props} are resolved directly by a {@link PropsResolver}, from the same command line
+ * arguments, properties and environment, and the test classes are loaded straight out of the
+ * test jar and run in-process by a {@link ParallelTestExecutor}. The run leaves the same
+ * <tt>TEST-*.xml</tt> results, traffic stats, results-store record and "Overall" summary; the
+ * HTML report, which needs Ant, isn't built.</p>
+ * <p>The exit status is 0 if every test passed, 1 if any failed or had an error, and 2 if the
+ * tests couldn't be run. A matrix run (<tt>ctk.matrix</tt>) is handed over to {@link Application}.</p>
+ * <p>The <tt>ctk-fast</tt> script runs this class from a plain classpath, rather than through the
+ * executable jar's launcher, so the JVM can also load its classes from an AppCDS archive.</p>
+ */
+public final class FastStart {
+
+    private FastStart() {
+    }
+
+    public static void main(String[] args) {
+        PropsResolver resolver = PropsResolver.fromArgs(args);
+        // the loggers aren't made until the logging config is chosen, as Spring would choose it
+        String loggingConfig = resolver.get("logging.config");
+        if (loggingConfig != null && System.getProperty("log4j.configurationFile") == null
+                && new File(loggingConfig).isFile()) {
+            System.setProperty("log4j.configurationFile", loggingConfig);
+        }
+
+        Props props = resolver.toProps();
+        if (props.ctk_matrix != null && !props.ctk_matrix.isEmpty()) {
+            CtkLogs.log.info("a matrix run needs the full launcher, starting it");
+            Application.main(args);
+            return;
+        }
+        props.ctk_runner = "parallel";
+        props.ctk_report_html = false;
+
+        ParallelTestExecutor executor = new ParallelTestExecutor();
+        executor.setProps(props);
+        TestRunner runner = new TestRunner();
+        runner.setProps(props);
+        runner.setParallelTestExecutor(executor);
+        runner.setUrlroot(resolver.resolve("${ctk.tgt.urlRoot}"));
+
+        String results = runner.doTestRun().join();
+        TestTotals totals = runner.getTotals();
+        System.exit(results.isEmpty() ? 2 : totals.getFailureCount() + totals.getErrorCount() > 0 ? 1 : 0);
+    }
+}
@@ -3,28 +3,36 @@ package org.ga4gh.ctk;
 import java.io.*;
 import java.net.*;
 import java.nio.file.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * <p>Test result location and persistence support.</p>
+ * <p>Run numbers are handed out per results dir from an in-memory counter; the dir is only
+ * listed once, the first time it's used in this process, to find where to start. Creating
+ * the numbered directory is what claims a number, so two processes sharing a testresults
+ * dir still never get the same one.</p>
  * Created by Wayne Stidolph on 7/20/2015.
  */
 public class ResultsSupport implements CtkLogs{
 
+    private static final String RESULTS_BASE = "testresults/"; // TODO move to property
+
+    // the last run number handed out in each results dir
+    private static final ConcurrentMap<Path, AtomicInteger> lastRun = new ConcurrentHashMap<>();
+
     /**
      * <p>Get results dir.</p>
      * <p>Results fo in a directory named after the target server,
      * and each result goes in its own directory. The result directory is
      * just named with an integer, so we have, for example,
-     * testresults/192.168.2.214_8000/1, testresults/192.168.2.214:8000/2, ...</p>
+     * testresults/192.168.2.214_8000/00001, testresults/192.168.2.214_8000/00002, ...</p>
      *
      * @param urlRoot the target server's url root
      * @return the string name for the just-created target directory
      */
-     public synchronized static String getResultsDir(String urlRoot) {
-        // we could cut down the synchronized size a lot, or even
-        // do a temp dir and just rebame it when done, but no need yet
-        String resultsbase = "testresults/"; // TODO move to property
-        File resultDir = null;
+    public static String getResultsDir(String urlRoot) {
         URL tgt;
         try {
             tgt = new URL(urlRoot);
@@ -32,8 +40,51 @@ public class ResultsSupport implements CtkLogs{
             log.warn("Malformed urlRoot " + urlRoot);
             return "";
         }
+        return nextResultsDir(Paths.get(RESULTS_BASE + tgt.getAuthority().replace(":", "_")));
+    }
+
+    /**
+     * <p>Get a results dir for the combined summary of a matrix run; these are numbered
+     * like the per-target dirs, under testresults/matrix.</p>
+     *
+     * @return the string name for the just-created directory
+     */
+    public static String getMatrixResultsDir() {
+        return nextResultsDir(Paths.get(RESULTS_BASE + "matrix"));
+    }
+
+    /**
+     * @return the directory all the results go under
+     */
+    public static Path getResultsBase() {
+        return Paths.get(RESULTS_BASE);
+    }
+
+    private static String nextResultsDir(Path dir) {
+        AtomicInteger counter = lastRun.computeIfAbsent(dir, d -> new AtomicInteger(highestRun(d)));
+        try {
+            Files.createDirectories(dir);
+            while (true) {
+                String tgtdir = dir.toString() + "/" + String.format("%05d", counter.incrementAndGet()) + "/";
+                try {
+                    Files.createDirectory(Paths.get(tgtdir));
+                    log.debug("calculated test results dir of " + tgtdir);
+                    return tgtdir;
+                } catch (FileAlreadyExistsException e) {
+                    // taken by another process sharing this dir; try the next
+                }
+            }
+        } catch (IOException e) {
+            log.warn("getResultsDir for Path " + dir.toString() + " got IOException ", e);
+            return "";
+        }
+    }
+
+    /**
+     * @return the highest run number already in the dir, 0 if none (or no dir)
+     */
+    private static int highestRun(Path dir) {
         int maxseen = 0;
-        Path dir = Paths.get(resultsbase + tgt.getAuthority().replace(":", "_"));
         if (dir.toFile().exists()) {
             // if it doesn't exist then
             // we haven't seen this target, so maxseen is fine at zero
@@ -52,10 +103,6 @@ public class ResultsSupport implements CtkLogs{
                 log.warn("getResultsDir for Path " + dir.toString() + " got IOException ", e);
             }
         }
-        String paddedMax = String.format("%05d", maxseen + 1);
-        String tgtdir = dir.toString() + "/" + paddedMax + "/";
-        new File(tgtdir).mkdir();
-        log.debug("calculated test results dir of " + tgtdir);
-        return tgtdir;
+        return maxseen;
     }
 }
@@ -0,0 +1,105 @@
+package org.ga4gh.ctk.load;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * <p>An immutable summary of the calls made to one endpoint during a load run.</p>
+ * <p>Latencies are in milliseconds.</p>
+ */
+public class EndpointStats {
+
+    private final String endpoint;
+
+    private final long count;
+
+    private final long errors;
+
+    private final double throughput;
+
+    private final double mean;
+
+    private final double p50;
+
+    private final double p90;
+
+    private final double p99;
+
+    private final double p999;
+
+    private final double max;
+
+    EndpointStats(String endpoint, Histogram micros, long errors, long elapsedNanos) {
+        this.endpoint = endpoint;
+        this.count = micros.getTotalCount();
+        this.errors = errors;
+        this.throughput = elapsedNanos <= 0 ? 0.0 : count * 1e9 / elapsedNanos;
+        this.mean = count == 0 ? 0.0 : micros.getMean() / 1000.0;
+        this.p50 = millis(micros, 50.0);
+        this.p90 = millis(micros, 90.0);
+        this.p99 = millis(micros, 99.0);
+        this.p999 = millis(micros, 99.9);
+        this.max = micros.getMaxValue() / 1000.0;
+    }
+
+    private static double millis(Histogram micros, double percentile) {
+        return micros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * @return the endpoint name the calls were recorded under
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return the number of successful calls
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the number of calls that threw
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return successful calls per second
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP90() {
+        return p90;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public double getP999() {
+        return p999;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                endpoint, count, errors, throughput, mean, p50, p90, p99, p999, max);
+    }
+}
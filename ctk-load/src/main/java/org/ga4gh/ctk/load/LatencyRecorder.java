@@ -0,0 +1,77 @@
+package org.ga4gh.ctk.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Times calls and keeps a latency histogram and error count per endpoint.</p>
+ * <p>Latencies are recorded in microseconds into an HdrHistogram with three significant
+ * digits, so percentiles are accurate to 0.1% however many samples there are, in constant
+ * memory. Recording is lock-free and safe from any number of threads.</p>
+ */
+public class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Make the call, recording how long it took under the endpoint name. A call that throws
+     * counts as an error for the endpoint and its latency is not recorded.
+     *
+     * @param endpoint the name to report the call under, e.g. <tt>searchReads</tt>
+     * @param call     the call to make
+     * @param <T>      the call's result type
+     * @return whatever the call returns
+     * @throws Exception whatever the call throws
+     */
+    public <T> T time(String endpoint, Callable<T> call) throws Exception {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, k -> new Endpoint());
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = call.call();
+        } catch (Exception e) {
+            stats.errors.increment();
+            throw e;
+        }
+        stats.histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        return result;
+    }
+
+    /**
+     * Forget everything recorded so far (at the end of a warm-up, for instance).
+     */
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * Summarize what's been recorded.
+     *
+     * @param elapsedNanos the wall-clock time the samples were taken over, for throughput
+     * @return one {@link EndpointStats} per endpoint, sorted by name
+     */
+    public List<EndpointStats> snapshot(long elapsedNanos) {
+        List<EndpointStats> result = new ArrayList<>();
+        endpoints.forEach((name, stats) -> {
+            Histogram copy = stats.histogram.copy();
+            result.add(new EndpointStats(name, copy, stats.errors.sum(), elapsedNanos));
+        });
+        result.sort((a, b) -> a.getEndpoint().compareTo(b.getEndpoint()));
+        return result;
+    }
+
+    private static class Endpoint {
+        final ConcurrentHistogram histogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,44 @@
+package org.ga4gh.ctk.load;
+
+import org.ga4gh.ctk.transport.PooledTransport;
+import org.ga4gh.ctk.transport.URLMAPPING;
+import org.ga4gh.ctk.transport.protocols.Client;
+
+/**
+ * <p>Command-line entry point for load runs.</p>
+ * <pre>
+ * java -jar ctk-load-jar-with-dependencies.jar --urlRoot=http://myserver/ga4gh/ \
+ *      --scenario=reads --users=200 --duration=5m --warmup=30s
+ * </pre>
+ * <p>See {@link LoadConfig} for all the options. The report is printed to standard output.</p>
+ */
+public class LoadApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config;
+        try {
+            config = LoadConfig.fromArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("scenarios: " + Scenarios.names());
+            System.exit(2);
+            return;
+        }
+        Scenario scenario = Scenarios.forName(config.getScenario());
+
+        URLMAPPING urls = URLMAPPING.getInstance();
+        if (config.getUrlRoot() != null) {
+            urls.setUrlRoot(config.getUrlRoot());
+        }
+
+        // one pooled connection per virtual user, so users wait on the server and not on the pool
+        try (PooledTransport transport = PooledTransport.builder()
+                .maxTotal(config.getUsers())
+                .maxPerRoute(config.getUsers())
+                .build()) {
+            Client client = new Client(urls, null, transport);
+            LoadReport report = new LoadRunner(client, transport, config).run(config.getScenario(), scenario);
+            System.out.println(report);
+        }
+    }
+}
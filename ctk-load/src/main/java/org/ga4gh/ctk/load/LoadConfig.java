@@ -0,0 +1,178 @@
+package org.ga4gh.ctk.load;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>The settings for one load run.</p>
+ * <p>Built from <tt>--name=value</tt> command-line arguments by {@link #fromArgs(String...)};
+ * anything not given keeps its default.</p>
+ * <table summary="load options">
+ * <tr><th>option</th><th>default</th><th>meaning</th></tr>
+ * <tr><td>--scenario</td><td>reads</td><td>which of the {@link Scenarios} to run</td></tr>
+ * <tr><td>--urlRoot</td><td>from URLMAPPING</td><td>the server to load</td></tr>
+ * <tr><td>--dataset</td><td>compliance-dataset</td><td>the dataset to search within</td></tr>
+ * <tr><td>--users</td><td>10</td><td>number of concurrent virtual users</td></tr>
+ * <tr><td>--duration</td><td>60s</td><td>how long to run (<tt>500ms</tt>, <tt>30s</tt>, <tt>5m</tt>); 0 for no limit</td></tr>
+ * <tr><td>--iterations</td><td>0</td><td>total scenario iterations across all users; 0 for no limit</td></tr>
+ * <tr><td>--warmup</td><td>0s</td><td>how long to run before recording starts</td></tr>
+ * <tr><td>--reference</td><td>ref_brca1</td><td>reference name searched by the read and variant scenarios</td></tr>
+ * <tr><td>--start, --end</td><td>0, 81187</td><td>the range searched</td></tr>
+ * <tr><td>--pageSize</td><td>100</td><td>page size of each search</td></tr>
+ * </table>
+ * <p>The run stops at whichever of duration or iterations is reached first.</p>
+ */
+public class LoadConfig {
+
+    private String scenario = "reads";
+
+    private String urlRoot;
+
+    private String datasetId = "compliance-dataset";
+
+    private int users = 10;
+
+    private long durationNanos = TimeUnit.SECONDS.toNanos(60);
+
+    private long iterations = 0;
+
+    private long warmupNanos = 0;
+
+    private String referenceName = "ref_brca1";
+
+    private long start = 0;
+
+    private long end = 81187;
+
+    private int pageSize = 100;
+
+    /**
+     * Parse <tt>--name=value</tt> arguments.
+     *
+     * @param args the command-line arguments
+     * @return the configuration
+     * @throws IllegalArgumentException for an unknown option or a malformed value
+     */
+    public static LoadConfig fromArgs(String... args) {
+        LoadConfig config = new LoadConfig();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("expected --name=value but got '" + arg + "'");
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "scenario":
+                    config.scenario = value;
+                    break;
+                case "urlRoot":
+                    config.urlRoot = value;
+                    break;
+                case "dataset":
+                    config.datasetId = value;
+                    break;
+                case "users":
+                    config.users = Integer.parseInt(value);
+                    break;
+                case "duration":
+                    config.durationNanos = parseDuration(value);
+                    break;
+                case "iterations":
+                    config.iterations = Long.parseLong(value);
+                    break;
+                case "warmup":
+                    config.warmupNanos = parseDuration(value);
+                    break;
+                case "reference":
+                    config.referenceName = value;
+                    break;
+                case "start":
+                    config.start = Long.parseLong(value);
+                    break;
+                case "end":
+                    config.end = Long.parseLong(value);
+                    break;
+                case "pageSize":
+                    config.pageSize = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown option --" + name);
+            }
+        }
+        if (config.users < 1) {
+            throw new IllegalArgumentException("--users must be at least 1");
+        }
+        return config;
+    }
+
+    /**
+     * Parse a duration such as <tt>250ms</tt>, <tt>30s</tt> or <tt>5m</tt>; a bare number is seconds.
+     *
+     * @param value the duration
+     * @return the duration in nanoseconds
+     */
+    static long parseDuration(String value) {
+        String v = value.trim();
+        if (v.endsWith("ms")) {
+            return TimeUnit.MILLISECONDS.toNanos(Long.parseLong(v.substring(0, v.length() - 2)));
+        } else if (v.endsWith("s")) {
+            return TimeUnit.SECONDS.toNanos(Long.parseLong(v.substring(0, v.length() - 1)));
+        } else if (v.endsWith("m")) {
+            return TimeUnit.MINUTES.toNanos(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return TimeUnit.SECONDS.toNanos(Long.parseLong(v));
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    /**
+     * @return the server's url root, or null to use the one configured in URLMAPPING
+     */
+    public String getUrlRoot() {
+        return urlRoot;
+    }
+
+    public String getDatasetId() {
+        return datasetId;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    /**
+     * @return the run length in nanoseconds, 0 for no limit
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * @return the total iterations to run, 0 for no limit
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    public long getWarmupNanos() {
+        return warmupNanos;
+    }
+
+    public String getReferenceName() {
+        return referenceName;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+}
@@ -0,0 +1,83 @@
+package org.ga4gh.ctk.load;
+
+import org.ga4gh.ctk.transport.TransportStats;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>The outcome of a load run: what was run, for how long, and the per-endpoint statistics.</p>
+ */
+public class LoadReport {
+
+    private final String scenario;
+
+    private final int users;
+
+    private final long elapsedNanos;
+
+    private final long iterations;
+
+    private final long failedIterations;
+
+    private final List<EndpointStats> endpoints;
+
+    private final TransportStats transportStats;
+
+    public LoadReport(String scenario, int users, long elapsedNanos, long iterations, long failedIterations,
+                      List<EndpointStats> endpoints, TransportStats transportStats) {
+        this.scenario = scenario;
+        this.users = users;
+        this.elapsedNanos = elapsedNanos;
+        this.iterations = iterations;
+        this.failedIterations = failedIterations;
+        this.endpoints = endpoints;
+        this.transportStats = transportStats;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the number of scenario iterations that completed without error
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    public long getFailedIterations() {
+        return failedIterations;
+    }
+
+    public List<EndpointStats> getEndpoints() {
+        return endpoints;
+    }
+
+    public TransportStats getTransportStats() {
+        return transportStats;
+    }
+
+    @Override
+    public String toString() {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("scenario %s: %d users, %.1fs, %d iterations (%.1f/s), %d failed%n",
+                scenario, users, seconds, iterations, seconds == 0 ? 0.0 : iterations / seconds, failedIterations));
+        sb.append(String.format("%-28s %9s %7s %9s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "calls", "errors", "calls/s", "mean ms", "p50", "p90", "p99", "p99.9", "max"));
+        for (EndpointStats endpoint : endpoints) {
+            sb.append(endpoint).append(String.format("%n"));
+        }
+        sb.append("transport: ").append(transportStats);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,109 @@
+package org.ga4gh.ctk.load;
+
+import org.ga4gh.ctk.transport.Transport;
+import org.ga4gh.ctk.transport.protocols.Client;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * <p>Runs a {@link Scenario} on a number of concurrent virtual users.</p>
+ * <p>Each virtual user is a thread that iterates the scenario back to back, so the offered
+ * load is whatever the server can sustain for that many clients (a closed loop). All users
+ * share one {@link Client}, and so one {@link Transport}; size the transport's pool for the
+ * number of users or they'll queue for connections rather than for the server.</p>
+ */
+public class LoadRunner {
+
+    private static final Logger log = getLogger(LoadRunner.class);
+
+    private final Client client;
+
+    private final Transport transport;
+
+    private final LoadConfig config;
+
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    /**
+     * @param client    the client the virtual users share
+     * @param transport the transport the client sends on, for its connection statistics
+     * @param config    the run settings
+     */
+    public LoadRunner(Client client, Transport transport, LoadConfig config) {
+        this.client = client;
+        this.transport = transport;
+        this.config = config;
+    }
+
+    /**
+     * Prepare the scenario, run the warm-up (if any), then run and measure.
+     *
+     * @param name     the scenario's name, for the report
+     * @param scenario the scenario
+     * @return the report of the measured run
+     * @throws Exception if the scenario can't be prepared or the run is interrupted
+     */
+    public LoadReport run(String name, Scenario scenario) throws Exception {
+        scenario.prepare(client, config);
+
+        if (config.getWarmupNanos() > 0) {
+            log.info("warming up for " + config.getWarmupNanos() / 1_000_000 + " ms");
+            runUsers(scenario, config.getWarmupNanos(), 0, new LongAdder(), new LongAdder());
+            recorder.reset();
+        }
+
+        log.info("running " + name + " with " + config.getUsers() + " users");
+        LongAdder completed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        long start = System.nanoTime();
+        runUsers(scenario, config.getDurationNanos(), config.getIterations(), completed, failed);
+        long elapsed = System.nanoTime() - start;
+
+        return new LoadReport(name, config.getUsers(), elapsed, completed.sum(), failed.sum(),
+                recorder.snapshot(elapsed), transport.getStats());
+    }
+
+    private void runUsers(Scenario scenario, long durationNanos, long iterations,
+                          LongAdder completed, LongAdder failed) throws Exception {
+        long deadline = durationNanos > 0 ? System.nanoTime() + durationNanos : Long.MAX_VALUE;
+        AtomicLong remaining = new AtomicLong(iterations > 0 ? iterations : Long.MAX_VALUE);
+        AtomicInteger userNumber = new AtomicInteger();
+
+        ExecutorService users = Executors.newFixedThreadPool(config.getUsers(), r -> {
+            Thread t = new Thread(r, "ctk-load-user-" + userNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < config.getUsers(); i++) {
+                running.add(users.submit(() -> {
+                    while (System.nanoTime() - deadline < 0 && remaining.getAndDecrement() > 0) {
+                        try {
+                            scenario.iterate(client, recorder);
+                            completed.increment();
+                        } catch (Exception e) {
+                            failed.increment();
+                            log.debug("iteration failed", e);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> user : running) {
+                user.get();
+            }
+        } finally {
+            users.shutdownNow();
+        }
+    }
+}
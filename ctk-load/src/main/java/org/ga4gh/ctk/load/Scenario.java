@@ -0,0 +1,34 @@
+package org.ga4gh.ctk.load;
+
+import org.ga4gh.ctk.transport.protocols.Client;
+
+/**
+ * <p>A unit of simulated work for one virtual user: a short sequence of {@link Client} calls,
+ * each timed through the {@link LatencyRecorder}.</p>
+ * <p>One Scenario instance is shared by all the virtual users of a run, so it must not keep
+ * per-iteration state in fields. Anything it needs to look up before the run starts (IDs to
+ * search within, for instance) is found in {@link #prepare(Client, LoadConfig)}.</p>
+ */
+@FunctionalInterface
+public interface Scenario {
+
+    /**
+     * Look up whatever the scenario needs before the timed run starts. Calls made here are not
+     * recorded.
+     *
+     * @param client the client the run will use
+     * @param config the run's configuration
+     * @throws Exception if the server can't supply what the scenario needs
+     */
+    default void prepare(Client client, LoadConfig config) throws Exception {
+    }
+
+    /**
+     * Perform one iteration of the scenario.
+     *
+     * @param client   the client to make calls with
+     * @param recorder times each call; wrap every call in {@link LatencyRecorder#time}
+     * @throws Exception if any call fails; the iteration is counted as failed
+     */
+    void iterate(Client client, LatencyRecorder recorder) throws Exception;
+}
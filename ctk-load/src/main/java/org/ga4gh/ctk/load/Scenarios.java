@@ -0,0 +1,170 @@
+package org.ga4gh.ctk.load;
+
+import ga4gh.MetadataServiceOuterClass.SearchDatasetsRequest;
+import ga4gh.MetadataServiceOuterClass.SearchDatasetsResponse;
+import ga4gh.ReadServiceOuterClass.SearchReadGroupSetsRequest;
+import ga4gh.ReadServiceOuterClass.SearchReadGroupSetsResponse;
+import ga4gh.ReadServiceOuterClass.SearchReadsRequest;
+import ga4gh.ReadServiceOuterClass.SearchReadsResponse;
+import ga4gh.Reads.ReadAlignment;
+import ga4gh.Reads.ReadGroupSet;
+import ga4gh.ReferenceServiceOuterClass.SearchReferenceSetsRequest;
+import ga4gh.ReferenceServiceOuterClass.SearchReferencesRequest;
+import ga4gh.References.Reference;
+import ga4gh.References.ReferenceSet;
+import ga4gh.VariantServiceOuterClass.SearchVariantSetsRequest;
+import ga4gh.VariantServiceOuterClass.SearchVariantSetsResponse;
+import ga4gh.VariantServiceOuterClass.SearchVariantsRequest;
+import ga4gh.VariantServiceOuterClass.SearchVariantsResponse;
+import ga4gh.Metadata.Dataset;
+import ga4gh.Variants.Variant;
+import org.ga4gh.ctk.transport.protocols.Client;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * <p>The built-in {@link Scenario}s, by name.</p>
+ * <p>Each is modelled on what the compliance tests do, run in a loop:</p>
+ * <ul>
+ *     <li><tt>datasets</tt>: search the datasets, then get each one by ID</li>
+ *     <li><tt>reads</tt>: search a read group's alignments in a range, then get the read group
+ *     of each returned alignment by ID (alignments themselves have no get-by-ID endpoint)</li>
+ *     <li><tt>variants</tt>: search a variant set in a range, then get each returned variant by ID</li>
+ * </ul>
+ */
+public final class Scenarios {
+
+    private static final Map<String, Supplier<Scenario>> SCENARIOS = new TreeMap<>();
+
+    static {
+        SCENARIOS.put("datasets", DatasetsScenario::new);
+        SCENARIOS.put("reads", ReadsScenario::new);
+        SCENARIOS.put("variants", VariantsScenario::new);
+    }
+
+    /**
+     * You can't instantiate one of these.
+     */
+    private Scenarios() {
+    }
+
+    /**
+     * @return the names of the built-in scenarios
+     */
+    public static List<String> names() {
+        return SCENARIOS.keySet().stream().collect(Collectors.toList());
+    }
+
+    /**
+     * Create a new instance of the named scenario.
+     *
+     * @param name the scenario's name
+     * @return a new, unprepared, scenario
+     * @throws IllegalArgumentException if there's no scenario with that name
+     */
+    public static Scenario forName(String name) {
+        Supplier<Scenario> scenario = SCENARIOS.get(name);
+        if (scenario == null) {
+            throw new IllegalArgumentException("unknown scenario '" + name + "', expected one of " + names());
+        }
+        return scenario.get();
+    }
+
+    private static class DatasetsScenario implements Scenario {
+
+        private int pageSize;
+
+        @Override
+        public void prepare(Client client, LoadConfig config) {
+            pageSize = config.getPageSize();
+        }
+
+        @Override
+        public void iterate(Client client, LatencyRecorder recorder) throws Exception {
+            SearchDatasetsRequest request = SearchDatasetsRequest.newBuilder().setPageSize(pageSize).build();
+            SearchDatasetsResponse response = recorder.time("searchDatasets", () -> client.metadata.searchDatasets(request));
+            for (Dataset dataset : response.getDatasetsList()) {
+                recorder.time("getDataset", () -> client.metadata.getDataset(dataset.getId()));
+            }
+        }
+    }
+
+    private static class ReadsScenario implements Scenario {
+
+        private SearchReadsRequest request;
+
+        @Override
+        public void prepare(Client client, LoadConfig config) throws Exception {
+            SearchReadGroupSetsResponse readGroupSets = client.reads.searchReadGroupSets(
+                    SearchReadGroupSetsRequest.newBuilder().setDatasetId(config.getDatasetId()).build());
+            ReadGroupSet readGroupSet = first(readGroupSets.getReadGroupSetsList(), "read group set");
+            String readGroupId = first(readGroupSet.getReadGroupsList(), "read group").getId();
+
+            ReferenceSet referenceSet = first(client.references.searchReferenceSets(
+                    SearchReferenceSetsRequest.newBuilder().build()).getReferenceSetsList(), "reference set");
+            List<Reference> references = client.references.searchReferences(
+                    SearchReferencesRequest.newBuilder().setReferenceSetId(referenceSet.getId()).build())
+                    .getReferencesList();
+            Reference reference = references.stream()
+                    .filter(r -> r.getName().equals(config.getReferenceName()))
+                    .findFirst()
+                    .orElseGet(() -> first(references, "reference"));
+
+            request = SearchReadsRequest.newBuilder()
+                    .setReferenceId(reference.getId())
+                    .addAllReadGroupIds(Collections.singletonList(readGroupId))
+                    .setStart(config.getStart())
+                    .setEnd(config.getEnd())
+                    .setPageSize(config.getPageSize())
+                    .build();
+        }
+
+        @Override
+        public void iterate(Client client, LatencyRecorder recorder) throws Exception {
+            SearchReadsResponse response = recorder.time("searchReads", () -> client.reads.searchReads(request));
+            for (ReadAlignment alignment : response.getAlignmentsList()) {
+                recorder.time("getReadGroup", () -> client.reads.getReadGroup(alignment.getReadGroupId()));
+            }
+        }
+    }
+
+    private static class VariantsScenario implements Scenario {
+
+        private SearchVariantsRequest request;
+
+        @Override
+        public void prepare(Client client, LoadConfig config) throws Exception {
+            SearchVariantSetsResponse variantSets = client.variants.searchVariantSets(
+                    SearchVariantSetsRequest.newBuilder().setDatasetId(config.getDatasetId()).build());
+            String variantSetId = first(variantSets.getVariantSetsList(), "variant set").getId();
+
+            request = SearchVariantsRequest.newBuilder()
+                    .setVariantSetId(variantSetId)
+                    .setReferenceName(config.getReferenceName())
+                    .setStart(config.getStart())
+                    .setEnd(config.getEnd())
+                    .setPageSize(config.getPageSize())
+                    .build();
+        }
+
+        @Override
+        public void iterate(Client client, LatencyRecorder recorder) throws Exception {
+            SearchVariantsResponse response = recorder.time("searchVariants", () -> client.variants.searchVariants(request));
+            for (Variant variant : response.getVariantsList()) {
+                recorder.time("getVariant", () -> client.variants.getVariant(variant.getId()));
+            }
+        }
+    }
+
+    private static <T> T first(List<T> list, String what) {
+        if (list.isEmpty()) {
+            throw new IllegalStateException("server returned no " + what + " to run the scenario against");
+        }
+        return list.get(0);
+    }
+}
@@ -0,0 +1,17 @@
+/**
+ * <p>Closed-loop load generation against a GA4GH server.</p>
+ *
+ * <p>The compliance tests tell us whether a server answers correctly; this package tells us
+ * how it behaves while many clients are talking to it. A {@link org.ga4gh.ctk.load.LoadRunner}
+ * runs a {@link org.ga4gh.ctk.load.Scenario} - a short sequence of
+ * {@link org.ga4gh.ctk.transport.protocols.Client} calls - on each of N virtual users. Each
+ * user waits for its previous call to finish before making the next one (a closed loop), for
+ * a fixed duration or a fixed number of iterations.</p>
+ *
+ * <p>Every call is timed into a per-endpoint histogram by the
+ * {@link org.ga4gh.ctk.load.LatencyRecorder}, and the run ends with a
+ * {@link org.ga4gh.ctk.load.LoadReport} of throughput and p50/p90/p99/p99.9 latency per endpoint.</p>
+ *
+ * <p>Run it with {@link org.ga4gh.ctk.load.LoadApplication}.</p>
+ */
+package org.ga4gh.ctk.load;
@@ -0,0 +1,83 @@
+package org.ga4gh.ctk.load;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link LatencyRecorder} and {@link LoadConfig}.
+ */
+public class LatencyRecorderTest {
+
+    @Test
+    public void successesAndErrorsAreCountedPerEndpoint() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        assertEquals("x", recorder.time("b", () -> "x"));
+        recorder.time("b", () -> "y");
+        recorder.time("a", () -> null);
+        try {
+            recorder.time("a", () -> {
+                throw new IOException("refused");
+            });
+            fail("expected the call's exception");
+        } catch (IOException expected) {
+            // the recorder must not swallow it
+        }
+
+        List<EndpointStats> stats = recorder.snapshot(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(2, stats.size());
+        assertEquals("a", stats.get(0).getEndpoint());
+        assertEquals(1, stats.get(0).getCount());
+        assertEquals(1, stats.get(0).getErrors());
+        assertEquals("b", stats.get(1).getEndpoint());
+        assertEquals(2, stats.get(1).getCount());
+        assertEquals(2.0, stats.get(1).getThroughput(), 1e-9);
+    }
+
+    @Test
+    public void percentilesAreOrdered() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 0; i < 20; i++) {
+            recorder.time("sleep", () -> {
+                Thread.sleep(1);
+                return null;
+            });
+        }
+        EndpointStats stats = recorder.snapshot(TimeUnit.SECONDS.toNanos(1)).get(0);
+        assertTrue(stats.getP50() >= 1.0);
+        assertTrue(stats.getP50() <= stats.getP90());
+        assertTrue(stats.getP90() <= stats.getP99());
+        assertTrue(stats.getP99() <= stats.getP999());
+        assertTrue(stats.getP999() <= stats.getMax());
+    }
+
+    @Test
+    public void resetForgetsEverything() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.time("a", () -> null);
+        recorder.reset();
+        assertTrue(recorder.snapshot(1).isEmpty());
+    }
+
+    @Test
+    public void argumentsAreParsed() throws Exception {
+        LoadConfig config = LoadConfig.fromArgs("--users=200", "--duration=5m", "--warmup=500ms",
+                "--iterations=1000", "--scenario=variants");
+        assertEquals(200, config.getUsers());
+        assertEquals(TimeUnit.MINUTES.toNanos(5), config.getDurationNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), config.getWarmupNanos());
+        assertEquals(1000, config.getIterations());
+        assertEquals("variants", config.getScenario());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownOptionIsRejected() throws Exception {
+        LoadConfig.fromArgs("--userz=2");
+    }
+}
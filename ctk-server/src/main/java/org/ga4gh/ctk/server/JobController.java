@@ -0,0 +1,183 @@
+package org.ga4gh.ctk.server;
+
+import org.ga4gh.ctk.CtkLogs;
+import org.ga4gh.ctk.config.Props;
+import org.ga4gh.ctk.events.TestEvent;
+import org.ga4gh.ctk.events.TestEventBus;
+import org.ga4gh.ctk.transport.URLMAPPING;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * <p>REST API for running the tests in the background.</p>
+ * <ul>
+ *     <li>POST /jobs?urlRoot=...&amp;datasetId=...&amp;matchstr=... queues a run and answers
+ *     202 Accepted with the job's status and its URL in the Location header (or 503 if the
+ *     queue is full); all the parameters default as for /servertest</li>
+ *     <li>GET /jobs/{id} polls a job's status; once it's SUCCEEDED, "report" is the path of
+ *     its HTML report</li>
+ *     <li>GET /jobs lists the known jobs</li>
+ *     <li>DELETE /jobs/{id} cancels a job (409 Conflict if it has already finished)</li>
+ *     <li>GET /jobs/{id}/events streams the job's progress as Server-Sent Events, ending after
+ *     the run_finished event, which comes however the job ends, cancelled included; GET
+ *     /jobs/events streams every job's</li>
+ * </ul>
+ * <p>The event streams are throttled by the {@link TestEventBus}: passes and skips arrive
+ * as periodic "progress" counts, and a client that falls behind by more than
+ * <tt>ctk.server.events.queue</tt> events misses some (each event's "dropped" says how many),
+ * though never a run_finished.
+ * For example, {@code curl -N http://localhost:8080/jobs/<id>/events}</p>
+ * <p>See {@link JobService} for how runs are queued.</p>
+ */
+@RestController
+@RequestMapping("/jobs")
+public class JobController implements CtkLogs {
+
+    @Autowired
+    private JobService jobs;
+
+    @Autowired
+    public Props props;
+
+    @Value("${ctk.server.events.queue:256}")
+    private int eventQueue;
+
+    @RequestMapping(method = RequestMethod.POST)
+    public ResponseEntity<Map<String, Object>> submit(@RequestParam(value = "urlRoot", required = false) String urlRoot,
+                                                      @RequestParam(value = "datasetId", required = false) String datasetId,
+                                                      @RequestParam(value = "matchstr", required = false) String mstr,
+                                                      UriComponentsBuilder uris) {
+        if (urlRoot == null)
+            urlRoot = URLMAPPING.getInstance().getUrlRoot();
+        if (datasetId == null)
+            datasetId = props.ctk_tgt_dataset_id;
+        if (mstr == null)
+            mstr = props.ctk_matchstr;
+        TestJob job;
+        try {
+            job = jobs.submit(urlRoot, datasetId, mstr);
+        } catch (RejectedExecutionException e) {
+            return message(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return message(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return ResponseEntity.accepted()
+                             .location(uris.path("/jobs/{id}").buildAndExpand(job.getId()).toUri())
+                             .body(status(job));
+    }
+
+    @RequestMapping(method = RequestMethod.GET)
+    public List<Map<String, Object>> list() {
+        return jobs.list().stream().map(this::status).collect(Collectors.toList());
+    }
+
+    @RequestMapping(value = "/{id}", method = RequestMethod.GET)
+    public ResponseEntity<Map<String, Object>> get(@PathVariable("id") String id) {
+        TestJob job = jobs.get(id);
+        if (job == null) {
+            return message(HttpStatus.NOT_FOUND, "no job " + id);
+        }
+        return ResponseEntity.ok(status(job));
+    }
+
+    @RequestMapping(value = "/{id}", method = RequestMethod.DELETE)
+    public ResponseEntity<Map<String, Object>> cancel(@PathVariable("id") String id) {
+        TestJob job = jobs.get(id);
+        if (job == null) {
+            return message(HttpStatus.NOT_FOUND, "no job " + id);
+        }
+        if (!jobs.cancel(job)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(status(job));
+        }
+        return ResponseEntity.ok(status(job));
+    }
+
+    @RequestMapping(value = "/{id}/events", method = RequestMethod.GET)
+    public ResponseEntity<SseEmitter> events(@PathVariable("id") String id) throws IOException {
+        TestJob job = jobs.get(id);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // subscribed before looking at the state: the job publishes its run_finished event only
+        // once it's finished, so either the stream gets that event or the job is finished here
+        SseEmitter emitter = stream(id);
+        if (job.getState().isFinished()) {
+            // nothing more will happen, so just say how it ended
+            emitter.send(SseEmitter.event().name("status").data(status(job), MediaType.APPLICATION_JSON));
+            emitter.complete();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    @RequestMapping(value = "/events", method = RequestMethod.GET)
+    public SseEmitter allEvents() {
+        return stream(null);
+    }
+
+    /**
+     * Open an event stream for one run (or all of them, for a null runId) which closes
+     * after the run finishes, or when the client goes away.
+     */
+    private SseEmitter stream(String runId) {
+        SseEmitter emitter = new SseEmitter(0L); // no timeout, runs take a while
+        TestEventBus.Subscription subscription =
+                TestEventBus.getDefault().subscribe(runId, eventQueue, event -> {
+                    try {
+                        emitter.send(SseEmitter.event()
+                                               .name(event.getType().name().toLowerCase())
+                                               .data(event, MediaType.APPLICATION_JSON));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // the client's gone, the bus closes the subscription
+                    }
+                    if (runId != null && event.getType() == TestEvent.Type.RUN_FINISHED) {
+                        emitter.complete();
+                    }
+                });
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        return emitter;
+    }
+
+    private Map<String, Object> status(TestJob job) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("id", job.getId());
+        status.put("state", job.getState());
+        status.put("urlRoot", job.getUrlRoot());
+        status.put("datasetId", job.getDatasetId());
+        status.put("matchstr", job.getMatchstr());
+        status.put("submitted", job.getSubmitted());
+        if (job.getState() == JobState.QUEUED) {
+            status.put("queuePosition", jobs.queuePosition(job));
+        }
+        status.put("started", job.getStarted());
+        status.put("finished", job.getFinished());
+        status.put("resultsDir", job.getResultsDir());
+        status.put("report", job.getReport());
+        status.put("error", job.getError());
+        return status;
+    }
+
+    private static ResponseEntity<Map<String, Object>> message(HttpStatus httpStatus, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", message);
+        return ResponseEntity.status(httpStatus).body(body);
+    }
+}
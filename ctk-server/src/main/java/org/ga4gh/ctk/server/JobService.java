@@ -0,0 +1,232 @@
+package org.ga4gh.ctk.server;
+
+import org.ga4gh.ctk.CtkLogs;
+import org.ga4gh.ctk.ResultsSupport;
+import org.ga4gh.ctk.TestRunner;
+import org.ga4gh.ctk.config.Props;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * <p>Runs submitted test runs in the background, so no request thread waits for a suite.</p>
+ * <p>At most <tt>ctk.server.jobs.workers</tt> runs execute at once, and at most
+ * <tt>ctk.server.jobs.pertarget</tt> of those against any one server, so one team's runs
+ * can't swamp a target another team is also testing. Runs that can't start yet wait, in
+ * submission order, in a queue of at most <tt>ctk.server.jobs.queue</tt>; when that's full,
+ * {@link #submit} refuses the run.</p>
+ * <p>With <tt>ctk.runner=ant</tt> only one run executes at a time, whatever
+ * <tt>ctk.server.jobs.workers</tt> says: ant runs aren't isolated from each other, and each
+ * run's totals are taken from the shared test listener, so concurrent runs would count each
+ * other's tests.</p>
+ * <p>Finished jobs are remembered (the latest <tt>ctk.server.jobs.history</tt> of them) so
+ * their status can still be polled.</p>
+ */
+@Service
+public class JobService implements CtkLogs {
+
+    @Value("${ctk.server.jobs.workers:2}")
+    private int workers;
+
+    @Value("${ctk.server.jobs.pertarget:1}")
+    private int perTarget;
+
+    @Value("${ctk.server.jobs.queue:20}")
+    private int queueCapacity;
+
+    @Value("${ctk.server.jobs.history:100}")
+    private int history;
+
+    @Autowired
+    private ObjectFactory<TestRunner> runnerFactory;
+
+    @Autowired
+    private Props props;
+
+    /**
+     * Allocates each job's results dir; replaced in tests.
+     */
+    Function<String, String> resultsDirs = ResultsSupport::getResultsDir;
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    // only ever given as many jobs as there are workers, so it never queues
+    private final ExecutorService executor = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "ctk-job-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // all of these are guarded by "this"
+    private final LinkedList<TestJob> queue = new LinkedList<>();
+    private final Map<String, Integer> runningPerTarget = new HashMap<>();
+    private int running;
+    private final LinkedHashMap<String, TestJob> jobs = new LinkedHashMap<>();
+
+    /**
+     * Queue a test run.
+     *
+     * @param urlRoot   the server to test
+     * @param datasetId the dataset to test with
+     * @param matchstr  the patterns selecting the tests
+     * @return the queued job
+     * @throws RejectedExecutionException if the queue is full
+     * @throws IllegalArgumentException   if the urlRoot isn't a URL
+     */
+    public synchronized TestJob submit(String urlRoot, String datasetId, String matchstr) {
+        if (queue.size() >= queueCapacity) {
+            throw new RejectedExecutionException("the job queue is full (" + queueCapacity + " runs waiting)");
+        }
+        TestJob job = new TestJob(UUID.randomUUID().toString(), urlRoot, target(urlRoot), datasetId, matchstr);
+        queue.add(job);
+        remember(job);
+        log.info("queued job " + job.getId() + " for " + urlRoot);
+        dispatch();
+        return job;
+    }
+
+    /**
+     * @param id the job ID
+     * @return the job, or null if there's no such job (or it's been forgotten)
+     */
+    public synchronized TestJob get(String id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * @return the known jobs, oldest first
+     */
+    public synchronized List<TestJob> list() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    /**
+     * @param job a queued job
+     * @return how many jobs are ahead of it in the queue, or -1 if it isn't queued
+     */
+    public synchronized int queuePosition(TestJob job) {
+        return queue.indexOf(job);
+    }
+
+    /**
+     * Cancel a job: a queued job is dropped, a running one is interrupted.
+     *
+     * @param job the job
+     * @return false if the job had already finished
+     */
+    public synchronized boolean cancel(TestJob job) {
+        if (!job.cancel()) {
+            return false;
+        }
+        queue.remove(job);
+        log.info("cancelled job " + job.getId());
+        return true;
+    }
+
+    /**
+     * Start whichever queued jobs can start: the earliest ones whose target isn't already at
+     * its limit, while there are workers free.
+     */
+    private void dispatch() {
+        int maxRunning = maxRunning();
+        Iterator<TestJob> waiting = queue.iterator();
+        while (running < maxRunning && waiting.hasNext()) {
+            TestJob job = waiting.next();
+            if (runningPerTarget.getOrDefault(job.getTarget(), 0) >= perTarget) {
+                continue;
+            }
+            waiting.remove();
+            running++;
+            runningPerTarget.merge(job.getTarget(), 1, Integer::sum);
+            job.running(executor.submit(() -> execute(job)));
+        }
+    }
+
+    /**
+     * @return how many jobs may run at once; just one with ctk.runner=ant, as for a matrix run
+     */
+    private int maxRunning() {
+        return "ant".equals(props.ctk_runner) ? 1 : workers;
+    }
+
+    private synchronized void finished(TestJob job) {
+        running--;
+        runningPerTarget.computeIfPresent(job.getTarget(), (target, count) -> count > 1 ? count - 1 : null);
+        dispatch();
+    }
+
+    private void execute(TestJob job) {
+        try {
+            String resultsDir = resultsDirs.apply(job.getUrlRoot());
+            if (!job.start(resultsDir)) {
+                return;
+            }
+            if (resultsDir.isEmpty()) {
+                job.fail("couldn't build results dir for " + job.getUrlRoot());
+                return;
+            }
+            log.info("starting job " + job.getId() + " for " + job.getUrlRoot() + ", results to " + resultsDir);
+            TestRunner runner = runnerFactory.getObject(); // a prototype, so a runner of its own
+            runner.setRunId(job.getId()); // so its events can be followed by job ID
+            String report = runner.doTestRun(job.getUrlRoot(), job.getDatasetId(), job.getMatchstr(),
+                                             props.ctk_testjar, resultsDir).get();
+            if (report.isEmpty()) {
+                job.fail("test run failed; see the server log");
+            } else {
+                job.succeed(report);
+            }
+            log.info("job " + job.getId() + " " + job.getState() + " " + runner.getTotals());
+        } catch (InterruptedException e) {
+            job.cancel();
+        } catch (Exception e) {
+            log.warn("job " + job.getId() + " failed", e);
+            job.fail(e.toString());
+        } finally {
+            finished(job);
+        }
+    }
+
+    private synchronized void remember(TestJob job) {
+        jobs.put(job.getId(), job);
+        Iterator<TestJob> oldest = jobs.values().iterator();
+        while (jobs.size() > history && oldest.hasNext()) {
+            if (oldest.next().getState().isFinished()) {
+                oldest.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the urlRoot's host:port, which is what the per-target limit applies to
+     */
+    private static String target(String urlRoot) {
+        try {
+            return new URL(urlRoot).getAuthority();
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Malformed urlRoot " + urlRoot);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,34 @@
+package org.ga4gh.ctk.server;
+
+/**
+ * <p>The life cycle of a {@link TestJob}.</p>
+ */
+public enum JobState {
+    /**
+     * Waiting for a free worker, or for a run against the same target to finish.
+     */
+    QUEUED,
+    /**
+     * The tests are running.
+     */
+    RUNNING,
+    /**
+     * The tests ran (whether or not they all passed) and the report is ready.
+     */
+    SUCCEEDED,
+    /**
+     * The run couldn't be completed.
+     */
+    FAILED,
+    /**
+     * Cancelled before it finished.
+     */
+    CANCELLED;
+
+    /**
+     * @return true if the job won't change state again
+     */
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,68 @@
+package org.ga4gh.ctk.server;
+
+import org.ga4gh.ctk.CtkLogs;
+import org.ga4gh.ctk.results.Outcome;
+import org.ga4gh.ctk.results.ResultsQuery;
+import org.ga4gh.ctk.results.ResultsStore;
+import org.ga4gh.ctk.results.RunRecord;
+import org.ga4gh.ctk.results.TestRecord;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * <p>REST API for the history of test runs kept in the {@link ResultsStore}; all the
+ * results are newest first, and times are epoch millis.</p>
+ * <ul>
+ *     <li>GET /results/runs?target=host:port&amp;from=...&amp;to=...&amp;limit=... lists runs</li>
+ *     <li>GET /results/runs/{runId} gets one run, e.g. /results/runs/localhost_8000/00012</li>
+ *     <li>GET /results/tests?target=...&amp;test=...&amp;outcome=...&amp;from=...&amp;to=...&amp;limit=...
+ *     lists test results; "test" is a class name or class#method, "outcome" one of
+ *     PASSED, FAILED, ERROR, SKIPPED</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/results")
+public class ResultsController implements CtkLogs {
+
+    @RequestMapping(value = "/runs", method = RequestMethod.GET)
+    public List<RunRecord> runs(@RequestParam(value = "target", required = false) String target,
+                                @RequestParam(value = "from", defaultValue = "0") long from,
+                                @RequestParam(value = "to", defaultValue = Long.MAX_VALUE + "") long to,
+                                @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return store().findRuns(target, from, to, limit);
+    }
+
+    @RequestMapping(value = "/runs/{target}/{run}", method = RequestMethod.GET)
+    public ResponseEntity<RunRecord> run(@PathVariable("target") String target, @PathVariable("run") String run) {
+        RunRecord found = store().getRun(target + "/" + run);
+        return found == null ? new ResponseEntity<>(HttpStatus.NOT_FOUND) : ResponseEntity.ok(found);
+    }
+
+    @RequestMapping(value = "/tests", method = RequestMethod.GET)
+    public List<TestRecord> tests(@RequestParam(value = "target", required = false) String target,
+                                  @RequestParam(value = "test", required = false) String test,
+                                  @RequestParam(value = "outcome", required = false) Outcome outcome,
+                                  @RequestParam(value = "from", defaultValue = "0") long from,
+                                  @RequestParam(value = "to", defaultValue = Long.MAX_VALUE + "") long to,
+                                  @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+        return store().findTests(new ResultsQuery().target(target).test(test).outcome(outcome)
+                                                   .from(from).to(to).limit(limit));
+    }
+
+    private static ResultsStore store() {
+        try {
+            return ResultsStore.getDefault();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.ga4gh.ctk.server;
 
 import org.ga4gh.ctk.CtkLogs;
+import org.ga4gh.ctk.MatrixTarget;
 import org.ga4gh.ctk.ResultsSupport;
 import org.ga4gh.ctk.TestRunner;
 import org.ga4gh.ctk.config.Props;
@@ -13,11 +14,15 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.view.RedirectView;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
 /**
  * Test controller used when running as a server.
+ * This waits for the run to finish before answering; to run in the
+ * background and poll for the result, use the {@link JobController} API.
  *
  * Created by Wayne Stidolph on 7/15/2015.
  */
@@ -65,4 +70,41 @@ public class ServerTestController implements CtkLogs {
         }
         return new ModelAndView("Couldn't build results dir for " + urlRoot);
     }
-}
\ No newline at end of file
+
+    /**
+     * Run the tests against several targets at once, and redirect to the combined summary.
+     *
+     * @param targets each urlRoot@datasetId (or just urlRoot, for the default dataset)
+     * @param mstr    the test match string, default ctk.matchstr
+     * @return a redirect to the matrix.json summary, or an error if the run couldn't finish
+     */
+    @RequestMapping(value = "/matrix", method = RequestMethod.GET)
+    public ModelAndView runMatrix(@RequestParam(value = "target") List<String> targets,
+                                  @RequestParam(value = "matchstr", required = false) String mstr) {
+        if (mstr == null)
+            mstr = props.ctk_matchstr;
+        List<MatrixTarget> matrix = new ArrayList<>();
+        for (String target : targets) {
+            matrix.addAll(MatrixTarget.parseList(target, props.ctk_tgt_dataset_id));
+        }
+        log.info("about to run tests on " + matrix + " " + mstr + " " + props.ctk_testjar);
+        String summary;
+        try { // wait for results
+            summary = testrunner.doMatrixRun(matrix, mstr, props.ctk_testjar).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("interrupted waiting for the matrix run of " + matrix);
+            return new ModelAndView("Matrix run interrupted");
+        } catch (ExecutionException | RuntimeException e) {
+            log.warn("matrix run of " + matrix + " failed", e);
+            return new ModelAndView("Matrix run failed: " + e);
+        }
+        if (summary.isEmpty()) {
+            return new ModelAndView("Matrix run finished, but its summary couldn't be written; see the log");
+        }
+        log.info("matrix complete, summary to " + summary);
+        return new ModelAndView(new RedirectView(summary,
+                true, // redirect is context-relative
+                false)); // don't bother staying http 1.0 compatible
+    }
+}
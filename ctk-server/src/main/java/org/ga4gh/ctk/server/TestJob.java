@@ -0,0 +1,173 @@
+package org.ga4gh.ctk.server;
+
+import org.ga4gh.ctk.events.TestEvent;
+import org.ga4gh.ctk.events.TestEventBus;
+
+import java.util.concurrent.Future;
+
+/**
+ * <p>A test run submitted to the {@link JobService}.</p>
+ * <p>The getters make up the job's status as the REST API reports it; the state and
+ * times change as the job runs, so they're read and written under the job's lock.</p>
+ * <p>The job publishes its run's {@link TestEvent.Type#RUN_FINISHED} event itself (its runner
+ * leaves that to it) once its state is final, however it got there, so anyone watching the
+ * run's events sees it end, and anyone who misses that finds the job finished.</p>
+ */
+public class TestJob {
+
+    private final String id;
+
+    private final String urlRoot;
+
+    private final String target;
+
+    private final String datasetId;
+
+    private final String matchstr;
+
+    private final long submitted = System.currentTimeMillis();
+
+    private JobState state = JobState.QUEUED;
+
+    private long started;
+
+    private long finished;
+
+    private String resultsDir;
+
+    private String report;
+
+    private String error;
+
+    private Future<?> execution;
+
+    TestJob(String id, String urlRoot, String target, String datasetId, String matchstr) {
+        this.id = id;
+        this.urlRoot = urlRoot;
+        this.target = target;
+        this.datasetId = datasetId;
+        this.matchstr = matchstr;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getUrlRoot() {
+        return urlRoot;
+    }
+
+    /**
+     * @return the server this job tests, as host:port; the per-target concurrency limit is applied to this
+     */
+    public String getTarget() {
+        return target;
+    }
+
+    public String getDatasetId() {
+        return datasetId;
+    }
+
+    public String getMatchstr() {
+        return matchstr;
+    }
+
+    public synchronized JobState getState() {
+        return state;
+    }
+
+    /**
+     * @return when the job was submitted, in epoch millis
+     */
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    /**
+     * @return when the job started running, in epoch millis, or 0 if it hasn't
+     */
+    public synchronized long getStarted() {
+        return started;
+    }
+
+    /**
+     * @return when the job finished, in epoch millis, or 0 if it hasn't
+     */
+    public synchronized long getFinished() {
+        return finished;
+    }
+
+    /**
+     * @return the directory the results are going into, once running
+     */
+    public synchronized String getResultsDir() {
+        return resultsDir;
+    }
+
+    /**
+     * @return the path of the HTML report, once succeeded
+     */
+    public synchronized String getReport() {
+        return report;
+    }
+
+    /**
+     * @return why the job failed, if it did
+     */
+    public synchronized String getError() {
+        return error;
+    }
+
+    synchronized void running(Future<?> execution) {
+        this.execution = execution;
+    }
+
+    synchronized boolean start(String resultsDir) {
+        if (state != JobState.QUEUED) {
+            return false; // cancelled while waiting for the executor
+        }
+        this.state = JobState.RUNNING;
+        this.started = System.currentTimeMillis();
+        this.resultsDir = resultsDir;
+        return true;
+    }
+
+    synchronized void succeed(String report) {
+        if (!state.isFinished()) {
+            this.report = report;
+            finish(JobState.SUCCEEDED, report);
+        }
+    }
+
+    synchronized void fail(String error) {
+        if (!state.isFinished()) {
+            this.error = error;
+            finish(JobState.FAILED, error);
+        }
+    }
+
+    /**
+     * Cancel the job, interrupting it if it's running.
+     *
+     * @return false if the job had already finished
+     */
+    synchronized boolean cancel() {
+        if (state.isFinished()) {
+            return false;
+        }
+        finish(JobState.CANCELLED, "cancelled");
+        if (execution != null) {
+            execution.cancel(true);
+        }
+        return true;
+    }
+
+    private void finish(JobState finalState, String message) {
+        if (!state.isFinished()) {
+            state = finalState;
+            finished = System.currentTimeMillis();
+            // only now, so no one sees the run end while the job still looks unfinished
+            TestEventBus.getDefault().publish(id, TestEvent.Type.RUN_FINISHED, null, null, message);
+        }
+    }
+}
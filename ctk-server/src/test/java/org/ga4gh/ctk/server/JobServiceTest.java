@@ -0,0 +1,237 @@
+package org.ga4gh.ctk.server;
+
+import org.ga4gh.ctk.TestRunner;
+import org.ga4gh.ctk.config.Props;
+import org.ga4gh.ctk.events.TestEvent;
+import org.ga4gh.ctk.events.TestEventBus;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Check the {@link JobService}'s queueing, concurrency limits, cancelling and history, with
+ * runners that finish when the test says so.
+ */
+public class JobServiceTest {
+
+    /**
+     * A runner whose run finishes when its report is completed.
+     */
+    private static class StubRunner extends TestRunner {
+
+        final CompletableFuture<String> report = new CompletableFuture<>();
+
+        volatile String urlRoot;
+
+        @Override
+        public CompletableFuture<String> doTestRun(String urlRoot, String datasetId, String matchStr,
+                                                   String testJar, String toDir) {
+            this.urlRoot = urlRoot;
+            return report;
+        }
+    }
+
+    private final BlockingQueue<StubRunner> started = new LinkedBlockingQueue<>();
+
+    private final Props props = new Props();
+
+    private JobService service;
+
+    private JobService service(int workers, int perTarget, int queue, int history) {
+        service = new JobService();
+        ReflectionTestUtils.setField(service, "workers", workers);
+        ReflectionTestUtils.setField(service, "perTarget", perTarget);
+        ReflectionTestUtils.setField(service, "queueCapacity", queue);
+        ReflectionTestUtils.setField(service, "history", history);
+        ReflectionTestUtils.setField(service, "props", props);
+        ObjectFactory<TestRunner> factory = () -> {
+            StubRunner runner = new StubRunner();
+            started.add(runner);
+            return runner;
+        };
+        ReflectionTestUtils.setField(service, "runnerFactory", factory);
+        service.resultsDirs = urlRoot -> "testresults/stub/1";
+        return service;
+    }
+
+    @After
+    public void shutdown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private StubRunner nextStarted() throws InterruptedException {
+        StubRunner runner = started.poll(5, TimeUnit.SECONDS);
+        assertThat(runner).as("a runner started").isNotNull();
+        return runner;
+    }
+
+    private void assertNoneStarted() throws InterruptedException {
+        assertThat(started.poll(200, TimeUnit.MILLISECONDS)).as("no runner started").isNull();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("timed out");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void queuesJobsBeyondTheWorkers() throws Exception {
+        service(2, 5, 10, 100);
+        TestJob a = service.submit("http://a:8000", "d", "*");
+        TestJob b = service.submit("http://b:8000", "d", "*");
+        TestJob c = service.submit("http://c:8000", "d", "*");
+        StubRunner first = nextStarted();
+        nextStarted();
+        assertNoneStarted();
+        assertThat(c.getState()).isEqualTo(JobState.QUEUED);
+        assertThat(service.queuePosition(c)).isEqualTo(0);
+
+        first.report.complete("report.html");
+        assertThat(nextStarted().urlRoot).isEqualTo("http://c:8000");
+        TestJob done = first.urlRoot.equals("http://a:8000") ? a : b;
+        await(() -> done.getState() == JobState.SUCCEEDED);
+        assertThat(done.getReport()).isEqualTo("report.html");
+    }
+
+    @Test
+    public void limitsTheJobsPerTarget() throws Exception {
+        service(2, 1, 10, 100);
+        service.submit("http://a:8000/ga4gh", "d", "*");
+        StubRunner first = nextStarted();
+        TestJob second = service.submit("http://a:8000/other", "d", "*");
+        service.submit("http://b:8000", "d", "*");
+        // the run against b overtakes the second run against a
+        assertThat(nextStarted().urlRoot).isEqualTo("http://b:8000");
+        assertThat(second.getState()).isEqualTo(JobState.QUEUED);
+
+        first.report.complete("report.html");
+        assertThat(nextStarted().urlRoot).isEqualTo("http://a:8000/other");
+    }
+
+    @Test
+    public void runsOneAntJobAtATime() throws Exception {
+        props.ctk_runner = "ant";
+        service(2, 5, 10, 100);
+        service.submit("http://a:8000", "d", "*");
+        TestJob second = service.submit("http://b:8000", "d", "*");
+        StubRunner first = nextStarted();
+        assertNoneStarted();
+        assertThat(second.getState()).isEqualTo(JobState.QUEUED);
+
+        first.report.complete("report.html");
+        assertThat(nextStarted().urlRoot).isEqualTo("http://b:8000");
+    }
+
+    @Test
+    public void refusesJobsWhenTheQueueIsFull() throws Exception {
+        service(1, 1, 1, 100);
+        service.submit("http://a:8000", "d", "*");
+        nextStarted();
+        service.submit("http://a:8000", "d", "*");
+        try {
+            service.submit("http://a:8000", "d", "*");
+            fail("expected the queue to be full");
+        } catch (RejectedExecutionException e) {
+            assertThat(e.getMessage()).contains("full");
+        }
+    }
+
+    @Test
+    public void cancelsAQueuedJob() throws Exception {
+        service(1, 1, 10, 100);
+        service.submit("http://a:8000", "d", "*");
+        StubRunner first = nextStarted();
+        TestJob queued = service.submit("http://b:8000", "d", "*");
+
+        assertThat(service.cancel(queued)).isTrue();
+        assertThat(queued.getState()).isEqualTo(JobState.CANCELLED);
+        assertThat(service.queuePosition(queued)).isEqualTo(-1);
+        assertThat(service.cancel(queued)).isFalse();
+
+        first.report.complete("report.html");
+        assertNoneStarted();
+    }
+
+    @Test
+    public void aCancelledQueuedJobPublishesItsEnd() throws Exception {
+        service(1, 1, 10, 100);
+        service.submit("http://a:8000", "d", "*");
+        nextStarted();
+        TestJob queued = service.submit("http://b:8000", "d", "*");
+        BlockingQueue<TestEvent> events = new LinkedBlockingQueue<>();
+        try (TestEventBus.Subscription ignored = TestEventBus.getDefault().subscribe(queued.getId(), 10, events::add)) {
+            service.cancel(queued);
+            TestEvent event = events.poll(5, TimeUnit.SECONDS);
+            assertThat(event).as("an event").isNotNull();
+            assertThat(event.getType()).isEqualTo(TestEvent.Type.RUN_FINISHED);
+            assertThat(event.getMessage()).isEqualTo("cancelled");
+        }
+    }
+
+    @Test
+    public void cancelsARunningJobAndStartsTheNext() throws Exception {
+        service(1, 1, 10, 100);
+        TestJob running = service.submit("http://a:8000", "d", "*");
+        nextStarted();
+        TestJob queued = service.submit("http://b:8000", "d", "*");
+        await(() -> running.getState() == JobState.RUNNING);
+
+        assertThat(service.cancel(running)).isTrue();
+        assertThat(running.getState()).isEqualTo(JobState.CANCELLED);
+        // the interrupted worker frees its slot for the queued job
+        assertThat(nextStarted().urlRoot).isEqualTo("http://b:8000");
+        assertThat(queued.getState()).isEqualTo(JobState.RUNNING);
+        assertThat(running.getState()).isEqualTo(JobState.CANCELLED);
+    }
+
+    @Test
+    public void aRunWithoutAReportFails() throws Exception {
+        service(1, 1, 10, 100);
+        TestJob job = service.submit("http://a:8000", "d", "*");
+        nextStarted().report.complete("");
+        await(() -> job.getState().isFinished());
+        assertThat(job.getState()).isEqualTo(JobState.FAILED);
+        assertThat(job.getError()).isNotEmpty();
+    }
+
+    @Test
+    public void forgetsTheOldestFinishedJobs() throws Exception {
+        service(1, 1, 10, 2);
+        TestJob[] jobs = new TestJob[3];
+        for (int i = 0; i < jobs.length; i++) {
+            TestJob job = service.submit("http://a:8000", "d", "*");
+            jobs[i] = job;
+            nextStarted().report.complete("report.html");
+            await(() -> job.getState().isFinished());
+        }
+        assertThat(service.get(jobs[0].getId())).isNull();
+        assertThat(service.list()).containsExactly(jobs[1], jobs[2]);
+    }
+
+    @Test
+    public void keepsUnfinishedJobsPastTheHistoryLimit() throws Exception {
+        service(1, 1, 10, 1);
+        TestJob running = service.submit("http://a:8000", "d", "*");
+        nextStarted();
+        TestJob queued = service.submit("http://a:8000", "d", "*");
+        assertThat(service.list()).containsExactly(running, queued);
+    }
+}
@@ -1,6 +1,8 @@
 package org.ga4gh.ctk;
 
 import org.apache.tools.ant.*;
+import org.ga4gh.ctk.events.TestEvent;
+import org.ga4gh.ctk.events.TestEventBus;
 
 /**
  * <p>Bridge ant-generated events to CTK logs</p>
@@ -52,6 +54,7 @@ public class AntExecListener implements BuildListener, CtkLogs {
     @Override
     public void targetStarted(BuildEvent event) {
         CtkLogs.log.trace(eventToString(event)+ " ant target start");
+        TestEventBus.getDefault().publish(TestEvent.Type.TARGET_STARTED, event.getTarget().getName(), null, null);
 
     }
 
@@ -66,6 +69,8 @@ public class AntExecListener implements BuildListener, CtkLogs {
     @Override
     public void targetFinished(BuildEvent event) {
         CtkLogs.log.trace(eventToString(event)+ " ant target finish");
+        TestEventBus.getDefault().publish(TestEvent.Type.TARGET_FINISHED, event.getTarget().getName(), null,
+                event.getException() != null ? event.getException().getMessage() : null);
 
     }
 
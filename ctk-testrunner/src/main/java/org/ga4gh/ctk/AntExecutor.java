@@ -7,6 +7,7 @@ package org.ga4gh.ctk;
 
 import org.apache.tools.ant.*;
 import org.ga4gh.ctk.config.Props;
+import org.ga4gh.ctk.transport.RunContext;
 import org.ga4gh.ctk.transport.URLMAPPING;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,7 +15,8 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
-import java.util.Properties;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -107,6 +109,35 @@ public class AntExecutor {
     public boolean executeAntTask(String testjar, String matchstr, URLMAPPING urls,
                                   String datasetId,
                                   String toDir, BuildListener theBoss) {
+        return executeAntTask(null, testjar, matchstr, urls, datasetId, toDir, theBoss);
+    }
+
+    /**
+     * Execute one target of the ant build script (runAntTests.xml); e.g., "htmlreport" to
+     * build the HTML report from results that were run some other way.
+     *
+     * @param target the target to run, or null for the default target
+     * @param testjar tests jar to unpack/run in Ant
+     */
+    public boolean executeAntTask(String target, String testjar, String matchstr, URLMAPPING urls,
+                                  String datasetId,
+                                  String toDir, BuildListener theBoss) {
+        Map<String, String> settings = new HashMap<>(urls.getEndpoints());
+        settings.put("ctk.tgt.dataset_id", datasetId);
+        return executeAntTask(target, testjar, matchstr, urls, new RunContext(settings), toDir, theBoss);
+    }
+
+    /**
+     * Execute one target of the ant build script (runAntTests.xml) in the given run context.
+     *
+     * @param target the target to run, or null for the default target
+     * @param testjar tests jar to unpack/run in Ant
+     * @param runContext the run's settings, bound to the thread running the tests
+     */
+    public boolean executeAntTask(String target, String testjar, String matchstr, URLMAPPING urls,
+                                  RunContext runContext,
+                                  String toDir, BuildListener theBoss) {
+        String datasetId = runContext.getProperties().get("ctk.tgt.dataset_id");
 
         log.trace("passed-in urls has " + urls.getEndpoints());
         log.info("passed-in urls.getUrlRoot " + urls.getUrlRoot());
@@ -155,28 +186,17 @@ public class AntExecutor {
         // Capture event for Ant script build start / stop / failure
         try {
             // If no target specified then default target will be executed.
-            targetToExecute = project.getDefaultTarget();
-
-            // capture system properties so we can edit them to get props into ant build being launched
-            Properties copySysProp = new Properties(System.getProperties()); // this is the replacement
-
-            // we add the URLs to the system props, so when the tests use
-            // URLMAPPING.doInit() they pick these up as highest-priority
-            // and thereby use the passed-in values.
-            Properties sysprops = new Properties(System.getProperties()); // this one we'll alter
-            sysprops.putAll(urls.getEndpoints());
-            sysprops.put("ctk.tgt.dataset_id", datasetId);
-            System.setProperties(sysprops);
-
-            log.debug("About to run ant, sysprop ctk.tgt.urlRoot " + System.getProperty("ctk.tgt.urlRoot"));
-            log.debug("  ctk.tgt.dataset_id = " + System.getProperty("ctk.tgt.dataset_id"));
-            project.executeTarget(targetToExecute);
+            targetToExecute = target != null ? target : project.getDefaultTarget();
+
+            // the tests run on this thread (fork="off"), so bind the run's URLs
+            // to it; when the tests use URLMAPPING.doInit() they pick these up as
+            // highest-priority and thereby use the passed-in values.
+            log.debug("About to run ant, ctk.tgt.urlRoot " + runContext.getProperties().get("ctk.tgt.urlRoot"));
+            log.debug("  ctk.tgt.dataset_id = " + datasetId);
+            String antTarget = targetToExecute;
+            runContext.run(() -> project.executeTarget(antTarget));
             success = true; // well, we got a good launch at least!
 
-            System.setProperties(copySysProp); // restore the system
-            log.debug("Done with ant, restored system props, ctk.tgt.urlRoot "
-                    + System.getProperty("ctk.tgt.urlRoot"));
-
             project.fireBuildFinished(null);
             CtkLogs.testlog.info("Overall: " + TestExecListener.getTestReport());
         } catch (BuildException buildException) {
@@ -0,0 +1,209 @@
+package org.ga4gh.ctk;
+
+import org.apache.tools.ant.types.selectors.SelectorUtils;
+import org.ga4gh.ctk.config.Props;
+import org.ga4gh.ctk.transport.RunContext;
+import org.junit.runner.Request;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.RunNotifier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * <p>Runs the test classes in-process, several at a time, in place of the Ant
+ * <tt>&lt;junit fork="off"&gt;</tt> task, which runs them one after another.</p>
+ * <p>The test classes are selected from <tt>lib/&lt;ctk.testjar&gt;</tt> with the same
+ * Ant-style patterns (<tt>ctk.matchstr</tt>) the antfile's <tt>&lt;batchtest&gt;</tt> uses,
+ * and each class is run with JUnit on one of <tt>ctk.runner.workers</tt> threads. The methods
+ * of a class still run in order on one thread, so <tt>@BeforeClass</tt> fixtures behave as
+ * they did under Ant.</p>
+ * <p>Instead of editing the System properties, the run's target (urlRoot, endpoints and
+ * dataset ID) is bound to each worker as a {@link RunContext}, and the test classes are
+ * loaded afresh for each run by a {@link TestClassLoader}, so several runs can be in
+ * progress at once.</p>
+ * <p>Each class leaves a <tt>TEST-&lt;class&gt;.xml</tt> in the results directory (see
+ * {@link XmlReportListener}), so the antfile's <tt>htmlreport</tt> target can build
+ * the HTML report as before, and the totals go into the {@link TestExecListener} stats.</p>
+ */
+@Component
+@Scope("prototype")
+public class ParallelTestExecutor {
+
+    private static org.slf4j.Logger log = getLogger(ParallelTestExecutor.class);
+
+    @Autowired
+    private Props props;
+    public void setProps(Props props){
+        this.props = props;
+    }
+
+    /**
+     * Run the selected tests and wait for them to finish.
+     *
+     * @param testjar    the jar (in the lib dir) to look inside for test classes
+     * @param matchstr   comma-separated Ant-style patterns selecting the test classes
+     * @param runContext the run's settings (urlRoot, endpoints and dataset ID), bound to each worker
+     * @param toDir      the directory to put the xml results into
+     * @param totals     the run's totals, which each test class's counts are added to
+     * @return true if the tests could be found and run (whether or not they passed)
+     */
+    public boolean runTests(String testjar, String matchstr, RunContext runContext,
+                            String toDir, TestTotals totals) {
+        File jar = new File("lib", testjar);
+        File resultsDir = new File(toDir);
+        if (!resultsDir.isDirectory() && !resultsDir.mkdirs()) {
+            log.warn("couldn't create results dir " + resultsDir);
+            return false;
+        }
+
+        int workers = Math.max(1, props.ctk_runner_workers);
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, task -> {
+            Thread thread = new Thread(task, "ctk-test-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // the test classes get a loader of their own, so this run's statics aren't another's
+        try (URLClassLoader libLoader = new URLClassLoader(libraries(jar),
+                                                           Thread.currentThread().getContextClassLoader());
+             URLClassLoader loader = new TestClassLoader(new URL[]{toUrl(jar), toUrl(new File("target/test-classes"))},
+                                                         libLoader)) {
+            List<String> classNames = findTestClasses(jar, matchstr);
+            log.info("running " + classNames.size() + " test classes from " + jar
+                    + " on " + workers + " threads against " + runContext.getProperties().get("ctk.tgt.urlRoot"));
+
+            List<Future<?>> running = new ArrayList<>();
+            for (String className : classNames) {
+                running.add(pool.submit(() -> runContext.run(() -> runClass(loader, className, resultsDir, totals))));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("couldn't read test classes from " + jar + ": " + e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            log.warn("test run failed", e.getCause());
+            return false;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Run one test class, writing its xml results and adding its totals into the run's stats.
+     */
+    private void runClass(ClassLoader loader, String className, File resultsDir, TestTotals totals) {
+        Thread.currentThread().setContextClassLoader(loader);
+        Class<?> testClass;
+        try {
+            testClass = Class.forName(className, false, loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            // counted as a suite with one error, so the run doesn't look clean
+            log.warn("couldn't load test class " + className + ": " + e);
+            TestExecListener.suiteStarted(className);
+            totals.add(1, 0, 1, 0, 0);
+            TestExecListener.suiteFinished(className, 1, 0, 1, 0, 0);
+            return;
+        }
+        if (Modifier.isAbstract(testClass.getModifiers())) {
+            return; // a base class, not a suite
+        }
+        XmlReportListener report = new XmlReportListener(className, resultsDir);
+        TestExecListener.suiteStarted(className);
+        Runner runner = Request.aClass(testClass).getRunner();
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(report);
+        notifier.addListener(new TestExecListener());
+        runner.run(notifier);
+        report.writeReport();
+        long runCount = report.getTestCount() - report.getSkipCount();
+        float secs = report.getRunTime();
+        totals.add(runCount, report.getFailureCount(), report.getErrorCount(), report.getSkipCount(), secs);
+        TestExecListener.suiteFinished(className, runCount, report.getFailureCount(), report.getErrorCount(),
+                                       report.getSkipCount(), secs);
+    }
+
+    /**
+     * Find the classes in the jar whose paths match any of the patterns, as
+     * <tt>&lt;zipfileset includes="..."&gt;</tt> would.
+     *
+     * @param jar      the jar to look in
+     * @param matchstr comma-separated Ant-style patterns, e.g. <tt>**&#47;*IT.class</tt>
+     * @return the binary names of the matching top-level classes
+     * @throws IOException if the jar can't be read
+     */
+    static List<String> findTestClasses(File jar, String matchstr) throws IOException {
+        List<String> patterns = Stream.of(matchstr.split(","))
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .map(pattern -> pattern.replace('/', File.separatorChar))
+                .collect(Collectors.toList());
+        List<String> classNames = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(jar)) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (!name.endsWith(".class") || name.contains("$")) {
+                    continue; // inner classes are run by their enclosing class
+                }
+                String path = name.replace('/', File.separatorChar);
+                if (patterns.stream().anyMatch(pattern -> SelectorUtils.matchPath(pattern, path))) {
+                    classNames.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+                }
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * The rest of the classpath the antfile gives &lt;junit&gt;: the other jars in lib.
+     */
+    private static URL[] libraries(File jar) throws IOException {
+        List<URL> urls = new ArrayList<>();
+        Path lib = new File("lib").toPath();
+        if (Files.isDirectory(lib)) {
+            try (Stream<Path> files = Files.walk(lib)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    if (file.toString().endsWith(".jar") && !file.toFile().equals(jar)) {
+                        urls.add(toUrl(file.toFile()));
+                    }
+                }
+            }
+        }
+        return urls.toArray(new URL[urls.size()]);
+    }
+
+    private static URL toUrl(File file) throws MalformedURLException {
+        return file.toURI().toURL();
+    }
+}
@@ -0,0 +1,50 @@
+package org.ga4gh.ctk;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * <p>Loads a run's test classes itself, before asking its parent.</p>
+ * <p>The test classes keep their fixtures in static fields (the {@code Client}, and through it the
+ * target's URLs, is usually one), so two runs in progress at once must not share them.
+ * The test jar may also be on the application's own classpath (<tt>loader.path=lib</tt>),
+ * where the usual parent-first lookup would find a single shared copy. Loading the classes
+ * found on this loader's own path child-first gives every run its own copy; everything else
+ * (JUnit, the transport, and {@link org.ga4gh.ctk.transport.RunContext} in particular)
+ * still comes from the parent and is shared.</p>
+ */
+class TestClassLoader extends URLClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    /**
+     * @param testPath the test jar and test-classes directories
+     * @param parent   the loader for everything else
+     */
+    TestClassLoader(URL[] testPath, ClassLoader parent) {
+        super(testPath, parent);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (name.startsWith("java.")) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded == null) {
+                try {
+                    loaded = findClass(name);
+                } catch (ClassNotFoundException e) {
+                    return super.loadClass(name, resolve);
+                }
+            }
+            if (resolve) {
+                resolveClass(loaded);
+            }
+            return loaded;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package org.ga4gh.ctk;
 import junit.framework.*;
 import org.apache.tools.ant.*;
 import org.apache.tools.ant.taskdefs.optional.junit.*;
+import org.ga4gh.ctk.events.TestEvent;
+import org.ga4gh.ctk.events.TestEventBus;
 import org.junit.runner.*;
 import org.junit.runner.notification.*;
 import org.slf4j.*;
@@ -10,6 +12,9 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.*;
 
 import java.io.*;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 /**
  * <p>Route JUnit test events into the TESTLOG</p>
@@ -21,14 +26,15 @@ import java.io.*;
 @Scope("prototype")
 public class TestExecListener extends RunListener implements JUnitResultFormatter  {
 
-    static long runCount = 0L; // these are the overall run totals
-    static long failureCount = 0L;
-    static long errorCount = 0L;
-    static long skipCount  = 0L;
-    static float ms = 0.0f;
+    static final TestTotals overall = new TestTotals(); // these are the overall run totals
 
     private static org.slf4j.Logger testlog = LoggerFactory.getLogger("TESTLOG");
 
+    private static final TestEventBus events = TestEventBus.getDefault();
+
+    // the tests (Descriptions, or ant's Tests) that have failed, so aren't passes when they finish
+    private final Set<Object> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+
     /**
      * <p>Gets test report summary string.</p>
      *
@@ -37,19 +43,52 @@ public class TestExecListener extends RunListener implements JUnitResultFormatte
      * @return the test report
      */
     public static String getTestReport() {
-        return String.format("Tests run: %d, Failures: %d, Errors: %d, Skipped: %d, Time elapsed: %.3f sec",
-                runCount, failureCount, errorCount, skipCount, ms);
+        return overall.toString();
+    }
+
+    /**
+     * @return a copy of the overall totals
+     */
+    public static TestTotals getTotals() {
+        return overall.copy();
     }
 
     /**
      * <p>Reset stats</p>
      */
     public static void resetStats() {
-        runCount = 0L; // these are the overall run totals
-        failureCount = 0L;
-        errorCount = 0L;
-        skipCount  = 0L;
-        ms = 0.0f;
+        overall.reset();
+    }
+
+    /**
+     * <p>Note that a test class is starting.</p>
+     *
+     * @param name the test class name
+     */
+    public static void suiteStarted(String name) {
+        testlog.info("Suite start " + name);
+        events.publish(TestEvent.Type.SUITE_STARTED, name, null, null);
+    }
+
+    /**
+     * <p>Add a finished test class's counts into the overall totals, and log them.</p>
+     * <p>Test classes may finish on several threads at once (see {@link ParallelTestExecutor}).</p>
+     *
+     * @param name              the test class name
+     * @param suiteRunCount     tests run
+     * @param suiteFailureCount tests failed
+     * @param suiteErrorCount   tests in error
+     * @param suiteSkipCount    tests skipped
+     * @param suiteSecs         time taken, in seconds
+     */
+    public static void suiteFinished(String name, long suiteRunCount, long suiteFailureCount, long suiteErrorCount,
+                                     long suiteSkipCount, float suiteSecs) {
+        overall.add(suiteRunCount, suiteFailureCount, suiteErrorCount, suiteSkipCount, suiteSecs);
+
+        String suiteSummary= String.format("Tests run: %d, Failures: %d, Errors: %d, Skipped: %d, Time elapsed: %.3f sec",
+                suiteRunCount, suiteFailureCount,suiteErrorCount,suiteSkipCount, suiteSecs);
+        testlog.info(suiteSummary);
+        events.publish(TestEvent.Type.SUITE_FINISHED, name, null, suiteSummary);
     }
 
     /******** first methods are for when directly attached to the JUnitCore ***/
@@ -79,6 +118,9 @@ public class TestExecListener extends RunListener implements JUnitResultFormatte
      */
     public void testFinished(Description description) throws java.lang.Exception {
         testlog.debug("Finished test case : " + description.getMethodName());
+        if (!failed.remove(description)) {
+            events.publish(TestEvent.Type.TEST_PASSED, description.getClassName(), description.getMethodName(), null);
+        }
     }
 
     /**
@@ -86,6 +128,22 @@ public class TestExecListener extends RunListener implements JUnitResultFormatte
      */
     public void testFailure(Failure failure) throws java.lang.Exception {
         testlog.warn("FAILED test case : " + failure.getMessage());
+        Description description = failure.getDescription();
+        failed.add(description);
+        events.publish(failure.getException() instanceof AssertionError ? TestEvent.Type.TEST_FAILED
+                                                                       : TestEvent.Type.TEST_ERROR,
+                       description.getClassName(), description.getMethodName(), failure.getMessage());
+    }
+
+    /**
+     * Called when an atomic test flags that it assumes a condition that is false.
+     */
+    public void testAssumptionFailure(Failure failure) {
+        testlog.info("Skipping test case : " + failure.getMessage());
+        Description description = failure.getDescription();
+        failed.add(description);
+        events.publish(TestEvent.Type.TEST_SKIPPED, description.getClassName(), description.getMethodName(),
+                       failure.getMessage());
     }
 
     /**
@@ -93,6 +151,7 @@ public class TestExecListener extends RunListener implements JUnitResultFormatte
      */
     public void testIgnored(Description description) throws java.lang.Exception {
         testlog.info("Ignoring test case : " + description.getMethodName());
+        events.publish(TestEvent.Type.TEST_SKIPPED, description.getClassName(), description.getMethodName(), null);
     }
 
     /****** JUnitResultFormatter methods, for listening to ant <junit> run ***/
@@ -104,7 +163,7 @@ public class TestExecListener extends RunListener implements JUnitResultFormatte
      */
     @Override
     public void startTestSuite(JUnitTest suite) throws BuildException {
-        testlog.info("Suite start " + suite.getName());
+        suiteStarted(suite.getName());
     }
 
     /**
@@ -115,27 +174,10 @@ public class TestExecListener extends RunListener implements JUnitResultFormatte
      */
     @Override
     public void endTestSuite(JUnitTest suite) throws BuildException {
-
-        long suiteRunCount = suite.runCount();
-        long suiteFailureCount = suite.failureCount();
-        long suiteErrorCount = suite.errorCount();
-        long suiteSkipCount  = suite.skipCount();
-        float suiteMs = suite.getRunTime()/1000.0f;
-
-        // track overall
-        runCount     += suiteRunCount;
-        failureCount += suiteFailureCount;
-        errorCount   += suiteErrorCount;
-        skipCount    += suiteFailureCount;
-        ms           += suiteMs;
-
-        String suiteSummary= String.format("Tests run: %d, Failures: %d, Errors: %d, Skipped: %d, Time elapsed: %.3f sec",
-                suiteRunCount, suiteFailureCount,suiteErrorCount,suiteSkipCount, suiteMs);
-        testlog.info(suiteSummary);
+        suiteFinished(suite.getName(), suite.runCount(), suite.failureCount(), suite.errorCount(), suite.skipCount(),
+                      suite.getRunTime()/1000.0f);
     }
 
-
-
     /**
      * Sets the stream the formatter is supposed to write its results to.
      *
@@ -175,6 +217,9 @@ public class TestExecListener extends RunListener implements JUnitResultFormatte
     @Override
     public void addError(Test test, Throwable e) {
         testlog.error("ERROR: " + test.toString() + " due to " + e.getMessage());
+        failed.add(test);
+        events.publish(TestEvent.Type.TEST_ERROR, JUnitVersionHelper.getTestCaseClassName(test),
+                       JUnitVersionHelper.getTestCaseName(test), e.getMessage());
     }
 
     /**
@@ -186,6 +231,9 @@ public class TestExecListener extends RunListener implements JUnitResultFormatte
     @Override
     public void addFailure(Test test, AssertionFailedError e) {
         testlog.warn("FAILED " + test.toString() + " due to " + e.getMessage());
+        failed.add(test);
+        events.publish(TestEvent.Type.TEST_FAILED, JUnitVersionHelper.getTestCaseClassName(test),
+                       JUnitVersionHelper.getTestCaseName(test), e.getMessage());
     }
 
     /**
@@ -196,6 +244,10 @@ public class TestExecListener extends RunListener implements JUnitResultFormatte
     @Override
     public void endTest(Test test) {
         testlog.debug("test: " + test.toString());
+        if (!failed.remove(test)) {
+            events.publish(TestEvent.Type.TEST_PASSED, JUnitVersionHelper.getTestCaseClassName(test),
+                           JUnitVersionHelper.getTestCaseName(test), null);
+        }
     }
 
     /**
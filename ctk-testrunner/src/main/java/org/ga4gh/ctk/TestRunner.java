@@ -1,18 +1,39 @@
 package org.ga4gh.ctk;
 
-import com.google.common.collect.Table;
 import org.apache.tools.ant.BuildEvent;
 import org.apache.tools.ant.BuildListener;
+import com.google.gson.stream.JsonWriter;
 import org.ga4gh.ctk.config.Props;
+import org.ga4gh.ctk.events.TestEvent;
+import org.ga4gh.ctk.events.TestEventBus;
+import org.ga4gh.ctk.results.ResultsStore;
+import org.ga4gh.ctk.results.RunRecord;
+import org.ga4gh.ctk.transport.EndpointTraffic;
+import org.ga4gh.ctk.transport.RunContext;
+import org.ga4gh.ctk.transport.TrafficRecorder;
 import org.ga4gh.ctk.transport.URLMAPPING;
-import org.ga4gh.ctk.transport.protobuf.Base;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -43,13 +64,43 @@ public class TestRunner implements BuildListener {
 
     @Autowired
     private AntExecutor antExecutor;
+    public void setAntExecutor(AntExecutor antExecutor) {
+        this.antExecutor = antExecutor;
+    }
+
+    @Autowired
+    private ParallelTestExecutor parallelTestExecutor;
+    public void setParallelTestExecutor(ParallelTestExecutor parallelTestExecutor) {
+        this.parallelTestExecutor = parallelTestExecutor;
+    }
+
+    @Autowired
+    private ObjectFactory<TestRunner> runnerFactory;
 
     @Value("${ctk.tgt.urlRoot}")
     String urlroot;
+    public void setUrlroot(String urlroot) {
+        this.urlroot = urlroot;
+    }
 
     // this is the object we use to pass final result status back
     CompletableFuture<String> result;
 
+    // identifies the run's events on the TestEventBus; defaults to the results dir
+    private String runId;
+    private String activeRunId;
+
+    // the latest run's traffic stats and totals
+    private TrafficRecorder trafficRecorder = TrafficRecorder.getDefault();
+    private TestTotals totals = new TestTotals();
+    private TestTotals antTotalsBefore;
+
+    // what the latest run tested, and when, for its ResultsStore record
+    private String runUrlRoot;
+    private String runDatasetId;
+    private long runStarted;
+    private RunContext runContext;
+
     /**
      * String name of the directory under which to put the test results
      */
@@ -97,21 +148,233 @@ public class TestRunner implements BuildListener {
                     /* ****** MAIN RUN-THE-TESTS *********** */
 
         result = new CompletableFuture<>();
-        boolean goodLaunch =
-                antExecutor.executeAntTask(testJar, matchStr,
-                                           urls, datasetId,
-                                           acceptedTargetDir,
-                                           this); // "this" registers this for the BuildListener
-                                           // callbacks
+        runUrlRoot = urlRoot;
+        runDatasetId = datasetId;
+        runStarted = System.currentTimeMillis();
+        // the traffic stats and totals are per run, and so is the
+        // configuration, so several runs can be in progress at once
+        trafficRecorder = new TrafficRecorder();
+        totals = new TestTotals();
+        Map<String, String> settings = new HashMap<>(urls.getEndpoints());
+        settings.put("ctk.tgt.dataset_id", datasetId);
+        if (!props.ctk_transport_replay.isEmpty()) {
+            settings.put("ctk.transport.replay", props.ctk_transport_replay);
+        } else if (!props.ctk_transport_record.isEmpty()) {
+            settings.put("ctk.transport.record", props.ctk_transport_record);
+        }
+        activeRunId = runId != null ? runId : acceptedTargetDir;
+        settings.put(TestEventBus.RUN_ID_PROPERTY, activeRunId);
+        runContext = new RunContext(settings, trafficRecorder);
+        TestEventBus.getDefault().publish(activeRunId, TestEvent.Type.RUN_STARTED, null, null, urlRoot);
+        boolean goodLaunch;
+        if ("ant".equals(props.ctk_runner)) {
+            antTotalsBefore = TestExecListener.getTotals();
+            goodLaunch = antExecutor.executeAntTask(null, testJar, matchStr,
+                                                    urls, runContext,
+                                                    acceptedTargetDir,
+                                                    this); // "this" registers this for the BuildListener
+                                                    // callbacks
+        } else if (props.ctk_report_html) {
+            // run the tests in-process, then let ant build the HTML report
+            // from their xml results, as it does after its own <junit> run
+            goodLaunch = parallelTestExecutor.runTests(testJar, matchStr, runContext,
+                                                       acceptedTargetDir, totals)
+                    && antExecutor.executeAntTask("htmlreport", testJar, matchStr,
+                                                  urls, runContext,
+                                                  acceptedTargetDir,
+                                                  this);
+        } else {
+            // just the xml results and the summary, no ant at all
+            goodLaunch = parallelTestExecutor.runTests(testJar, matchStr, runContext,
+                                                       acceptedTargetDir, totals);
+            if (goodLaunch) {
+                // this run's own totals; the global ones are shared with any other run going on
+                CtkLogs.testlog.info("Overall: " + totals);
+                runFinished(acceptedTargetDir, "");
+            }
+        }
         if(!goodLaunch){
             log.warn("bad test run for " + acceptedTargetDir + " " + testJar + " " + matchStr + " urls: " + urls);
-            result.complete("");
+            if (result.complete("")) {
+                publishRunFinished("test run failed");
+            }
         }
 
         // see finish processing n buildFinished()
         return result;
     }
 
+    /**
+     * <p>Do a matrix run: test several targets (or one target with several datasets)
+     * at once, with the properties ctk_matchstr and ctk_testjar.</p>
+     * <p>Each target is an ordinary test run, in its own ResultsSupport results dir, with
+     * its own configuration, traffic stats and totals; up to ctk.matrix.concurrency of them run
+     * at a time. When they're all done a combined summary, matrix.json, is written to a
+     * testresults/matrix dir and the totals of each target are logged. A target whose run
+     * fails is recorded in the summary with an empty report; it doesn't stop the others
+     * or the summary.</p>
+     * <p>This returns at once; the runs go on in the background.</p>
+     * <p>With ctk.runner=ant the targets are run one at a time, since ant's junit task doesn't
+     * isolate the test classes of one run from another's.</p>
+     *
+     * @param targets the (urlRoot, datasetId) pairs to test
+     * @return a Future with the path of the combined summary, completed once it's written, or
+     * empty if it couldn't be
+     */
+    public CompletableFuture<String> doMatrixRun(List<MatrixTarget> targets) {
+        return doMatrixRun(targets, props.ctk_matchstr, props.ctk_testjar);
+    }
+
+    /**
+     * Do a matrix run using specific parameters.
+     *
+     * @param targets the (urlRoot, datasetId) pairs to test
+     * @param matchStr the match str
+     * @param testJar the test jar
+     * @return a Future with the path of the combined summary, completed once it's written, or
+     * empty if it couldn't be
+     * @see #doMatrixRun(List)
+     */
+    public CompletableFuture<String> doMatrixRun(List<MatrixTarget> targets, String matchStr, String testJar) {
+        int concurrency = "ant".equals(props.ctk_runner) ? 1
+                : Math.max(1, Math.min(props.ctk_matrix_concurrency, targets.size()));
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        List<TestRunner> runners = new ArrayList<>();
+        List<String> resultsDirs = new ArrayList<>();
+        List<CompletableFuture<String>> reports = new ArrayList<>();
+        try {
+            for (MatrixTarget target : targets) {
+                TestRunner runner = runnerFactory.getObject(); // a prototype, so a runner of its own
+                String resultsDir = ResultsSupport.getResultsDir(target.getUrlRoot());
+                runners.add(runner);
+                resultsDirs.add(resultsDir);
+                reports.add(CompletableFuture.supplyAsync(() -> resultsDir.isEmpty() ? "" :
+                        runner.doTestRun(target.getUrlRoot(), target.getDatasetId(),
+                                         matchStr, testJar, resultsDir).join(), pool)
+                        .exceptionally(e -> {
+                            log.warn("matrix run of " + target + " failed", e);
+                            return "";
+                        }));
+            }
+        } finally {
+            pool.shutdown(); // the runs already submitted still go ahead
+        }
+        return CompletableFuture.allOf(reports.toArray(new CompletableFuture[reports.size()]))
+                .thenApply(done -> writeMatrixSummary(targets, runners, resultsDirs, reports));
+    }
+
+    /**
+     * Write matrix.json and log each target's totals, once all the runs are over.
+     *
+     * @return the path of the summary, or empty if it couldn't be written
+     */
+    private static String writeMatrixSummary(List<MatrixTarget> targets, List<TestRunner> runners,
+                                             List<String> resultsDirs, List<CompletableFuture<String>> reports) {
+        // logged first, so the totals are seen even if the summary can't be written
+        TestTotals overall = new TestTotals();
+        for (int i = 0; i < targets.size(); i++) {
+            TestTotals runTotals = runners.get(i).getTotals();
+            String report = reports.get(i).join();
+            overall.add(runTotals);
+            CtkLogs.testlog.info("Matrix " + targets.get(i) + ": " + runTotals
+                    + (report.isEmpty() ? " (run failed)" : ", report " + report));
+        }
+        CtkLogs.testlog.info("Matrix overall: " + overall);
+
+        String summaryDir = ResultsSupport.getMatrixResultsDir();
+        if (summaryDir.isEmpty()) {
+            // else the summary would land in the working directory
+            log.warn("couldn't build a results dir for the matrix summary");
+            return "";
+        }
+        Path summary = Paths.get(summaryDir, "matrix.json");
+        try (JsonWriter json = new JsonWriter(Files.newBufferedWriter(summary, StandardCharsets.UTF_8))) {
+            json.setIndent("  ");
+            json.beginObject();
+            json.name("targets").beginArray();
+            for (int i = 0; i < targets.size(); i++) {
+                MatrixTarget target = targets.get(i);
+                TestTotals runTotals = runners.get(i).getTotals();
+                String report = reports.get(i).join();
+                json.beginObject();
+                json.name("urlRoot").value(target.getUrlRoot());
+                json.name("datasetId").value(target.getDatasetId());
+                json.name("resultsDir").value(resultsDirs.get(i));
+                json.name("report").value(report);
+                writeTotals(json, runTotals);
+                json.endObject();
+            }
+            json.endArray();
+            json.name("overall").beginObject();
+            writeTotals(json, overall);
+            json.endObject();
+            json.endObject();
+        } catch (IOException e) {
+            log.warn("couldn't write matrix summary to " + summary + ": " + e);
+            return "";
+        }
+        return summary.toString();
+    }
+
+    private static void writeTotals(JsonWriter json, TestTotals totals) throws IOException {
+        json.name("tests").value(totals.getRunCount());
+        json.name("failures").value(totals.getFailureCount());
+        json.name("errors").value(totals.getErrorCount());
+        json.name("skipped").value(totals.getSkipCount());
+        json.name("time").value(totals.getSecs());
+    }
+
+    /**
+     * Set the ID under which this runner's next run publishes its events on the
+     * {@link TestEventBus}; without one, the run's results dir is used. A run with an ID
+     * set this way doesn't publish its {@link TestEvent.Type#RUN_FINISHED} event: the
+     * caller does, once it's done with the result, so no one watching sees the run end
+     * before the caller knows how it ended.
+     *
+     * @param runId the run ID
+     */
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    /**
+     * @return the totals of this runner's latest run
+     */
+    public TestTotals getTotals() {
+        return totals.copy();
+    }
+
+    /**
+     * Add the run just finished to the results history, so it can be found by target,
+     * date, test or outcome without scanning the results dirs.
+     *
+     * @param todir the run's results dir
+     * @param report the run's HTML report, or empty if it has none
+     */
+    private void recordRun(String todir, String report) {
+        Path dir = Paths.get(todir);
+        String runId = dir.startsWith(ResultsSupport.getResultsBase())
+                ? ResultsSupport.getResultsBase().relativize(dir).toString().replace('\\', '/')
+                : todir;
+        String target;
+        try {
+            target = new URL(runUrlRoot).getAuthority();
+        } catch (MalformedURLException e) {
+            target = runUrlRoot;
+        }
+        RunRecord run = new RunRecord(runId, runUrlRoot, target, runDatasetId,
+                                      runStarted, System.currentTimeMillis(),
+                                      todir, report,
+                                      totals.getRunCount(), totals.getFailureCount(),
+                                      totals.getErrorCount(), totals.getSkipCount());
+        try {
+            int recorded = ResultsStore.getDefault().addFromReports(run);
+            log.debug("recorded run " + runId + " with " + recorded + " test results");
+        } catch (IOException | RuntimeException e) {
+            log.warn("couldn't record run " + runId + " in the results store: " + e);
+        }
+    }
+
     /**** CATCH BUILD EVENTS FOR THE BUILD WE LAUNCHED ****/
 
     /**
@@ -141,14 +404,45 @@ public class TestRunner implements BuildListener {
     public void buildFinished(BuildEvent event) {
        /* ******* post-Test reporting ********* */
         // ant file runs junitreporter, so those reports are done
-        // just log the traffic, until we write the coverage-tests
-        for (Table.Cell<String, String, Integer> cell : Base.getMessages().cellSet()) {
-            trafficlog.info(cell.getRowKey() + " " + cell.getColumnKey() + " " + cell.getValue());
+        if (antTotalsBefore != null) {
+            // ant's junit task counted this run's tests into the overall stats only
+            totals.add(TestExecListener.getTotals().since(antTotalsBefore));
+            antTotalsBefore = null;
         }
         String todir = event.getProject().getUserProperty("ctk.todir");
         log.debug("buildFinished for " + todir);
-        // signal the listener to proceed
-        result.complete(todir +"report/html/index.html");
+        runFinished(todir, todir + "report/html/index.html");
+    }
+
+    /**
+     * Log the run's traffic, keep it with the results for the coverage-tests, record
+     * the run, and signal the listener to proceed.
+     *
+     * @param todir  the run's results dir
+     * @param report the run's HTML report, or empty if it has none
+     */
+    private void runFinished(String todir, String report) {
+        TrafficRecorder traffic = trafficRecorder;
+        for (EndpointTraffic endpoint : traffic.snapshot()) {
+            trafficlog.info(endpoint.toString());
+        }
+        trafficlog.info(runContext.getFixtures().toString());
+        try (Writer out = Files.newBufferedWriter(Paths.get(todir, "traffic.json"), StandardCharsets.UTF_8)) {
+            traffic.writeJson(out);
+        } catch (IOException | RuntimeException e) {
+            log.warn("couldn't write traffic stats to " + todir + ": " + e);
+        }
+        recordRun(todir, report);
+        // the run's id is its report if it has one, else its results dir
+        String runResult = report.isEmpty() ? todir : report;
+        result.complete(runResult);
+        publishRunFinished(runResult);
+    }
+
+    private void publishRunFinished(String message) {
+        if (runId == null) { // else the run belongs to whoever set its ID, and it says when the run's over
+            TestEventBus.getDefault().publish(activeRunId, TestEvent.Type.RUN_FINISHED, null, null, message);
+        }
     }
 
     /**
@@ -0,0 +1,112 @@
+package org.ga4gh.ctk;
+
+/**
+ * <p>Running totals of test outcomes, for one run or for everything the process has run.</p>
+ * <p>Test classes finish on several threads at once, so updates are synchronized.</p>
+ */
+public class TestTotals {
+
+    private long runCount;
+    private long failureCount;
+    private long errorCount;
+    private long skipCount;
+    private float secs;
+
+    /**
+     * Add a finished test class's counts.
+     *
+     * @param runCount     tests run
+     * @param failureCount tests failed
+     * @param errorCount   tests in error
+     * @param skipCount    tests skipped
+     * @param secs         time taken, in seconds
+     */
+    public synchronized void add(long runCount, long failureCount, long errorCount, long skipCount, float secs) {
+        this.runCount += runCount;
+        this.failureCount += failureCount;
+        this.errorCount += errorCount;
+        this.skipCount += skipCount;
+        this.secs += secs;
+    }
+
+    /**
+     * Add all of another set of totals.
+     *
+     * @param other the totals to add
+     */
+    public void add(TestTotals other) {
+        TestTotals copy = other.copy();
+        add(copy.runCount, copy.failureCount, copy.errorCount, copy.skipCount, copy.secs);
+    }
+
+    /**
+     * @return a copy of the totals so far
+     */
+    public synchronized TestTotals copy() {
+        TestTotals copy = new TestTotals();
+        copy.runCount = runCount;
+        copy.failureCount = failureCount;
+        copy.errorCount = errorCount;
+        copy.skipCount = skipCount;
+        copy.secs = secs;
+        return copy;
+    }
+
+    /**
+     * @param earlier totals taken before this
+     * @return what was added to these totals since the earlier copy was taken
+     */
+    public synchronized TestTotals since(TestTotals earlier) {
+        TestTotals since = new TestTotals();
+        since.runCount = runCount - earlier.runCount;
+        since.failureCount = failureCount - earlier.failureCount;
+        since.errorCount = errorCount - earlier.errorCount;
+        since.skipCount = skipCount - earlier.skipCount;
+        since.secs = secs - earlier.secs;
+        return since;
+    }
+
+    /**
+     * Zero the totals.
+     */
+    public synchronized void reset() {
+        runCount = 0L;
+        failureCount = 0L;
+        errorCount = 0L;
+        skipCount = 0L;
+        secs = 0.0f;
+    }
+
+    public synchronized long getRunCount() {
+        return runCount;
+    }
+
+    public synchronized long getFailureCount() {
+        return failureCount;
+    }
+
+    public synchronized long getErrorCount() {
+        return errorCount;
+    }
+
+    public synchronized long getSkipCount() {
+        return skipCount;
+    }
+
+    /**
+     * @return the time taken by the test classes, in seconds, summed (so when they run
+     * in parallel, more than the time the run took)
+     */
+    public synchronized float getSecs() {
+        return secs;
+    }
+
+    /**
+     * @return Tests run: %d, Failures: %d, Errors: %d, Skipped: %d, Time elapsed: %.3f sec
+     */
+    @Override
+    public synchronized String toString() {
+        return String.format("Tests run: %d, Failures: %d, Errors: %d, Skipped: %d, Time elapsed: %.3f sec",
+                runCount, failureCount, errorCount, skipCount, secs);
+    }
+}
@@ -0,0 +1,225 @@
+package org.ga4gh.ctk;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * <p>Writes the results of one test class as a <tt>TEST-&lt;class&gt;.xml</tt> file in the
+ * format of Ant's XML junit formatter, so <tt>&lt;junitreport&gt;</tt> (and anything else
+ * that reads those files) works on the output of the {@link ParallelTestExecutor}.</p>
+ * <p>As in Ant, a test that throws an {@link AssertionError} is a failure and a test that
+ * throws anything else is an error. Tests that are ignored or whose assumptions fail are
+ * skipped.</p>
+ * <p>One instance listens to one test class, run on one thread.</p>
+ */
+public class XmlReportListener extends RunListener {
+
+    private static org.slf4j.Logger log = getLogger(XmlReportListener.class);
+
+    private final String suiteName;
+
+    private final File toDir;
+
+    private final Date started = new Date();
+
+    private final long startNanos = System.nanoTime();
+
+    private final Map<Description, TestCase> testCases = new LinkedHashMap<>();
+
+    private int failures;
+
+    private int errors;
+
+    private int skipped;
+
+    /**
+     * @param suiteName the test class name
+     * @param toDir     the directory to write the report into
+     */
+    public XmlReportListener(String suiteName, File toDir) {
+        this.suiteName = suiteName;
+        this.toDir = toDir;
+    }
+
+    private static class TestCase {
+        final Description description;
+        final long startNanos = System.nanoTime();
+        long nanos;
+        Failure failure;
+        boolean error;
+        boolean skipped;
+
+        TestCase(Description description) {
+            this.description = description;
+        }
+    }
+
+    private TestCase testCase(Description description) {
+        return testCases.computeIfAbsent(description, TestCase::new);
+    }
+
+    @Override
+    public void testStarted(Description description) {
+        testCase(description);
+    }
+
+    @Override
+    public void testFinished(Description description) {
+        TestCase testCase = testCase(description);
+        testCase.nanos = System.nanoTime() - testCase.startNanos;
+    }
+
+    @Override
+    public void testFailure(Failure failure) {
+        // a failure in @BeforeClass/@AfterClass is reported against the class itself
+        TestCase testCase = testCase(failure.getDescription());
+        testCase.failure = failure;
+        testCase.error = !(failure.getException() instanceof AssertionError);
+        if (testCase.error) {
+            errors++;
+        } else {
+            failures++;
+        }
+    }
+
+    @Override
+    public void testAssumptionFailure(Failure failure) {
+        testCase(failure.getDescription()).skipped = true;
+        skipped++;
+    }
+
+    @Override
+    public void testIgnored(Description description) {
+        testCase(description).skipped = true;
+        skipped++;
+    }
+
+    /**
+     * Write the report; called by the executor when the class has finished.
+     */
+    public void writeReport() {
+        File file = new File(toDir, "TEST-" + suiteName + ".xml");
+        try (OutputStream out = Files.newOutputStream(file.toPath())) {
+            XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("testsuite");
+            xml.writeAttribute("errors", String.valueOf(errors));
+            xml.writeAttribute("failures", String.valueOf(failures));
+            xml.writeAttribute("hostname", hostname());
+            xml.writeAttribute("name", suiteName);
+            xml.writeAttribute("skipped", String.valueOf(skipped));
+            xml.writeAttribute("tests", String.valueOf(testCases.size()));
+            xml.writeAttribute("time", seconds(System.nanoTime() - startNanos));
+            xml.writeAttribute("timestamp", timestamp(started));
+            xml.writeEmptyElement("properties");
+            for (TestCase testCase : new ArrayList<>(testCases.values())) {
+                writeTestCase(xml, testCase);
+            }
+            xml.writeStartElement("system-out");
+            xml.writeCData("");
+            xml.writeEndElement();
+            xml.writeStartElement("system-err");
+            xml.writeCData("");
+            xml.writeEndElement();
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        } catch (IOException | XMLStreamException e) {
+            log.warn("couldn't write " + file + ": " + e);
+        }
+    }
+
+    private void writeTestCase(XMLStreamWriter xml, TestCase testCase) throws XMLStreamException {
+        Description description = testCase.description;
+        String name = description.getMethodName() != null ? description.getMethodName() : "classMethod";
+        String className = description.getClassName() != null ? description.getClassName() : suiteName;
+        boolean empty = testCase.failure == null && !testCase.skipped;
+        if (empty) {
+            xml.writeEmptyElement("testcase");
+        } else {
+            xml.writeStartElement("testcase");
+        }
+        xml.writeAttribute("classname", className);
+        xml.writeAttribute("name", name);
+        xml.writeAttribute("time", seconds(testCase.nanos));
+        if (testCase.failure != null) {
+            Throwable thrown = testCase.failure.getException();
+            xml.writeStartElement(testCase.error ? "error" : "failure");
+            if (thrown.getMessage() != null) {
+                xml.writeAttribute("message", thrown.getMessage());
+            }
+            xml.writeAttribute("type", thrown.getClass().getName());
+            xml.writeCharacters(testCase.failure.getTrace());
+            xml.writeEndElement();
+        } else if (testCase.skipped) {
+            xml.writeEmptyElement("skipped");
+        }
+        if (!empty) {
+            xml.writeEndElement();
+        }
+    }
+
+    /**
+     * @return the number of tests that were run or skipped
+     */
+    public int getTestCount() {
+        return testCases.size();
+    }
+
+    public int getFailureCount() {
+        return failures;
+    }
+
+    public int getErrorCount() {
+        return errors;
+    }
+
+    public int getSkipCount() {
+        return skipped;
+    }
+
+    /**
+     * @return how long the class took to run, in seconds
+     */
+    public float getRunTime() {
+        return (System.nanoTime() - startNanos) / 1e9f;
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e9);
+    }
+
+    private static String timestamp(Date date) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return format.format(date);
+    }
+
+    private static String hostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "localhost";
+        }
+    }
+}
@@ -96,9 +96,30 @@ public class Props {
     @Value("${ctk.testjar}")
     public String ctk_testjar;
 
+    @Value("${ctk.runner:parallel}")
+    public String ctk_runner;
+
+    @Value("${ctk.runner.workers:8}")
+    public int ctk_runner_workers;
+
+    @Value("${ctk.matrix:}")
+    public String ctk_matrix;
+
+    @Value("${ctk.matrix.concurrency:4}")
+    public int ctk_matrix_concurrency;
+
+    @Value("${ctk.transport.record:}")
+    public String ctk_transport_record;
+
+    @Value("${ctk.transport.replay:}")
+    public String ctk_transport_replay;
+
     @Value("${ctk.reporttitle}")
     public String ctk_report_title;
 
+    @Value("${ctk.report.html:true}")
+    public boolean ctk_report_html;
+
     @Value("${ctk.tgt.dataset_id}")
     public String ctk_tgt_dataset_id;
 
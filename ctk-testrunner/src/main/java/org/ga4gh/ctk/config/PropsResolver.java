@@ -0,0 +1,226 @@
+package org.ga4gh.ctk.config;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * <p>Fills in a {@link Props} without starting Spring, for launchers which have to start quickly.</p>
+ * <p>The properties are looked up in the order Spring Boot would, the first source that has a
+ * property winning:</p>
+ * <ul>
+ * <li>command line arguments, <tt>--name=value</tt></li>
+ * <li>the Java system properties</li>
+ * <li>the OS environment variables, as <tt>ctk.tgt.urlRoot</tt>, <tt>ctk_tgt_urlRoot</tt> or
+ * <tt>CTK_TGT_URLROOT</tt></li>
+ * <li><tt>config/application.properties</tt> under the working directory</li>
+ * <li><tt>application.properties</tt> in the working directory</li>
+ * <li><tt>application.properties</tt> on the classpath</li>
+ * </ul>
+ * <p><tt>${name}</tt> and <tt>${name:default}</tt> placeholders are expanded in the values, and each
+ * {@link Props} field is set from the placeholder in its {@link Value} annotation, so the two
+ * launchers agree on what every setting means. YAML files, profiles and the other Spring sources
+ * aren't consulted.</p>
+ */
+public final class PropsResolver {
+
+    private static final int MAX_DEPTH = 32;
+
+    private final List<Function<String, String>> sources;
+
+    PropsResolver(List<Function<String, String>> sources) {
+        this.sources = sources;
+    }
+
+    /**
+     * Make a resolver over the usual sources.
+     *
+     * @param args the command line arguments; those of the form <tt>--name=value</tt> are properties
+     * @return the resolver
+     */
+    public static PropsResolver fromArgs(String... args) {
+        Map<String, String> commandLine = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 2) {
+                commandLine.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        Map<String, String> env = System.getenv();
+        List<Function<String, String>> sources = new ArrayList<>();
+        sources.add(commandLine::get);
+        sources.add(System::getProperty);
+        sources.add(name -> environment(env, name));
+        sources.add(file(Paths.get("config", "application.properties"))::get);
+        sources.add(file(Paths.get("application.properties"))::get);
+        sources.add(classpath("application.properties")::get);
+        return new PropsResolver(sources);
+    }
+
+    /**
+     * Look up a property, expanding any placeholders in its value.
+     *
+     * @param name the property name
+     * @return the value, or null if no source has the property
+     * @throws IllegalArgumentException if the value has a placeholder that can't be resolved
+     */
+    public String get(String name) {
+        return get(name, 0);
+    }
+
+    /**
+     * Expand the placeholders in a string.
+     *
+     * @param text e.g. <tt>${ctk.runner.workers:8}</tt>
+     * @return the expanded string
+     * @throws IllegalArgumentException if a placeholder can't be resolved
+     */
+    public String resolve(String text) {
+        return resolve(text, 0);
+    }
+
+    /**
+     * Make a {@link Props} with each field set from its {@link Value} annotation's placeholder.
+     *
+     * @return the props
+     * @throws IllegalArgumentException if a setting without a default isn't set anywhere
+     */
+    public Props toProps() {
+        Props props = new Props();
+        for (Field field : Props.class.getFields()) {
+            Value value = field.getAnnotation(Value.class);
+            if (value == null) {
+                continue;
+            }
+            String resolved = resolve(value.value());
+            try {
+                if (field.getType() == int.class) {
+                    field.setInt(props, Integer.parseInt(resolved.trim()));
+                } else if (field.getType() == boolean.class) {
+                    field.setBoolean(props, Boolean.parseBoolean(resolved.trim()));
+                } else {
+                    field.set(props, resolved);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(value.value() + " isn't a number: " + resolved, e);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return props;
+    }
+
+    private String get(String name, int depth) {
+        for (Function<String, String> source : sources) {
+            String value = source.apply(name);
+            if (value != null) {
+                return resolve(value, depth + 1);
+            }
+        }
+        return null;
+    }
+
+    private String resolve(String text, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("circular placeholder reference in " + text);
+        }
+        int start = text.indexOf("${");
+        if (start < 0) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        int from = 0;
+        while (start >= 0) {
+            int end = closingBrace(text, start + 2);
+            if (end < 0) {
+                break;
+            }
+            out.append(text, from, start);
+            String placeholder = text.substring(start + 2, end);
+            int colon = placeholder.indexOf(':');
+            String name = colon < 0 ? placeholder : placeholder.substring(0, colon);
+            String value = get(name, depth + 1);
+            if (value == null && colon >= 0) {
+                value = resolve(placeholder.substring(colon + 1), depth + 1);
+            }
+            if (value == null) {
+                throw new IllegalArgumentException("Could not resolve placeholder '" + name + "' in \"" + text + "\"");
+            }
+            out.append(value);
+            from = end + 1;
+            start = text.indexOf("${", from);
+        }
+        return out.append(text, from, text.length()).toString();
+    }
+
+    private static int closingBrace(String text, int from) {
+        int nesting = 0;
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '{') {
+                nesting++;
+            } else if (c == '}') {
+                if (nesting == 0) {
+                    return i;
+                }
+                nesting--;
+            }
+        }
+        return -1;
+    }
+
+    private static String environment(Map<String, String> env, String name) {
+        String underscored = name.replace('.', '_');
+        for (String candidate : new String[]{name, underscored, name.toUpperCase(Locale.ROOT),
+                underscored.toUpperCase(Locale.ROOT)}) {
+            String value = env.get(candidate);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> file(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return Collections.emptyMap();
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            return load(in);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("can't read " + path + ": " + e, e);
+        }
+    }
+
+    private static Map<String, String> classpath(String resource) {
+        ClassLoader loader = PropsResolver.class.getClassLoader();
+        try (InputStream in = loader.getResourceAsStream(resource)) {
+            return in == null ? Collections.<String, String>emptyMap() : load(in);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("can't read " + resource + " from the classpath: " + e, e);
+        }
+    }
+
+    private static Map<String, String> load(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        properties.load(in);
+        Map<String, String> map = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            map.put(name, properties.getProperty(name));
+        }
+        return map;
+    }
+}
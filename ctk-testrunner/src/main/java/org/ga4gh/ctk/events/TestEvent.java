@@ -0,0 +1,143 @@
+package org.ga4gh.ctk.events;
+
+/**
+ * <p>Something that happened during a test run, as published on the {@link TestEventBus}.</p>
+ * <p>Every event carries its run's counts so far, so a consumer that misses events (see
+ * {@link TestEventBus} on throttling) still knows where the run stands.</p>
+ */
+public class TestEvent {
+
+    /**
+     * What happened.
+     */
+    public enum Type {
+        RUN_STARTED,
+        SUITE_STARTED,
+        TEST_PASSED,
+        TEST_FAILED,
+        TEST_ERROR,
+        TEST_SKIPPED,
+        SUITE_FINISHED,
+        TARGET_STARTED,
+        TARGET_FINISHED,
+        /**
+         * Not published; stands in for the passed and skipped tests since the last delivery.
+         */
+        PROGRESS,
+        RUN_FINISHED;
+
+        /**
+         * @return true for the events that are only counted, not delivered one by one
+         */
+        boolean isRoutine() {
+            return this == TEST_PASSED || this == TEST_SKIPPED;
+        }
+
+        /**
+         * @return true for the event that ends a run, which is never dropped
+         */
+        boolean isTerminal() {
+            return this == RUN_FINISHED;
+        }
+    }
+
+    private final Type type;
+    private final String runId;
+    private final long time;
+    private final String suite;
+    private final String test;
+    private final String message;
+    private final long tests;
+    private final long failures;
+    private final long errors;
+    private final long skipped;
+    private final long dropped;
+
+    TestEvent(Type type, String runId, long time, String suite, String test, String message,
+              long tests, long failures, long errors, long skipped, long dropped) {
+        this.type = type;
+        this.runId = runId;
+        this.time = time;
+        this.suite = suite;
+        this.test = test;
+        this.message = message;
+        this.tests = tests;
+        this.failures = failures;
+        this.errors = errors;
+        this.skipped = skipped;
+        this.dropped = dropped;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    /**
+     * @return when it happened, in epoch millis
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * @return the test class, or (for ant targets) the target name; null for run events
+     */
+    public String getSuite() {
+        return suite;
+    }
+
+    /**
+     * @return the test method, for test events
+     */
+    public String getTest() {
+        return test;
+    }
+
+    /**
+     * @return the failure message, for failures and errors
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the number of tests the run has finished so far
+     */
+    public long getTests() {
+        return tests;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * @return how many events the consumer missed before this one because it couldn't keep up
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    TestEvent withDropped(long dropped) {
+        return new TestEvent(type, runId, time, suite, test, message, tests, failures, errors, skipped, dropped);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s %s%s%s (tests: %d, failures: %d, errors: %d, skipped: %d)",
+                runId, type, suite == null ? "" : suite, test == null ? "" : "." + test,
+                message == null ? "" : ": " + message, tests, failures, errors, skipped);
+    }
+}
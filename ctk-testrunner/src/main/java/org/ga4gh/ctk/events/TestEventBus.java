@@ -0,0 +1,294 @@
+package org.ga4gh.ctk.events;
+
+import org.ga4gh.ctk.transport.RunContext;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * <p>Carries test run events from the listeners ({@link org.ga4gh.ctk.TestExecListener},
+ * {@link org.ga4gh.ctk.AntExecListener}, the {@link org.ga4gh.ctk.TestRunner}) to whoever
+ * wants to watch a run live, such as the server's event streams.</p>
+ * <p>Publishing never blocks the tests. Each subscriber is fed on its own schedule: every
+ * interval (250 ms for the default bus) it is handed what happened since the last time, but
+ * passed and skipped tests, which can come by the thousand, are folded into one
+ * {@link TestEvent.Type#PROGRESS} event per run carrying the counts so far. The other events
+ * wait in a bounded queue; if a slow subscriber lets it fill, further events are dropped and
+ * the next one delivered says how many were. A {@link TestEvent.Type#RUN_FINISHED} event is
+ * never dropped, so a subscriber always learns that a run is over. A subscriber still busy with the previous
+ * delivery is skipped until it's done.</p>
+ * <p>Events are published for the run whose ID (property {@value #RUN_ID_PROPERTY}) is in the
+ * calling thread's {@link RunContext}; outside a run, e.g. tests run from an IDE, nothing is
+ * published.</p>
+ */
+public class TestEventBus {
+
+    private static org.slf4j.Logger log = getLogger(TestEventBus.class);
+
+    /**
+     * The {@link RunContext} property holding the run's ID.
+     */
+    public static final String RUN_ID_PROPERTY = "ctk.run.id";
+
+    private static final TestEventBus DEFAULT = new TestEventBus(250, TimeUnit.MILLISECONDS);
+
+    private final ConcurrentMap<String, Counts> runs = new ConcurrentHashMap<>();
+
+    private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private final ScheduledExecutorService flusher;
+
+    private final ExecutorService deliverer;
+
+    /**
+     * @param interval how often to deliver to each subscriber
+     * @param unit     the interval's unit
+     */
+    public TestEventBus(long interval, TimeUnit unit) {
+        AtomicInteger threadCount = new AtomicInteger();
+        flusher = Executors.newSingleThreadScheduledExecutor(task -> daemon(task, "ctk-events"));
+        deliverer = Executors.newCachedThreadPool(task -> daemon(task, "ctk-events-" + threadCount.incrementAndGet()));
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, unit);
+    }
+
+    /**
+     * @return the process-wide bus the listeners publish on
+     */
+    public static TestEventBus getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Publish an event for the calling thread's run, if it's in one.
+     *
+     * @param type    what happened
+     * @param suite   the test class (or ant target), if any
+     * @param test    the test method, if any
+     * @param message the failure message, if any
+     */
+    public void publish(TestEvent.Type type, String suite, String test, String message) {
+        String runId = RunContext.getProperty(RUN_ID_PROPERTY);
+        if (runId != null) {
+            publish(runId, type, suite, test, message);
+        }
+    }
+
+    /**
+     * Publish an event for the given run. A {@link TestEvent.Type#RUN_STARTED} event zeroes
+     * the run's counts.
+     *
+     * @param runId   the run's ID
+     * @param type    what happened
+     * @param suite   the test class (or ant target), if any
+     * @param test    the test method, if any
+     * @param message the failure message, if any
+     */
+    public void publish(String runId, TestEvent.Type type, String suite, String test, String message) {
+        Counts counts = type == TestEvent.Type.RUN_STARTED
+                ? runs.compute(runId, (id, old) -> new Counts())
+                : runs.computeIfAbsent(runId, id -> new Counts());
+        counts.count(type);
+        TestEvent event = counts.event(type, runId, suite, test, message);
+        if (type == TestEvent.Type.RUN_FINISHED) {
+            runs.remove(runId, counts);
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Watch a run, or all runs.
+     *
+     * @param runId    the run to watch, or null for all of them
+     * @param capacity how many events (other than passes and skips, and the ends of runs) may
+     *                 wait for the consumer
+     * @param consumer called with the events, in order, on a bus thread; if it throws, the
+     *                 subscription is closed
+     * @return the subscription, to close when done
+     */
+    public Subscription subscribe(String runId, int capacity, Consumer<TestEvent> consumer) {
+        Subscription subscription = new Subscription(runId, capacity, consumer);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    private void flush() {
+        for (Subscription subscription : subscriptions) {
+            subscription.deliver();
+        }
+    }
+
+    /**
+     * Stop delivering events.
+     */
+    public void shutdown() {
+        flusher.shutdownNow();
+        deliverer.shutdownNow();
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * A run's counts so far.
+     */
+    private static class Counts {
+        final AtomicLong tests = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+
+        void count(TestEvent.Type type) {
+            switch (type) {
+                case TEST_FAILED:
+                    failures.incrementAndGet();
+                    tests.incrementAndGet();
+                    break;
+                case TEST_ERROR:
+                    errors.incrementAndGet();
+                    tests.incrementAndGet();
+                    break;
+                case TEST_SKIPPED:
+                    skipped.incrementAndGet();
+                    tests.incrementAndGet();
+                    break;
+                case TEST_PASSED:
+                    tests.incrementAndGet();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        TestEvent event(TestEvent.Type type, String runId, String suite, String test, String message) {
+            return new TestEvent(type, runId, System.currentTimeMillis(), suite, test, message,
+                    tests.get(), failures.get(), errors.get(), skipped.get(), 0);
+        }
+    }
+
+    /**
+     * One consumer's view of the bus.
+     */
+    public class Subscription implements AutoCloseable {
+
+        private final String runId;
+
+        private final Consumer<TestEvent> consumer;
+
+        private final int capacity;
+
+        private final Queue<TestEvent> pending = new ConcurrentLinkedQueue<>();
+
+        // how many of the pending events count against the capacity: all but the ends of runs
+        private final AtomicInteger queued = new AtomicInteger();
+
+        // the latest passed or skipped test of each run, not yet delivered
+        private final Map<String, TestEvent> progress = new LinkedHashMap<>();
+
+        private final AtomicLong dropped = new AtomicLong();
+
+        private final AtomicBoolean delivering = new AtomicBoolean();
+
+        private volatile boolean closed;
+
+        Subscription(String runId, int capacity, Consumer<TestEvent> consumer) {
+            this.runId = runId;
+            this.consumer = consumer;
+            this.capacity = Math.max(1, capacity);
+        }
+
+        void offer(TestEvent event) {
+            if (closed || (runId != null && !runId.equals(event.getRunId()))) {
+                return;
+            }
+            if (event.getType().isRoutine()) {
+                synchronized (progress) {
+                    progress.put(event.getRunId(), event);
+                }
+            } else if (event.getType().isTerminal()) {
+                pending.add(event);
+            } else if (queued.incrementAndGet() <= capacity) {
+                pending.add(event);
+            } else {
+                queued.decrementAndGet();
+                dropped.incrementAndGet();
+            }
+        }
+
+        void deliver() {
+            if (closed || !delivering.compareAndSet(false, true)) {
+                return; // still busy with the last lot
+            }
+            try {
+                deliverer.execute(this::drain);
+            } catch (RuntimeException e) {
+                delivering.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                Map<String, TestEvent> latest;
+                synchronized (progress) {
+                    latest = new LinkedHashMap<>(progress);
+                    progress.clear();
+                }
+                Map<String, Long> counted = new HashMap<>();
+                TestEvent event;
+                while (!closed && (event = pending.poll()) != null) {
+                    if (!event.getType().isTerminal()) {
+                        queued.decrementAndGet();
+                    }
+                    send(event);
+                    counted.put(event.getRunId(), event.getTests());
+                }
+                // then where each run has got to, unless an event just sent already said so
+                for (TestEvent last : latest.values()) {
+                    if (!closed && last.getTests() > counted.getOrDefault(last.getRunId(), -1L)) {
+                        send(new TestEvent(TestEvent.Type.PROGRESS, last.getRunId(), last.getTime(), null, null, null,
+                                last.getTests(), last.getFailures(), last.getErrors(), last.getSkipped(), 0));
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.debug("closing event subscription: " + e);
+                close();
+            } finally {
+                delivering.set(false);
+            }
+        }
+
+        private void send(TestEvent event) {
+            long missed = dropped.getAndSet(0);
+            consumer.accept(missed == 0 ? event : event.withDropped(missed));
+        }
+
+        /**
+         * Stop receiving events.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            subscriptions.remove(this);
+        }
+    }
+}
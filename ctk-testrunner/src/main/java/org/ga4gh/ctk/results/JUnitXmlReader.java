@@ -0,0 +1,102 @@
+package org.ga4gh.ctk.results;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * <p>Reads the test outcomes from the <tt>TEST-*.xml</tt> files a run leaves in its
+ * results dir (written by Ant's xml formatter or by {@link org.ga4gh.ctk.XmlReportListener};
+ * the format is the same).</p>
+ */
+class JUnitXmlReader {
+
+    private static org.slf4j.Logger log = getLogger(JUnitXmlReader.class);
+
+    private static final XMLInputFactory factory = XMLInputFactory.newInstance();
+
+    /**
+     * @param resultsDir the run's results dir
+     * @param runId      the run's ID
+     * @param target     the server's host:port
+     * @param started    when the run started
+     * @return a record for each test case in the reports
+     */
+    static List<TestRecord> read(Path resultsDir, String runId, String target, long started) {
+        List<TestRecord> tests = new ArrayList<>();
+        try (DirectoryStream<Path> reports = Files.newDirectoryStream(resultsDir, "TEST-*.xml")) {
+            for (Path report : reports) {
+                try (InputStream in = Files.newInputStream(report)) {
+                    readReport(in, runId, target, started, tests);
+                } catch (IOException | XMLStreamException e) {
+                    log.warn("couldn't read test results from " + report + ": " + e);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("couldn't list test results in " + resultsDir + ": " + e);
+        }
+        return tests;
+    }
+
+    private static void readReport(InputStream in, String runId, String target, long started,
+                                   List<TestRecord> tests) throws XMLStreamException {
+        XMLStreamReader xml = factory.createXMLStreamReader(in);
+        try {
+            String className = null;
+            String name = null;
+            double time = 0;
+            Outcome outcome = null;
+            String message = null;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "testcase":
+                            className = xml.getAttributeValue(null, "classname");
+                            name = xml.getAttributeValue(null, "name");
+                            time = parseTime(xml.getAttributeValue(null, "time"));
+                            outcome = Outcome.PASSED;
+                            message = null;
+                            break;
+                        case "failure":
+                            outcome = Outcome.FAILED;
+                            message = xml.getAttributeValue(null, "message");
+                            break;
+                        case "error":
+                            outcome = Outcome.ERROR;
+                            message = xml.getAttributeValue(null, "message");
+                            break;
+                        case "skipped":
+                            outcome = Outcome.SKIPPED;
+                            message = xml.getAttributeValue(null, "message");
+                            break;
+                        default:
+                            break;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "testcase".equals(xml.getLocalName())) {
+                    tests.add(new TestRecord(runId, target, started, className, name, outcome, time, message));
+                }
+            }
+        } finally {
+            xml.close();
+        }
+    }
+
+    private static double parseTime(String time) {
+        try {
+            return time == null ? 0 : Double.parseDouble(time.replace(",", ""));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.ga4gh.ctk.results;
+
+/**
+ * <p>How a test came out, as in the junit xml reports.</p>
+ */
+public enum Outcome {
+    PASSED,
+    FAILED,
+    ERROR,
+    SKIPPED
+}
@@ -0,0 +1,93 @@
+package org.ga4gh.ctk.results;
+
+/**
+ * <p>Which test results to find in the {@link ResultsStore}; unset criteria match everything.</p>
+ * <pre>
+ * {@code
+ *    store.findTests(new ResultsQuery().target("ga4gh.example.org:443")
+ *                                      .outcome(Outcome.FAILED)
+ *                                      .from(lastWeek));
+ * }
+ * </pre>
+ */
+public class ResultsQuery {
+
+    String target;
+    long from = 0;
+    long to = Long.MAX_VALUE;
+    String test;
+    Outcome outcome;
+    int limit = 1000;
+
+    /**
+     * @param target the server, as host:port
+     * @return this query
+     */
+    public ResultsQuery target(String target) {
+        this.target = target;
+        return this;
+    }
+
+    /**
+     * @param from the earliest run start to include, in epoch millis
+     * @return this query
+     */
+    public ResultsQuery from(long from) {
+        this.from = from;
+        return this;
+    }
+
+    /**
+     * @param to the latest run start to include, in epoch millis
+     * @return this query
+     */
+    public ResultsQuery to(long to) {
+        this.to = to;
+        return this;
+    }
+
+    /**
+     * @param test a test class, or one test as <tt>class#method</tt>
+     * @return this query
+     */
+    public ResultsQuery test(String test) {
+        this.test = test;
+        return this;
+    }
+
+    /**
+     * @param outcome the outcome to find
+     * @return this query
+     */
+    public ResultsQuery outcome(Outcome outcome) {
+        this.outcome = outcome;
+        return this;
+    }
+
+    /**
+     * @param limit the most results to return (the newest are returned first)
+     * @return this query
+     */
+    public ResultsQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    boolean matches(TestRecord record) {
+        return (target == null || target.equals(record.getTarget()))
+                && (outcome == null || outcome == record.getOutcome())
+                && (test == null || test.equals(record.getClassName()) || test.equals(record.getTest()))
+                && record.getStarted() >= from && record.getStarted() <= to;
+    }
+
+    /**
+     * @return the test class this query is confined to, if any
+     */
+    String testClass() {
+        if (test == null) {
+            return null;
+        }
+        int hash = test.indexOf('#');
+        return hash < 0 ? test : test.substring(0, hash);
+    }
+}
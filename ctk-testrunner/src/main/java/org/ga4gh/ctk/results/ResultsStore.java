@@ -0,0 +1,305 @@
+package org.ga4gh.ctk.results;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.ga4gh.ctk.ResultsSupport;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * <p>The history of test runs: every run's summary and every test's outcome, queryable by
+ * target, date, test and outcome.</p>
+ * <p>The store is an append-only log of JSON lines (<tt>testresults/index/results.jsonl</tt> for
+ * the default store) with the indexes kept in memory, rebuilt from the log when the store
+ * is opened. Each index is a sorted concurrent map keyed by run start time, so a query reads
+ * just the slice of the index it needs without taking any lock; only appending to the log is
+ * serialized. A run's lines are written with a single append, so a crash can't leave half
+ * of a run in the log (a torn last line is skipped on reopening).</p>
+ */
+public class ResultsStore implements Closeable {
+
+    private static org.slf4j.Logger log = getLogger(ResultsStore.class);
+
+    private static final Gson gson = new Gson();
+
+    private static volatile ResultsStore defaultStore;
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final ConcurrentMap<String, RunRecord> runsById = new ConcurrentHashMap<>();
+
+    private final ConcurrentNavigableMap<String, RunRecord> runs = new ConcurrentSkipListMap<>();
+
+    private final ConcurrentMap<String, ConcurrentNavigableMap<String, RunRecord>> runsByTarget =
+            new ConcurrentHashMap<>();
+
+    private final ConcurrentNavigableMap<String, TestRecord> tests = new ConcurrentSkipListMap<>();
+
+    private final ConcurrentMap<String, ConcurrentNavigableMap<String, TestRecord>> testsByTarget =
+            new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, ConcurrentNavigableMap<String, TestRecord>> testsByClass =
+            new ConcurrentHashMap<>();
+
+    private final Map<Outcome, ConcurrentNavigableMap<String, TestRecord>> testsByOutcome =
+            new EnumMap<>(Outcome.class);
+
+    /**
+     * One line of the log.
+     */
+    private static class Entry {
+        RunRecord run;
+        TestRecord test;
+    }
+
+    private ResultsStore(Path file) throws IOException {
+        this.file = file;
+        for (Outcome outcome : Outcome.values()) {
+            testsByOutcome.put(outcome, new ConcurrentSkipListMap<>());
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                        StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Open a store, reading its history into the indexes.
+     *
+     * @param file the log file; created if it doesn't exist
+     * @return the store
+     * @throws IOException if the log can't be read or opened for appending
+     */
+    public static ResultsStore open(Path file) throws IOException {
+        ResultsStore store = new ResultsStore(file);
+        store.replay();
+        store.endTornLine();
+        return store;
+    }
+
+    /**
+     * @return the store under the testresults dir, opened on first use
+     * @throws IOException if it can't be opened
+     */
+    public static ResultsStore getDefault() throws IOException {
+        ResultsStore store = defaultStore;
+        if (store == null) {
+            synchronized (ResultsStore.class) {
+                store = defaultStore;
+                if (store == null) {
+                    store = open(ResultsSupport.getResultsBase().resolve("index").resolve("results.jsonl"));
+                    defaultStore = store;
+                }
+            }
+        }
+        return store;
+    }
+
+    private void replay() throws IOException {
+        long lines = 0;
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                lines++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    Entry entry = gson.fromJson(line, Entry.class);
+                    if (entry.run != null) {
+                        index(entry.run);
+                    }
+                    if (entry.test != null) {
+                        index(entry.test);
+                    }
+                } catch (JsonParseException e) {
+                    log.warn("skipping unreadable line " + lines + " of " + file + ": " + e.getMessage());
+                }
+            }
+        }
+        log.debug("read " + runsById.size() + " runs and " + tests.size() + " test results from " + file);
+    }
+
+    /**
+     * If the last write was cut short, end its line so the next run's lines start on their own.
+     */
+    private void endTornLine() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            in.read(last, size - 1);
+        }
+        if (last.get(0) != '\n') {
+            channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+        }
+    }
+
+    /**
+     * Add a run and its tests' outcomes.
+     *
+     * @param run       the run
+     * @param testsRun  its tests
+     * @throws IOException if the log can't be written; the run isn't indexed then
+     */
+    public void add(RunRecord run, List<TestRecord> testsRun) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (TestRecord test : testsRun) {
+            Entry entry = new Entry();
+            entry.test = test;
+            lines.append(gson.toJson(entry)).append('\n');
+        }
+        Entry entry = new Entry();
+        entry.run = run;
+        lines.append(gson.toJson(entry)).append('\n');
+        ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        synchronized (channel) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+        for (TestRecord test : testsRun) {
+            index(test);
+        }
+        index(run);
+    }
+
+    /**
+     * Add a finished run, reading its tests' outcomes from the <tt>TEST-*.xml</tt> files in
+     * its results dir.
+     *
+     * @param run the run
+     * @return the number of test outcomes recorded
+     * @throws IOException if the log can't be written
+     */
+    public int addFromReports(RunRecord run) throws IOException {
+        List<TestRecord> testsRun = JUnitXmlReader.read(Paths.get(run.getResultsDir()), run.getRunId(),
+                run.getTarget(), run.getStarted());
+        add(run, testsRun);
+        return testsRun.size();
+    }
+
+    private void index(RunRecord run) {
+        String key = key(run.getStarted(), run.getRunId(), "");
+        runsById.put(run.getRunId(), run);
+        runs.put(key, run);
+        runsByTarget.computeIfAbsent(run.getTarget(), t -> new ConcurrentSkipListMap<>()).put(key, run);
+    }
+
+    private void index(TestRecord test) {
+        String key = key(test.getStarted(), test.getRunId(), test.getTest());
+        tests.put(key, test);
+        testsByTarget.computeIfAbsent(test.getTarget(), t -> new ConcurrentSkipListMap<>()).put(key, test);
+        testsByClass.computeIfAbsent(test.getClassName(), c -> new ConcurrentSkipListMap<>()).put(key, test);
+        testsByOutcome.get(test.getOutcome()).put(key, test);
+    }
+
+    /**
+     * Keys sort by time first; the zero-padding makes string order numeric order.
+     */
+    private static String key(long started, String runId, String test) {
+        return String.format("%019d|%s|%s", Math.max(0, started), runId, test);
+    }
+
+    /**
+     * @param runId the run ID
+     * @return the run, or null if there's no such run
+     */
+    public RunRecord getRun(String runId) {
+        return runsById.get(runId);
+    }
+
+    /**
+     * Find runs, newest first.
+     *
+     * @param target the server (host:port), or null for any
+     * @param from   the earliest start time to include, in epoch millis
+     * @param to     the latest start time to include, in epoch millis
+     * @param limit  the most runs to return
+     * @return the runs
+     */
+    public List<RunRecord> findRuns(String target, long from, long to, int limit) {
+        NavigableMap<String, RunRecord> index = target == null ? runs : runsByTarget.get(target);
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        List<RunRecord> found = new ArrayList<>();
+        for (RunRecord run : slice(index, from, to).values()) {
+            if (found.size() >= limit) {
+                break;
+            }
+            found.add(run);
+        }
+        return found;
+    }
+
+    /**
+     * Find test results, newest first.
+     *
+     * @param query what to find
+     * @return the matching results, at most the query's limit
+     */
+    public List<TestRecord> findTests(ResultsQuery query) {
+        // start from the narrowest index that applies
+        NavigableMap<String, TestRecord> index;
+        if (query.testClass() != null) {
+            index = testsByClass.get(query.testClass());
+        } else if (query.outcome != null && query.outcome != Outcome.PASSED) {
+            index = testsByOutcome.get(query.outcome);
+        } else if (query.target != null) {
+            index = testsByTarget.get(query.target);
+        } else {
+            index = tests;
+        }
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        List<TestRecord> found = new ArrayList<>();
+        for (TestRecord test : slice(index, query.from, query.to).values()) {
+            if (found.size() >= query.limit) {
+                break;
+            }
+            if (query.matches(test)) {
+                found.add(test);
+            }
+        }
+        return found;
+    }
+
+    private static <V> NavigableMap<String, V> slice(NavigableMap<String, V> index, long from, long to) {
+        String fromKey = String.format("%019d", Math.max(0, from));
+        String toKey = to == Long.MAX_VALUE ? "~" : String.format("%019d|~", Math.max(0, to));
+        return index.subMap(fromKey, true, toKey, true).descendingMap();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,98 @@
+package org.ga4gh.ctk.results;
+
+/**
+ * <p>A finished test run, as kept in the {@link ResultsStore}.</p>
+ */
+public class RunRecord {
+
+    private final String runId;
+    private final String urlRoot;
+    private final String target;
+    private final String datasetId;
+    private final long started;
+    private final long finished;
+    private final String resultsDir;
+    private final String report;
+    private final long tests;
+    private final long failures;
+    private final long errors;
+    private final long skipped;
+
+    /**
+     * @param runId      the run's ID, its results dir relative to testresults, e.g. <tt>host_8000/00012</tt>
+     * @param urlRoot    the server tested
+     * @param target     the server's host:port
+     * @param datasetId  the dataset tested with
+     * @param started    when the run started, in epoch millis
+     * @param finished   when it finished, in epoch millis
+     * @param resultsDir the run's results dir
+     * @param report     the path of the HTML report
+     * @param tests      tests run
+     * @param failures   tests failed
+     * @param errors     tests in error
+     * @param skipped    tests skipped
+     */
+    public RunRecord(String runId, String urlRoot, String target, String datasetId, long started, long finished,
+                     String resultsDir, String report, long tests, long failures, long errors, long skipped) {
+        this.runId = runId;
+        this.urlRoot = urlRoot;
+        this.target = target;
+        this.datasetId = datasetId;
+        this.started = started;
+        this.finished = finished;
+        this.resultsDir = resultsDir;
+        this.report = report;
+        this.tests = tests;
+        this.failures = failures;
+        this.errors = errors;
+        this.skipped = skipped;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public String getUrlRoot() {
+        return urlRoot;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public String getDatasetId() {
+        return datasetId;
+    }
+
+    public long getStarted() {
+        return started;
+    }
+
+    public long getFinished() {
+        return finished;
+    }
+
+    public String getResultsDir() {
+        return resultsDir;
+    }
+
+    public String getReport() {
+        return report;
+    }
+
+    public long getTests() {
+        return tests;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+}
@@ -0,0 +1,80 @@
+package org.ga4gh.ctk.results;
+
+/**
+ * <p>One test's result in one run, as kept in the {@link ResultsStore}.</p>
+ */
+public class TestRecord {
+
+    private final String runId;
+    private final String target;
+    private final long started;
+    private final String className;
+    private final String name;
+    private final Outcome outcome;
+    private final double time;
+    private final String message;
+
+    /**
+     * @param runId     the run's ID
+     * @param target    the server's host:port
+     * @param started   when the run started, in epoch millis
+     * @param className the test class
+     * @param name      the test method
+     * @param outcome   how it came out
+     * @param time      how long it took, in seconds
+     * @param message   the failure message, if any
+     */
+    public TestRecord(String runId, String target, long started, String className, String name,
+                      Outcome outcome, double time, String message) {
+        this.runId = runId;
+        this.target = target;
+        this.started = started;
+        this.className = className;
+        this.name = name;
+        this.outcome = outcome;
+        this.time = time;
+        this.message = message;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    /**
+     * @return when the test's run started, in epoch millis
+     */
+    public long getStarted() {
+        return started;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the test's full name, <tt>class#method</tt>
+     */
+    public String getTest() {
+        return className + "#" + name;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public double getTime() {
+        return time;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
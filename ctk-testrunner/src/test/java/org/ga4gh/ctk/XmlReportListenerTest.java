@@ -0,0 +1,76 @@
+package org.ga4gh.ctk;
+
+import org.junit.Assume;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Request;
+import org.junit.runner.notification.RunNotifier;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Check that {@link XmlReportListener} counts outcomes the way Ant's xml formatter does.
+ */
+public class XmlReportListenerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Not run directly; the test below runs it to get one of each outcome.
+     */
+    public static class Outcomes {
+        @Test
+        public void passes() {
+        }
+
+        @Test
+        public void fails() {
+            assertThat(1).isEqualTo(2);
+        }
+
+        @Test
+        public void throwsException() {
+            throw new IllegalStateException("boom");
+        }
+
+        @Ignore
+        @Test
+        public void ignored() {
+        }
+
+        @Test
+        public void assumptionFails() {
+            Assume.assumeTrue(false);
+        }
+    }
+
+    @Test
+    public void countsEachOutcomeAndWritesTheReport() throws Exception {
+        File dir = folder.getRoot();
+        XmlReportListener report = new XmlReportListener(Outcomes.class.getName(), dir);
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(report);
+        Request.aClass(Outcomes.class).getRunner().run(notifier);
+        report.writeReport();
+
+        assertThat(report.getTestCount()).isEqualTo(5);
+        assertThat(report.getFailureCount()).isEqualTo(1);
+        assertThat(report.getErrorCount()).isEqualTo(1);
+        assertThat(report.getSkipCount()).isEqualTo(2);
+
+        File xml = new File(dir, "TEST-" + Outcomes.class.getName() + ".xml");
+        String content = new String(Files.readAllBytes(xml.toPath()), StandardCharsets.UTF_8);
+        assertThat(content).contains("<testsuite errors=\"1\" failures=\"1\"")
+                           .contains("tests=\"5\"")
+                           .contains("<failure ")
+                           .contains("<error message=\"boom\" type=\"java.lang.IllegalStateException\"")
+                           .contains("<skipped");
+    }
+}
@@ -0,0 +1,101 @@
+package org.ga4gh.ctk.config;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PropsResolver}.
+ */
+public class PropsResolverTest {
+
+    @Test
+    public void earlierSourcesWin() {
+        Map<String, String> args = new HashMap<>();
+        args.put("ctk.runner.workers", "2");
+        PropsResolver resolver = resolver(args, defaults());
+
+        assertThat(resolver.get("ctk.runner.workers")).isEqualTo("2");
+        assertThat(resolver.get("ctk.testjar")).isEqualTo("cts-java-tests.jar");
+        assertThat(resolver.get("no.such.property")).isNull();
+    }
+
+    @Test
+    public void placeholdersAreExpanded() {
+        Map<String, String> args = new HashMap<>();
+        args.put("ctk.pattern.testclass", "**/ReadsSearchIT.class");
+        PropsResolver resolver = resolver(args, defaults());
+
+        assertThat(resolver.get("ctk.matchstr")).isEqualTo("**/ReadsSearchIT.class");
+        assertThat(resolver.resolve("${ctk.matrix:}")).isEmpty();
+        assertThat(resolver.resolve("${no.such.property:${ctk.testjar}}")).isEqualTo("cts-java-tests.jar");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unresolvablePlaceholdersAreRejected() {
+        resolver(defaults()).resolve("${no.such.property}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void circularPlaceholdersAreRejected() {
+        Map<String, String> loop = new HashMap<>();
+        loop.put("a", "${b}");
+        loop.put("b", "${a}");
+        resolver(loop).get("a");
+    }
+
+    @Test
+    public void propsAreFilledInFromTheirValueAnnotations() {
+        Map<String, String> args = new HashMap<>();
+        args.put("ctk.runner.workers", "3");
+        args.put("ctk.report.html", "false");
+        Props props = resolver(args, defaults()).toProps();
+
+        assertThat(props.ctk_matchstr).isEqualTo("**/*IT.class");
+        assertThat(props.ctk_runner).isEqualTo("parallel");
+        assertThat(props.ctk_runner_workers).isEqualTo(3);
+        assertThat(props.ctk_matrix_concurrency).isEqualTo(4);
+        assertThat(props.ctk_report_html).isFalse();
+        assertThat(props.ctk_transport_replay).isEmpty();
+    }
+
+    @Test
+    public void theCommandLineIsParsed() {
+        PropsResolver resolver = PropsResolver.fromArgs("--ctk.tgt.urlRoot=http://probe:8000/", "positional", "--flag");
+        assertThat(resolver.get("ctk.tgt.urlRoot")).isEqualTo("http://probe:8000/");
+        assertThat(resolver.get("flag")).isNull();
+    }
+
+    /**
+     * The settings Props needs that have no default, as in application.properties.
+     */
+    private static Map<String, String> defaults() {
+        Map<String, String> defaults = new HashMap<>();
+        defaults.put("ctk.pattern.testclass", "**/*IT.class");
+        defaults.put("ctk.pattern.testsuite", "**/*TestSuite.class");
+        defaults.put("ctk.matchstr", "${ctk.pattern.testclass}");
+        defaults.put("ctk.testpackage", "org.ga4gh.cts");
+        defaults.put("ctk.antfile", "lib/antRunTests.xml");
+        defaults.put("ctk.antlog.consolelogger", "OFF");
+        defaults.put("ctk.antlog.clearstats", "OFF");
+        defaults.put("ctk.testjar", "cts-java-tests.jar");
+        defaults.put("ctk.reporttitle", "CTK Test Results of");
+        defaults.put("ctk.tgt.dataset_id", "WyJicmNhMSJd");
+        return defaults;
+    }
+
+    @SafeVarargs
+    private static PropsResolver resolver(Map<String, String>... sources) {
+        List<Function<String, String>> lookups = new ArrayList<>();
+        for (Map<String, String> source : sources) {
+            lookups.add(source::get);
+        }
+        return new PropsResolver(lookups);
+    }
+}
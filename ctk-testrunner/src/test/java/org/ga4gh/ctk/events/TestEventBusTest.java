@@ -0,0 +1,105 @@
+package org.ga4gh.ctk.events;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Check that the {@link TestEventBus} throttles what it delivers.
+ */
+public class TestEventBusTest {
+
+    private final TestEventBus bus = new TestEventBus(10, TimeUnit.MILLISECONDS);
+
+    @After
+    public void shutdown() {
+        bus.shutdown();
+    }
+
+    @Test
+    public void passesAreDeliveredAsCounts() throws Exception {
+        List<TestEvent> received = new CopyOnWriteArrayList<>();
+        CountDownLatch finished = new CountDownLatch(1);
+        bus.subscribe("run-1", 10, event -> {
+            received.add(event);
+            if (event.getType() == TestEvent.Type.RUN_FINISHED) {
+                finished.countDown();
+            }
+        });
+
+        bus.publish("run-1", TestEvent.Type.RUN_STARTED, null, null, null);
+        bus.publish("run-2", TestEvent.Type.RUN_STARTED, null, null, null);
+        for (int i = 0; i < 1000; i++) {
+            bus.publish("run-1", TestEvent.Type.TEST_PASSED, "SomeIT", "test" + i, null);
+        }
+        bus.publish("run-1", TestEvent.Type.TEST_FAILED, "SomeIT", "broken", "expected 1");
+        bus.publish("run-1", TestEvent.Type.RUN_FINISHED, null, null, null);
+
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).extracting("type").doesNotContain(TestEvent.Type.TEST_PASSED);
+        assertThat(received).extracting("runId").containsOnly("run-1");
+        TestEvent last = received.get(received.size() - 1);
+        assertThat(last.getTests()).isEqualTo(1001);
+        assertThat(last.getFailures()).isEqualTo(1);
+    }
+
+    @Test
+    public void aSlowConsumerIsToldWhatItMissed() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<TestEvent> received = new CopyOnWriteArrayList<>();
+        bus.subscribe(null, 2, event -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(event);
+        });
+
+        bus.publish("run", TestEvent.Type.RUN_STARTED, null, null, null);
+        Thread.sleep(50); // the consumer is now stuck on the first event
+        for (int i = 0; i < 10; i++) {
+            bus.publish("run", TestEvent.Type.TEST_ERROR, "SomeIT", "test" + i, "boom");
+        }
+        release.countDown();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (received.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(received).hasSize(3);
+        assertThat(received.get(1).getDropped()).isEqualTo(8);
+    }
+
+    @Test
+    public void theEndOfARunIsNeverDropped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        bus.subscribe(null, 1, event -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (event.getType() == TestEvent.Type.RUN_FINISHED) {
+                finished.countDown();
+            }
+        });
+
+        bus.publish("run", TestEvent.Type.RUN_STARTED, null, null, null);
+        Thread.sleep(50); // the consumer is now stuck on the first event
+        for (int i = 0; i < 10; i++) {
+            bus.publish("run", TestEvent.Type.TEST_ERROR, "SomeIT", "test" + i, "boom");
+        }
+        bus.publish("run", TestEvent.Type.RUN_FINISHED, null, null, null);
+        release.countDown();
+
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,81 @@
+package org.ga4gh.ctk.results;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Check the results store's queries, and that its history survives reopening.
+ */
+public class ResultsStoreTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private static void addRun(ResultsStore store, String runId, String target, long started,
+                               Outcome readsOutcome) throws Exception {
+        store.add(new RunRecord(runId, "http://" + target, target, "ds", started, started + 1000,
+                                "testresults/" + runId + "/", "", 2, readsOutcome == Outcome.FAILED ? 1 : 0, 0, 0),
+                  Arrays.asList(
+                          new TestRecord(runId, target, started, "org.ga4gh.cts.api.reads.ReadsSearchIT",
+                                         "searchReads", readsOutcome, 0.5, null),
+                          new TestRecord(runId, target, started, "org.ga4gh.cts.api.variants.VariantsSearchIT",
+                                         "searchVariants", Outcome.PASSED, 0.25, null)));
+    }
+
+    @Test
+    public void findsRunsByTargetNewestFirst() throws Exception {
+        try (ResultsStore store = ResultsStore.open(tmp.getRoot().toPath().resolve("results.jsonl"))) {
+            addRun(store, "a_8000/00001", "a:8000", 1000, Outcome.PASSED);
+            addRun(store, "b_8000/00001", "b:8000", 2000, Outcome.PASSED);
+            addRun(store, "a_8000/00002", "a:8000", 3000, Outcome.FAILED);
+
+            List<RunRecord> runs = store.findRuns("a:8000", 0, Long.MAX_VALUE, 10);
+            assertThat(runs).extracting("runId").containsExactly("a_8000/00002", "a_8000/00001");
+            assertThat(store.findRuns(null, 1500, 3000, 10)).extracting("runId")
+                    .containsExactly("a_8000/00002", "b_8000/00001");
+            assertThat(store.findRuns(null, 0, Long.MAX_VALUE, 1)).hasSize(1);
+            assertThat(store.getRun("b_8000/00001").getStarted()).isEqualTo(2000);
+        }
+    }
+
+    @Test
+    public void findsTestsByClassMethodAndOutcome() throws Exception {
+        try (ResultsStore store = ResultsStore.open(tmp.getRoot().toPath().resolve("results.jsonl"))) {
+            addRun(store, "a_8000/00001", "a:8000", 1000, Outcome.FAILED);
+            addRun(store, "b_8000/00001", "b:8000", 2000, Outcome.PASSED);
+
+            assertThat(store.findTests(new ResultsQuery().outcome(Outcome.FAILED)))
+                    .extracting("runId").containsExactly("a_8000/00001");
+            assertThat(store.findTests(new ResultsQuery().test("org.ga4gh.cts.api.reads.ReadsSearchIT#searchReads")))
+                    .extracting("runId").containsExactly("b_8000/00001", "a_8000/00001");
+            assertThat(store.findTests(new ResultsQuery().target("b:8000"))).hasSize(2);
+            assertThat(store.findTests(new ResultsQuery().from(1500))).hasSize(2);
+            assertThat(store.findTests(new ResultsQuery().test("no.such.Test"))).isEmpty();
+        }
+    }
+
+    @Test
+    public void reopeningReplaysTheLogAndSkipsATornLine() throws Exception {
+        Path file = tmp.getRoot().toPath().resolve("results.jsonl");
+        try (ResultsStore store = ResultsStore.open(file)) {
+            addRun(store, "a_8000/00001", "a:8000", 1000, Outcome.FAILED);
+        }
+        Files.write(file, "{\"run\":{\"runId\":".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (ResultsStore store = ResultsStore.open(file)) {
+            assertThat(store.getRun("a_8000/00001")).isNotNull();
+            assertThat(store.findTests(new ResultsQuery().outcome(Outcome.FAILED))).hasSize(1);
+            assertThat(store.findTests(new ResultsQuery())).hasSize(2);
+        }
+    }
+}
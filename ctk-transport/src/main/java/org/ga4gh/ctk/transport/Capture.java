@@ -0,0 +1,133 @@
+package org.ga4gh.ctk.transport;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.util.EntityUtils;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>The capture file format shared by {@link RecordingTransport} and {@link ReplayTransport},
+ * and the choice of transport for a run that records or replays.</p>
+ * <p>A capture file starts with {@link #MAGIC} and the {@link WireFormat} the recording
+ * transport preferred, followed by one record per exchange, each prefixed with its length:
+ * the request method, URL and body hash, then the response status, reason phrase,
+ * Content-Type and body. Strings are written as a length and their UTF-8 bytes.</p>
+ */
+final class Capture {
+
+    static final byte[] MAGIC = "CTKCAP1\n".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The run (or System) property naming a capture file to append the run's exchanges to.
+     */
+    static final String RECORD_PROPERTY = "ctk.transport.record";
+
+    /**
+     * The run (or System) property naming a capture file to serve the run's exchanges from.
+     */
+    static final String REPLAY_PROPERTY = "ctk.transport.replay";
+
+    private static final ConcurrentMap<String, Transport> transports = new ConcurrentHashMap<>();
+
+    private Capture() {
+    }
+
+    /**
+     * Choose the default transport for the calling thread's run: a {@link ReplayTransport}
+     * if it replays a capture, a {@link RecordingTransport} over the pooled one if it
+     * records one, otherwise the pooled one. There's one recording or replaying transport
+     * per capture file in the process, so runs can share them.
+     *
+     * @return the transport
+     */
+    static Transport defaultTransport() {
+        String replay = RunContext.getProperty(REPLAY_PROPERTY);
+        if (replay != null && !replay.isEmpty()) {
+            return transports.computeIfAbsent("replay " + replay, key -> {
+                try {
+                    return ReplayTransport.open(Paths.get(replay));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("can't replay " + replay, e);
+                }
+            });
+        }
+        String record = RunContext.getProperty(RECORD_PROPERTY);
+        if (record != null && !record.isEmpty()) {
+            return transports.computeIfAbsent("record " + record, key -> {
+                try {
+                    return new RecordingTransport(PooledTransport.getDefault(), Paths.get(record));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("can't record to " + record, e);
+                }
+            });
+        }
+        return PooledTransport.getDefault();
+    }
+
+    /**
+     * @return the key under which an exchange is recorded and looked up
+     */
+    static String key(String method, String url, long bodyHash) {
+        return method + ' ' + url + ' ' + Long.toHexString(bodyHash);
+    }
+
+    /**
+     * Get the body of a request. A body that can only be read once is replaced in the
+     * request by a copy, so it can still be sent.
+     *
+     * @param request the request
+     * @return its body, empty if it hasn't one
+     * @throws IOException if the body can't be read
+     */
+    static byte[] requestBody(HttpUriRequest request) throws IOException {
+        if (!(request instanceof HttpEntityEnclosingRequest)) {
+            return new byte[0];
+        }
+        HttpEntityEnclosingRequest withBody = (HttpEntityEnclosingRequest) request;
+        HttpEntity entity = withBody.getEntity();
+        if (entity == null) {
+            return new byte[0];
+        }
+        byte[] body = EntityUtils.toByteArray(entity);
+        if (!entity.isRepeatable()) {
+            ByteArrayEntity copy = new ByteArrayEntity(body);
+            copy.setContentType(entity.getContentType());
+            withBody.setEntity(copy);
+        }
+        return body;
+    }
+
+    /**
+     * A 64-bit FNV-1a hash, which is plenty to tell apart the bodies sent to one URL.
+     */
+    static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    static void writeString(DataOutput out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,189 @@
+package org.ga4gh.ctk.transport;
+
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * <p>The process-wide endpoint settings, one {@link EndpointSnapshot} per properties resource.</p>
+ * <p>Each resource is resolved (defaults, classpath, file system, environment and system
+ * properties, as described at {@link URLMAPPINGImpl#doInit(String)}) the first time it's asked for,
+ * and the snapshot is kept. Creating a {@link URLMAPPINGImpl} or calling its <tt>doInit</tt> after
+ * that costs no I/O. {@link #reload} resolves a resource again and swaps the new snapshot in
+ * atomically; every {@link URLMAPPINGImpl} built on it picks the change up on its next read,
+ * keeping whatever it had overridden.</p>
+ * <p>A long-lived process (<tt>ctk-server</tt>, a load run) can have the properties file watched
+ * so that edits to it are reloaded without a restart: call {@link #watch}, or set the system
+ * property <tt>-Dctk.tgt.urlmapper.watch=true</tt> to watch every resource as it's first loaded.</p>
+ */
+public final class EndpointConfig {
+
+    private static final Logger log = getLogger(EndpointConfig.class);
+
+    /**
+     * The resource loaded when none is named.
+     */
+    public static final String DEFAULT_RESOURCE = "defaulttransport.properties";
+
+    /**
+     * Set this system property to true to watch each properties file as it's first loaded.
+     */
+    public static final String WATCH_PROPERTY = "ctk.tgt.urlmapper.watch";
+
+    private static final ConcurrentMap<String, AtomicReference<EndpointSnapshot>> sources = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, Watcher> watchers = new ConcurrentHashMap<>();
+
+    private EndpointConfig() {
+    }
+
+    /**
+     * Get the current settings from a resource, resolving it if this is the first time it's asked for.
+     *
+     * @param resName the resource or file name; blank for {@link #DEFAULT_RESOURCE}
+     * @return the current snapshot
+     */
+    public static EndpointSnapshot get(String resName) {
+        return source(resName).get();
+    }
+
+    /**
+     * Resolve a resource again, and make the result its current settings if anything changed.
+     *
+     * @param resName the resource or file name; blank for {@link #DEFAULT_RESOURCE}
+     * @return the current snapshot, after the reload
+     */
+    public static EndpointSnapshot reload(String resName) {
+        String name = normalize(resName);
+        AtomicReference<EndpointSnapshot> source = source(name);
+        EndpointSnapshot fresh = URLMAPPINGImpl.load(name);
+        EndpointSnapshot current = source.get();
+        if (fresh.getEndpoints().equals(current.getEndpoints())) {
+            return current;
+        }
+        source.set(fresh);
+        log.info("reloaded endpoints from " + name);
+        return fresh;
+    }
+
+    /**
+     * Watch a properties file, reloading it whenever it's created, changed or deleted.
+     * Watching a file that's already watched just returns the existing watch.
+     *
+     * @param resName the file name, relative to the working directory; blank for {@link #DEFAULT_RESOURCE}
+     * @return the watch; close it to stop watching
+     * @throws IOException if the file's directory can't be watched
+     */
+    public static Closeable watch(String resName) throws IOException {
+        String name = normalize(resName);
+        try {
+            return watchers.computeIfAbsent(name, n -> {
+                try {
+                    return new Watcher(n);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    static AtomicReference<EndpointSnapshot> source(String resName) {
+        String name = normalize(resName);
+        AtomicReference<EndpointSnapshot> source = sources.get(name);
+        if (source != null) {
+            return source;
+        }
+        source = sources.computeIfAbsent(name, n -> new AtomicReference<>(URLMAPPINGImpl.load(n)));
+        if (Boolean.getBoolean(WATCH_PROPERTY)) {
+            try {
+                watch(name);
+            } catch (IOException e) {
+                log.warn("can't watch " + name + " for changes: " + e);
+            }
+        }
+        return source;
+    }
+
+    private static String normalize(String resName) {
+        return resName == null || resName.isEmpty() ? DEFAULT_RESOURCE : resName;
+    }
+
+    /**
+     * Watches one file's directory on a daemon thread.
+     */
+    private static final class Watcher implements Closeable, Runnable {
+
+        private static final long SETTLE_MILLIS = 200;
+
+        private final String resName;
+
+        private final Path file;
+
+        private final WatchService service;
+
+        Watcher(String resName) throws IOException {
+            this.resName = resName;
+            Path path = Paths.get(resName).toAbsolutePath().normalize();
+            this.file = path.getFileName();
+            this.service = path.getFileSystem().newWatchService();
+            path.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            Thread thread = new Thread(this, "ctk-endpoint-watch-" + file);
+            thread.setDaemon(true);
+            thread.start();
+            log.info("watching " + path + " for endpoint changes");
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    WatchKey key = service.take();
+                    // an editor's save is often several events; let them land so a half-written file isn't loaded
+                    Thread.sleep(SETTLE_MILLIS);
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || file.equals(event.context());
+                    }
+                    if (changed) {
+                        try {
+                            reload(resName);
+                        } catch (RuntimeException e) {
+                            log.warn("can't reload endpoints from " + resName + ": " + e);
+                        }
+                    }
+                    if (!key.reset()) {
+                        log.warn("stopped watching " + resName + ", its directory is gone");
+                        break;
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // closed
+            } finally {
+                watchers.remove(resName, this);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            watchers.remove(resName, this);
+            service.close();
+        }
+    }
+}
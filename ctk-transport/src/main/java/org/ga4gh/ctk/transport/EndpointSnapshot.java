@@ -0,0 +1,116 @@
+package org.ga4gh.ctk.transport;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>An immutable, fully resolved set of <tt>ctk.tgt.*</tt> endpoint settings.</p>
+ * <p>A snapshot is either one loaded by {@link EndpointConfig} from the defaults, a properties file,
+ * the environment and the system properties, or a derived one: such a loaded base plus
+ * overrides (a run's own settings, or values set on a {@link URLMAPPINGImpl}). A derived snapshot
+ * can be {@link #rebase rebased} onto a newer load of its base, keeping its overrides, which is how
+ * {@link URLMAPPINGImpl} picks up a reloaded properties file.</p>
+ * <p>Changing a setting makes a new snapshot, so one can be read from any thread without locking.</p>
+ */
+public final class EndpointSnapshot {
+
+    private final Map<String, String> endpoints;
+
+    private final EndpointSnapshot base;
+
+    private final Map<String, String> overrides;
+
+    private EndpointSnapshot(Map<String, String> endpoints, EndpointSnapshot base, Map<String, String> overrides) {
+        this.endpoints = Collections.unmodifiableMap(endpoints);
+        this.base = base;
+        this.overrides = overrides;
+    }
+
+    /**
+     * Make a snapshot of the given settings, with no base.
+     *
+     * @param endpoints the settings, copied
+     * @return the snapshot
+     */
+    public static EndpointSnapshot of(Map<String, String> endpoints) {
+        return new EndpointSnapshot(new HashMap<>(endpoints), null, Collections.emptyMap());
+    }
+
+    /**
+     * @param key the setting, e.g. <tt>ctk.tgt.searchReads</tt>
+     * @return its value, or null if it isn't set
+     */
+    public String get(String key) {
+        return endpoints.get(key);
+    }
+
+    /**
+     * @return all the settings, unmodifiable
+     */
+    public Map<String, String> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * @return the loaded snapshot this one overrides, or null if it was loaded or made whole
+     */
+    public EndpointSnapshot getBase() {
+        return base;
+    }
+
+    /**
+     * @return the settings this snapshot overrides its base with, unmodifiable
+     */
+    public Map<String, String> getOverrides() {
+        return overrides;
+    }
+
+    /**
+     * Make a snapshot with one setting changed.
+     *
+     * @param key   the setting
+     * @param value its new value
+     * @return the new snapshot, derived from the same base as this one
+     */
+    public EndpointSnapshot with(String key, String value) {
+        return with(Collections.singletonMap(key, value));
+    }
+
+    /**
+     * Make a snapshot with some settings changed.
+     *
+     * @param changes the settings to change
+     * @return the new snapshot, derived from the same base as this one; this one if there are no changes
+     */
+    public EndpointSnapshot with(Map<String, String> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        Map<String, String> merged = new HashMap<>(overrides);
+        merged.putAll(changes);
+        Map<String, String> resolved = new HashMap<>(endpoints);
+        resolved.putAll(changes);
+        return new EndpointSnapshot(resolved, base != null ? base : this, Collections.unmodifiableMap(merged));
+    }
+
+    /**
+     * Re-apply this snapshot's overrides to another base.
+     *
+     * @param newBase the base to apply them to, usually a reload of this one's base
+     * @return the new snapshot
+     */
+    public EndpointSnapshot rebase(EndpointSnapshot newBase) {
+        if (overrides.isEmpty()) {
+            return newBase;
+        }
+        Map<String, String> resolved = new HashMap<>(newBase.endpoints);
+        resolved.putAll(overrides);
+        return new EndpointSnapshot(resolved, newBase, overrides);
+    }
+
+    @Override
+    public String toString() {
+        return endpoints.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package org.ga4gh.ctk.transport;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * <p>An immutable summary of the traffic to one endpoint with one HTTP method,
+ * as taken by {@link TrafficRecorder#snapshot()}.</p>
+ */
+public class EndpointTraffic {
+
+    private final String method;
+
+    private final String endpoint;
+
+    private final long requests;
+
+    private final Map<Integer, Long> statuses;
+
+    private final long bytesSent;
+
+    private final long bytesReceived;
+
+    private final Histogram latencyMicros;
+
+    EndpointTraffic(String method, String endpoint, long requests, Map<Integer, Long> statuses,
+                    long bytesSent, long bytesReceived, Histogram latencyMicros) {
+        this.method = method;
+        this.endpoint = endpoint;
+        this.requests = requests;
+        this.statuses = Collections.unmodifiableMap(statuses);
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+        this.latencyMicros = latencyMicros;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the endpoint template, e.g. <tt>readgroupsets/{id}</tt>
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return the number of responses with each HTTP status; 0 counts exchanges with no response
+     */
+    public Map<Integer, Long> getStatuses() {
+        return statuses;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * @param percentile the percentile, e.g. 99.9
+     * @return the latency at that percentile, in milliseconds
+     */
+    public double getLatencyMillis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMeanMillis() {
+        return latencyMicros.getTotalCount() == 0 ? 0.0 : latencyMicros.getMean() / 1000.0;
+    }
+
+    public double getMaxMillis() {
+        return latencyMicros.getMaxValue() / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s: %d requests %s, %d bytes sent, %d received, p50 %.1f ms, p99 %.1f ms, max %.1f ms",
+                method, endpoint, requests, statuses, bytesSent, bytesReceived,
+                getLatencyMillis(50.0), getLatencyMillis(99.0), getMaxMillis());
+    }
+}
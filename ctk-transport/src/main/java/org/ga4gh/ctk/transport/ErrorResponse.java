@@ -0,0 +1,110 @@
+package org.ga4gh.ctk.transport;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import ga4gh.Common.GAException;
+import org.ga4gh.ctk.transport.protobuf.JsonCodec;
+import org.slf4j.Logger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * <p>A server's answer to a request that didn't succeed: the HTTP status and the
+ * {@link GAException} in the body.</p>
+ * <p>The body is decoded once, when the response arrives, and the result shared by the
+ * {@link GAWrapperException} thrown for it, the {@link WireExchange} recorded for it and
+ * any {@link WireTracker} that sees it, so asking any of them for the error code or message
+ * costs nothing more. Instances are immutable.</p>
+ * <p>A body that isn't a GAException is kept: the error is then not {@link #isParseable()
+ * parseable}, its error code is -1 and its message is the body itself.</p>
+ */
+public final class ErrorResponse {
+
+    private static final Logger log = getLogger(ErrorResponse.class);
+
+    private final int httpStatus;
+
+    private final GAException gae;
+
+    private final String body;
+
+    /**
+     * Wrap an error that's already been decoded.
+     *
+     * @param httpStatus the HTTP status the server sent
+     * @param gae        the decoded body, or null if it couldn't be decoded
+     * @param body       the body in its JSON form, or null if it isn't known
+     */
+    public ErrorResponse(int httpStatus, GAException gae, String body) {
+        this.httpStatus = httpStatus;
+        this.gae = gae;
+        this.body = body;
+    }
+
+    /**
+     * Decode a JSON error body.
+     *
+     * @param httpStatus the HTTP status the server sent
+     * @param body       the body received
+     * @return the error, unparseable if the body isn't a JSON GAException
+     */
+    public static ErrorResponse parse(int httpStatus, String body) {
+        if (body == null) {
+            return new ErrorResponse(httpStatus, null, null);
+        }
+        GAException.Builder builder = GAException.newBuilder();
+        try {
+            JsonCodec.of(GAException.getDescriptor()).merge(body, builder);
+            return new ErrorResponse(httpStatus, builder.build(), body);
+        } catch (InvalidProtocolBufferException | RuntimeException e) {
+            log.warn("Parse failure on GAException: BODY < " + body + " > " + e);
+            return new ErrorResponse(httpStatus, null, body);
+        }
+    }
+
+    /**
+     * @return the HTTP status the server sent
+     */
+    public int getHttpStatus() {
+        return httpStatus;
+    }
+
+    /**
+     * @return true if the body was a {@link GAException}
+     */
+    public boolean isParseable() {
+        return gae != null;
+    }
+
+    /**
+     * @return the decoded body, or null if it couldn't be decoded
+     */
+    public GAException getGae() {
+        return gae;
+    }
+
+    /**
+     * @return the GAException's error code, or -1 if the body couldn't be decoded
+     */
+    public int getErrorCode() {
+        return gae != null ? gae.getErrorCode() : -1;
+    }
+
+    /**
+     * @return the GAException's message, or the body itself if it couldn't be decoded
+     */
+    public String getMessage() {
+        return gae != null ? gae.getMessage() : body;
+    }
+
+    /**
+     * @return the body in its JSON form (a binary body is recorded as the equivalent JSON), or null if it isn't known
+     */
+    public String getBody() {
+        return body;
+    }
+
+    @Override
+    public String toString() {
+        return httpStatus + " " + getErrorCode() + ": " + getMessage();
+    }
+}
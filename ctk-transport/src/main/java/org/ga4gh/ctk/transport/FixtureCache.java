@@ -0,0 +1,128 @@
+package org.ga4gh.ctk.transport;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Values the tests look up on the server to set themselves up (the ID of a dataset's
+ * first variant set, of the BRCA1 reference, ...), each looked up at most once per run.</p>
+ * <p>Each {@link RunContext} has its own cache, so a run never sees another run's
+ * (possibly different) server's IDs; outside of any run the tests share a process-wide one.
+ * Callers key the values by the target and dataset as well as what's being looked up,
+ * see {@link #key(String, String, String, Object...)}.</p>
+ * <p>Loading is single-flight: if several threads ask for a value that isn't loaded yet,
+ * one of them loads it while the others wait for its result. A failed load isn't cached;
+ * the waiting threads get the failure, and the next request tries again.</p>
+ */
+public final class FixtureCache {
+
+    private static final FixtureCache DEFAULT = new FixtureCache();
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> values = new ConcurrentHashMap<>();
+
+    private final AtomicLong loads = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * @return the calling thread's run's cache, or the process-wide one if it isn't part of a run
+     */
+    public static FixtureCache current() {
+        RunContext context = RunContext.current();
+        return context == null ? DEFAULT : context.getFixtures();
+    }
+
+    /**
+     * Make a key for a value.
+     *
+     * @param urlRoot   the server
+     * @param datasetId the dataset
+     * @param name      what the value is, e.g. <tt>variantSetId</tt>
+     * @param args      anything else the value depends on
+     * @return the key
+     */
+    public static String key(String urlRoot, String datasetId, String name, Object... args) {
+        StringBuilder key = new StringBuilder(urlRoot).append('|').append(datasetId).append('|').append(name);
+        for (Object arg : args) {
+            key.append('|').append(arg);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Get a value, loading it if this is the first request for it.
+     *
+     * @param key    the value's key
+     * @param loader loads the value; called at most once at a time per key
+     * @param <T>    the value's type
+     * @return the value
+     * @throws Exception whatever the loader throws, in this thread or the one that ran it
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Callable<T> loader) throws Exception {
+        CompletableFuture<Object> value = values.get(key);
+        if (value == null) {
+            CompletableFuture<Object> loading = new CompletableFuture<>();
+            value = values.putIfAbsent(key, loading);
+            if (value == null) {
+                loads.incrementAndGet();
+                return (T) load(key, loading, loader);
+            }
+        }
+        hits.incrementAndGet();
+        try {
+            return (T) value.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private Object load(String key, CompletableFuture<Object> loading, Callable<?> loader) throws Exception {
+        try {
+            Object value = loader.call();
+            loading.complete(value);
+            return value;
+        } catch (Exception | Error e) {
+            values.remove(key, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return how many values have been loaded
+     */
+    public long getLoads() {
+        return loads.get();
+    }
+
+    /**
+     * @return how many requests were answered with an already loaded (or loading) value
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Forget all the values, e.g. after the server's data has been changed.
+     */
+    public void clear() {
+        values.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "fixtures loaded: " + getLoads() + ", reused: " + getHits();
+    }
+}
@@ -32,6 +32,9 @@ public class FragmentEncoder {
    * ',', ';', '=', '~', ':', '@', '/', '?' are converted into their hexadecimal
    * value prepended by '%'. For example: '#' -> %23. In addition, spaces are
    * substituted by '+'
+   * <p>
+   * UTF-8, the encoding URLs use, is done by {@link PercentEncoder#FRAGMENT}
+   * without going through intermediate strings and byte arrays.
    * 
    * @param s
    *          the string to be encoded.
@@ -46,6 +49,9 @@ public class FragmentEncoder {
     if (s == null || enc == null) {
       throw new NullPointerException();
     }
+    if (isUtf8(enc)) {
+      return PercentEncoder.FRAGMENT.encode(s);
+    }
     // check for UnsupportedEncodingException
     "".getBytes(enc);
 
@@ -76,6 +82,10 @@ public class FragmentEncoder {
     return buf.toString();
   }
 
+  private static boolean isUtf8(String enc) {
+    return "UTF-8".equalsIgnoreCase(enc) || "UTF8".equalsIgnoreCase(enc);
+  }
+
   private static void convert(String s, StringBuilder buf, String enc) throws UnsupportedEncodingException {
     byte[] bytes = s.getBytes(enc);
     for (int j = 0; j < bytes.length; j++) {
@@ -111,6 +121,9 @@ public class FragmentEncoder {
       if (encoding.isEmpty()) {
           throw new UnsupportedEncodingException(encoding);
       }
+      if (isUtf8(encoding)) {
+          return PercentEncoder.FRAGMENT.decode(s);
+      }
 
       if (s.indexOf('%') == -1) {
           if (s.indexOf('+') == -1)
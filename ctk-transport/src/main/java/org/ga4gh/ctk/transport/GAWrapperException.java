@@ -5,22 +5,26 @@ import ga4gh.Common.GAException;
 import java.io.IOException;
 
 /**
- * A wrapper for {@link ga4gh.Common.GAException}, thrown instead of it.
- * It includes the HTTP response code the server sent.
+ * <p>A wrapper for {@link ga4gh.Common.GAException}, thrown instead of it.
+ * It includes the HTTP response code the server sent.</p>
+ * <p>The error itself is an {@link ErrorResponse}, decoded once when the response arrived.
+ * A test that expects the server to refuse a request can make the call inside
+ * {@link #withoutStackTrace}, so the exception thrown for the refusal doesn't pay for
+ * capturing a stack trace it will never print.</p>
  *
  * @author Herb Jellinek
  */
 public class GAWrapperException extends IOException {
 
     /**
-     * The {@link GAException} we're wrapping.
+     * How many {@link #withoutStackTrace} calls the current thread is in.
      */
-    private final GAException cause;
+    private static final ThreadLocal<int[]> expected = ThreadLocal.withInitial(() -> new int[1]);
 
     /**
-     * The HTTP status code the server sent.
+     * The error we're wrapping.
      */
-    private final int httpStatusCode;
+    private final ErrorResponse error;
 
     /**
      * Create a new wrapper for the given {@link GAException}, with the provided HTTP status code.
@@ -30,8 +34,35 @@ public class GAWrapperException extends IOException {
      *                       considering that this is an <i>exception</i>
      */
     public GAWrapperException(GAException cause, int httpStatusCode) {
-        this.cause = cause;
-        this.httpStatusCode = httpStatusCode;
+        this(new ErrorResponse(httpStatusCode, cause, null));
+    }
+
+    /**
+     * Create a new wrapper for an error the server returned.
+     *
+     * @param error the error, whose HTTP status should never be 200 (== OK)
+     */
+    public GAWrapperException(ErrorResponse error) {
+        this.error = error;
+    }
+
+    /**
+     * <p>Run some code that's expected to fail with a {@link GAWrapperException}, without
+     * capturing a stack trace for any that it throws on this thread.</p>
+     * <p>Exceptions thrown on other threads (an asynchronous call's I/O thread, say) are
+     * unaffected.</p>
+     *
+     * @param call the code to run
+     * @throws Throwable whatever <tt>call</tt> throws
+     */
+    public static void withoutStackTrace(ExpectedFailure call) throws Throwable {
+        int[] depth = expected.get();
+        depth[0]++;
+        try {
+            call.call();
+        } finally {
+            depth[0]--;
+        }
     }
 
     /**
@@ -39,15 +70,23 @@ public class GAWrapperException extends IOException {
      * @return the HTTP status code
      */
     public int getHttpStatusCode() {
-        return httpStatusCode;
+        return error.getHttpStatus();
     }
 
     /**
      * Gets the value of the 'errorCode' field.
-     * @return The numerical error code
+     * @return The numerical error code, or -1 if the server's error couldn't be decoded
      */
     public Integer getErrorCode() {
-        return cause.getErrorCode();
+        return error.getErrorCode();
+    }
+
+    /**
+     * Gets the error the server returned.
+     * @return the error
+     */
+    public ErrorResponse getError() {
+        return error;
     }
 
     /**
@@ -56,6 +95,19 @@ public class GAWrapperException extends IOException {
      */
     @Override
     public String getMessage() {
-        return cause.getMessage();
+        return error.getMessage();
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return expected.get()[0] > 0 ? this : super.fillInStackTrace();
+    }
+
+    /**
+     * Code that's expected to throw.
+     */
+    @FunctionalInterface
+    public interface ExpectedFailure {
+        void call() throws Throwable;
     }
 }
@@ -0,0 +1,332 @@
+package org.ga4gh.ctk.transport;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * <p>A table-driven percent-encoder and decoder for UTF-8 URL components.</p>
+ * <p>Each instance is defined by the set of ASCII characters it leaves alone and by how it
+ * writes a space. Characters are looked up in a 128-entry table rather than searched for, and
+ * anything else is written as the <tt>%XX</tt> escapes of its UTF-8 bytes, worked out from the
+ * code point without an intermediate byte array. The <tt>encode</tt> and <tt>decode</tt> methods
+ * that take a {@link StringBuilder} only append to it, so a caller building a URL can reuse one
+ * buffer; the ones returning a String hand back the input itself when it needs no change.</p>
+ * <p>Instances are immutable and thread-safe.</p>
+ */
+public final class PercentEncoder {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Hex digit values of the ASCII characters, -1 for characters which aren't hex digits.
+     */
+    private static final byte[] HEX_VALUE = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUE, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUE['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUE['A' + i] = (byte) (10 + i);
+            HEX_VALUE['a' + i] = (byte) (10 + i);
+        }
+    }
+
+    private static final char REPLACEMENT = '\uFFFD';
+
+    /**
+     * The <tt>application/x-www-form-urlencoded</tt> encoding, as done by {@link java.net.URLEncoder}
+     * and undone by {@link java.net.URLDecoder} in UTF-8: letters, digits and <tt>.-*_</tt> are
+     * left alone and a space is written as <tt>+</tt>.
+     */
+    public static final PercentEncoder FORM = new PercentEncoder(".-*_", true);
+
+    /**
+     * The encoding {@link FragmentEncoder} uses for URL fragments: letters, digits and
+     * <tt> .-*_!$&amp;'()+,;=~:@/?</tt> are left alone and a space is written as <tt>+</tt>.
+     */
+    public static final PercentEncoder FRAGMENT = new PercentEncoder(".-*_!$&'()+,;=~:@/?", true);
+
+    /**
+     * The encoding for a single path segment such as an object ID: letters, digits and
+     * <tt>.-*_</tt> are left alone and a space is written as <tt>%20</tt>, so a <tt>+</tt>
+     * on the wire always means a literal plus.
+     */
+    public static final PercentEncoder PATH_SEGMENT = new PercentEncoder(".-*_", false);
+
+    private final boolean[] safe = new boolean[128];
+
+    private final boolean spaceAsPlus;
+
+    private PercentEncoder(String safePunctuation, boolean spaceAsPlus) {
+        for (char c = 'a'; c <= 'z'; c++) {
+            safe[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            safe[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            safe[c] = true;
+        }
+        for (int i = 0; i < safePunctuation.length(); i++) {
+            safe[safePunctuation.charAt(i)] = true;
+        }
+        this.spaceAsPlus = spaceAsPlus;
+    }
+
+    /**
+     * Encode a string.
+     *
+     * @param s the string to encode
+     * @return the encoded string; {@code s} itself if nothing in it needs encoding
+     */
+    public String encode(String s) {
+        int i = firstUnsafe(s);
+        if (i == s.length()) {
+            return s;
+        }
+        StringBuilder out = new StringBuilder(s.length() + 16);
+        out.append(s, 0, i);
+        return encode(s, i, out).toString();
+    }
+
+    /**
+     * Encode a character sequence onto the end of a buffer.
+     *
+     * @param s   the characters to encode
+     * @param out the buffer to append the encoded form to
+     * @return {@code out}
+     */
+    public StringBuilder encode(CharSequence s, StringBuilder out) {
+        int i = firstUnsafe(s);
+        out.append(s, 0, i);
+        return encode(s, i, out);
+    }
+
+    /**
+     * Encode a character sequence as ASCII bytes into a buffer, for callers writing a request
+     * line or body directly.
+     *
+     * @param s   the characters to encode
+     * @param out the buffer to put the encoded form in, from its current position
+     * @return {@code out}
+     * @throws java.nio.BufferOverflowException if the encoded form doesn't fit in {@code out}
+     */
+    public ByteBuffer encode(CharSequence s, ByteBuffer out) {
+        int n = s.length();
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 128 && safe[c]) {
+                out.put((byte) c);
+            } else if (c == ' ' && spaceAsPlus) {
+                out.put((byte) '+');
+            } else {
+                int cp = codePointAt(s, i);
+                if (cp > 0xFFFF) {
+                    i++;
+                }
+                for (int k = 0, len = utf8Length(cp); k < len; k++) {
+                    int b = utf8Byte(cp, len, k);
+                    out.put((byte) '%').put((byte) HEX[b >> 4]).put((byte) HEX[b & 0xF]);
+                }
+            }
+        }
+        return out;
+    }
+
+    private StringBuilder encode(CharSequence s, int from, StringBuilder out) {
+        int n = s.length();
+        for (int i = from; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 128 && safe[c]) {
+                out.append(c);
+            } else if (c == ' ' && spaceAsPlus) {
+                out.append('+');
+            } else {
+                int cp = codePointAt(s, i);
+                if (cp > 0xFFFF) {
+                    i++;
+                }
+                for (int k = 0, len = utf8Length(cp); k < len; k++) {
+                    int b = utf8Byte(cp, len, k);
+                    out.append('%').append(HEX[b >> 4]).append(HEX[b & 0xF]);
+                }
+            }
+        }
+        return out;
+    }
+
+    private int firstUnsafe(CharSequence s) {
+        int n = s.length();
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+            if (c >= 128 || !safe[c]) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Decode a string.
+     *
+     * @param s the string to decode
+     * @return the decoded string; {@code s} itself if there's nothing in it to decode
+     * @throws IllegalArgumentException if {@code s} has a <tt>%</tt> not followed by two hex digits
+     */
+    public String decode(String s) {
+        int i = firstEncoded(s);
+        if (i == s.length()) {
+            return s;
+        }
+        StringBuilder out = new StringBuilder(s.length());
+        out.append(s, 0, i);
+        return decode(s, i, out).toString();
+    }
+
+    /**
+     * Decode a character sequence onto the end of a buffer. Escapes which don't make up valid
+     * UTF-8 are decoded as U+FFFD, as {@link java.net.URLDecoder} does.
+     *
+     * @param s   the characters to decode
+     * @param out the buffer to append the decoded form to
+     * @return {@code out}
+     * @throws IllegalArgumentException if {@code s} has a <tt>%</tt> not followed by two hex digits
+     */
+    public StringBuilder decode(CharSequence s, StringBuilder out) {
+        int i = firstEncoded(s);
+        out.append(s, 0, i);
+        return decode(s, i, out);
+    }
+
+    private int firstEncoded(CharSequence s) {
+        int n = s.length();
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+            if (c == '%' || (c == '+' && spaceAsPlus)) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private StringBuilder decode(CharSequence s, int from, StringBuilder out) {
+        int n = s.length();
+        int i = from;
+        // the code point being assembled from a run of escapes, how many continuation bytes
+        // it still needs, and the range the next one must be in for the UTF-8 to be well formed
+        int cp = 0;
+        int pending = 0;
+        int lower = 0x80;
+        int upper = 0xBF;
+        while (i < n) {
+            char c = s.charAt(i);
+            if (c != '%') {
+                if (pending > 0) {
+                    out.append(REPLACEMENT);
+                    pending = 0;
+                    lower = 0x80;
+                    upper = 0xBF;
+                }
+                out.append(c == '+' && spaceAsPlus ? ' ' : c);
+                i++;
+                continue;
+            }
+            int b = escapedByte(s, i);
+            if (pending > 0) {
+                if (b >= lower && b <= upper) {
+                    cp = (cp << 6) | (b & 0x3F);
+                    if (--pending == 0) {
+                        out.appendCodePoint(cp);
+                    }
+                    lower = 0x80;
+                    upper = 0xBF;
+                    i += 3;
+                    continue;
+                }
+                // the character was cut short; this byte starts afresh
+                out.append(REPLACEMENT);
+                pending = 0;
+                lower = 0x80;
+                upper = 0xBF;
+            }
+            i += 3;
+            if (b < 0x80) {
+                out.append((char) b);
+            } else if (b >= 0xC2 && b <= 0xDF) {
+                cp = b & 0x1F;
+                pending = 1;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                cp = b & 0x0F;
+                pending = 2;
+                // no overlong forms, no surrogates
+                if (b == 0xE0) {
+                    lower = 0xA0;
+                } else if (b == 0xED) {
+                    upper = 0x9F;
+                }
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                cp = b & 0x07;
+                pending = 3;
+                // no overlong forms, nothing past U+10FFFF
+                if (b == 0xF0) {
+                    lower = 0x90;
+                } else if (b == 0xF4) {
+                    upper = 0x8F;
+                }
+            } else {
+                out.append(REPLACEMENT);
+            }
+        }
+        if (pending > 0) {
+            out.append(REPLACEMENT);
+        }
+        return out;
+    }
+
+    private static int escapedByte(CharSequence s, int i) {
+        if (i + 2 >= s.length()) {
+            throw new IllegalArgumentException("Incomplete % sequence at: " + i);
+        }
+        char c1 = s.charAt(i + 1);
+        char c2 = s.charAt(i + 2);
+        int d1 = c1 < 128 ? HEX_VALUE[c1] : -1;
+        int d2 = c2 < 128 ? HEX_VALUE[c2] : -1;
+        if (d1 < 0 || d2 < 0) {
+            throw new IllegalArgumentException("Invalid % sequence " + s.subSequence(i, i + 3) + " at " + i);
+        }
+        return (d1 << 4) | d2;
+    }
+
+    /**
+     * Return the code point at {@code i}; an unpaired surrogate comes back as <tt>?</tt>,
+     * which is what {@link String#getBytes(java.nio.charset.Charset)} writes for it in UTF-8.
+     */
+    private static int codePointAt(CharSequence s, int i) {
+        char c = s.charAt(i);
+        if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+            return Character.toCodePoint(c, s.charAt(i + 1));
+        }
+        return Character.isSurrogate(c) ? '?' : c;
+    }
+
+    private static int utf8Length(int cp) {
+        return cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+    }
+
+    private static int utf8Byte(int cp, int len, int k) {
+        if (len == 1) {
+            return cp;
+        }
+        int shift = 6 * (len - 1 - k);
+        if (k == 0) {
+            return (0xF0 << (4 - len)) & 0xFF | (cp >> shift);
+        }
+        return 0x80 | ((cp >> shift) & 0x3F);
+    }
+}
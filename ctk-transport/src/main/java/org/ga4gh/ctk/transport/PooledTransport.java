@@ -0,0 +1,502 @@
+package org.ga4gh.ctk.transport;
+
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * <p>A {@link Transport} built on Apache HttpClient, with pooled keep-alive connections.</p>
+ * <p>The blocking client is created up front; the asynchronous client (and its I/O reactor
+ * threads) is only started the first time an asynchronous request is made. Both pools are
+ * sized and timed out from the same {@link Builder} settings, for example:</p>
+ * <pre>
+ *     Transport transport = PooledTransport.builder()
+ *             .maxTotal(400)
+ *             .maxPerRoute(50)
+ *             .maxPerRoute("https://staging.example.org", 100)
+ *             .keepAliveMillis(30000)
+ *             .wireFormat(WireFormat.PROTOBUF)
+ *             .build();
+ *     Client client = new Client(URLMAPPING.getInstance(), null, transport);
+ * </pre>
+ */
+public class PooledTransport implements Transport {
+
+    private static final org.slf4j.Logger log = getLogger(PooledTransport.class);
+
+    private final Builder config;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    private final CloseableHttpClient httpClient;
+
+    private PoolingNHttpClientConnectionManager asyncConnectionManager;
+
+    private CloseableHttpAsyncClient asyncHttpClient;
+
+    /**
+     * The url roots of servers which have refused a binary request, and so get JSON.
+     */
+    private final Set<String> jsonOnlyRoots = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder reusedConnections = new LongAdder();
+
+    /**
+     * Counts each request as it goes out, noting whether its connection has carried requests before.
+     */
+    private final HttpRequestInterceptor reuseCounter = (request, context) -> {
+        requests.increment();
+        HttpConnection connection = HttpCoreContext.adapt(context).getConnection();
+        if (connection != null && connection.getMetrics().getRequestCount() > 0) {
+            reusedConnections.increment();
+        }
+    };
+
+    /**
+     * Stamps the moment the request goes out (the connection is leased and connected by then).
+     */
+    private static final HttpRequestInterceptor sendTimer = (request, context) -> {
+        WireTimings timings = WireTimings.from(context);
+        if (timings != null) {
+            timings.markRequestSent();
+        }
+    };
+
+    /**
+     * Stamps the arrival of the response headers, before the body is read.
+     */
+    private static final HttpResponseInterceptor firstByteTimer = (response, context) -> {
+        WireTimings timings = WireTimings.from(context);
+        if (timings != null) {
+            timings.markResponseReceived();
+        }
+    };
+
+    private PooledTransport(Builder config) {
+        this.config = config;
+        Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", new TimedSocketFactory(PlainConnectionSocketFactory.getSocketFactory()))
+                .register("https", new TimedLayeredSocketFactory(SSLConnectionSocketFactory.getSocketFactory()))
+                .build();
+        connectionManager = new PoolingHttpClientConnectionManager(socketFactories, null, null, null,
+                                                                   config.timeToLiveMillis, TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(config.maxTotal);
+        connectionManager.setDefaultMaxPerRoute(config.maxPerRoute);
+        for (Map.Entry<HttpRoute, Integer> entry : config.routeLimits.entrySet()) {
+            connectionManager.setMaxPerRoute(entry.getKey(), entry.getValue());
+        }
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig())
+                .setKeepAliveStrategy(keepAliveStrategy())
+                .addInterceptorLast(reuseCounter)
+                .addInterceptorLast(sendTimer)
+                .addInterceptorFirst(firstByteTimer)
+                .build();
+    }
+
+    /**
+     * Start building a new transport, pre-loaded with the defaults.
+     *
+     * @return a new {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the process-wide default transport, creating it with default settings if needed.
+     *
+     * @return the shared default transport
+     */
+    public static PooledTransport getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static class DefaultHolder {
+        static final PooledTransport INSTANCE = builder().build();
+    }
+
+    @Override
+    public <R> R execute(HttpUriRequest request, HttpContext context, ResponseHandler<? extends R> handler)
+            throws IOException {
+        return httpClient.execute(request, handler, context);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> executeAsync(HttpUriRequest request, HttpContext context,
+                                                 ResponseHandler<? extends R> handler) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        asyncHttpClient().execute(request, context, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                try {
+                    result.complete(handler.handleResponse(response));
+                } catch (Throwable e) {
+                    // even an Error, or whoever's waiting on the future would wait for ever
+                    result.completeExceptionally(e);
+                    if (e instanceof VirtualMachineError) {
+                        throw (VirtualMachineError) e; // not ours to swallow
+                    }
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public WireFormat getWireFormat(String urlRoot) {
+        return jsonOnlyRoots.contains(urlRoot) ? WireFormat.JSON : config.wireFormat;
+    }
+
+    @Override
+    public void formatRefused(String urlRoot, WireFormat format) {
+        if (format != WireFormat.JSON && jsonOnlyRoots.add(urlRoot)) {
+            log.info(urlRoot + " refused " + format + ", falling back to JSON");
+        }
+    }
+
+    @Override
+    public TrafficRecorder getTrafficRecorder() {
+        return config.trafficRecorder != null ? config.trafficRecorder : TrafficRecorder.current();
+    }
+
+    @Override
+    public TransportStats getStats() {
+        PoolStats total = connectionManager.getTotalStats();
+        int leased = total.getLeased();
+        int available = total.getAvailable();
+        int pending = total.getPending();
+        int max = total.getMax();
+        synchronized (this) {
+            if (asyncConnectionManager != null) {
+                PoolStats asyncTotal = asyncConnectionManager.getTotalStats();
+                leased += asyncTotal.getLeased();
+                available += asyncTotal.getAvailable();
+                pending += asyncTotal.getPending();
+                max += asyncTotal.getMax();
+            }
+        }
+        return new TransportStats(requests.sum(), reusedConnections.sum(), leased, available, pending, max);
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.debug("closing transport, " + getStats());
+        httpClient.close();
+        synchronized (this) {
+            if (asyncHttpClient != null) {
+                asyncHttpClient.close();
+                asyncHttpClient = null;
+                asyncConnectionManager = null;
+            }
+        }
+    }
+
+    private synchronized CloseableHttpAsyncClient asyncHttpClient() {
+        if (asyncHttpClient == null) {
+            try {
+                IOReactorConfig reactorConfig = IOReactorConfig.custom()
+                        .setConnectTimeout(config.connectTimeoutMillis)
+                        .setSoTimeout(config.socketTimeoutMillis)
+                        .setIoThreadCount(config.ioThreads)
+                        .build();
+                asyncConnectionManager =
+                        new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(reactorConfig));
+            } catch (IOReactorException e) {
+                throw new IllegalStateException("can't start the asynchronous I/O reactor", e);
+            }
+            asyncConnectionManager.setMaxTotal(config.maxTotal);
+            asyncConnectionManager.setDefaultMaxPerRoute(config.maxPerRoute);
+            for (Map.Entry<HttpRoute, Integer> entry : config.routeLimits.entrySet()) {
+                asyncConnectionManager.setMaxPerRoute(entry.getKey(), entry.getValue());
+            }
+            asyncHttpClient = HttpAsyncClients.custom()
+                    .setConnectionManager(asyncConnectionManager)
+                    .setDefaultRequestConfig(requestConfig())
+                    .setKeepAliveStrategy(keepAliveStrategy())
+                    .addInterceptorLast(reuseCounter)
+                    .addInterceptorLast(sendTimer)
+                    .addInterceptorFirst(firstByteTimer)
+                    .build();
+            asyncHttpClient.start();
+        }
+        return asyncHttpClient;
+    }
+
+    private RequestConfig requestConfig() {
+        return RequestConfig.custom()
+                .setConnectTimeout(config.connectTimeoutMillis)
+                .setSocketTimeout(config.socketTimeoutMillis)
+                .setConnectionRequestTimeout(config.connectionRequestTimeoutMillis)
+                .build();
+    }
+
+    /**
+     * Honor the server's Keep-Alive header if it sends one, but never hold an idle
+     * connection longer than the configured keep-alive.
+     */
+    private ConnectionKeepAliveStrategy keepAliveStrategy() {
+        return (response, context) -> {
+            long serverSays = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverSays > 0 ? Math.min(serverSays, config.keepAliveMillis) : config.keepAliveMillis;
+        };
+    }
+
+    /**
+     * Stamps connection establishment in the exchange's {@link WireTimings}. Only the blocking
+     * client connects through here; the asynchronous client's connect time shows up in acquire.
+     */
+    private static class TimedSocketFactory implements ConnectionSocketFactory {
+
+        private final ConnectionSocketFactory delegate;
+
+        TimedSocketFactory(ConnectionSocketFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createSocket(HttpContext context) throws IOException {
+            return delegate.createSocket(context);
+        }
+
+        @Override
+        public Socket connectSocket(int connectTimeout, Socket sock, HttpHost host, InetSocketAddress remoteAddress,
+                                    InetSocketAddress localAddress, HttpContext context) throws IOException {
+            WireTimings timings = WireTimings.from(context);
+            if (timings != null) {
+                timings.markConnectStart();
+            }
+            Socket socket = delegate.connectSocket(connectTimeout, sock, host, remoteAddress, localAddress, context);
+            if (timings != null) {
+                timings.markConnectEnd();
+            }
+            return socket;
+        }
+    }
+
+    /**
+     * A {@link TimedSocketFactory} for TLS, which can still layer over a proxy tunnel.
+     */
+    private static class TimedLayeredSocketFactory extends TimedSocketFactory
+            implements LayeredConnectionSocketFactory {
+
+        private final LayeredConnectionSocketFactory delegate;
+
+        TimedLayeredSocketFactory(LayeredConnectionSocketFactory delegate) {
+            super(delegate);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context)
+                throws IOException {
+            return delegate.createLayeredSocket(socket, target, port, context);
+        }
+    }
+
+    /**
+     * <p>Settings for a {@link PooledTransport}.</p>
+     * <p>The defaults match the ones Unirest used: 200 connections in total, 20 per route,
+     * a 10 second connect timeout and a 60 second socket timeout. Messages go as JSON
+     * unless binary protobuf is asked for.</p>
+     */
+    public static class Builder {
+
+        private int maxTotal = 200;
+
+        private int maxPerRoute = 20;
+
+        private final Map<HttpRoute, Integer> routeLimits = new LinkedHashMap<>();
+
+        private int connectTimeoutMillis = 10000;
+
+        private int socketTimeoutMillis = 60000;
+
+        private int connectionRequestTimeoutMillis = 60000;
+
+        private long keepAliveMillis = 30000;
+
+        private long timeToLiveMillis = -1;
+
+        private int ioThreads = Runtime.getRuntime().availableProcessors();
+
+        private WireFormat wireFormat = WireFormat.JSON;
+
+        private TrafficRecorder trafficRecorder; // null: the calling thread's run's recorder
+
+        private Builder() {
+        }
+
+        /**
+         * @param maxTotal the most connections the pool will open, across all routes
+         * @return this builder
+         */
+        public Builder maxTotal(int maxTotal) {
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        /**
+         * @param maxPerRoute the most connections the pool will open to any one host
+         * @return this builder
+         */
+        public Builder maxPerRoute(int maxPerRoute) {
+            this.maxPerRoute = maxPerRoute;
+            return this;
+        }
+
+        /**
+         * Override the per-route limit for one target server.
+         *
+         * @param urlRoot     the server's url root, e.g., "https://localhost:8000/v1.0"
+         * @param maxPerRoute the most connections the pool will open to that server
+         * @return this builder
+         */
+        public Builder maxPerRoute(String urlRoot, int maxPerRoute) {
+            URI uri = URI.create(urlRoot.trim());
+            String scheme = uri.getScheme() == null ? "http" : uri.getScheme();
+            int port = uri.getPort() > 0 ? uri.getPort() : ("https".equalsIgnoreCase(scheme) ? 443 : 80);
+            routeLimits.put(new HttpRoute(new HttpHost(uri.getHost(), port, scheme)), maxPerRoute);
+            return this;
+        }
+
+        /**
+         * @param connectTimeoutMillis how long to wait for a TCP (and TLS) connection to be established
+         * @return this builder
+         */
+        public Builder connectTimeoutMillis(int connectTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * @param socketTimeoutMillis the longest silence to tolerate while waiting for data
+         * @return this builder
+         */
+        public Builder socketTimeoutMillis(int socketTimeoutMillis) {
+            this.socketTimeoutMillis = socketTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * @param connectionRequestTimeoutMillis how long to wait for a free connection from the pool
+         * @return this builder
+         */
+        public Builder connectionRequestTimeoutMillis(int connectionRequestTimeoutMillis) {
+            this.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * @param keepAliveMillis the longest an idle connection is kept for reuse
+         * @return this builder
+         */
+        public Builder keepAliveMillis(long keepAliveMillis) {
+            this.keepAliveMillis = keepAliveMillis;
+            return this;
+        }
+
+        /**
+         * @param timeToLiveMillis the total lifetime of a pooled connection, or -1 for no limit
+         * @return this builder
+         */
+        public Builder timeToLiveMillis(long timeToLiveMillis) {
+            this.timeToLiveMillis = timeToLiveMillis;
+            return this;
+        }
+
+        /**
+         * @param ioThreads the number of I/O dispatch threads for asynchronous requests
+         * @return this builder
+         */
+        public Builder ioThreads(int ioThreads) {
+            this.ioThreads = ioThreads;
+            return this;
+        }
+
+        /**
+         * Choose the format to offer servers. If a server refuses binary protobuf, requests
+         * to it fall back to JSON for the life of the transport.
+         *
+         * @param wireFormat the preferred {@link WireFormat}
+         * @return this builder
+         */
+        public Builder wireFormat(WireFormat wireFormat) {
+            this.wireFormat = wireFormat;
+            return this;
+        }
+
+        /**
+         * Tally this transport's traffic in the given recorder, rather than in the recorder
+         * of whichever run is sending (see {@link TrafficRecorder#current()}).
+         *
+         * @param trafficRecorder the {@link TrafficRecorder} to use
+         * @return this builder
+         */
+        public Builder trafficRecorder(TrafficRecorder trafficRecorder) {
+            this.trafficRecorder = trafficRecorder;
+            return this;
+        }
+
+        /**
+         * @return a new transport with these settings
+         */
+        public PooledTransport build() {
+            return new PooledTransport(this);
+        }
+    }
+}
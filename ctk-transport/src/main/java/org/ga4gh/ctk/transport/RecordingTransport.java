@@ -0,0 +1,193 @@
+package org.ga4gh.ctk.transport;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * <p>A {@link Transport} which sends requests on another transport and appends every
+ * exchange (the request's method, URL and body hash, and the response's status, Content-Type
+ * and body) to a capture file, for a {@link ReplayTransport} to serve later without a server.</p>
+ * <p>Each exchange is appended with a single write, so several threads (and runs) can record
+ * to the same file. The header is written under a file lock, so processes which start
+ * recording to a new file at the same time don't both write it. Responses are recorded before they're handed to the caller's handler,
+ * so error responses are captured too; requests that get no response aren't.</p>
+ * <p>A run records when its <tt>ctk.transport.record</tt> property names a capture file,
+ * for example</p>
+ * <pre>
+ *     java -jar ctk-cli.jar --ctk.transport.record=captures/staging.cap
+ * </pre>
+ */
+public class RecordingTransport implements Transport {
+
+    private static final org.slf4j.Logger log = getLogger(RecordingTransport.class);
+
+    private final Transport delegate;
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final LongAdder recorded = new LongAdder();
+
+    /**
+     * @param delegate the transport to send the requests on
+     * @param file     the capture file; created if it doesn't exist, appended to if it does
+     * @throws IOException if the file can't be opened or isn't a capture file
+     */
+    public RecordingTransport(Transport delegate, Path file) throws IOException {
+        this.delegate = delegate;
+        this.file = file;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                   StandardOpenOption.APPEND);
+        try (FileLock ignored = channel.lock()) { // whoever gets the lock first writes the header
+            if (channel.size() == 0) {
+                ByteArrayOutputStream header = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(header);
+                out.write(Capture.MAGIC);
+                Capture.writeString(out, delegate.getWireFormat("").name());
+                write(header.toByteArray());
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        log.info("recording exchanges to " + file);
+    }
+
+    @Override
+    public <R> R execute(HttpUriRequest request, HttpContext context, ResponseHandler<? extends R> handler)
+            throws IOException {
+        byte[] requestBody = Capture.requestBody(request);
+        return delegate.<R>execute(request, context, response -> {
+            record(request, requestBody, response);
+            return handler.handleResponse(response);
+        });
+    }
+
+    @Override
+    public <R> CompletableFuture<R> executeAsync(HttpUriRequest request, HttpContext context,
+                                                 ResponseHandler<? extends R> handler) {
+        byte[] requestBody;
+        try {
+            requestBody = Capture.requestBody(request);
+        } catch (IOException e) {
+            CompletableFuture<R> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        return delegate.<R>executeAsync(request, context, response -> {
+            record(request, requestBody, response);
+            return handler.handleResponse(response);
+        });
+    }
+
+    /**
+     * Append the exchange to the capture file, leaving the response with a copy of the
+     * body for the handler to read.
+     */
+    private void record(HttpUriRequest request, byte[] requestBody, HttpResponse response) throws IOException {
+        HttpEntity entity = response.getEntity();
+        byte[] body = entity == null ? new byte[0] : EntityUtils.toByteArray(entity);
+        Header contentType = entity == null ? null : entity.getContentType();
+        if (entity != null) {
+            ByteArrayEntity copy = new ByteArrayEntity(body);
+            copy.setContentType(contentType);
+            response.setEntity(copy);
+        }
+
+        ByteArrayOutputStream record = new ByteArrayOutputStream(body.length + 256);
+        DataOutputStream out = new DataOutputStream(record);
+        out.writeInt(0); // the length, filled in below
+        Capture.writeString(out, request.getMethod());
+        Capture.writeString(out, request.getURI().toString());
+        out.writeLong(Capture.hash(requestBody));
+        out.writeInt(response.getStatusLine().getStatusCode());
+        String reason = response.getStatusLine().getReasonPhrase();
+        Capture.writeString(out, reason == null ? "" : reason);
+        Capture.writeString(out, contentType == null ? "" : contentType.getValue());
+        out.writeInt(body.length);
+        out.write(body);
+        byte[] bytes = record.toByteArray();
+        ByteBuffer.wrap(bytes).putInt(0, bytes.length - 4);
+        write(bytes);
+        recorded.increment();
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        synchronized (channel) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * @return the capture file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return the number of exchanges recorded by this transport
+     */
+    public long getRecorded() {
+        return recorded.sum();
+    }
+
+    @Override
+    public WireFormat getWireFormat(String urlRoot) {
+        return delegate.getWireFormat(urlRoot);
+    }
+
+    @Override
+    public void formatRefused(String urlRoot, WireFormat format) {
+        delegate.formatRefused(urlRoot, format);
+    }
+
+    @Override
+    public TrafficRecorder getTrafficRecorder() {
+        return delegate.getTrafficRecorder();
+    }
+
+    @Override
+    public TransportStats getStats() {
+        return delegate.getStats();
+    }
+
+    /**
+     * Close the capture file. The transport the requests are sent on is left open, as it's
+     * usually the shared default.
+     *
+     * @throws IOException if the file can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        log.info("recorded " + getRecorded() + " exchanges to " + file);
+        channel.close();
+    }
+}
@@ -0,0 +1,225 @@
+package org.ga4gh.ctk.transport;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * <p>A {@link Transport} which answers requests from a capture file written by a
+ * {@link RecordingTransport}, without any network: a rerun of the tests against a
+ * captured server takes only as long as the client side's work, which also makes it a
+ * way to measure that work on its own.</p>
+ * <p>The capture file is memory-mapped and indexed by request method, URL and body hash
+ * when the transport is opened; responses are decoded from the mapping as they're served.
+ * If an identical request was recorded more than once its responses are served in the
+ * order they were recorded, the last one being repeated; each run (each {@link RunContext})
+ * starts again from the first, so replaying a capture twice in one process gives the same
+ * answers both times. A request that wasn't recorded
+ * fails with an {@link IOException}, as though the server couldn't be reached.</p>
+ * <p>A run replays when its <tt>ctk.transport.replay</tt> property names a capture file.</p>
+ */
+public class ReplayTransport implements Transport {
+
+    private static final org.slf4j.Logger log = getLogger(ReplayTransport.class);
+
+    private final Path file;
+
+    private final MappedByteBuffer capture;
+
+    private final WireFormat wireFormat;
+
+    /**
+     * For each exchange key, the offsets in the capture of its recorded responses.
+     */
+    private final Map<String, int[]> index;
+
+    /**
+     * For each run, how many of each exchange's responses it has been served; dropped with the run.
+     */
+    private final Map<RunContext, ConcurrentMap<String, AtomicInteger>> servedPerRun =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The same, for requests made outside any run.
+     */
+    private final ConcurrentMap<String, AtomicInteger> served = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+
+    /**
+     * The url roots which refused a binary request, as in {@link PooledTransport}.
+     */
+    private final Set<String> jsonOnlyRoots = ConcurrentHashMap.newKeySet();
+
+    private ReplayTransport(Path file, MappedByteBuffer capture, WireFormat wireFormat, Map<String, int[]> index) {
+        this.file = file;
+        this.capture = capture;
+        this.wireFormat = wireFormat;
+        this.index = index;
+    }
+
+    /**
+     * Map and index a capture file.
+     *
+     * @param file the capture file
+     * @return the transport
+     * @throws IOException if the file can't be read, or isn't a capture file
+     */
+    public static ReplayTransport open(Path file) throws IOException {
+        MappedByteBuffer capture;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too big to replay (" + channel.size() + " bytes)");
+            }
+            capture = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer in = capture.duplicate();
+        WireFormat wireFormat;
+        Map<String, List<Integer>> offsets = new HashMap<>();
+        int exchanges = 0;
+        try {
+            byte[] magic = new byte[Capture.MAGIC.length];
+            in.get(magic);
+            if (!Arrays.equals(magic, Capture.MAGIC)) {
+                throw new IOException(file + " isn't a capture file");
+            }
+            wireFormat = WireFormat.valueOf(Capture.readString(in));
+            while (in.remaining() >= 4) {
+                int length = in.getInt();
+                if (length < 0 || length > in.remaining()) {
+                    log.warn("ignoring the truncated last exchange in " + file);
+                    break;
+                }
+                int start = in.position();
+                String method = Capture.readString(in);
+                String url = Capture.readString(in);
+                long bodyHash = in.getLong();
+                offsets.computeIfAbsent(Capture.key(method, url, bodyHash), k -> new ArrayList<>())
+                       .add(in.position());
+                in.position(start + length);
+                exchanges++;
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException(file + " is damaged after " + exchanges + " exchanges", e);
+        }
+        Map<String, int[]> index = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : offsets.entrySet()) {
+            index.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        log.info("replaying " + exchanges + " exchanges (" + index.size() + " distinct requests) from " + file);
+        return new ReplayTransport(file, capture, wireFormat, index);
+    }
+
+    @Override
+    public <R> R execute(HttpUriRequest request, HttpContext context, ResponseHandler<? extends R> handler)
+            throws IOException {
+        WireTimings timings = WireTimings.from(context);
+        HttpResponse response = response(request);
+        if (timings != null) {
+            timings.markRequestSent();
+            timings.markResponseReceived();
+        }
+        return handler.handleResponse(response);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> executeAsync(HttpUriRequest request, HttpContext context,
+                                                 ResponseHandler<? extends R> handler) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        try {
+            result.complete(execute(request, context, handler));
+        } catch (IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private HttpResponse response(HttpUriRequest request) throws IOException {
+        requests.increment();
+        String key = Capture.key(request.getMethod(), request.getURI().toString(),
+                                 Capture.hash(Capture.requestBody(request)));
+        int[] responses = index.get(key);
+        if (responses == null) {
+            throw new IOException("no recorded response to " + request.getMethod() + " " + request.getURI()
+                                          + " in " + file);
+        }
+        int next = served().computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        ByteBuffer in = capture.duplicate();
+        in.position(responses[Math.min(next, responses.length - 1)]);
+        int status = in.getInt();
+        String reason = Capture.readString(in);
+        String contentType = Capture.readString(in);
+        byte[] body = new byte[in.getInt()];
+        in.get(body);
+
+        BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, status,
+                                                           reason.isEmpty() ? null : reason);
+        ByteArrayEntity entity = new ByteArrayEntity(body);
+        if (!contentType.isEmpty()) {
+            entity.setContentType(contentType);
+        }
+        response.setEntity(entity);
+        return response;
+    }
+
+    /**
+     * @return the calling thread's run's counts of the responses served
+     */
+    private ConcurrentMap<String, AtomicInteger> served() {
+        RunContext run = RunContext.current();
+        return run == null ? served : servedPerRun.computeIfAbsent(run, r -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * @return the format the recording transport preferred, so requests are encoded, and
+     * so found in the capture, as they were when recorded
+     */
+    @Override
+    public WireFormat getWireFormat(String urlRoot) {
+        return jsonOnlyRoots.contains(urlRoot) ? WireFormat.JSON : wireFormat;
+    }
+
+    @Override
+    public void formatRefused(String urlRoot, WireFormat format) {
+        if (format != WireFormat.JSON) {
+            jsonOnlyRoots.add(urlRoot);
+        }
+    }
+
+    @Override
+    public TransportStats getStats() {
+        return new TransportStats(requests.sum(), 0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void close() {
+        // the mapping is released when the transport is garbage collected
+    }
+}
@@ -0,0 +1,110 @@
+package org.ga4gh.ctk.transport;
+
+import ga4gh.Common.GAException;
+
+import java.util.function.Function;
+
+/**
+ * <p>The outcome of a request: either the response message, or the {@link ErrorResponse}
+ * (HTTP status and {@link GAException}) the server returned instead.</p>
+ * <p>A failed result is an ordinary value, not an exception, so a test that expects the
+ * server to refuse thousands of requests (a fuzzing or load run, say) pays nothing for
+ * stack traces. {@link #get()} turns it back into the usual {@link GAWrapperException}.</p>
+ *
+ * @param <T> the type of the response message
+ */
+public final class Result<T> {
+
+    private final T value;
+
+    private final ErrorResponse error;
+
+    private Result(T value, ErrorResponse error) {
+        this.value = value;
+        this.error = error;
+    }
+
+    /**
+     * @param value the response
+     * @param <T>   the type of the response
+     * @return a successful result
+     */
+    public static <T> Result<T> ok(T value) {
+        return new Result<>(value, null);
+    }
+
+    /**
+     * @param error the error the server returned
+     * @param <T>   the type the response would have had
+     * @return a failed result
+     */
+    public static <T> Result<T> failed(ErrorResponse error) {
+        return new Result<>(null, error);
+    }
+
+    /**
+     * @return true if the server answered 200 (OK)
+     */
+    public boolean isOk() {
+        return error == null;
+    }
+
+    /**
+     * @return the response, or null if the request failed
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * @return the error the server returned, or null if the request succeeded
+     */
+    public ErrorResponse getError() {
+        return error;
+    }
+
+    /**
+     * @return the HTTP status the server sent
+     */
+    public int getHttpStatus() {
+        return error == null ? 200 : error.getHttpStatus();
+    }
+
+    /**
+     * @return the {@link GAException} the server returned, or null if the request succeeded or the
+     * error couldn't be decoded
+     */
+    public GAException getGae() {
+        return error == null ? null : error.getGae();
+    }
+
+    /**
+     * Get the response, as the throwing API would return it.
+     *
+     * @return the response
+     * @throws GAWrapperException if the request failed
+     */
+    public T get() throws GAWrapperException {
+        if (error != null) {
+            throw new GAWrapperException(error);
+        }
+        return value;
+    }
+
+    /**
+     * Transform a successful result's response, passing a failure through.
+     *
+     * @param mapper the transformation
+     * @param <U>    the type of the transformed response
+     * @return the transformed result
+     */
+    @SuppressWarnings("unchecked")
+    public <U> Result<U> map(Function<? super T, ? extends U> mapper) {
+        return error == null ? ok(mapper.apply(value)) : (Result<U>) this;
+    }
+
+    @Override
+    public String toString() {
+        return error == null ? "OK " + value : String.valueOf(error);
+    }
+}
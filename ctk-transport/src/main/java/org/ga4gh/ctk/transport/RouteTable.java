@@ -0,0 +1,175 @@
+package org.ga4gh.ctk.transport;
+
+import com.google.common.base.CharMatcher;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>The URLs of a server's endpoints, worked out once rather than for every request.</p>
+ * <p>{@link TransportUtils#makeUrl(String, String)} parses the url root and builds the
+ * merged URL each time it's called, though for a given server the result only ever depends
+ * on which endpoint is being called. A RouteTable holds, for one url root, a {@link Route}
+ * per endpoint path: the merged URL, split around its <tt>{id}</tt> slot if it has one, so
+ * a request's URL is a constant or a single concatenation.</p>
+ * <p>Tables are immutable. The first request to a url root builds its table from the
+ * {@link URLMAPPING}'s endpoints; a path that isn't in it (a run's own endpoint overrides,
+ * say) is compiled when first used and added to a new copy of the table.</p>
+ */
+public final class RouteTable {
+
+    private static final ConcurrentMap<String, RouteTable> tables = new ConcurrentHashMap<>();
+
+    private static final CharMatcher SLASH = CharMatcher.is('/');
+
+    private final String urlRoot;
+
+    private final Map<String, Route> routes;
+
+    private RouteTable(String urlRoot, Map<String, Route> routes) {
+        this.urlRoot = urlRoot;
+        this.routes = Collections.unmodifiableMap(routes);
+    }
+
+    /**
+     * Get the route to an endpoint.
+     *
+     * @param urlRoot the server's url root, e.g. <tt>http://localhost:8000/ga4gh</tt>
+     * @param path    the endpoint's path relative to the root, e.g. <tt>readgroupsets/{id}</tt>
+     * @return the route
+     */
+    public static Route route(String urlRoot, String path) {
+        String root = urlRoot.trim();
+        String key = SLASH.trimFrom(path.trim());
+        RouteTable table = tables.get(root);
+        if (table == null) {
+            table = tables.computeIfAbsent(root, RouteTable::fromMapping);
+        }
+        Route route = table.routes.get(key);
+        if (route == null) {
+            route = Route.compile(root, key);
+            final Route compiled = route;
+            tables.computeIfPresent(root, (r, current) -> current.with(key, compiled));
+        }
+        return route;
+    }
+
+    /**
+     * @param urlRoot the server's url root
+     * @return the table of routes to it, as built so far
+     */
+    public static RouteTable forRoot(String urlRoot) {
+        String root = urlRoot.trim();
+        return tables.computeIfAbsent(root, RouteTable::fromMapping);
+    }
+
+    private static RouteTable fromMapping(String urlRoot) {
+        Map<String, Route> routes = new HashMap<>();
+        for (Map.Entry<String, String> endpoint : URLMAPPING.getInstance().getEndpoints().entrySet()) {
+            if (endpoint.getKey().equals("ctk.tgt.urlRoot") || endpoint.getValue() == null) {
+                continue;
+            }
+            String path = SLASH.trimFrom(endpoint.getValue().trim());
+            routes.computeIfAbsent(path, p -> Route.compile(urlRoot, p));
+        }
+        return new RouteTable(urlRoot, routes);
+    }
+
+    private RouteTable with(String path, Route route) {
+        if (routes.containsKey(path)) {
+            return this;
+        }
+        Map<String, Route> more = new HashMap<>(routes);
+        more.put(path, route);
+        return new RouteTable(urlRoot, more);
+    }
+
+    /**
+     * @return the url root
+     */
+    public String getUrlRoot() {
+        return urlRoot;
+    }
+
+    /**
+     * @return the routes, by endpoint path
+     */
+    public Map<String, Route> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * <p>The URL of one endpoint on one server.</p>
+     */
+    public static final class Route {
+
+        /**
+         * The slot for the ID of the object to get.
+         */
+        public static final String ID_SLOT = "{id}";
+
+        private final String template;
+
+        private final String prefix;
+
+        private final String suffix;
+
+        private Route(String template) {
+            this.template = template;
+            int slot = template.indexOf(ID_SLOT);
+            this.prefix = slot < 0 ? template : template.substring(0, slot);
+            this.suffix = slot < 0 ? null : template.substring(slot + ID_SLOT.length());
+        }
+
+        static Route compile(String urlRoot, String path) {
+            return new Route(TransportUtils.makeUrl(urlRoot, path));
+        }
+
+        /**
+         * @return the URL, with the <tt>{id}</tt> slot still in it if it has one
+         */
+        public String getTemplate() {
+            return template;
+        }
+
+        /**
+         * @return true if the URL has an <tt>{id}</tt> slot
+         */
+        public boolean hasIdSlot() {
+            return suffix != null;
+        }
+
+        /**
+         * Fill in the URL's <tt>{id}</tt> slot.
+         *
+         * @param encodedId the ID, already encoded as a path segment
+         * @return the URL; just the template if it has no slot
+         */
+        public String expand(String encodedId) {
+            return suffix == null ? template : prefix + encodedId + suffix;
+        }
+
+        /**
+         * Fill in the URL's <tt>{id}</tt> slot, encoding the ID straight into the URL.
+         *
+         * @param id      the ID, not yet encoded
+         * @param encoder how to encode it
+         * @return the URL; just the template if it has no slot
+         */
+        public String expand(String id, PercentEncoder encoder) {
+            if (suffix == null) {
+                return template;
+            }
+            StringBuilder url = new StringBuilder(prefix.length() + id.length() + suffix.length() + 16);
+            return encoder.encode(id, url.append(prefix)).append(suffix).toString();
+        }
+
+        @Override
+        public String toString() {
+            return template;
+        }
+    }
+}
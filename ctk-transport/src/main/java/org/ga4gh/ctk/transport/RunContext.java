@@ -0,0 +1,130 @@
+package org.ga4gh.ctk.transport;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * <p>The configuration of one test run, bound to the threads executing it.</p>
+ * <p>Runs used to pass their target (<tt>ctk.tgt.urlRoot</tt>, <tt>ctk.tgt.dataset_id</tt>
+ * and the endpoint overrides) to the tests by swapping in a modified copy of the
+ * System properties, which only works while a single run is in progress. Instead, a runner
+ * binds a RunContext to each thread it runs tests on, and {@link URLMAPPINGImpl} and the
+ * tests look their settings up here first.</p>
+ * <p>A run may also carry its own {@link TrafficRecorder}, so that runs in progress at the
+ * same time don't mix their traffic stats, and it has its own {@link FixtureCache} of the
+ * values the tests look up on the server to set themselves up.</p>
+ * <p>A RunContext's settings are immutable. Outside of any run, {@link #getProperty(String)} falls back
+ * to the System properties, so tests run from an IDE or Maven behave as before.</p>
+ */
+public final class RunContext {
+
+    private static final ThreadLocal<RunContext> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, String> properties;
+
+    private final TrafficRecorder trafficRecorder;
+
+    private final FixtureCache fixtures = new FixtureCache();
+
+    /**
+     * @param properties the run's settings, e.g. <tt>ctk.tgt.urlRoot</tt>; copied
+     */
+    public RunContext(Map<String, String> properties) {
+        this(properties, null);
+    }
+
+    /**
+     * @param properties      the run's settings, e.g. <tt>ctk.tgt.urlRoot</tt>; copied
+     * @param trafficRecorder where the run's traffic is recorded, or null for the default
+     */
+    public RunContext(Map<String, String> properties, TrafficRecorder trafficRecorder) {
+        this.properties = Collections.unmodifiableMap(new HashMap<>(properties));
+        this.trafficRecorder = trafficRecorder;
+    }
+
+    /**
+     * @return the context bound to the calling thread, or null if it isn't part of a run
+     */
+    public static RunContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Look up a setting for the calling thread's run.
+     *
+     * @param name the property name, e.g. <tt>ctk.tgt.dataset_id</tt>
+     * @return the run's value, else the System property, else null
+     */
+    public static String getProperty(String name) {
+        RunContext context = CURRENT.get();
+        if (context != null && context.properties.containsKey(name)) {
+            return context.properties.get(name);
+        }
+        return System.getProperty(name);
+    }
+
+    /**
+     * @return all of this run's settings
+     */
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    /**
+     * @return the run's own traffic recorder, or null if it uses the default one
+     */
+    public TrafficRecorder getTrafficRecorder() {
+        return trafficRecorder;
+    }
+
+    /**
+     * @return the values looked up by this run's tests
+     */
+    public FixtureCache getFixtures() {
+        return fixtures;
+    }
+
+    /**
+     * Call the task with this context bound to the calling thread, restoring whatever was
+     * bound before when it's done.
+     *
+     * @param task the task
+     * @param <T>  the task's result type
+     * @return the task's result
+     * @throws Exception whatever the task throws
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        RunContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Run the task with this context bound to the calling thread.
+     *
+     * @param task the task
+     * @see #call(Callable)
+     */
+    public void run(Runnable task) {
+        try {
+            call(() -> {
+                task.run();
+                return null;
+            });
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e); // can't happen, a Runnable throws nothing checked
+        }
+    }
+}
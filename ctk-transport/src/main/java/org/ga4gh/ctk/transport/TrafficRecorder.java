@@ -0,0 +1,171 @@
+package org.ga4gh.ctk.transport;
+
+import com.google.gson.stream.JsonWriter;
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Aggregates the message traffic of a test run, per endpoint.</p>
+ * <p>Each exchange is recorded under its HTTP method and endpoint <i>template</i>
+ * (<tt>readgroupsets/{id}</tt>, not the expanded URL), so the stats show which endpoints a
+ * run exercised, with what results, and how fast. For each endpoint we keep the request
+ * count, a count per HTTP status (0 standing for "no response"), the bytes sent and
+ * received, and a latency histogram.</p>
+ * <p>Recording is lock-free (counters are {@link LongAdder}s and the histograms are
+ * {@link ConcurrentHistogram}s) so tests can run in parallel without skewing or serializing
+ * on the stats. {@link #reset()} starts a new run; {@link #snapshot()} and
+ * {@link #writeJson(Writer)} report on it.</p>
+ */
+public class TrafficRecorder {
+
+    private static final TrafficRecorder DEFAULT = new TrafficRecorder();
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the process-wide recorder that transports record into unless given another.
+     *
+     * @return the default recorder
+     */
+    public static TrafficRecorder getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gets the recorder for the calling thread's run: the one its {@link RunContext}
+     * carries, if any, else the default.
+     *
+     * @return the recorder to record into
+     */
+    public static TrafficRecorder current() {
+        RunContext run = RunContext.current();
+        return run != null && run.getTrafficRecorder() != null ? run.getTrafficRecorder() : DEFAULT;
+    }
+
+    /**
+     * Record one exchange.
+     *
+     * @param method        the HTTP method, e.g. <tt>POST</tt>
+     * @param endpoint      the endpoint template, e.g. <tt>reads/search</tt>
+     * @param status        the HTTP status received, or 0 if no response was received
+     * @param bytesSent     the size of the request body
+     * @param bytesReceived the size of the response body
+     * @param latencyNanos  time from starting the request to finishing with the response
+     */
+    public void record(String method, String endpoint, int status, long bytesSent, long bytesReceived,
+                       long latencyNanos) {
+        Endpoint stats = endpoints.computeIfAbsent(method + " " + endpoint, k -> new Endpoint(method, endpoint));
+        stats.requests.increment();
+        stats.statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+        stats.bytesSent.add(bytesSent);
+        stats.bytesReceived.add(bytesReceived);
+        stats.latencyMicros.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    }
+
+    /**
+     * Forget everything recorded so far, ready for a new run.
+     */
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * Summarize the traffic recorded so far.
+     *
+     * @return one {@link EndpointTraffic} per endpoint and method, sorted by endpoint then method
+     */
+    public List<EndpointTraffic> snapshot() {
+        List<EndpointTraffic> result = new ArrayList<>();
+        for (Endpoint stats : endpoints.values()) {
+            Map<Integer, Long> statuses = new TreeMap<>();
+            stats.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+            result.add(new EndpointTraffic(stats.method, stats.endpoint, stats.requests.sum(), statuses,
+                    stats.bytesSent.sum(), stats.bytesReceived.sum(), stats.latencyMicros.copy()));
+        }
+        result.sort(Comparator.comparing(EndpointTraffic::getEndpoint).thenComparing(EndpointTraffic::getMethod));
+        return result;
+    }
+
+    /**
+     * Write the current {@link #snapshot()} as a JSON document of the form
+     * <pre>
+     * { "endpoints": [ { "method": "POST", "endpoint": "reads/search", "requests": 12,
+     *                    "statuses": { "200": 11, "404": 1 }, "bytesSent": 960, "bytesReceived": 48213,
+     *                    "latencyMillis": { "mean": 4.2, "p50": 3.9, "p90": 6.1, "p99": 9.8,
+     *                                       "p999": 9.8, "max": 9.8 } }, ... ] }
+     * </pre>
+     *
+     * @param out where to write the JSON; it isn't closed
+     * @throws IOException if the JSON can't be written
+     */
+    public void writeJson(Writer out) throws IOException {
+        JsonWriter json = new JsonWriter(out);
+        json.setIndent("  ");
+        json.beginObject().name("endpoints").beginArray();
+        for (EndpointTraffic traffic : snapshot()) {
+            json.beginObject()
+                    .name("method").value(traffic.getMethod())
+                    .name("endpoint").value(traffic.getEndpoint())
+                    .name("requests").value(traffic.getRequests());
+            json.name("statuses").beginObject();
+            for (Map.Entry<Integer, Long> status : traffic.getStatuses().entrySet()) {
+                json.name(String.valueOf(status.getKey())).value(status.getValue());
+            }
+            json.endObject();
+            json.name("bytesSent").value(traffic.getBytesSent())
+                    .name("bytesReceived").value(traffic.getBytesReceived());
+            json.name("latencyMillis").beginObject()
+                    .name("mean").value(traffic.getMeanMillis())
+                    .name("p50").value(traffic.getLatencyMillis(50.0))
+                    .name("p90").value(traffic.getLatencyMillis(90.0))
+                    .name("p99").value(traffic.getLatencyMillis(99.0))
+                    .name("p999").value(traffic.getLatencyMillis(99.9))
+                    .name("max").value(traffic.getMaxMillis())
+                    .endObject();
+            json.endObject();
+        }
+        json.endArray().endObject();
+        json.flush();
+    }
+
+    /**
+     * @return the current {@link #snapshot()} as JSON
+     * @see #writeJson(Writer)
+     */
+    public String toJson() {
+        StringWriter out = new StringWriter();
+        try {
+            writeJson(out);
+        } catch (IOException e) {
+            throw new IllegalStateException("can't happen writing to a String", e);
+        }
+        return out.toString();
+    }
+
+    private static class Endpoint {
+        final String method;
+        final String endpoint;
+        final LongAdder requests = new LongAdder();
+        final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        final LongAdder bytesSent = new LongAdder();
+        final LongAdder bytesReceived = new LongAdder();
+        final ConcurrentHistogram latencyMicros = new ConcurrentHistogram(3);
+
+        Endpoint(String method, String endpoint) {
+            this.method = method;
+            this.endpoint = endpoint;
+        }
+    }
+}
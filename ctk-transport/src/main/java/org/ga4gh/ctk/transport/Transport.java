@@ -0,0 +1,123 @@
+package org.ga4gh.ctk.transport;
+
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <p>The HTTP machinery a {@link org.ga4gh.ctk.transport.protocols.Client} uses to reach the server.</p>
+ * <p>A Transport owns its connections (pooling, keep-alive, timeouts) so that these can be
+ * tuned per target rather than process-wide. The response is always delivered to a
+ * {@link ResponseHandler}, which lets the Transport release the connection back to its
+ * pool as soon as the handler returns.</p>
+ */
+public interface Transport extends Closeable {
+
+    /**
+     * Execute the request, blocking until the response has been handled.
+     *
+     * @param request the request to send
+     * @param handler converts the response into the caller's result
+     * @param <R>     the result type
+     * @return whatever the handler returns
+     * @throws IOException if there's a problem speaking HTTP to the server, or if the handler throws
+     */
+    default <R> R execute(HttpUriRequest request, ResponseHandler<? extends R> handler) throws IOException {
+        return execute(request, HttpClientContext.create(), handler);
+    }
+
+    /**
+     * Execute the request in the given context, blocking until the response has been handled.
+     * If the context carries {@link WireTimings} the transport stamps the network phases in them.
+     *
+     * @param request the request to send
+     * @param context the context of this exchange
+     * @param handler converts the response into the caller's result
+     * @param <R>     the result type
+     * @return whatever the handler returns
+     * @throws IOException if there's a problem speaking HTTP to the server, or if the handler throws
+     */
+    <R> R execute(HttpUriRequest request, HttpContext context, ResponseHandler<? extends R> handler) throws IOException;
+
+    /**
+     * Execute the request without blocking the calling thread.
+     *
+     * @param request the request to send
+     * @param handler converts the response into the caller's result
+     * @param <R>     the result type
+     * @return a future completing with whatever the handler returns, or exceptionally
+     * if the exchange or the handler fails
+     */
+    default <R> CompletableFuture<R> executeAsync(HttpUriRequest request, ResponseHandler<? extends R> handler) {
+        return executeAsync(request, HttpClientContext.create(), handler);
+    }
+
+    /**
+     * Execute the request in the given context without blocking the calling thread.
+     * If the context carries {@link WireTimings} the transport stamps the network phases in them.
+     *
+     * @param request the request to send
+     * @param context the context of this exchange
+     * @param handler converts the response into the caller's result
+     * @param <R>     the result type
+     * @return a future completing with whatever the handler returns, or exceptionally
+     * if the exchange or the handler fails
+     */
+    <R> CompletableFuture<R> executeAsync(HttpUriRequest request, HttpContext context,
+                                          ResponseHandler<? extends R> handler);
+
+    /**
+     * Return the format to offer when talking to the given server.
+     *
+     * @param urlRoot the server's url root
+     * @return the preferred {@link WireFormat}; {@link WireFormat#JSON} unless configured otherwise
+     */
+    default WireFormat getWireFormat(String urlRoot) {
+        return WireFormat.JSON;
+    }
+
+    /**
+     * Note that a server refused a format, so later requests to it are sent as JSON straight away.
+     *
+     * @param urlRoot the server's url root
+     * @param format  the format it refused
+     */
+    default void formatRefused(String urlRoot, WireFormat format) {
+    }
+
+    /**
+     * Return the recorder in which requests sent on this transport are tallied per endpoint.
+     * Called on the thread sending the request.
+     *
+     * @return the {@link TrafficRecorder}; the calling thread's run's recorder unless configured otherwise
+     * @see TrafficRecorder#current()
+     */
+    default TrafficRecorder getTrafficRecorder() {
+        return TrafficRecorder.current();
+    }
+
+    /**
+     * Return a snapshot of the connection and reuse statistics for this transport.
+     *
+     * @return the current statistics
+     */
+    TransportStats getStats();
+
+    /**
+     * Gets the default Transport, used by clients which aren't given one. That's the shared
+     * {@link PooledTransport}, unless the calling thread's run records its exchanges
+     * (<tt>ctk.transport.record</tt>) or replays them (<tt>ctk.transport.replay</tt>).
+     *
+     * @return the default transport
+     * @see RecordingTransport
+     * @see ReplayTransport
+     */
+    static Transport getDefault() {
+        return Capture.defaultTransport();
+    }
+}
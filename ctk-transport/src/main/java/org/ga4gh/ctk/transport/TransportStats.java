@@ -0,0 +1,85 @@
+package org.ga4gh.ctk.transport;
+
+/**
+ * <p>An immutable snapshot of a {@link Transport}'s connection usage.</p>
+ * <p>The pool figures are summed across the blocking and asynchronous connection pools.</p>
+ */
+public class TransportStats {
+
+    private final long requests;
+
+    private final long reusedConnections;
+
+    private final int leased;
+
+    private final int available;
+
+    private final int pending;
+
+    private final int max;
+
+    public TransportStats(long requests, long reusedConnections,
+                          int leased, int available, int pending, int max) {
+        this.requests = requests;
+        this.reusedConnections = reusedConnections;
+        this.leased = leased;
+        this.available = available;
+        this.pending = pending;
+        this.max = max;
+    }
+
+    /**
+     * @return the number of requests sent on this transport
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return the number of requests sent on an already-open (kept-alive) connection
+     */
+    public long getReusedConnections() {
+        return reusedConnections;
+    }
+
+    /**
+     * @return the fraction of requests that reused a connection, 0 if there were no requests
+     */
+    public double getReuseRatio() {
+        return requests == 0 ? 0.0 : (double) reusedConnections / requests;
+    }
+
+    /**
+     * @return the number of connections currently handed out to requests
+     */
+    public int getLeased() {
+        return leased;
+    }
+
+    /**
+     * @return the number of idle, kept-alive connections in the pool
+     */
+    public int getAvailable() {
+        return available;
+    }
+
+    /**
+     * @return the number of requests waiting for a connection
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * @return the maximum number of connections the pool will open
+     */
+    public int getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("requests: %d, reused: %d (%.1f%%), leased: %d, available: %d, pending: %d, max: %d",
+                requests, reusedConnections, 100.0 * getReuseRatio(), leased, available, pending, max);
+    }
+}
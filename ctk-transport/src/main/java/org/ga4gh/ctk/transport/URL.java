@@ -1,6 +1,5 @@
 package org.ga4gh.ctk.transport;
 
-import java.io.UnsupportedEncodingException;
 import java.net.*;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -25,6 +24,9 @@ public class URL implements Iterable<URL.Parameter> {
 
     private String name = "";
     private String value = "";
+    // decoded on first use; most parameters are read many times and decode to themselves
+    private String decodedName;
+    private String decodedValue;
 
     /**
      * Creates a parameter with the provided name and an empty value. The name
@@ -67,14 +69,20 @@ public class URL implements Iterable<URL.Parameter> {
      * Returns the name of this parameter. It is automatically decoded.
      */
     public String getName() {
-      return urlDecode(name);
+      if (decodedName == null) {
+        decodedName = urlDecode(name);
+      }
+      return decodedName;
     }
 
     /**
      * Returns the value of this parameter. It is automatically decoded.
      */
     public String getValue() {
-      return urlDecode(value);
+      if (decodedValue == null) {
+        decodedValue = urlDecode(value);
+      }
+      return decodedValue;
     }
 
     /**
@@ -116,8 +124,6 @@ public class URL implements Iterable<URL.Parameter> {
     }
   }
 
-  private static final String ENCODING = "UTF-8";
-  private static final String ENCODING_ERROR = " is not a supported encoding option";
 
   /**
    * Returns a URL for the provided String, or null if the URL provided is
@@ -422,22 +428,14 @@ public class URL implements Iterable<URL.Parameter> {
    * Helper method that URL decodes a value.
    */
   private String fragmentDecode(String value) {
-    try {
-      return FragmentEncoder.decode(value, URL.ENCODING);
-    } catch (UnsupportedEncodingException e) {
-      throw new IllegalArgumentException(URL.ENCODING + URL.ENCODING_ERROR, e);
-    }
+    return PercentEncoder.FRAGMENT.decode(value);
   }
 
   /**
    * Helper method that URL encodes a value.
    */
   private String fragmentEncode(String value) {
-    try {
-      return FragmentEncoder.encode(value, URL.ENCODING);
-    } catch (UnsupportedEncodingException e) {
-      throw new IllegalArgumentException(URL.ENCODING + URL.ENCODING_ERROR, e);
-    }
+    return PercentEncoder.FRAGMENT.encode(value);
   }
 
   /**
@@ -1038,22 +1036,14 @@ public class URL implements Iterable<URL.Parameter> {
    * Helper method that URL decodes a value.
    */
   private String urlDecode(String value) {
-    try {
-      return URLDecoder.decode(value, URL.ENCODING);
-    } catch (UnsupportedEncodingException e) {
-      throw new IllegalArgumentException(URL.ENCODING + URL.ENCODING_ERROR, e);
-    }
+    return PercentEncoder.FORM.decode(value);
   }
 
   /**
    * Helper method that URL encodes a value.
    */
   private String urlEncode(String value) {
-    try {
-      return URLEncoder.encode(value, URL.ENCODING);
-    } catch (UnsupportedEncodingException e) {
-      throw new IllegalArgumentException(URL.ENCODING + URL.ENCODING_ERROR, e);
-    }
+    return PercentEncoder.FORM.encode(value);
   }
 
   /**
@@ -195,6 +195,9 @@ public interface URLMAPPING {
 
     void setGetInfo(String getInfo);
 
+    /**
+     * @return all the <tt>ctk.tgt.*</tt> settings, unmodifiable
+     */
     Map<String, String> getEndpoints();
 
     void setEndpoints(Map<String, String> endpoints);
@@ -6,6 +6,7 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -24,25 +25,32 @@ public class URLMAPPINGImpl implements URLMAPPING {
     private static org.slf4j.Logger log = getLogger(URLMAPPINGImpl.class);
     /**
      * <p>Map IDL message name to target server endpoint.</p>
-     * <p>This Map is initialized in code with defaults from the
-     * IDL (hand-copied, might not be up to date). On startup of the
-     * URLMAPPING class, an initializer reads in an UrlMapping.properties
-     * file and merges it with this Map, which allows for extension or
-     * overwrite.</p>
-     * <p>The Map is public and mutable so it can be easily examined or
-     * replaced in test code.</p>
+     * <p>The defaults are initialized in code from the IDL (hand-copied, might
+     * not be up to date); a defaulttransport.properties file, the environment
+     * and the system properties are merged over them, which allows for
+     * extension or overwrite. That's resolved once per properties file by
+     * {@link EndpointConfig}, and this instance reads the resulting immutable
+     * {@link EndpointSnapshot} plus anything set on it, without locking.</p>
      * <p>Design note - why not an Enum? For extensibility-without-compiling.
      * This lets a test writer/API developer add or change URLs without having
      * to repackage the transport module.</p>
      */
-    public Map<String, String> endpoints;
+    private final AtomicReference<EndpointSnapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * The shared settings this instance's snapshot is built on, so it can follow reloads;
+     * null once {@link #setEndpoints} has replaced them wholesale.
+     */
+    private volatile AtomicReference<EndpointSnapshot> source;
+
     private static Map<String, String> defaultEndpoints;
 
     /**
      * <p>dumpToStdOut is a property set at the java System level '-Dctk.tgt.urlmapper.dump=true'</p>
      * <p>When this property is set, the URLMAPPER dumps directly to the stdout what actions it
-     * takes during the doInit() method (what
-     * 'ctk.tgt.*' properties it discovers and their values).
+     * takes when it resolves a properties file (what
+     * 'ctk.tgt.*' properties it discovers and their values); that happens once per
+     * file, and again each time {@link EndpointConfig} reloads it.
      * This static method is invoked during class initialization, and by tests which
      * want to ensure the transport environment is initialized as they expect</p>
      */
@@ -123,19 +131,39 @@ public class URLMAPPINGImpl implements URLMAPPING {
      * <li>a properties file of that name from the file system</li>
      * <li>the operating system environment variables ("ctk.tgt.*)</li>
      * <li>the Java system properties (e.g., command line -D...) of "ctk.tgt.*"</li>
+     * <li>the "ctk.tgt.*" settings of the {@link RunContext} bound to this thread, if any</li>
      * </ul>
      * If the resName is blank then the file/resource sought is "defaulttransport.properties"
      * If the resName is given then the default properties file is not loaded at all.
+     * <p>All but the last are resolved only the first time a resource is asked for, and then
+     * shared; see {@link EndpointConfig} for reloading them.</p>
      *
      * @param resName the resource name to init from (if blank, uses 'defaulttransport.properties')
      */
     public void doInit(String resName) {
-
-        endpoints = new HashMap<>(defaultEndpoints); // start fresh using baked-in defaults
-
-        if (resName == null || resName.isEmpty()) {
-            resName = "defaulttransport.properties";
+        AtomicReference<EndpointSnapshot> shared = EndpointConfig.source(resName);
+        Map<String, String> runSettings = new HashMap<>();
+        RunContext run = RunContext.current();
+        if (run != null) {
+            for (Map.Entry<String, String> entry : run.getProperties().entrySet()) {
+                if (entry.getKey().startsWith("ctk.tgt.")) {
+                    runSettings.put(entry.getKey(), entry.getValue());
+                }
+            }
         }
+        source = shared;
+        snapshot.set(shared.get().with(runSettings));
+    }
+
+    /**
+     * Resolve a resource's settings from the defaults, the resource, the environment and the system
+     * properties. {@link EndpointConfig} does this once per resource and shares the result.
+     *
+     * @param resName the resource or file name
+     * @return the resolved settings
+     */
+    static EndpointSnapshot load(String resName) {
+        Map<String, String> endpoints = new HashMap<>(defaultEndpoints); // start fresh using baked-in defaults
 
         if (dumpToStdOut) {
             System.out.println("\nprocess resource/file " + resName);
@@ -158,6 +186,34 @@ public class URLMAPPINGImpl implements URLMAPPING {
         if (!tempProps.isEmpty()) {
             mergePropertiesIntoMap(tempProps, endpoints);
         }
+        return EndpointSnapshot.of(endpoints);
+    }
+
+    /**
+     * Return this instance's settings, first re-applying what's been set on it to the shared
+     * settings if those have been reloaded since.
+     *
+     * @return the current snapshot
+     */
+    public EndpointSnapshot getSnapshot() {
+        EndpointSnapshot current = snapshot.get();
+        AtomicReference<EndpointSnapshot> shared = source;
+        if (shared == null) {
+            return current;
+        }
+        EndpointSnapshot latest = shared.get();
+        EndpointSnapshot base = current.getBase() != null ? current.getBase() : current;
+        if (base == latest) {
+            return current;
+        }
+        EndpointSnapshot rebased = current.rebase(latest);
+        snapshot.compareAndSet(current, rebased);
+        return rebased;
+    }
+
+    private void set(String key, String value) {
+        getSnapshot();
+        snapshot.updateAndGet(current -> current.with(key, value));
     }
 
     /**
@@ -260,13 +316,13 @@ public class URLMAPPINGImpl implements URLMAPPING {
 
     @Override
     public String getUrlRoot() {
-        return endpoints.get("ctk.tgt.urlRoot");
+        return getSnapshot().get("ctk.tgt.urlRoot");
     }
 
     public void setUrlRoot(String urlRoot) {
         log.debug("setUrlRoot param is " + urlRoot);
         if (urlRoot != null && !urlRoot.isEmpty()) {
-            endpoints.put("ctk.tgt.urlRoot", urlRoot);
+            set("ctk.tgt.urlRoot", urlRoot);
             log.debug("setUrlRoot sets ctk.tgt.urlRoot to " + urlRoot);
         } else {
             log.debug("setUrlRoot got null/empty argument, not making change");
@@ -275,427 +331,433 @@ public class URLMAPPINGImpl implements URLMAPPING {
 
     @Override
     public String getGetReadGroupSet() {
-        return endpoints.get("ctk.tgt.getReadGroupSet");
+        return getSnapshot().get("ctk.tgt.getReadGroupSet");
     }
 
     @Override
     public void setGetReadGroupSet(String getReadGroupSet) {
-        endpoints.put("ctk.tgt.getReadGroupSet", getReadGroupSet);
+        set("ctk.tgt.getReadGroupSet", getReadGroupSet);
     }
 
     @Override
     public String getGetReadGroup() {
-        return endpoints.get("ctk.tgt.getReadGroup");
+        return getSnapshot().get("ctk.tgt.getReadGroup");
     }
 
     @Override
     public void setGetReadGroup(String getReadGroup) {
-        endpoints.put("ctk.tgt.getReadGroup", getReadGroup);
+        set("ctk.tgt.getReadGroup", getReadGroup);
     }
 
     @Override
     public String getSearchDataSets() {
-        return endpoints.get("ctk.tgt.searchDataSets");
+        return getSnapshot().get("ctk.tgt.searchDataSets");
     }
 
     @Override
     public void setSearchDataSets(String searchDataSets) {
-        endpoints.put("ctk.tgt.searchDataSets", searchDataSets);
+        set("ctk.tgt.searchDataSets", searchDataSets);
     }
 
     @Override
     public String getGetDataSet() {
-        return endpoints.get("ctk.tgt.getDataSet");
+        return getSnapshot().get("ctk.tgt.getDataSet");
     }
 
     @Override
     public void setGetDataSet(String getDataSet) {
-        endpoints.put("ctk.tgt.getDataSet", getDataSet);
+        set("ctk.tgt.getDataSet", getDataSet);
     }
 
     @Override
     public String getSearchReads() {
-        return endpoints.get("ctk.tgt.searchReads");
+        return getSnapshot().get("ctk.tgt.searchReads");
     }
 
     @Override
     public void setSearchReads(String searchReads) {
-        endpoints.put("ctk.tgt.searchReads", searchReads);
+        set("ctk.tgt.searchReads", searchReads);
     }
 
     @Override
     public String getSearchReadGroupSets() {
-        return endpoints.get("ctk.tgt.searchReadGroupSets");
+        return getSnapshot().get("ctk.tgt.searchReadGroupSets");
     }
 
     @Override
     public void setSearchReadGroupSets(String searchReadGroupSets) {
-        endpoints.put("ctk.tgt.searchReadGroupSets", searchReadGroupSets);
+        set("ctk.tgt.searchReadGroupSets", searchReadGroupSets);
     }
 
     @Override
     public String getReference() {
-        return endpoints.get("ctk.tgt.getReferences");
+        return getSnapshot().get("ctk.tgt.getReferences");
     }
 
     @Override
     public void setReference(String reference) {
-        endpoints.put("ctk.tgt.getReferences", reference);
+        set("ctk.tgt.getReferences", reference);
     }
 
     @Override
     public String getReferenceSets() {
-        return endpoints.get("ctk.tgt.getReferenceSets");
+        return getSnapshot().get("ctk.tgt.getReferenceSets");
     }
 
     @Override
     public void setReferenceSets(String referenceSets) {
-        endpoints.put("ctk.tgt.getReferenceSets", referenceSets);
+        set("ctk.tgt.getReferenceSets", referenceSets);
     }
 
     @Override
     public String getSearchReferences() {
-        return endpoints.get("ctk.tgt.searchReferences");
+        return getSnapshot().get("ctk.tgt.searchReferences");
     }
 
     @Override
     public void setSearchReferences(String searchReferences) {
-        endpoints.put("ctk.tgt.searchReferences", searchReferences);
+        set("ctk.tgt.searchReferences", searchReferences);
     }
 
     @Override
     public String getSearchReferenceBases() {
-        return endpoints.get("ctk.tgt.getReferencesBases");
+        return getSnapshot().get("ctk.tgt.getReferencesBases");
     }
 
     @Override
     public void setSearchReferenceBases(String searchReferenceBases) {
-        endpoints.put("ctk.tgt.getReferencesBases", searchReferenceBases);
+        set("ctk.tgt.getReferencesBases", searchReferenceBases);
     }
 
     @Override
     public String getSearchReferenceSets() {
-        return endpoints.get("ctk.tgt.searchReferenceSets");
+        return getSnapshot().get("ctk.tgt.searchReferenceSets");
     }
 
     @Override
     public void setSearchReferenceSets(String searchReferenceSets) {
-        endpoints.put("ctk.tgt.searchReferenceSets", searchReferenceSets);
+        set("ctk.tgt.searchReferenceSets", searchReferenceSets);
     }
 
     @Override
     public String getSearchVariantSets() {
-        return endpoints.get("ctk.tgt.searchVariantSets");
+        return getSnapshot().get("ctk.tgt.searchVariantSets");
     }
 
     @Override
     public void setSearchVariantSets(String searchVariantSets) {
-        endpoints.put("ctk.tgt.searchVariantSets", searchVariantSets);
+        set("ctk.tgt.searchVariantSets", searchVariantSets);
     }
 
     @Override
     public String getSearchVariants() {
-        return endpoints.get("ctk.tgt.searchVariants");
+        return getSnapshot().get("ctk.tgt.searchVariants");
     }
 
     @Override
     public void setSearchVariants(String searchVariants) {
-        endpoints.put("ctk.tgt.searchVariants", searchVariants);
+        set("ctk.tgt.searchVariants", searchVariants);
     }
 
     @Override
     public String getGetVariant() {
-        return endpoints.get("ctk.tgt.getVariant");
+        return getSnapshot().get("ctk.tgt.getVariant");
     }
 
     @Override
     public void setGetVariant(String getVariant) {
-        endpoints.put("ctk.tgt.getVariant", getVariant);
+        set("ctk.tgt.getVariant", getVariant);
     }
 
     @Override
     public String getGetVariantSet() {
-        return endpoints.get("ctk.tgt.getVariantSet");
+        return getSnapshot().get("ctk.tgt.getVariantSet");
     }
 
     @Override
     public void setGetVariantSet(String getVariantSet) {
-        endpoints.put("ctk.tgt.getVariantSet", getVariantSet);
+        set("ctk.tgt.getVariantSet", getVariantSet);
     }
 
     @Override
     public String getSearchCallSets() {
-        return endpoints.get("ctk.tgt.searchCallSets");
+        return getSnapshot().get("ctk.tgt.searchCallSets");
     }
 
     @Override
     public void setSearchCallSets(String searchCallSets) {
-        endpoints.put("ctk.tgt.searchCallSets", searchCallSets);
+        set("ctk.tgt.searchCallSets", searchCallSets);
     }
 
     @Override
     public String getGetCallSet() {
-        return endpoints.get("ctk.tgt.getCallSet");
+        return getSnapshot().get("ctk.tgt.getCallSet");
     }
 
     @Override
     public void setGetCallSet(String getCallSet) {
-        endpoints.put("ctk.tgt.getCallSet", getCallSet);
+        set("ctk.tgt.getCallSet", getCallSet);
     }
 
 
     @Override
     public String getSearchVariantAnnotations() {
-        return endpoints.get("ctk.tgt.searchVariantAnnotations");
+        return getSnapshot().get("ctk.tgt.searchVariantAnnotations");
     }
 
     @Override
     public void setSearchVariantAnnotations(String searchVariantAnnotations) {
-        endpoints.put("ctk.tgt.searchVariantAnnotations", searchVariantAnnotations);
+        set("ctk.tgt.searchVariantAnnotations", searchVariantAnnotations);
     }
 
     @Override
     public String getSearchVariantAnnotationSets() {
-        return endpoints.get("ctk.tgt.searchVariantAnnotationSets");
+        return getSnapshot().get("ctk.tgt.searchVariantAnnotationSets");
     }
 
     @Override
     public void setSearchVariantAnnotationSets(String searchVariantAnnotationSets) {
-        endpoints.put("ctk.tgt.searchVariantAnnotationSets", searchVariantAnnotationSets);
+        set("ctk.tgt.searchVariantAnnotationSets", searchVariantAnnotationSets);
     }
 
     @Override
     public String getGetBiosample() {
-        return endpoints.get("ctk.tgt.getBiosample");
+        return getSnapshot().get("ctk.tgt.getBiosample");
     }
 
     @Override
     public void setGetBiosample(String getBiosample) {
-        endpoints.put("ctk.tgt.getBiosample", getBiosample);
+        set("ctk.tgt.getBiosample", getBiosample);
     }
 
     @Override
     public String getSearchBiosamples() {
-        return endpoints.get("ctk.tgt.searchBiosamples");
+        return getSnapshot().get("ctk.tgt.searchBiosamples");
     }
 
     @Override
     public void setSearchBiosamples(String searchBiosamples) {
-        endpoints.put("ctk.tgt.searchBiosamples", searchBiosamples);
+        set("ctk.tgt.searchBiosamples", searchBiosamples);
     }
 
     @Override
     public String getGetIndividual() {
-        return endpoints.get("ctk.tgt.getIndividual");
+        return getSnapshot().get("ctk.tgt.getIndividual");
     }
 
     @Override
     public void setGetIndividual(String getIndividual) {
-        endpoints.put("ctk.tgt.getBiosample", getIndividual);
+        set("ctk.tgt.getBiosample", getIndividual);
     }
 
     @Override
     public String getSearchIndividuals() {
-        return endpoints.get("ctk.tgt.searchIndividuals");
+        return getSnapshot().get("ctk.tgt.searchIndividuals");
     }
 
     @Override
     public void setSearchIndividuals(String searchIndividuals) {
-        endpoints.put("ctk.tgt.searchIndividuals", searchIndividuals);
+        set("ctk.tgt.searchIndividuals", searchIndividuals);
     }
 
     @Override
     public String getGetVariantAnnotationSet() {
-        return endpoints.get("ctk.tgt.getVariantAnnotationSet");
+        return getSnapshot().get("ctk.tgt.getVariantAnnotationSet");
     }
 
     @Override
     public void setGetVariantAnnotationSet(String getVariantAnnotationSet) {
-        endpoints.put("ctk.tgt.getVariantAnnotationSet", getVariantAnnotationSet);
+        set("ctk.tgt.getVariantAnnotationSet", getVariantAnnotationSet);
     }
 
     @Override
     public String getSearchFeatureSets() {
-        return endpoints.get("ctk.tgt.searchFeatureSets");
+        return getSnapshot().get("ctk.tgt.searchFeatureSets");
     }
 
     @Override
     public void setSearchFeatureSets(String searchFeatureSets) {
-        endpoints.put("ctk.tgt.searchFeatureSets", searchFeatureSets);
+        set("ctk.tgt.searchFeatureSets", searchFeatureSets);
     }
 
     @Override
     public void setGetFeatureSet(String getFeatureSets) {
-        endpoints.put("ctk.tgt.getFeatureSets", getFeatureSets);
+        set("ctk.tgt.getFeatureSets", getFeatureSets);
     }
 
     @Override
     public String getGetFeatureSet() {
-        return endpoints.get("ctk.tgt.getFeatureSets");
+        return getSnapshot().get("ctk.tgt.getFeatureSets");
     }
 
     @Override
     public String getSearchFeatures() {
-        return endpoints.get("ctk.tgt.searchFeatures");
+        return getSnapshot().get("ctk.tgt.searchFeatures");
     }
 
     @Override
     public void setSearchFeatures(String searchFeatures) {
-        endpoints.put("ctk.tgt.searchFeatures", searchFeatures);
+        set("ctk.tgt.searchFeatures", searchFeatures);
     }
 
     @Override
     public void setGetFeature(String getFeatures) {
-        endpoints.put("ctk.tgt.getFeatures", getFeatures);
+        set("ctk.tgt.getFeatures", getFeatures);
     }
 
     @Override
     public String getGetFeature() {
-        return endpoints.get("ctk.tgt.getFeatures");
+        return getSnapshot().get("ctk.tgt.getFeatures");
     }
 
     @Override
     public String getSearchContinuousSets() {
-        return endpoints.get("ctk.tgt.searchContinuousSets");
+        return getSnapshot().get("ctk.tgt.searchContinuousSets");
     }
 
     @Override
     public void setSearchContinuousSets(String searchContinuousSets) {
-        endpoints.put("ctk.tgt.searchContinuousSets", searchContinuousSets);
+        set("ctk.tgt.searchContinuousSets", searchContinuousSets);
     }
 
     @Override
     public void setGetContinuousSet(String getContinuousSets) {
-        endpoints.put("ctk.tgt.getContinuousSets", getContinuousSets);
+        set("ctk.tgt.getContinuousSets", getContinuousSets);
     }
 
     @Override
     public String getGetContinuousSet() {
-        return endpoints.get("ctk.tgt.getContinuousSets");
+        return getSnapshot().get("ctk.tgt.getContinuousSets");
     }
 
     @Override
     public String getSearchContinuous() {
-        return endpoints.get("ctk.tgt.searchContinuous");
+        return getSnapshot().get("ctk.tgt.searchContinuous");
     }
 
     @Override
     public void setSearchContinuous(String searchContinuous) {
-        endpoints.put("ctk.tgt.searchContinuouss", searchContinuous);
+        set("ctk.tgt.searchContinuouss", searchContinuous);
     }
 
     @Override
-    public String getGetRnaQuantification() { return endpoints.get("ctk.tgt.getRnaQuantification"); }
+    public String getGetRnaQuantification() { return getSnapshot().get("ctk.tgt.getRnaQuantification"); }
 
     @Override
     public void setGetRnaQuantification(String getRnaQuantification) {
-        endpoints.put("ctk.tgt.getRnaQuantification", getRnaQuantification);
+        set("ctk.tgt.getRnaQuantification", getRnaQuantification);
     }
 
     @Override
-    public String getGetRnaQuantificationSet() { return endpoints.get("ctk.tgt.getRnaQuantificationSet"); }
+    public String getGetRnaQuantificationSet() { return getSnapshot().get("ctk.tgt.getRnaQuantificationSet"); }
 
     @Override
     public void setGetRnaQuantificationSet(String getRnaQuantificationSet) {
-        endpoints.put("ctk.tgt.getRnaQuantificationSet", getRnaQuantificationSet);
+        set("ctk.tgt.getRnaQuantificationSet", getRnaQuantificationSet);
     }
 
     @Override
-    public String getSearchRnaQuantification() { return endpoints.get("ctk.tgt.searchRnaQuantification"); }
+    public String getSearchRnaQuantification() { return getSnapshot().get("ctk.tgt.searchRnaQuantification"); }
 
     @Override
     public void setSearchRnaQuantification(String searchRnaQuantification) {
-        endpoints.put("ctk.tgt.searchRnaQuantification", searchRnaQuantification);
+        set("ctk.tgt.searchRnaQuantification", searchRnaQuantification);
     }
 
     @Override
-    public String getSearchRnaQuantificationSets() { return endpoints.get("ctk.tgt.searchRnaQuantificationSets"); }
+    public String getSearchRnaQuantificationSets() { return getSnapshot().get("ctk.tgt.searchRnaQuantificationSets"); }
 
     @Override
     public void setSearchRnaQuantificationSets(String searchRnaQuantificationSets) {
-        endpoints.put("ctk.tgt.searchRnaQuantificationSets", searchRnaQuantificationSets);
+        set("ctk.tgt.searchRnaQuantificationSets", searchRnaQuantificationSets);
     }
 
     @Override
-    public String getSearchExpressionLevel() { return endpoints.get("ctk.tgt.searchExpressionLevel"); }
+    public String getSearchExpressionLevel() { return getSnapshot().get("ctk.tgt.searchExpressionLevel"); }
 
     @Override
     public void setSearchExpressionLevel(String searchExpressionLevel) {
-        endpoints.put("ctk.tgt.searchExpressionLevel", searchExpressionLevel);
+        set("ctk.tgt.searchExpressionLevel", searchExpressionLevel);
     }
 
     @Override
-    public String getGetExpressionLevel() { return endpoints.get("ctk.tgt.getExpressionLevel"); }
+    public String getGetExpressionLevel() { return getSnapshot().get("ctk.tgt.getExpressionLevel"); }
 
     @Override
     public void setGetExpressionLevel(String getExpressionLevel) {
-        endpoints.put("ctk.tgt.getExpressionLevel", getExpressionLevel);
+        set("ctk.tgt.getExpressionLevel", getExpressionLevel);
     }
 
     @Override
     public Map<String, String> getEndpoints() {
-        return endpoints;
+        return getSnapshot().getEndpoints();
     }
 
+    /**
+     * Replace all the settings. They're copied, and no longer follow reloads of the properties file.
+     *
+     * @param newEndpoints the settings
+     */
     @Override
     public void setEndpoints(Map<String, String> newEndpoints) {
-        endpoints = newEndpoints;
+        source = null;
+        snapshot.set(EndpointSnapshot.of(newEndpoints));
     }
 
     @Override
     public String getSearchPhenotypes() {
-        return endpoints.get("ctk.tgt.searchPhenotypes");
+        return getSnapshot().get("ctk.tgt.searchPhenotypes");
     }
 
     @Override
     public void setSearchPhenotypes(String searchPhenotypes) {
-        endpoints.put("ctk.tgt.searchPhenotypes", searchPhenotypes);
+        set("ctk.tgt.searchPhenotypes", searchPhenotypes);
     }
 
     @Override
     public String getSearchGenotypePhenotype() {
-        return endpoints.get("ctk.tgt.searchGenotypePhenotype");
+        return getSnapshot().get("ctk.tgt.searchGenotypePhenotype");
     }
 
     @Override
     public void setSearchGenotypePhenotype(String searchGenotypePhenotype) {
-        endpoints.put("ctk.tgt.searchGenotypePhenotype", searchGenotypePhenotype);
+        set("ctk.tgt.searchGenotypePhenotype", searchGenotypePhenotype);
     }
 
     @Override
-    public String getSearchPhenotypeAssociationSets() { return endpoints.get("ctk.tgt.searchPhenotypeAssociationSets"); }
+    public String getSearchPhenotypeAssociationSets() { return getSnapshot().get("ctk.tgt.searchPhenotypeAssociationSets"); }
 
     @Override
     public void setSearchPhenotypeAssociationSets(String searchPhenotypeAssociationSets) {
         assert(searchPhenotypeAssociationSets != null);
-        endpoints.put("ctk.tgt.searchPhenotypeAssociationSets", searchPhenotypeAssociationSets);
+        set("ctk.tgt.searchPhenotypeAssociationSets", searchPhenotypeAssociationSets);
     }
 
     @Override
-    public String getListPeers() { return endpoints.get("ctk.tgt.listPeers"); }
+    public String getListPeers() { return getSnapshot().get("ctk.tgt.listPeers"); }
 
     @Override
     public void setListPeers(String listPeers) {
         assert(listPeers != null);
-        endpoints.put("ctk.tgt.listPeers", listPeers);
+        set("ctk.tgt.listPeers", listPeers);
     }
 
     @Override
-    public String getAnnounce() { return endpoints.get("ctk.tgt.announce"); }
+    public String getAnnounce() { return getSnapshot().get("ctk.tgt.announce"); }
 
     @Override
     public void setAnnounce(String announce) {
         assert(announce != null);
-        endpoints.put("ctk.tgt.announce", announce);
+        set("ctk.tgt.announce", announce);
     }
 
     @Override
-    public String getInfo() { return endpoints.get("ctk.tgt.getInfo"); }
+    public String getInfo() { return getSnapshot().get("ctk.tgt.getInfo"); }
 
     @Override
     public void setGetInfo(String info) {
         assert(info != null);
-        endpoints.put("ctk.tgt.getInfo", info);
+        set("ctk.tgt.getInfo", info);
     }
 
 }
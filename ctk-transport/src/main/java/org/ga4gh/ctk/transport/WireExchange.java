@@ -0,0 +1,145 @@
+package org.ga4gh.ctk.transport;
+
+/**
+ * <p>What went over the wire in one attempt at a request: the URL, the bodies sent and
+ * received, their formats and sizes, the status, the timings and any error the server returned.</p>
+ * <p>An exchange is built privately by the call that made it and handed to the
+ * {@link WireListener}s once the call is over, so it's immutable and can be kept or passed
+ * between threads freely, however many calls a client has in flight. A request that the
+ * server refuses in binary protobuf and that is sent again as JSON makes two exchanges.</p>
+ */
+public final class WireExchange {
+
+    private final String url;
+
+    private final WireFormat formatSent;
+
+    private final String bodySent;
+
+    private final long bytesSent;
+
+    private final int status;
+
+    private final WireFormat formatReceived;
+
+    private final String bodyReceived;
+
+    private final long bytesReceived;
+
+    private final WireTimings timings;
+
+    private final ErrorResponse error;
+
+    /**
+     * Record an exchange.
+     *
+     * @param url            the URL the request was sent to
+     * @param formatSent     the format of the request body, or null if no body was sent
+     * @param bodySent       the request body in its JSON form, or null if no body was sent
+     * @param bytesSent      the size in bytes of the request body
+     * @param status         the HTTP status received, or 0 if no response arrived
+     * @param formatReceived the format of the response body, or null if no response arrived
+     * @param bodyReceived   the response body in its JSON form, or null if it wasn't read
+     * @param bytesReceived  the size in bytes of the response body
+     * @param timings        the phase timings; they must not be marked again once the exchange is recorded
+     * @param error          the error the server returned, or null if the request succeeded or got no answer
+     */
+    public WireExchange(String url, WireFormat formatSent, String bodySent, long bytesSent, int status,
+                        WireFormat formatReceived, String bodyReceived, long bytesReceived, WireTimings timings,
+                        ErrorResponse error) {
+        this.url = url;
+        this.formatSent = formatSent;
+        this.bodySent = bodySent;
+        this.bytesSent = bytesSent;
+        this.status = status;
+        this.formatReceived = formatReceived;
+        this.bodyReceived = bodyReceived;
+        this.bytesReceived = bytesReceived;
+        this.timings = timings;
+        this.error = error;
+    }
+
+    /**
+     * @return the URL the request was sent to, with any <tt>{id}</tt> placeholder still in it
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return the format of the request body sent, or null if no body was sent
+     */
+    public WireFormat getFormatSent() {
+        return formatSent;
+    }
+
+    /**
+     * @return the request body in its JSON form (a binary body is recorded as the equivalent JSON),
+     * or null if no body was sent
+     */
+    public String getBodySent() {
+        return bodySent;
+    }
+
+    /**
+     * @return the size in bytes of the request body sent
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * @return the HTTP status received, or 0 if no response arrived
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the status received as a {@link RespCode}, or null if no response arrived
+     */
+    public RespCode getResponseStatus() {
+        return status == 0 ? null : RespCode.fromInt(status);
+    }
+
+    /**
+     * @return the format of the response body received, or null if no response arrived
+     */
+    public WireFormat getFormatReceived() {
+        return formatReceived;
+    }
+
+    /**
+     * @return the response body in its JSON form (a binary body is recorded as the equivalent JSON),
+     * or null if it wasn't read
+     */
+    public String getBodyReceived() {
+        return bodyReceived;
+    }
+
+    /**
+     * @return the size in bytes of the response body received
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * @return the phase timings of the exchange
+     */
+    public WireTimings getTimings() {
+        return timings;
+    }
+
+    /**
+     * @return the error the server returned, decoded, or null if the request succeeded or got no answer
+     */
+    public ErrorResponse getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return url + " -> " + status + ", " + bytesSent + "/" + bytesReceived + " bytes, " + timings;
+    }
+}
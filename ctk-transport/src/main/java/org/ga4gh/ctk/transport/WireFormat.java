@@ -0,0 +1,57 @@
+package org.ga4gh.ctk.transport;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+
+/**
+ * <p>The encodings a GA4GH message can have on the wire.</p>
+ */
+public enum WireFormat {
+    /**
+     * Protobuf's canonical JSON mapping, as printed by {@link com.google.protobuf.util.JsonFormat}.
+     */
+    JSON("application/json"),
+    /**
+     * The protobuf binary encoding.
+     */
+    PROTOBUF("application/x-protobuf");
+
+    private final String mediaType;
+
+    WireFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Return the media type used in Content-Type and Accept headers.
+     * @return the media type
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Return the value to send in an Accept header when this is the preferred format.
+     * JSON is always acceptable, so a server that can't produce binary can still answer.
+     * @return the Accept header value
+     */
+    public String getAcceptHeader() {
+        return this == JSON ? JSON.mediaType : mediaType + ", " + JSON.mediaType + ";q=0.5";
+    }
+
+    /**
+     * Work out which format an entity is in from its Content-Type.
+     * @param entity the entity, may be null
+     * @return {@link #PROTOBUF} for a binary protobuf media type, otherwise {@link #JSON}
+     */
+    public static WireFormat of(HttpEntity entity) {
+        if (entity == null || entity.getContentType() == null) {
+            return JSON;
+        }
+        String mimeType = ContentType.getOrDefault(entity).getMimeType();
+        if (PROTOBUF.mediaType.equalsIgnoreCase(mimeType) || "application/protobuf".equalsIgnoreCase(mimeType)) {
+            return PROTOBUF;
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,19 @@
+package org.ga4gh.ctk.transport;
+
+/**
+ * <p>Receives the {@link WireExchange} of each request a client makes.</p>
+ * <p>The listener is called once per exchange, when the call is over, on whichever thread
+ * finished it: the caller's for a blocking call, usually an I/O thread for an asynchronous one.
+ * Listeners shared by concurrent calls have to be thread-safe, and should be quick, since
+ * the call doesn't complete until they return.</p>
+ */
+@FunctionalInterface
+public interface WireListener {
+
+    /**
+     * Called when an exchange is over.
+     *
+     * @param exchange what went over the wire
+     */
+    void exchanged(WireExchange exchange);
+}
@@ -0,0 +1,185 @@
+package org.ga4gh.ctk.transport;
+
+import org.apache.http.protocol.HttpContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Monotonic ({@link System#nanoTime()}) timestamps for the phases of one HTTP exchange,
+ * so a slow call can be pinned on the client, the network or the server.</p>
+ * <p>The phases, in order, are:</p>
+ * <ol>
+ *     <li><b>build</b>: encoding the request message and building the HTTP request</li>
+ *     <li><b>acquire</b>: waiting for a pooled connection (and for the connection to be
+ *     established, if a new one is needed)</li>
+ *     <li><b>connect</b>: establishing a new connection, included in acquire; zero when a
+ *     kept-alive connection is reused</li>
+ *     <li><b>time to first byte</b>: from sending the request to receiving the response headers</li>
+ *     <li><b>download</b>: reading the response body</li>
+ *     <li><b>decode</b>: parsing the body into the response message</li>
+ * </ol>
+ * <p>The {@link Transport} fills in the network stamps through the {@link HttpContext} the
+ * request is executed with; the rest are filled in by the caller. A phase that didn't happen
+ * reports a duration of zero, as does every phase if {@link #markStart()} wasn't called
+ * first. An instance belongs to a single exchange and isn't meant to be shared between
+ * threads.</p>
+ */
+public class WireTimings {
+
+    /**
+     * The {@link HttpContext} attribute under which a transport finds the timings to fill in.
+     */
+    public static final String CONTEXT_ATTRIBUTE = "org.ga4gh.ctk.transport.WireTimings";
+
+    /**
+     * The offset of a stamp that hasn't been taken; taken stamps are never negative.
+     */
+    private static final long NOT_MARKED = -1;
+
+    private long start;
+
+    private boolean started;
+
+    // the stamps below are offsets from start, as nanoTime itself may be any value, even zero or negative
+
+    private long requestBuilt = NOT_MARKED;
+
+    private long connectStart = NOT_MARKED;
+
+    private long connectEnd = NOT_MARKED;
+
+    private long requestSent = NOT_MARKED;
+
+    private long responseReceived = NOT_MARKED;
+
+    private long bodyReceived = NOT_MARKED;
+
+    private long decoded = NOT_MARKED;
+
+    /**
+     * Find the timings attached to an exchange's context.
+     *
+     * @param context the exchange's context, may be null
+     * @return the timings, or null if nobody asked for them
+     */
+    public static WireTimings from(HttpContext context) {
+        return context == null ? null : (WireTimings) context.getAttribute(CONTEXT_ATTRIBUTE);
+    }
+
+    public void markStart() {
+        start = System.nanoTime();
+        started = true;
+    }
+
+    public void markRequestBuilt() {
+        requestBuilt = sinceStart();
+    }
+
+    public void markConnectStart() {
+        connectStart = sinceStart();
+    }
+
+    public void markConnectEnd() {
+        connectEnd = sinceStart();
+    }
+
+    public void markRequestSent() {
+        requestSent = sinceStart();
+    }
+
+    public void markResponseReceived() {
+        responseReceived = sinceStart();
+    }
+
+    public void markBodyReceived() {
+        bodyReceived = sinceStart();
+    }
+
+    public void markDecoded() {
+        decoded = sinceStart();
+    }
+
+    /**
+     * @return the nanoTime at which the exchange started
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * @return nanoseconds spent building the request
+     */
+    public long getBuildNanos() {
+        return between(0, requestBuilt);
+    }
+
+    /**
+     * @return nanoseconds from the request being built to it being sent, which covers
+     * leasing a connection from the pool and connecting it if it's new
+     */
+    public long getAcquireNanos() {
+        return between(requestBuilt, requestSent);
+    }
+
+    /**
+     * @return nanoseconds spent opening a new connection, or zero if one was reused
+     */
+    public long getConnectNanos() {
+        return between(connectStart, connectEnd);
+    }
+
+    /**
+     * @return nanoseconds from sending the request to receiving the response headers
+     */
+    public long getTimeToFirstByteNanos() {
+        return between(requestSent, responseReceived);
+    }
+
+    /**
+     * @return nanoseconds spent reading the response body
+     */
+    public long getDownloadNanos() {
+        return between(responseReceived, bodyReceived);
+    }
+
+    /**
+     * @return nanoseconds spent decoding the response body
+     */
+    public long getDecodeNanos() {
+        return between(bodyReceived, decoded);
+    }
+
+    /**
+     * @return nanoseconds from the start of the exchange to the last phase recorded
+     */
+    public long getTotalNanos() {
+        // the latest stamp taken; one not taken is NOT_MARKED, below any that was
+        long end = Math.max(Math.max(requestBuilt, requestSent),
+                            Math.max(Math.max(responseReceived, bodyReceived), decoded));
+        return between(0, end);
+    }
+
+    /**
+     * @return nanoseconds since the start, or {@link #NOT_MARKED} if the exchange hasn't started
+     */
+    private long sinceStart() {
+        return started ? Math.max(0, System.nanoTime() - start) : NOT_MARKED;
+    }
+
+    private static long between(long from, long to) {
+        return from == NOT_MARKED || to == NOT_MARKED ? 0 : Math.max(0, to - from);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("build %.3f ms, acquire %.3f ms (connect %.3f ms), ttfb %.3f ms, " +
+                        "download %.3f ms, decode %.3f ms, total %.3f ms",
+                millis(getBuildNanos()), millis(getAcquireNanos()), millis(getConnectNanos()),
+                millis(getTimeToFirstByteNanos()), millis(getDownloadNanos()), millis(getDecodeNanos()),
+                millis(getTotalNanos()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -1,6 +1,5 @@
 package org.ga4gh.ctk.transport;
 
-import com.google.gson.Gson;
 import ga4gh.Common.GAException;
 import org.slf4j.Logger;
 
@@ -10,9 +9,13 @@ import static org.slf4j.LoggerFactory.getLogger;
  * <p>Tracking and measurement of the on-the-wire transaction.</p>
  * <p>Used to signal need for wire-format difference measurement
  * of the Avro-defined objects used in a given interaction</p>
+ * <p>A tracker is a {@link WireListener} that keeps the latest {@link WireExchange} it's
+ * given, copying it into its fields in one step. Those fields can still be read piecemeal,
+ * so when a client with a tracker is shared between threads read {@link #getLastExchange()}
+ * instead, or register a {@link WireListener} of your own to see every exchange.</p>
  * <p>Created by Wayne Stidolph on 5/27/2015.</p>
  */
-public class WireTracker {
+public class WireTracker implements WireListener {
     final static Logger log = getLogger(WireTracker.class);
 
     /**
@@ -27,66 +30,169 @@ public class WireTracker {
 
     /**
      * <p>The string BODY received from the target</p>
+     * <p>A binary protobuf body is recorded in its JSON form.</p>
      */
     public String bodyReceived;
 
-    private GAException gae;
+    private WireFormat formatSent;
 
-    private String gaeMessage; // convenience and in case non-parseable
+    private WireFormat formatReceived;
 
-    private int gaeErrorCode; // convenience and in case non-parseable
+    private long bytesSent;
+
+    private long bytesReceived;
+
+    private WireTimings timings;
+
+    private volatile WireExchange lastExchange;
+
+    /**
+     * The error decoded from {@link #bodyReceived}, kept until the body or status changes.
+     */
+    private ErrorResponse error;
 
     /**
      * <p>Returns true if and only if a {@link GAException} was received on this interaction,
      * AND it was parsable.</p>
-     * <p>If it's non-parseable then the gaeMessage field
-     * will hold the returned BODY (same as the bodyReceived field) and the
-     * gaeErrorCode will be set to -1</p>
+     * <p>If it's non-parseable then {@link #getMessage()}
+     * will return the returned BODY (same as the bodyReceived field) and
+     * {@link #getErrorCode()} will return -1</p>
      *
      * @return true if we received a {@link GAException} on this interaction
      */
-    @SuppressWarnings("ThrowableResultOfMethodCallIgnored")
     public boolean gotParseableGAE() {
         return getGae() != null;
     }
 
-    private boolean parseableGae = false;
-
     RespCode responseStatus;
 
-    public int getErrorCode() {
-        return gaeErrorCode;
-    }
-
-    public String getMessage() {
-        return gaeMessage;
-    }
-
-    public GAException getGae() {
-        if (responseStatus != RespCode.OK) {
-            // parse the received body
-            Gson gson = new Gson();
-            try {
-                gae = gson.fromJson(bodyReceived, GAException.class);
-                gaeMessage = gae.getMessage();
-                gaeErrorCode = gae.getErrorCode();
-            } catch (Exception e) {
-                log.warn("Parse failure on GAException: BODY < " + bodyReceived + " > " + e
-                        .toString());
-                gaeErrorCode = -1;
-                gaeMessage = bodyReceived;
-                parseableGae = false;
-                gae = null;
-            }
+    /**
+     * @return the error code of the GAException received, -1 if it couldn't be parsed, or 0 if there wasn't one
+     */
+    public synchronized int getErrorCode() {
+        ErrorResponse error = getError();
+        return error == null ? 0 : error.getErrorCode();
+    }
+
+    /**
+     * @return the message of the GAException received, the body if it couldn't be parsed, or null if there wasn't one
+     */
+    public synchronized String getMessage() {
+        ErrorResponse error = getError();
+        return error == null ? null : error.getMessage();
+    }
+
+    /**
+     * Keep an exchange as the latest one, copying it into this tracker's fields.
+     *
+     * @param exchange what went over the wire
+     */
+    @Override
+    public synchronized void exchanged(WireExchange exchange) {
+        theUrl = exchange.getUrl();
+        bodySent = exchange.getBodySent();
+        bodyReceived = exchange.getBodyReceived();
+        formatSent = exchange.getFormatSent();
+        formatReceived = exchange.getFormatReceived();
+        bytesSent = exchange.getBytesSent();
+        bytesReceived = exchange.getBytesReceived();
+        timings = exchange.getTimings();
+        responseStatus = exchange.getResponseStatus();
+        error = exchange.getError();
+        lastExchange = exchange;
+    }
+
+    /**
+     * @return the latest exchange this tracker was given, or null if there hasn't been one
+     */
+    public WireExchange getLastExchange() {
+        return lastExchange;
+    }
+
+    /**
+     * <p>Gets the error received on this interaction.</p>
+     * <p>An exchange made by a client arrives with its error already decoded. If the fields
+     * have been set by hand the body is decoded here, once, and the result kept until
+     * {@link #bodyReceived} or the status changes.</p>
+     *
+     * @return the error, or null if the status is OK or unknown
+     */
+    public synchronized ErrorResponse getError() {
+        if (responseStatus == null || responseStatus == RespCode.OK) {
+            return null;
         }
-        return gae;
+        if (error == null || error.getBody() != bodyReceived) {
+            error = ErrorResponse.parse(responseStatus.getCode(), bodyReceived);
+        }
+        return error;
+    }
+
+    public synchronized GAException getGae() {
+        ErrorResponse error = getError();
+        return error == null ? null : error.getGae();
     }
 
-    public RespCode getResponseStatus() {
+    public synchronized RespCode getResponseStatus() {
         return responseStatus;
     }
 
-    public void setResponseStatus(RespCode responseStatus) {
+    public synchronized void setResponseStatus(RespCode responseStatus) {
         this.responseStatus = responseStatus;
+        this.error = null;
+    }
+
+    /**
+     * @return the format of the request body sent, or null if no body was sent
+     */
+    public synchronized WireFormat getFormatSent() {
+        return formatSent;
+    }
+
+    public synchronized void setFormatSent(WireFormat formatSent) {
+        this.formatSent = formatSent;
+    }
+
+    /**
+     * @return the format of the response body received
+     */
+    public synchronized WireFormat getFormatReceived() {
+        return formatReceived;
+    }
+
+    public synchronized void setFormatReceived(WireFormat formatReceived) {
+        this.formatReceived = formatReceived;
+    }
+
+    /**
+     * @return the size in bytes of the request body sent
+     */
+    public synchronized long getBytesSent() {
+        return bytesSent;
+    }
+
+    public synchronized void setBytesSent(long bytesSent) {
+        this.bytesSent = bytesSent;
+    }
+
+    /**
+     * @return the size in bytes of the response body received
+     */
+    public synchronized long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    public synchronized void setBytesReceived(long bytesReceived) {
+        this.bytesReceived = bytesReceived;
+    }
+
+    /**
+     * @return the phase timings of the exchange, or null if nothing has been sent yet
+     */
+    public synchronized WireTimings getTimings() {
+        return timings;
+    }
+
+    public synchronized void setTimings(WireTimings timings) {
+        this.timings = timings;
     }
 }
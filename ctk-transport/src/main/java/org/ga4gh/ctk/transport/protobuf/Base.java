@@ -1,36 +1,55 @@
 package org.ga4gh.ctk.transport.protobuf;
 
 import com.google.common.base.CharMatcher;
-import com.google.common.collect.HashBasedTable;
-import com.google.common.collect.Table;
+import com.google.common.io.CountingInputStream;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.ExtensionRegistryLite;
 import com.google.protobuf.GeneratedMessage;
 import com.google.protobuf.InvalidProtocolBufferException;
-import com.google.protobuf.util.JsonFormat;
-import com.mashape.unirest.http.HttpResponse;
-import com.mashape.unirest.http.JsonNode;
+import com.google.protobuf.Message;
+import com.google.protobuf.UnknownFieldSet;
 import com.mashape.unirest.http.exceptions.UnirestException;
 import ga4gh.Common;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.entity.ContentType;
+import org.apache.http.util.EntityUtils;
+import org.ga4gh.ctk.transport.ErrorResponse;
 import org.ga4gh.ctk.transport.GAWrapperException;
-import org.ga4gh.ctk.transport.WireTracker;
+import org.ga4gh.ctk.transport.Result;
+import org.ga4gh.ctk.transport.RouteTable;
+import org.ga4gh.ctk.transport.RouteTable.Route;
+import org.ga4gh.ctk.transport.TrafficRecorder;
+import org.ga4gh.ctk.transport.Transport;
+import org.ga4gh.ctk.transport.WireFormat;
+import org.ga4gh.ctk.transport.WireExchange;
+import org.ga4gh.ctk.transport.WireListener;
+import org.ga4gh.ctk.transport.WireTimings;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
-import static org.ga4gh.ctk.transport.RespCode.fromInt;
-import static org.ga4gh.ctk.transport.TransportUtils.makeUrl;
 import static org.slf4j.LoggerFactory.getLogger;
 
 public abstract class Base<T extends GeneratedMessage.Builder> {
 
     static org.slf4j.Logger log;
 
-    /**
-     * <p>Holds the message traffic sent/received during the entire test run.
-     * Intended to support test quality/coverage reporting.</p>
-     */
-    private static Table<String, String, Integer> messages;
-
     static {
         log = getLogger(Base.class);
-        messages = HashBasedTable.create();
     }
 
     /**
@@ -40,11 +59,38 @@ public abstract class Base<T extends GeneratedMessage.Builder> {
 
     private final String path;
 
-    final WireTracker wireTracker;
+    /**
+     * The endpoint's URL on this server, from the {@link RouteTable}.
+     */
+    private final Route route;
+
+    /**
+     * Told of each exchange, or null if nobody's listening, in which case the bodies aren't captured.
+     */
+    private final WireListener listener;
+
     final T responseBuilder;
 
-    public Base(String urlRoot, String path, T responseBuilder, WireTracker wireTracker) {
-        this.wireTracker = wireTracker;
+    /**
+     * The transport the request goes out on.
+     */
+    private final Transport transport;
+
+    /**
+     * The repeated field of the response whose elements go to {@link #elementSink} instead of
+     * the response builder, or null.
+     */
+    private FieldDescriptor streamedField;
+
+    private Consumer<? super Message> elementSink;
+
+    public Base(String urlRoot, String path, T responseBuilder, WireListener listener) {
+        this(urlRoot, path, responseBuilder, listener, Transport.getDefault());
+    }
+
+    public Base(String urlRoot, String path, T responseBuilder, WireListener listener, Transport transport) {
+        this.listener = listener;
+        this.transport = transport;
         // neither urlRoot nor path should have leading or trailing spaces.
         this.urlRoot = urlRoot.trim();
 
@@ -52,58 +98,433 @@ public abstract class Base<T extends GeneratedMessage.Builder> {
         String tsPath = path.trim();
         this.path = CharMatcher.is('/').trimFrom(tsPath);
 
-        log.debug("set urlRoot = " + this.urlRoot + " path = " + this.path + " merged = " +
-                makeUrl(this.urlRoot, this.path));
+        this.route = RouteTable.route(this.urlRoot, this.path);
+        if (log.isDebugEnabled()) {
+            log.debug("set urlRoot = " + this.urlRoot + " path = " + this.path + " merged = " + route);
+        }
 
         this.responseBuilder = responseBuilder;
     }
 
     /**
-     * <p>Access the message-traffic recording Table.</p>
-     * <p>Each target endpoint/parameter string becomes a key to a row in the table,
-     * and the row cells are:</p>
-     * <p>| request (class, post/get, body/id) | response class (msg type) | HTTP status code |</p>
+     * <p>Hand the elements of one repeated field of a successful response to <tt>sink</tt>, one
+     * at a time as each is parsed, instead of merging them into the response builder, so a large
+     * page is never held whole. The rest of the response is merged as usual.</p>
+     * <p>The sink is called on the thread that reads the response. With a {@link WireListener}
+     * attached, the body is still captured for it first; a binary body is then recorded as the
+     * JSON of the response without the streamed elements.</p>
+     *
+     * @param field a repeated message field of the response
+     * @param sink  told of each element of <tt>field</tt>, in order
+     * @return this
+     */
+    public Base<T> streamElements(FieldDescriptor field, Consumer<? super Message> sink) {
+        this.streamedField = field;
+        this.elementSink = sink;
+        return this;
+    }
+
+    /**
+     * <p>Send the request and merge the server's response into the response builder,
+     * blocking until it's done.</p>
+     * <p>The request is offered in the transport's preferred {@link WireFormat}; if the
+     * server refuses binary protobuf the request is sent again as JSON.</p>
+     *
+     * @throws GAWrapperException if the server returns a non-200 status
+     * @throws InvalidProtocolBufferException if the response body can't be parsed
+     * @throws UnirestException if there's a problem speaking HTTP to the server
+     */
+    public void performQuery() throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
+        Result<T> result = performQueryResult();
+        if (!result.isOk()) {
+            log.warn("Throwing GAException for " + result.getError().getBody() + ", status " + result.getHttpStatus());
+        }
+        result.get();
+    }
+
+    /**
+     * <p>Send the request and merge the server's response into the response builder,
+     * blocking until it's done, without throwing if the server refuses the request.</p>
+     * <p>A non-200 status is returned as a failed {@link Result} holding the server's
+     * error, so expected failures cost no exception.</p>
+     *
+     * @return the response builder, or the server's error
+     * @throws InvalidProtocolBufferException if the response body can't be parsed
+     * @throws UnirestException if there's a problem speaking HTTP to the server
      */
-    public static Table<String, String, Integer> getMessages() {
-        return messages;
+    public Result<T> performQueryResult() throws InvalidProtocolBufferException, UnirestException {
+        final String url = route.getTemplate();
+        final WireFormat format = transport.getWireFormat(urlRoot);
+        try {
+            try {
+                return send(url, format);
+            } catch (FormatRefusedException e) {
+                transport.formatRefused(urlRoot, format);
+                return send(url, WireFormat.JSON);
+            }
+        } catch (InvalidProtocolBufferException e) {
+            throw e;
+        } catch (IOException e) {
+            log.warn("problem communicating with " + url, e.getMessage());
+            throw new UnirestException(e);
+        }
+    }
+
+    /**
+     * <p>Issue the request without blocking the calling thread.</p>
+     * <p>The returned future completes with the response builder, merged with the
+     * server's reply, once the response has arrived and been parsed. It completes
+     * exceptionally with a {@link GAWrapperException} if the server returns a
+     * non-200 status, an {@link InvalidProtocolBufferException} if the body can't
+     * be parsed, or an {@link UnirestException} if there's a problem speaking
+     * HTTP to the server.</p>
+     *
+     * @return a future holding the populated response builder
+     */
+    public CompletableFuture<T> performQueryAsync() {
+        final String url = route.getTemplate();
+        final CompletableFuture<Result<T>> result = new CompletableFuture<>();
+        sendAsync(url, transport.getWireFormat(urlRoot), transport.getTrafficRecorder(), result);
+        final CompletableFuture<T> value = new CompletableFuture<>();
+        result.whenComplete((r, e) -> {
+            if (e != null) {
+                value.completeExceptionally(e);
+            } else if (r.isOk()) {
+                value.complete(r.getValue());
+            } else {
+                log.warn("Throwing GAException for " + r.getError().getBody() + ", status " + r.getHttpStatus());
+                value.completeExceptionally(new GAWrapperException(r.getError()));
+            }
+        });
+        return value;
+    }
+
+    private Result<T> send(String url, WireFormat format) throws IOException {
+        final Exchange exchange = new Exchange(format, transport.getTrafficRecorder());
+        try {
+            return transport.execute(exchange.build(url), exchange.context, response -> handleResponse(response, exchange));
+        } finally {
+            exchange.record();
+        }
     }
 
-    private String queryServer() throws GAWrapperException, UnirestException, InvalidProtocolBufferException {
-        final String url = makeUrl(urlRoot, path);
-        if (wireTracker != null) {
-            wireTracker.theUrl = url;
+    private void sendAsync(String url, WireFormat format, TrafficRecorder recorder, CompletableFuture<Result<T>> result) {
+        final Exchange exchange = new Exchange(format, recorder);
+        final HttpUriRequest request;
+        try {
+            request = exchange.build(url);
+        } catch (InvalidProtocolBufferException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        transport.<Result<T>>executeAsync(request, exchange.context, response -> handleResponse(response, exchange))
+                .whenComplete((outcome, e) -> {
+                    exchange.record();
+                    if (e == null) {
+                        result.complete(outcome);
+                    } else if (e instanceof FormatRefusedException) {
+                        transport.formatRefused(urlRoot, format);
+                        sendAsync(url, WireFormat.JSON, recorder, result);
+                    } else if (e instanceof InvalidProtocolBufferException || !(e instanceof IOException)) {
+                        result.completeExceptionally(e);
+                    } else {
+                        log.warn("problem communicating with " + url, e.getMessage());
+                        result.completeExceptionally(new UnirestException((IOException) e));
+                    }
+                });
+    }
+
+    /**
+     * Start timing an exchange, if there's a {@link WireListener} to report the timings to.
+     *
+     * @param context the exchange's context, which the transport finds the timings in
+     * @return the timings, or null if nobody's listening
+     */
+    private WireTimings startTimings(HttpClientContext context) {
+        if (listener == null) {
+            return null;
         }
+        WireTimings timings = new WireTimings();
+        timings.markStart();
+        context.setAttribute(WireTimings.CONTEXT_ATTRIBUTE, timings);
+        return timings;
+    }
+
+    /**
+     * <p>Note the response in the exchange and merge the body of a successful response
+     * into the response builder.</p>
+     * <p>The body is decoded according to its Content-Type, as binary protobuf or JSON.
+     * Without a {@link WireListener} the body is decoded straight from the response stream, so
+     * a successful response is read once and never held as a String. With one attached,
+     * the body is captured for the listener and parsed from that copy.</p>
+     *
+     * @param response the response received from the server
+     * @param exchange the exchange it answers, in which the status and size are noted
+     * @return the response builder, or the error if the server returned a non-200 status
+     * @throws InvalidProtocolBufferException if the body can't be parsed
+     * @throws IOException if the body can't be read
+     */
+    private Result<T> handleResponse(HttpResponse response, Exchange exchange) throws IOException {
+        int httpStatus = response.getStatusLine().getStatusCode();
+        exchange.status = httpStatus;
         try {
-            HttpResponse<JsonNode> response = queryServer(url);
-            if (wireTracker != null) {
-                wireTracker.bodyReceived = response.getBody().toString();
-                wireTracker.setResponseStatus(fromInt(response.getStatus()));
+            return handleResponse(response, httpStatus, exchange);
+        } finally {
+            exchange.record();
+        }
+    }
+
+    private Result<T> handleResponse(HttpResponse response, int httpStatus, Exchange exchange) throws IOException {
+        final WireTimings timings = exchange.timings;
+        if (log.isDebugEnabled()) {
+            log.debug("response received with status " + response.getStatusLine());
+        }
+        if (exchange.formatSent != WireFormat.JSON &&
+                (httpStatus == HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE || httpStatus == HttpStatus.SC_NOT_ACCEPTABLE)) {
+            throw new FormatRefusedException(httpStatus);
+        }
+        HttpEntity entity = response.getEntity();
+        WireFormat formatReceived = WireFormat.of(entity);
+        exchange.formatReceived = formatReceived;
+        if (httpStatus == HttpStatus.SC_OK) {
+            if (listener != null) {
+                byte[] body = readBody(entity);
+                exchange.bytesReceived = body.length;
+                timings.markBodyReceived();
+                if (formatReceived == WireFormat.PROTOBUF) {
+                    if (streamedField == null) {
+                        responseBuilder.mergeFrom(body);
+                    } else {
+                        mergeStreaming(new ByteArrayInputStream(body));
+                    }
+                    timings.markDecoded();
+                    exchange.bodyReceived = JsonCodec.of(responseBuilder.getDescriptorForType()).print(responseBuilder);
+                } else {
+                    String json = new String(body, charsetOf(entity));
+                    exchange.bodyReceived = json;
+                    if (streamedField == null) {
+                        JsonCodec.of(responseBuilder.getDescriptorForType()).merge(json, responseBuilder);
+                    } else {
+                        mergeStreaming(new StringReader(json));
+                    }
+                    timings.markDecoded();
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug(exchange.url + ": " + body.length + " bytes, " + timings);
+                }
+            } else if (entity != null) {
+                CountingInputStream counted = new CountingInputStream(entity.getContent());
+                try {
+                    if (formatReceived == WireFormat.PROTOBUF) {
+                        try (InputStream body = counted) {
+                            if (streamedField == null) {
+                                responseBuilder.mergeFrom(body);
+                            } else {
+                                mergeStreaming(body);
+                            }
+                        }
+                    } else {
+                        try (Reader body = new InputStreamReader(counted, charsetOf(entity))) {
+                            if (streamedField == null) {
+                                JsonCodec.of(responseBuilder.getDescriptorForType()).merge(body, responseBuilder);
+                            } else {
+                                mergeStreaming(body);
+                            }
+                        }
+                    }
+                } finally {
+                    exchange.bytesReceived = counted.getCount();
+                }
             }
-            int httpStatus = response.getStatus();
-            if (httpStatus == HttpStatus.SC_OK) {
-                return response.getBody().toString();
+            return Result.ok(responseBuilder);
+        } else {
+            // error bodies are small, and we want them in the log
+            byte[] body = readBody(entity);
+            exchange.bytesReceived = body.length;
+            if (timings != null) {
+                timings.markBodyReceived();
+            }
+            String bodyText;
+            Common.GAException gae;
+            if (formatReceived == WireFormat.PROTOBUF) {
+                try {
+                    gae = Common.GAException.parseFrom(body);
+                } catch (InvalidProtocolBufferException e) {
+                    log.warn("Failure when processing binary GAException of " + body.length + " bytes: ", e.toString());
+                    exchange.error = new ErrorResponse(httpStatus, null, null);
+                    throw e;
+                }
+                bodyText = JsonCodec.of(gae.getDescriptorForType()).print(gae);
             } else {
-                String json = response.getBody().toString();
+                bodyText = new String(body, charsetOf(entity));
+                exchange.bodyReceived = bodyText;
                 Common.GAException.Builder exceptionBuilder = Common.GAException.newBuilder();
                 try {
-                    JsonFormat.parser().merge(json, exceptionBuilder);
+                    JsonCodec.of(exceptionBuilder.getDescriptorForType()).merge(bodyText, exceptionBuilder);
                 } catch (InvalidProtocolBufferException e) {
-                    log.warn("Failure when processing GAException: BODY <" + json + ">: ", e.toString());
+                    log.warn("Failure when processing GAException: BODY <" + bodyText + ">: ", e.toString());
+                    exchange.error = new ErrorResponse(httpStatus, null, bodyText);
                     throw e;
                 }
-                log.warn("Throwing GAException for " + json + ", status " + httpStatus);
-                throw new GAWrapperException(exceptionBuilder.build(), httpStatus);
+                gae = exceptionBuilder.build();
             }
-        } catch (UnirestException e) {
-            log.warn("problem communicating with " + url, e.getMessage());
-            throw e;
+            if (timings != null) {
+                timings.markDecoded();
+            }
+            // decoded once, here; the result, the exchange and any tracker all share it
+            ErrorResponse error = new ErrorResponse(httpStatus, gae, bodyText);
+            exchange.bodyReceived = bodyText;
+            exchange.error = error;
+            if (log.isDebugEnabled()) {
+                log.debug("GAException for " + bodyText + ", status " + httpStatus);
+            }
+            return Result.failed(error);
         }
     }
 
-    public void performQuery() throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-        String jsonResponse = queryServer();
-        JsonFormat.parser().merge(jsonResponse, responseBuilder);
+    /**
+     * Merge a JSON response into the response builder, handing the streamed field's elements to the sink.
+     */
+    private void mergeStreaming(Reader body) throws IOException {
+        JsonCodec.of(responseBuilder.getDescriptorForType()).merge(body, responseBuilder, streamedField, elementSink);
+    }
+
+    /**
+     * Merge a binary response into the response builder, handing the streamed field's elements to the
+     * sink. The other fields are gathered as they come and merged at the end; in a search response
+     * they're only the page token.
+     */
+    private void mergeStreaming(InputStream body) throws IOException {
+        CodedInputStream in = CodedInputStream.newInstance(body);
+        // the limit is there to stop a whole message being buffered, which this doesn't do
+        in.setSizeLimit(Integer.MAX_VALUE);
+        UnknownFieldSet.Builder rest = UnknownFieldSet.newBuilder();
+        // the tag of the field, length-delimited as every message is
+        final int elementsTag = (streamedField.getNumber() << 3) | 2;
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            if (tag == elementsTag) {
+                Message.Builder element = responseBuilder.newBuilderForField(streamedField);
+                in.readMessage(element, ExtensionRegistryLite.getEmptyRegistry());
+                elementSink.accept(element.build());
+            } else if (!rest.mergeFieldFrom(tag, in)) {
+                break;
+            }
+        }
+        responseBuilder.mergeFrom(rest.build().toByteString());
+    }
+
+    private static byte[] readBody(HttpEntity entity) throws IOException {
+        return entity == null ? new byte[0] : EntityUtils.toByteArray(entity);
+    }
+
+    private static Charset charsetOf(HttpEntity entity) {
+        Charset charset = ContentType.getOrDefault(entity).getCharset();
+        return charset != null ? charset : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * @return the endpoint's route on the server
+     */
+    protected Route getRoute() {
+        return route;
     }
 
-    protected abstract HttpResponse<JsonNode> queryServer(String url) throws UnirestException;
+    /**
+     * Build the HTTP request to send.
+     *
+     * @param url    the target URL, with any <tt>{id}</tt> placeholder still in it
+     * @param format the format to offer the server
+     * @return the request
+     * @throws InvalidProtocolBufferException if the request message can't be encoded
+     */
+    protected abstract HttpUriRequest buildRequest(String url, WireFormat format) throws InvalidProtocolBufferException;
+
+    /**
+     * The request body to report to the {@link WireListener}, in its JSON form whatever format it's sent in.
+     *
+     * @return the request body, or null if the request has none
+     * @throws InvalidProtocolBufferException if the request message can't be printed
+     */
+    protected String requestJson() throws InvalidProtocolBufferException {
+        return null;
+    }
+
+    private static long bytesSent(HttpUriRequest request) {
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            return entity == null ? 0 : Math.max(0, entity.getContentLength());
+        }
+        return 0;
+    }
+
+    /**
+     * <p>One attempt at an exchange with the server: the request as sent, what came back,
+     * and the timing of it.</p>
+     * <p>When it's over the exchange is recorded, once, in the transport's
+     * {@link TrafficRecorder} (as found on the thread that started the call, since a
+     * retry may be sent from an I/O thread) under this endpoint's template; a status of 0 means no response
+     * arrived. If there's a {@link WireListener} it's then given the exchange as a {@link WireExchange}.
+     * An exchange belongs to a single call, so concurrent calls never see each other's details.</p>
+     */
+    private class Exchange {
+        final HttpClientContext context = HttpClientContext.create();
+        final long start = System.nanoTime();
+        final WireFormat formatSent;
+        final WireTimings timings;
+        final TrafficRecorder recorder;
+        String url;
+        HttpUriRequest request;
+        String bodySent;
+        int status;
+        WireFormat formatReceived;
+        String bodyReceived;
+        ErrorResponse error;
+        long bytesReceived;
+        private boolean recorded;
+
+        Exchange(WireFormat formatSent, TrafficRecorder recorder) {
+            this.formatSent = formatSent;
+            this.recorder = recorder;
+            this.timings = startTimings(context);
+        }
+
+        HttpUriRequest build(String url) throws InvalidProtocolBufferException {
+            this.url = url;
+            request = buildRequest(url, formatSent);
+            if (listener != null) {
+                bodySent = requestJson();
+            }
+            if (timings != null) {
+                timings.markRequestBuilt();
+            }
+            return request;
+        }
+
+        void record() {
+            if (recorded || request == null) {
+                return;
+            }
+            recorded = true;
+            long bytesSent = bytesSent(request);
+            recorder.record(request.getMethod(), path, status, bytesSent, bytesReceived, System.nanoTime() - start);
+            if (listener != null) {
+                try {
+                    listener.exchanged(new WireExchange(url, bodySent == null ? null : formatSent, bodySent, bytesSent,
+                            status, formatReceived, bodyReceived, bytesReceived, timings, error));
+                } catch (RuntimeException e) {
+                    log.warn("wire listener failed on " + url, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Signals that the server answered 415 or 406 to a non-JSON request.
+     */
+    private static class FormatRefusedException extends IOException {
+        FormatRefusedException(int httpStatus) {
+            super("server refused the offered format with status " + httpStatus);
+        }
+    }
 }
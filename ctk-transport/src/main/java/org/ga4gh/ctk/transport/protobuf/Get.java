@@ -1,12 +1,15 @@
 package org.ga4gh.ctk.transport.protobuf;
 
 import com.google.protobuf.GeneratedMessage;
-import com.mashape.unirest.http.HttpResponse;
-import com.mashape.unirest.http.JsonNode;
-import com.mashape.unirest.http.Unirest;
-import com.mashape.unirest.http.exceptions.UnirestException;
-import org.ga4gh.ctk.transport.WireTracker;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.utils.URIBuilder;
+import org.ga4gh.ctk.transport.PercentEncoder;
+import org.ga4gh.ctk.transport.Transport;
+import org.ga4gh.ctk.transport.WireFormat;
+import org.ga4gh.ctk.transport.WireListener;
 
+import java.net.URISyntaxException;
 import java.util.Map;
 
 public class Get<T extends GeneratedMessage.Builder> extends Base<T> {
@@ -15,32 +18,35 @@ public class Get<T extends GeneratedMessage.Builder> extends Base<T> {
 
     private final Map<String, Object> queryParams;
 
-    public Get(String urlRoot, String path, String id, Map<String, Object> queryParams, T responseBuilder, WireTracker wireTracker) {
-        super(urlRoot, path, responseBuilder, wireTracker);
+    public Get(String urlRoot, String path, String id, Map<String, Object> queryParams, T responseBuilder, WireListener listener) {
+        this(urlRoot, path, id, queryParams, responseBuilder, listener, Transport.getDefault());
+    }
+
+    public Get(String urlRoot, String path, String id, Map<String, Object> queryParams, T responseBuilder,
+               WireListener listener, Transport transport) {
+        super(urlRoot, path, responseBuilder, listener, transport);
         this.id = id;
         this.queryParams = queryParams;
     }
 
-    protected HttpResponse<JsonNode> queryServer(String url) throws UnirestException {
+    protected HttpUriRequest buildRequest(String url, WireFormat format) {
         if (log.isDebugEnabled()) {
             log.debug("begin jsonGet to " + url + " id = " + id);
         }
-        HttpResponse<JsonNode> response;
-        if (id != null) {
-            response = Unirest.get(url)
-                    .header("accept", "application/json")
-                    .routeParam("id", id)
-                    .queryString(queryParams)
-                    .asJson();
-        } else {
-            response = Unirest.get(url)
-                    .header("accept", "application/json")
-                    .queryString(queryParams)
-                    .asJson();
-        }
-        if (log.isDebugEnabled()) {
-            log.debug("exit jsonGet to " + url + " with status " + response.getStatusText());
+        String target = id != null ? getRoute().expand(id, PercentEncoder.PATH_SEGMENT) : url;
+        if (queryParams != null && !queryParams.isEmpty()) {
+            try {
+                URIBuilder builder = new URIBuilder(target);
+                for (Map.Entry<String, Object> param : queryParams.entrySet()) {
+                    builder.addParameter(param.getKey(), String.valueOf(param.getValue()));
+                }
+                target = builder.build().toString();
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("can't add query parameters to " + target, e);
+            }
         }
-        return response;
+        HttpGet request = new HttpGet(target);
+        request.setHeader("accept", format.getAcceptHeader());
+        return request;
     }
 }
@@ -0,0 +1,911 @@
+package org.ga4gh.ctk.transport.protobuf;
+
+import com.google.common.io.BaseEncoding;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumDescriptor;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.OneofDescriptor;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.MessageOrBuilder;
+import com.google.protobuf.util.JsonFormat;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * <p>Prints and parses one type of protobuf message as JSON: exactly the JSON {@link JsonFormat}
+ * prints, and anything its parser accepts.</p>
+ * <p>{@link JsonFormat} works each message out again from its descriptor every time: it collects
+ * the set fields into a sorted map, builds a {@link com.google.gson.JsonElement} tree of the whole
+ * body before parsing it, and concatenates a string for every field name it prints. For a page of
+ * thousands of reads or variants that's most of the client's CPU. A codec does that work once per
+ * type, when first used: the fields in print order, their quoted names, the codecs of their message
+ * types. It then writes the JSON straight to an {@link Appendable}, and reads it a token at a time
+ * into the builder. A repeated field's elements can instead be handed, one at a time as each is
+ * read, to a callback, so a page of them never has to be held whole.</p>
+ * <p>The well-known types (<tt>google.protobuf.*</tt>: Struct, Timestamp, the wrappers and so on)
+ * have special JSON forms, which are left to {@link JsonFormat}. Setting the system property
+ * <tt>ctk.transport.jsonformat</tt> to <tt>true</tt> leaves every type to it.</p>
+ * <p>Codecs are immutable once compiled and shared between threads.</p>
+ */
+public final class JsonCodec {
+
+    /**
+     * Set this system property to <tt>true</tt> to print and parse everything with {@link JsonFormat}.
+     */
+    public static final String JSONFORMAT_PROPERTY = "ctk.transport.jsonformat";
+
+    private static final boolean ALWAYS_DELEGATE = Boolean.getBoolean(JSONFORMAT_PROPERTY);
+
+    private static final ConcurrentMap<Descriptor, JsonCodec> codecs = new ConcurrentHashMap<>();
+
+    /**
+     * How {@link com.google.gson.Gson} escapes characters below 128 in a string (HTML-safe, as
+     * {@link JsonFormat} prints them); null for characters it leaves alone.
+     */
+    private static final String[] ESCAPES = new String[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = String.format("\\u%04x", c);
+        }
+        ESCAPES['"'] = "\\\"";
+        ESCAPES['\\'] = "\\\\";
+        ESCAPES['\t'] = "\\t";
+        ESCAPES['\b'] = "\\b";
+        ESCAPES['\n'] = "\\n";
+        ESCAPES['\r'] = "\\r";
+        ESCAPES['\f'] = "\\f";
+        ESCAPES['<'] = "\\u003c";
+        ESCAPES['>'] = "\\u003e";
+        ESCAPES['&'] = "\\u0026";
+        ESCAPES['='] = "\\u003d";
+        ESCAPES['\''] = "\\u0027";
+    }
+
+    private static final double FLOAT_EPSILON = 1e-6;
+
+    private static final BigDecimal MAX_DOUBLE = new BigDecimal(Double.MAX_VALUE).multiply(new BigDecimal(1 + FLOAT_EPSILON));
+
+    private static final BigDecimal MIN_DOUBLE = MAX_DOUBLE.negate();
+
+    private static final BigInteger MAX_UINT64 = new BigInteger("FFFFFFFFFFFFFFFF", 16);
+
+    private static final String VALUE_TYPE = "google.protobuf.Value";
+
+    private final Descriptor descriptor;
+
+    /**
+     * Whether this type is left to {@link JsonFormat}.
+     */
+    private final boolean delegated;
+
+    /**
+     * The compiled fields, or null until first used. Compiling lazily lets recursive types refer
+     * to their own codec, and a race to compile merely compiles twice.
+     */
+    private volatile Plan plan;
+
+    private JsonCodec(Descriptor descriptor) {
+        this.descriptor = descriptor;
+        this.delegated = ALWAYS_DELEGATE || "google.protobuf".equals(descriptor.getFile().getPackage());
+    }
+
+    /**
+     * Get the codec for a type of message.
+     *
+     * @param descriptor the message type
+     * @return its codec, the same one every time
+     */
+    public static JsonCodec of(Descriptor descriptor) {
+        return codecs.computeIfAbsent(descriptor, JsonCodec::new);
+    }
+
+    /**
+     * Print a message as JSON.
+     *
+     * @param message the message, of this codec's type
+     * @return the JSON, as {@link JsonFormat.Printer#print} would print it
+     * @throws InvalidProtocolBufferException if the message can't be printed
+     */
+    public String print(MessageOrBuilder message) throws InvalidProtocolBufferException {
+        if (delegated) {
+            return JsonFormat.printer().print(message);
+        }
+        StringBuilder json = new StringBuilder(256);
+        try {
+            print(message, json);
+        } catch (InvalidProtocolBufferException e) {
+            throw e;
+        } catch (IOException e) {
+            // a StringBuilder doesn't throw
+            throw new IllegalStateException(e);
+        }
+        return json.toString();
+    }
+
+    /**
+     * Print a message as JSON.
+     *
+     * @param message the message, of this codec's type
+     * @param output  where to write the JSON
+     * @throws IOException if the output can't be written or the message can't be printed
+     */
+    public void print(MessageOrBuilder message, Appendable output) throws IOException {
+        print(message, new Out(output));
+    }
+
+    /**
+     * Parse JSON into a builder, as {@link JsonFormat.Parser#merge(String, Message.Builder)} would.
+     *
+     * @param json    the JSON
+     * @param builder a builder of this codec's type
+     * @throws InvalidProtocolBufferException if the JSON isn't a message of this type
+     */
+    public void merge(String json, Message.Builder builder) throws InvalidProtocolBufferException {
+        if (delegated) {
+            JsonFormat.parser().merge(json, builder);
+            return;
+        }
+        try {
+            read(newReader(new StringReader(json)), builder, false, null, null);
+        } catch (InvalidProtocolBufferException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InvalidProtocolBufferException(e.getMessage());
+        }
+    }
+
+    /**
+     * Parse JSON into a builder as it's read, as {@link JsonFormat.Parser#merge(Reader, Message.Builder)}
+     * would.
+     *
+     * @param json    the JSON
+     * @param builder a builder of this codec's type
+     * @throws InvalidProtocolBufferException if the JSON isn't a message of this type
+     * @throws IOException                    if the JSON can't be read
+     */
+    public void merge(Reader json, Message.Builder builder) throws IOException {
+        merge(json, builder, null, null);
+    }
+
+    /**
+     * <p>Parse JSON into a builder as it's read, except for the elements of one repeated message
+     * field: each of those is built and given to <tt>sink</tt> as soon as it's read, and not
+     * added to the builder. Only the element being read is held in memory.</p>
+     * <p>If the JSON turns out to be invalid, <tt>sink</tt> has already been given the elements
+     * before the error. An exception thrown by <tt>sink</tt> stops the parse and is thrown from here
+     * unchanged.</p>
+     *
+     * @param json     the JSON
+     * @param builder  a builder of this codec's type
+     * @param elements a repeated message field of this codec's type
+     * @param sink     told of each element of that field, in order
+     * @throws InvalidProtocolBufferException if the JSON isn't a message of this type
+     * @throws IOException                    if the JSON can't be read
+     */
+    public void merge(Reader json, Message.Builder builder, FieldDescriptor elements, Consumer<? super Message> sink)
+            throws IOException {
+        if (elements != null && (!elements.isRepeated() || elements.getJavaType() != FieldDescriptor.JavaType.MESSAGE
+                || elements.getContainingType() != descriptor)) {
+            throw new IllegalArgumentException(elements.getFullName() + " isn't a repeated message field of "
+                    + descriptor.getFullName());
+        }
+        if (delegated) {
+            JsonFormat.parser().merge(json, builder);
+            if (elements != null) {
+                drain(builder, elements, sink);
+            }
+            return;
+        }
+        try {
+            read(newReader(json), builder, false, elements, sink);
+        } catch (SinkFailure e) {
+            throw (RuntimeException) e.getCause();
+        } catch (InvalidProtocolBufferException e) {
+            throw e;
+        } catch (MalformedJsonException | EOFException | RuntimeException e) {
+            throw new InvalidProtocolBufferException(e.getMessage());
+        }
+    }
+
+    /**
+     * Hand the elements already merged into a builder to the sink, and clear them from it.
+     */
+    private static void drain(Message.Builder builder, FieldDescriptor elements, Consumer<? super Message> sink) {
+        for (Object element : (List<?>) builder.getField(elements)) {
+            sink.accept((Message) element);
+        }
+        builder.clearField(elements);
+    }
+
+    private static JsonReader newReader(Reader json) {
+        JsonReader reader = new JsonReader(json);
+        // JsonFormat parses through a JsonParser, which reads leniently
+        reader.setLenient(true);
+        return reader;
+    }
+
+    private Plan plan() {
+        Plan compiled = plan;
+        if (compiled == null) {
+            compiled = new Plan(descriptor);
+            plan = compiled;
+        }
+        return compiled;
+    }
+
+    private void print(MessageOrBuilder message, Out out) throws IOException {
+        if (delegated) {
+            out.lines(JsonFormat.printer().print(message));
+            return;
+        }
+        out.text("{");
+        out.newline();
+        out.indent();
+        boolean printedField = false;
+        for (FieldCodec field : plan().fields) {
+            Object value = field.valueIn(message);
+            if (value == null) {
+                continue;
+            }
+            if (printedField) {
+                out.text(",");
+                out.newline();
+            } else {
+                printedField = true;
+            }
+            field.print(value, out);
+        }
+        if (printedField) {
+            out.newline();
+        }
+        out.outdent();
+        out.text("}");
+    }
+
+    /**
+     * Read a message.
+     *
+     * @param in       the JSON, at the start of the message
+     * @param builder  the builder to merge the message into
+     * @param fresh    whether the builder is new, so no field in it can have been set before
+     * @param elements the repeated field whose elements go to <tt>sink</tt>, or null
+     * @param sink     told of each element of <tt>elements</tt>
+     */
+    private void read(JsonReader in, Message.Builder builder, boolean fresh, FieldDescriptor elements,
+                      Consumer<? super Message> sink) throws IOException {
+        if (delegated) {
+            JsonFormat.parser().merge(new JsonParser().parse(in).toString(), builder);
+            return;
+        }
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new InvalidProtocolBufferException("Expect message object but got: " + in.peek()
+                    + " for message " + descriptor.getFullName());
+        }
+        Plan compiled = plan();
+        String[] seen = new String[compiled.fields.length];
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            FieldCodec field = compiled.byName.get(name);
+            if (field == null) {
+                throw new InvalidProtocolBufferException("Cannot find field: " + name + " in message "
+                        + descriptor.getFullName());
+            }
+            String previous = seen[field.index];
+            seen[field.index] = name;
+            if (name.equals(previous)) {
+                // the same key twice: the last one wins, as in a parsed JsonObject
+                builder.clearField(field.field);
+            } else if (!fresh || previous != null || field.field.getContainingOneof() != null) {
+                field.checkUnset(builder);
+            }
+            if (field.field == elements) {
+                field.stream(in, builder, sink);
+            } else {
+                field.read(in, builder);
+            }
+        }
+        in.endObject();
+    }
+
+    /**
+     * Write a string as {@link com.google.gson.Gson} would, quoted and escaped.
+     */
+    private static void quote(String value, Out out) throws IOException {
+        out.text("\"");
+        Appendable to = out.out;
+        int last = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String escape;
+            if (c < 128) {
+                escape = ESCAPES[c];
+                if (escape == null) {
+                    continue;
+                }
+            } else if (c == '\u2028') {
+                escape = "\\u2028";
+            } else if (c == '\u2029') {
+                escape = "\\u2029";
+            } else {
+                continue;
+            }
+            if (last < i) {
+                to.append(value, last, i);
+            }
+            to.append(escape);
+            last = i + 1;
+        }
+        if (last < length) {
+            to.append(value, last, length);
+        }
+        to.append('"');
+    }
+
+    /**
+     * Read a scalar as text, the way {@link com.google.gson.JsonPrimitive#getAsString()} would give it.
+     */
+    private static String scalar(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case STRING:
+            case NUMBER:
+                return in.nextString();
+            case BOOLEAN:
+                return Boolean.toString(in.nextBoolean());
+            default:
+                throw new InvalidProtocolBufferException("Expect a scalar value but got: " + in.peek());
+        }
+    }
+
+    /**
+     * The compiled form of a message type: its fields, in the order {@link JsonFormat} prints
+     * them, and by every name it accepts for them.
+     */
+    private static final class Plan {
+
+        final FieldCodec[] fields;
+
+        final Map<String, FieldCodec> byName = new HashMap<>();
+
+        Plan(Descriptor descriptor) {
+            List<FieldDescriptor> declared = descriptor.getFields();
+            FieldDescriptor[] sorted = declared.toArray(new FieldDescriptor[declared.size()]);
+            // JsonFormat prints the fields sorted by number
+            Arrays.sort(sorted, Comparator.comparingInt(FieldDescriptor::getNumber));
+            fields = new FieldCodec[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                fields[i] = new FieldCodec(sorted[i], i);
+                byName.put(sorted[i].getName(), fields[i]);
+                byName.put(sorted[i].getJsonName(), fields[i]);
+            }
+        }
+    }
+
+    /**
+     * How to print and read one field.
+     */
+    private static final class FieldCodec {
+
+        final FieldDescriptor field;
+
+        final int index;
+
+        /**
+         * The field's name, quoted, with the separator after it.
+         */
+        final String key;
+
+        /**
+         * The codec of the field's message type, or null if it isn't a message.
+         */
+        final JsonCodec message;
+
+        /**
+         * For a map field, the key and value fields of its entries.
+         */
+        final FieldCodec mapKey;
+
+        final FieldCodec mapValue;
+
+        FieldCodec(FieldDescriptor field, int index) {
+            this.field = field;
+            this.index = index;
+            this.key = "\"" + field.getJsonName() + "\": ";
+            this.message = field.getJavaType() == FieldDescriptor.JavaType.MESSAGE
+                    ? JsonCodec.of(field.getMessageType()) : null;
+            if (field.isMapField()) {
+                Descriptor entry = field.getMessageType();
+                mapKey = new FieldCodec(entry.findFieldByName("key"), 0);
+                mapValue = new FieldCodec(entry.findFieldByName("value"), 1);
+            } else {
+                mapKey = null;
+                mapValue = null;
+            }
+        }
+
+        /**
+         * @return the field's value in the message, or null if {@link JsonFormat} wouldn't print it
+         */
+        Object valueIn(MessageOrBuilder message) {
+            if (field.isRepeated()) {
+                List<?> values = (List<?>) message.getField(field);
+                return values.isEmpty() ? null : values;
+            }
+            return message.hasField(field) ? message.getField(field) : null;
+        }
+
+        void print(Object value, Out out) throws IOException {
+            out.text(key);
+            if (mapKey != null) {
+                printMap((List<?>) value, out);
+            } else if (field.isRepeated()) {
+                out.text("[");
+                boolean printedElement = false;
+                for (Object element : (List<?>) value) {
+                    if (printedElement) {
+                        out.text(", ");
+                    } else {
+                        printedElement = true;
+                    }
+                    printValue(element, out, false);
+                }
+                out.text("]");
+            } else {
+                printValue(value, out, false);
+            }
+        }
+
+        private void printMap(List<?> entries, Out out) throws IOException {
+            out.text("{");
+            out.newline();
+            out.indent();
+            boolean printedElement = false;
+            for (Object element : entries) {
+                Message entry = (Message) element;
+                if (printedElement) {
+                    out.text(",");
+                    out.newline();
+                } else {
+                    printedElement = true;
+                }
+                // keys are always quoted
+                mapKey.printValue(entry.getField(mapKey.field), out, true);
+                out.text(": ");
+                mapValue.printValue(entry.getField(mapValue.field), out, false);
+            }
+            if (printedElement) {
+                out.newline();
+            }
+            out.outdent();
+            out.text("}");
+        }
+
+        private void printValue(Object value, Out out, boolean quoted) throws IOException {
+            switch (field.getType()) {
+                case INT32:
+                case SINT32:
+                case SFIXED32:
+                case BOOL:
+                    printMaybeQuoted(value.toString(), out, quoted);
+                    break;
+                case UINT32:
+                case FIXED32:
+                    printMaybeQuoted(Integer.toUnsignedString((Integer) value), out, quoted);
+                    break;
+                case INT64:
+                case SINT64:
+                case SFIXED64:
+                    printMaybeQuoted(value.toString(), out, true);
+                    break;
+                case UINT64:
+                case FIXED64:
+                    printMaybeQuoted(Long.toUnsignedString((Long) value), out, true);
+                    break;
+                case FLOAT:
+                case DOUBLE:
+                    double number = ((Number) value).doubleValue();
+                    if (Double.isNaN(number)) {
+                        out.text("\"NaN\"");
+                    } else if (Double.isInfinite(number)) {
+                        out.text(number > 0 ? "\"Infinity\"" : "\"-Infinity\"");
+                    } else {
+                        // a Float prints as a float, not as the double it widens to
+                        printMaybeQuoted(value.toString(), out, quoted);
+                    }
+                    break;
+                case STRING:
+                    quote((String) value, out);
+                    break;
+                case BYTES:
+                    printMaybeQuoted(BaseEncoding.base64().encode(((ByteString) value).toByteArray()), out, true);
+                    break;
+                case ENUM:
+                    EnumValueDescriptor enumValue = (EnumValueDescriptor) value;
+                    if (enumValue.getIndex() == -1) {
+                        printMaybeQuoted(String.valueOf(enumValue.getNumber()), out, quoted);
+                    } else {
+                        printMaybeQuoted(enumValue.getName(), out, true);
+                    }
+                    break;
+                default:
+                    message.print((MessageOrBuilder) value, out);
+            }
+        }
+
+        private static void printMaybeQuoted(String text, Out out, boolean quoted) throws IOException {
+            if (quoted) {
+                out.text("\"");
+                out.text(text);
+                out.text("\"");
+            } else {
+                out.text(text);
+            }
+        }
+
+        /**
+         * Fail as {@link JsonFormat} does if the field, or another of its oneof, is already set.
+         */
+        void checkUnset(Message.Builder builder) throws InvalidProtocolBufferException {
+            if (field.isRepeated() ? builder.getRepeatedFieldCount(field) > 0 : builder.hasField(field)) {
+                throw new InvalidProtocolBufferException("Field " + field.getFullName() + " has already been set.");
+            }
+            OneofDescriptor oneof = field.getContainingOneof();
+            if (oneof != null && builder.getOneofFieldDescriptor(oneof) != null) {
+                throw new InvalidProtocolBufferException("Cannot set field " + field.getFullName()
+                        + " because another field " + builder.getOneofFieldDescriptor(oneof).getFullName()
+                        + " belonging to the same oneof has already been set ");
+            }
+        }
+
+        void read(JsonReader in, Message.Builder builder) throws IOException {
+            if (field.isRepeated() && in.peek() == JsonToken.NULL) {
+                in.nextNull();
+            } else if (mapKey != null) {
+                readMap(in, builder);
+            } else if (field.isRepeated()) {
+                if (in.peek() != JsonToken.BEGIN_ARRAY) {
+                    throw new InvalidProtocolBufferException("Expect an array for " + field.getFullName()
+                            + " but got: " + in.peek());
+                }
+                in.beginArray();
+                while (in.hasNext()) {
+                    Object value = readValue(in, builder);
+                    if (value == null) {
+                        throw new InvalidProtocolBufferException("Repeated field elements cannot be null");
+                    }
+                    builder.addRepeatedField(field, value);
+                }
+                in.endArray();
+            } else {
+                Object value = readValue(in, builder);
+                if (value != null) {
+                    builder.setField(field, value);
+                }
+            }
+        }
+
+        /**
+         * Read the elements of a repeated message field, handing each to the sink rather than
+         * adding it to the builder.
+         */
+        void stream(JsonReader in, Message.Builder builder, Consumer<? super Message> sink) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return;
+            }
+            if (in.peek() != JsonToken.BEGIN_ARRAY) {
+                throw new InvalidProtocolBufferException("Expect an array for " + field.getFullName()
+                        + " but got: " + in.peek());
+            }
+            in.beginArray();
+            while (in.hasNext()) {
+                Object value = readValue(in, builder);
+                if (value == null) {
+                    throw new InvalidProtocolBufferException("Repeated field elements cannot be null");
+                }
+                try {
+                    sink.accept((Message) value);
+                } catch (RuntimeException e) {
+                    throw new SinkFailure(e);
+                }
+            }
+            in.endArray();
+        }
+
+        private void readMap(JsonReader in, Message.Builder builder) throws IOException {
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                throw new InvalidProtocolBufferException("Expect a map object for " + field.getFullName()
+                        + " but got: " + in.peek());
+            }
+            in.beginObject();
+            while (in.hasNext()) {
+                Message.Builder entry = builder.newBuilderForField(field);
+                Object key = mapKey.parse(in.nextName());
+                Object value = mapValue.readValue(in, entry);
+                if (value == null) {
+                    throw new InvalidProtocolBufferException("Map value cannot be null.");
+                }
+                entry.setField(mapKey.field, key);
+                entry.setField(mapValue.field, value);
+                builder.addRepeatedField(field, entry.build());
+            }
+            in.endObject();
+        }
+
+        /**
+         * Read one value of the field.
+         *
+         * @return the value, or null if it was a JSON null and so leaves the field unset
+         */
+        private Object readValue(JsonReader in, Message.Builder builder) throws IOException {
+            if (message != null) {
+                if (in.peek() == JsonToken.NULL && !VALUE_TYPE.equals(field.getMessageType().getFullName())) {
+                    in.nextNull();
+                    return null;
+                }
+                Message.Builder sub = builder.newBuilderForField(field);
+                message.read(in, sub, true, null, null);
+                return sub.build();
+            }
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return parse(scalar(in));
+        }
+
+        /**
+         * Parse a scalar value of the field from its text.
+         */
+        Object parse(String text) throws InvalidProtocolBufferException {
+            switch (field.getType()) {
+                case INT32:
+                case SINT32:
+                case SFIXED32:
+                    return parseInt32(text);
+                case INT64:
+                case SINT64:
+                case SFIXED64:
+                    return parseInt64(text);
+                case UINT32:
+                case FIXED32:
+                    return parseUint32(text);
+                case UINT64:
+                case FIXED64:
+                    return parseUint64(text);
+                case BOOL:
+                    if (text.equals("true")) {
+                        return true;
+                    }
+                    if (text.equals("false")) {
+                        return false;
+                    }
+                    throw new InvalidProtocolBufferException("Invalid bool value: " + text);
+                case FLOAT:
+                    return parseFloat(text);
+                case DOUBLE:
+                    return parseDouble(text);
+                case STRING:
+                    return text;
+                case BYTES:
+                    try {
+                        return ByteString.copyFrom(BaseEncoding.base64().decode(text));
+                    } catch (IllegalArgumentException e) {
+                        throw new InvalidProtocolBufferException("Not a base64 value: " + text);
+                    }
+                case ENUM:
+                    return parseEnum(text);
+                default:
+                    throw new InvalidProtocolBufferException("Expect a message object for " + field.getFullName()
+                            + " but got: " + text);
+            }
+        }
+
+        private Object parseEnum(String text) throws InvalidProtocolBufferException {
+            EnumDescriptor type = field.getEnumType();
+            EnumValueDescriptor value = type.findValueByName(text);
+            if (value == null) {
+                try {
+                    value = type.findValueByNumber(parseInt32(text));
+                } catch (InvalidProtocolBufferException e) {
+                    // not a number either
+                }
+                if (value == null) {
+                    throw new InvalidProtocolBufferException("Invalid enum value: " + text + " for enum type: "
+                            + type.getFullName());
+                }
+            }
+            return value;
+        }
+
+        private static int parseInt32(String text) throws InvalidProtocolBufferException {
+            try {
+                return Integer.parseInt(text);
+            } catch (NumberFormatException e) {
+                // maybe "1.0" or "1e2"
+            }
+            try {
+                return new BigDecimal(text).intValueExact();
+            } catch (ArithmeticException | NumberFormatException e) {
+                throw new InvalidProtocolBufferException("Not an int32 value: " + text);
+            }
+        }
+
+        private static long parseInt64(String text) throws InvalidProtocolBufferException {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                // maybe "1.0" or "1e2"
+            }
+            try {
+                return new BigDecimal(text).longValueExact();
+            } catch (ArithmeticException | NumberFormatException e) {
+                throw new InvalidProtocolBufferException("Not an int64 value: " + text);
+            }
+        }
+
+        private static int parseUint32(String text) throws InvalidProtocolBufferException {
+            BigInteger value;
+            try {
+                value = new BigDecimal(text).toBigIntegerExact();
+            } catch (ArithmeticException | NumberFormatException e) {
+                throw new InvalidProtocolBufferException("Not an uint32 value: " + text);
+            }
+            if (value.signum() < 0 || value.bitLength() > 32) {
+                throw new InvalidProtocolBufferException("Out of range uint32 value: " + text);
+            }
+            return value.intValue();
+        }
+
+        private static long parseUint64(String text) throws InvalidProtocolBufferException {
+            BigInteger value;
+            try {
+                value = new BigDecimal(text).toBigIntegerExact();
+            } catch (ArithmeticException | NumberFormatException e) {
+                throw new InvalidProtocolBufferException("Not an uint64 value: " + text);
+            }
+            if (value.signum() < 0 || value.compareTo(MAX_UINT64) > 0) {
+                throw new InvalidProtocolBufferException("Out of range uint64 value: " + text);
+            }
+            return value.longValue();
+        }
+
+        private static float parseFloat(String text) throws InvalidProtocolBufferException {
+            switch (text) {
+                case "NaN":
+                    return Float.NaN;
+                case "Infinity":
+                    return Float.POSITIVE_INFINITY;
+                case "-Infinity":
+                    return Float.NEGATIVE_INFINITY;
+                default:
+                    double value;
+                    try {
+                        value = Double.parseDouble(text);
+                    } catch (NumberFormatException e) {
+                        throw new InvalidProtocolBufferException("Not a float value: " + text);
+                    }
+                    // a printed float may be a little out of range, from the loss of precision
+                    if (value > Float.MAX_VALUE * (1.0 + FLOAT_EPSILON) || value < -Float.MAX_VALUE * (1.0 + FLOAT_EPSILON)) {
+                        throw new InvalidProtocolBufferException("Out of range float value: " + text);
+                    }
+                    return (float) value;
+            }
+        }
+
+        private static double parseDouble(String text) throws InvalidProtocolBufferException {
+            switch (text) {
+                case "NaN":
+                    return Double.NaN;
+                case "Infinity":
+                    return Double.POSITIVE_INFINITY;
+                case "-Infinity":
+                    return Double.NEGATIVE_INFINITY;
+                default:
+                    BigDecimal value;
+                    try {
+                        value = new BigDecimal(text);
+                    } catch (NumberFormatException e) {
+                        throw new InvalidProtocolBufferException("Not a double value: " + text);
+                    }
+                    if (value.compareTo(MAX_DOUBLE) > 0 || value.compareTo(MIN_DOUBLE) < 0) {
+                        throw new InvalidProtocolBufferException("Out of range double value: " + text);
+                    }
+                    return value.doubleValue();
+            }
+        }
+    }
+
+    /**
+     * Carries an exception thrown by a sink past the handling of the parser's own exceptions.
+     */
+    private static final class SinkFailure extends RuntimeException {
+
+        SinkFailure(RuntimeException cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * Writes JSON with {@link JsonFormat}'s layout: two spaces of indentation, written at the
+     * start of each line once something follows on it.
+     */
+    private static final class Out {
+
+        final Appendable out;
+
+        private int depth;
+
+        private boolean atLineStart = true;
+
+        Out(Appendable out) {
+            this.out = out;
+        }
+
+        void indent() {
+            depth++;
+        }
+
+        void outdent() {
+            depth--;
+        }
+
+        /**
+         * Write text that has no line breaks in it.
+         */
+        void text(String text) throws IOException {
+            if (atLineStart) {
+                for (int i = 0; i < depth; i++) {
+                    out.append("  ");
+                }
+                atLineStart = false;
+            }
+            out.append(text);
+        }
+
+        void newline() throws IOException {
+            out.append('\n');
+            atLineStart = true;
+        }
+
+        /**
+         * Write text that may span lines, indenting each one.
+         */
+        void lines(String text) throws IOException {
+            int start = 0;
+            int end;
+            while ((end = text.indexOf('\n', start)) >= 0) {
+                if (end > start) {
+                    text(text.substring(start, end));
+                }
+                newline();
+                start = end + 1;
+            }
+            if (start < text.length()) {
+                text(text.substring(start));
+            }
+        }
+    }
+}
@@ -2,38 +2,72 @@ package org.ga4gh.ctk.transport.protobuf;
 
 import com.google.protobuf.GeneratedMessage;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
 import com.google.protobuf.MessageOrBuilder;
-import com.google.protobuf.util.JsonFormat;
-import com.mashape.unirest.http.HttpResponse;
-import com.mashape.unirest.http.JsonNode;
-import com.mashape.unirest.http.Unirest;
-import com.mashape.unirest.http.exceptions.UnirestException;
-import org.ga4gh.ctk.transport.WireTracker;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.ga4gh.ctk.transport.Transport;
+import org.ga4gh.ctk.transport.WireFormat;
+import org.ga4gh.ctk.transport.WireListener;
 
 public class Post<T extends GeneratedMessage.Builder> extends Base<T> {
 
-    private final String json;
+    private static final ContentType PROTOBUF_CONTENT_TYPE = ContentType.create(WireFormat.PROTOBUF.getMediaType());
 
-    public Post(String urlRoot, String path, MessageOrBuilder request, T responseBuilder, WireTracker wireTracker) throws InvalidProtocolBufferException {
-        super(urlRoot, path, responseBuilder,wireTracker);
-        json = JsonFormat.printer().print(request);
+    private final MessageOrBuilder request;
+
+    /**
+     * The JSON form of the request, printed the first time it's needed.
+     */
+    private String json;
+
+    public Post(String urlRoot, String path, MessageOrBuilder request, T responseBuilder, WireListener listener) throws InvalidProtocolBufferException {
+        this(urlRoot, path, request, responseBuilder, listener, Transport.getDefault());
     }
 
-    protected HttpResponse<JsonNode> queryServer(String url) throws UnirestException {
-        if (log.isDebugEnabled()) {
-            log.debug("begin jsonPost to " + url + " of " + json);
-        }
-        if (wireTracker != null) {
-            wireTracker.bodySent = json;
+    public Post(String urlRoot, String path, MessageOrBuilder request, T responseBuilder, WireListener listener,
+                Transport transport) throws InvalidProtocolBufferException {
+        super(urlRoot, path, responseBuilder, listener, transport);
+        this.request = request;
+    }
+
+    protected HttpUriRequest buildRequest(String url, WireFormat format) throws InvalidProtocolBufferException {
+        HttpEntity entity;
+        if (format == WireFormat.PROTOBUF) {
+            byte[] body = toMessage(request).toByteArray();
+            if (log.isDebugEnabled()) {
+                log.debug("begin protobufPost to " + url + " of " + body.length + " bytes");
+            }
+            entity = new ByteArrayEntity(body, PROTOBUF_CONTENT_TYPE);
+        } else {
+            if (log.isDebugEnabled()) {
+                log.debug("begin jsonPost to " + url + " of " + json());
+            }
+            entity = new StringEntity(json(), ContentType.APPLICATION_JSON);
         }
-        HttpResponse<JsonNode> response = Unirest.post(url)
-                .header("Content-Type", "application/json")
-                .header("accept", "application/json")
-                .body(json)
-                .asJson();
-        if (log.isDebugEnabled()) {
-            log.debug("exit jsonPost to " + url + " with status " + response.getStatusText());
+        HttpPost post = new HttpPost(url);
+        post.setHeader("accept", format.getAcceptHeader());
+        post.setEntity(entity);
+        return post;
+    }
+
+    @Override
+    protected String requestJson() throws InvalidProtocolBufferException {
+        return json();
+    }
+
+    private String json() throws InvalidProtocolBufferException {
+        if (json == null) {
+            json = JsonCodec.of(request.getDescriptorForType()).print(request);
         }
-        return response;
+        return json;
+    }
+
+    private static Message toMessage(MessageOrBuilder request) {
+        return request instanceof Message ? (Message) request : ((Message.Builder) request).build();
     }
 }
@@ -1,6 +1,9 @@
 package org.ga4gh.ctk.transport.protocols;
 
+import com.google.protobuf.GeneratedMessage;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.MessageOrBuilder;
 import com.mashape.unirest.http.exceptions.UnirestException;
 
 import ga4gh.AlleleAnnotationServiceOuterClass.SearchVariantAnnotationSetsRequest;
@@ -53,13 +56,22 @@ import ga4gh.BioMetadataServiceOuterClass.SearchIndividualsResponse;
 import ga4gh.PeerServiceOuterClass.Peer;
 import ga4gh.PeerServiceOuterClass.*;
 import org.ga4gh.ctk.transport.GAWrapperException;
+import org.ga4gh.ctk.transport.Result;
+import org.ga4gh.ctk.transport.Transport;
 import org.ga4gh.ctk.transport.URLMAPPING;
+import org.ga4gh.ctk.transport.WireExchange;
+import org.ga4gh.ctk.transport.WireListener;
 import org.ga4gh.ctk.transport.WireTracker;
 import org.ga4gh.ctk.transport.protobuf.Get;
 import org.ga4gh.ctk.transport.protobuf.Post;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * This class provides an interface to/facade for the GA4GH server we're testing.
@@ -72,6 +84,43 @@ import java.util.Map;
  * <li>{@link #variantAnnotations variantAnnotations}</li>
  * <li>{@link #sequenceAnnotations sequenceAnnotations}</li>
 * </ul>
+ * <p>
+ * Every method has an asynchronous twin, named with an <tt>Async</tt> suffix, that returns a
+ * {@link CompletableFuture} instead of blocking on the server.  For example,
+ * <pre>
+ *     myClient.reads.searchReadsAsync(request).thenAccept(response -&gt; ...);
+ * </pre>
+ * <p>
+ * Every paged search also has a <tt>stream</tt> method that walks all the pages for you,
+ * fetching the next page while the current one is consumed:
+ * <pre>
+ *     myClient.reads.streamReads(request).filter(...).count();
+ * </pre>
+ * <p>
+ * Every method also has a non-throwing twin, named with a <tt>Result</tt> suffix, that returns
+ * an error from the server as a {@link Result} rather than throwing a {@link GAWrapperException},
+ * for runs that expect many requests to be refused:
+ * <pre>
+ *     Result&lt;Dataset&gt; result = myClient.metadata.getDatasetResult("nonexistent");
+ *     assertThat(result.getHttpStatus()).isEqualTo(404);
+ * </pre>
+ * The throwing methods are wrappers over these, calling {@link Result#get()}.
+ * <p>
+ * The searches that return large pages (reads, variants and features) can also hand each element
+ * to a callback as it's parsed, instead of building the whole page first, so only the current
+ * element is held in memory. The response returned then has everything but those elements:
+ * <pre>
+ *     SearchReadsResponse page = myClient.reads.searchReads(request, alignment -&gt; count++);
+ *     String next = page.getNextPageToken();
+ * </pre>
+ * <p>
+ * A client holds no per-call state, so one instance can be shared by any number of threads.
+ * Each request's traffic is recorded in its own immutable {@link WireExchange}, which is handed
+ * to the client's {@link WireTracker} (if it has one) and to every {@link WireListener} added with
+ * {@link #addWireListener}:
+ * <pre>
+ *     myClient.addWireListener(exchange -&gt; log.info(exchange.getUrl() + ": " + exchange.getStatus()));
+ * </pre>
  *
  * @author Herb Jellinek
  */
@@ -79,8 +128,15 @@ public class Client {
 
     private final URLMAPPING urls;
 
+    /**
+     * If not null, holds the latest exchange any of this client's calls made.
+     */
     public final WireTracker wireTracker;
 
+    private final Transport transport;
+
+    private final List<WireListener> listeners = new CopyOnWriteArrayList<>();
+
     /**
      * Provides access to variants-related methods.  For example,
      * <pre>
@@ -170,8 +226,169 @@ public class Client {
      * @param wt   If not null, capture the data going across the wire
      */
     public Client(URLMAPPING urls, WireTracker wt) {
+        this(urls, wt, Transport.getDefault());
+    }
+
+    /**
+     * Create a new client that can make requests on a GA4GH server over the given transport.
+     *
+     * @param urls      an URLMAPPING object that gives us the paths to use
+     * @param wt        If not null, capture the data going across the wire
+     * @param transport the {@link Transport} (connection pool, timeouts) to send requests on
+     */
+    public Client(URLMAPPING urls, WireTracker wt, Transport transport) {
         this.urls = urls;
         wireTracker = wt;
+        this.transport = transport;
+    }
+
+    /**
+     * Have a listener told of every exchange this client makes from now on, on any thread.
+     * While no listeners are registered and there's no {@link WireTracker}, the request and
+     * response bodies aren't captured at all.
+     *
+     * @param listener the listener; it has to be thread-safe if the client is shared
+     */
+    public void addWireListener(WireListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stop telling a listener of this client's exchanges.
+     *
+     * @param listener a listener added with {@link #addWireListener}
+     */
+    public void removeWireListener(WireListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * The listener to give a new request: null if nobody's listening, so the bodies needn't be captured.
+     *
+     * @return the listener, or null
+     */
+    private WireListener listener() {
+        if (listeners.isEmpty()) {
+            return wireTracker;
+        }
+        return this::exchanged;
+    }
+
+    private void exchanged(WireExchange exchange) {
+        if (wireTracker != null) {
+            wireTracker.exchanged(exchange);
+        }
+        for (WireListener listener : listeners) {
+            listener.exchanged(exchange);
+        }
+    }
+
+    /**
+     * Gets the {@link Transport} this client sends its requests on.
+     *
+     * @return the transport
+     */
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Gets the {@link URLMAPPING} this client finds the server's endpoints in.
+     *
+     * @return the url mapping
+     */
+    public URLMAPPING getUrls() {
+        return urls;
+    }
+
+    /**
+     * POST <tt>request</tt> to <tt>path</tt>, returning an error from the server rather than throwing it.
+     *
+     * @param path            the endpoint path, relative to the URL root
+     * @param request         the request message
+     * @param responseBuilder the builder the response will be merged into
+     * @return <tt>responseBuilder</tt>, or the server's error
+     * @throws UnirestException if there's a problem speaking HTTP to the server
+     * @throws InvalidProtocolBufferException if there's a problem processing the response from the server
+     */
+    private <B extends GeneratedMessage.Builder> Result<B> postResult(String path, MessageOrBuilder request,
+                                                                      B responseBuilder)
+            throws InvalidProtocolBufferException, UnirestException {
+        return new Post<>(urls.getUrlRoot(), path, request, responseBuilder, listener(), transport).performQueryResult();
+    }
+
+    /**
+     * GET <tt>path</tt>, substituting <tt>id</tt> if it's not null, returning an error from the
+     * server rather than throwing it.
+     *
+     * @param path            the endpoint path, relative to the URL root
+     * @param id              the ID of the object to get, or null
+     * @param responseBuilder the builder the response will be merged into
+     * @return <tt>responseBuilder</tt>, or the server's error
+     * @throws UnirestException if there's a problem speaking HTTP to the server
+     * @throws InvalidProtocolBufferException if there's a problem processing the response from the server
+     */
+    private <B extends GeneratedMessage.Builder> Result<B> getResult(String path, String id, B responseBuilder)
+            throws InvalidProtocolBufferException, UnirestException {
+        return new Get<>(urls.getUrlRoot(), path, id, null, responseBuilder, listener(), transport).performQueryResult();
+    }
+
+    /**
+     * POST <tt>request</tt> to <tt>path</tt>, handing the elements of one repeated field of the
+     * response to <tt>onElement</tt> as they're parsed rather than merging them into <tt>responseBuilder</tt>,
+     * and returning an error from the server rather than throwing it.
+     *
+     * @param path            the endpoint path, relative to the URL root
+     * @param request         the request message
+     * @param responseBuilder the builder the rest of the response will be merged into
+     * @param elementsField   the number of the repeated field whose elements are streamed
+     * @param elementType     the type of the elements
+     * @param onElement       told of each element, in order
+     * @param <E>             the type of the elements
+     * @return <tt>responseBuilder</tt>, or the server's error
+     * @throws UnirestException if there's a problem speaking HTTP to the server
+     * @throws InvalidProtocolBufferException if there's a problem processing the response from the server
+     */
+    private <B extends GeneratedMessage.Builder, E extends Message> Result<B> postStreaming(String path, MessageOrBuilder request,
+                                                                                           B responseBuilder, int elementsField,
+                                                                                           Class<E> elementType,
+                                                                                           Consumer<? super E> onElement)
+            throws InvalidProtocolBufferException, UnirestException {
+        return new Post<>(urls.getUrlRoot(), path, request, responseBuilder, listener(), transport)
+                .streamElements(responseBuilder.getDescriptorForType().findFieldByNumber(elementsField),
+                                element -> onElement.accept(elementType.cast(element)))
+                .performQueryResult();
+    }
+
+    /**
+     * Start an asynchronous POST of <tt>request</tt> to <tt>path</tt>.
+     *
+     * @param path            the endpoint path, relative to the URL root
+     * @param request         the request message
+     * @param responseBuilder the builder the response will be merged into
+     * @return a future completing with <tt>responseBuilder</tt>, or exceptionally on error
+     */
+    private <B extends GeneratedMessage.Builder> CompletableFuture<B> postAsync(String path, MessageOrBuilder request,
+                                                                              B responseBuilder) {
+        try {
+            return new Post<>(urls.getUrlRoot(), path, request, responseBuilder, listener(), transport).performQueryAsync();
+        } catch (InvalidProtocolBufferException e) {
+            CompletableFuture<B> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    /**
+     * Start an asynchronous GET of <tt>path</tt>, substituting <tt>id</tt> if it's not null.
+     *
+     * @param path            the endpoint path, relative to the URL root
+     * @param id              the ID of the object to get, or null
+     * @param responseBuilder the builder the response will be merged into
+     * @return a future completing with <tt>responseBuilder</tt>, or exceptionally on error
+     */
+    private <B extends GeneratedMessage.Builder> CompletableFuture<B> getAsync(String path, String id, B responseBuilder) {
+        return new Get<>(urls.getUrlRoot(), path, id, null, responseBuilder, listener(), transport).performQueryAsync();
     }
 
 
@@ -192,9 +409,48 @@ public class Client {
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
         public SearchDatasetsResponse searchDatasets(SearchDatasetsRequest request) throws UnirestException, InvalidProtocolBufferException, GAWrapperException {
-            SearchDatasetsResponse.Builder responseBuilder = SearchDatasetsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), urls.getSearchDataSets(), request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return searchDatasetsResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchDatasets(SearchDatasetsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchDatasetsRequest} we'll issue
+         * @return the {@link SearchDatasetsResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchDatasetsResponse> searchDatasetsResult(SearchDatasetsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchDataSets(), request, SearchDatasetsResponse.newBuilder())
+                    .map(SearchDatasetsResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchDatasets(SearchDatasetsRequest)}.
+         *
+         * @param request the {@link SearchDatasetsRequest} we'll issue
+         * @return a future completing with the {@link SearchDatasetsResponse}
+         */
+        public CompletableFuture<SearchDatasetsResponse> searchDatasetsAsync(SearchDatasetsRequest request) {
+            return postAsync(urls.getSearchDataSets(), request, SearchDatasetsResponse.newBuilder())
+                    .thenApply(SearchDatasetsResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link Dataset} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchDatasetsAsync(SearchDatasetsRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchDatasetsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<Dataset> streamDatasets(SearchDatasetsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchDatasetsAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchDatasetsResponse::getDatasetsList,
+                                 SearchDatasetsResponse::getNextPageToken);
         }
 
         /**
@@ -207,9 +463,32 @@ public class Client {
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
         public Dataset getDataset(String id) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-            Dataset.Builder responseBuilder = Dataset.newBuilder();
-            new Get<>(urls.getUrlRoot(), urls.getGetDataSet(), id, null, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return getDatasetResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getDataset(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link Dataset} to get
+         * @return the {@link Dataset}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<Dataset> getDatasetResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getGetDataSet(), id, Dataset.newBuilder())
+                    .map(Dataset.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getDataset(String)}.
+         *
+         * @param id the ID of the {@link Dataset} to get
+         * @return a future completing with the {@link Dataset}
+         */
+        public CompletableFuture<Dataset> getDatasetAsync(String id) {
+            return getAsync(urls.getGetDataSet(), id, Dataset.newBuilder())
+                    .thenApply(Dataset.Builder::build);
         }
     }
 
@@ -230,9 +509,48 @@ public class Client {
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
         public SearchVariantSetsResponse searchVariantSets(SearchVariantSetsRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            SearchVariantSetsResponse.Builder responseBuilder = SearchVariantSetsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), urls.getSearchVariantSets(), request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return searchVariantSetsResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchVariantSets(SearchVariantSetsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchVariantSetsRequest} we'll issue
+         * @return the {@link SearchVariantSetsResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchVariantSetsResponse> searchVariantSetsResult(SearchVariantSetsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchVariantSets(), request, SearchVariantSetsResponse.newBuilder())
+                    .map(SearchVariantSetsResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchVariantSets(SearchVariantSetsRequest)}.
+         *
+         * @param request the {@link SearchVariantSetsRequest} we'll issue
+         * @return a future completing with the {@link SearchVariantSetsResponse}
+         */
+        public CompletableFuture<SearchVariantSetsResponse> searchVariantSetsAsync(SearchVariantSetsRequest request) {
+            return postAsync(urls.getSearchVariantSets(), request, SearchVariantSetsResponse.newBuilder())
+                    .thenApply(SearchVariantSetsResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link VariantSet} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchVariantSetsAsync(SearchVariantSetsRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchVariantSetsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<VariantSet> streamVariantSets(SearchVariantSetsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchVariantSetsAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchVariantSetsResponse::getVariantSetsList,
+                                 SearchVariantSetsResponse::getNextPageToken);
         }
 
         /**
@@ -245,9 +563,32 @@ public class Client {
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
         public VariantSet getVariantSet(String id) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-            VariantSet.Builder responseBuilder = VariantSet.newBuilder();
-            new Get<>(urls.getUrlRoot(), urls.getGetVariantSet(), id, null, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return getVariantSetResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getVariantSet(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link VariantSet} to get
+         * @return the {@link VariantSet}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<VariantSet> getVariantSetResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getGetVariantSet(), id, VariantSet.newBuilder())
+                    .map(VariantSet.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getVariantSet(String)}.
+         *
+         * @param id the ID of the {@link VariantSet} to get
+         * @return a future completing with the {@link VariantSet}
+         */
+        public CompletableFuture<VariantSet> getVariantSetAsync(String id) {
+            return getAsync(urls.getGetVariantSet(), id, VariantSet.newBuilder())
+                    .thenApply(VariantSet.Builder::build);
         }
 
         /**
@@ -262,9 +603,83 @@ public class Client {
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
         public SearchVariantsResponse searchVariants(SearchVariantsRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            SearchVariantsResponse.Builder responseBuilder = SearchVariantsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), urls.getSearchVariants(), request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return searchVariantsResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchVariants(SearchVariantsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchVariantsRequest} we'll issue
+         * @return the {@link SearchVariantsResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchVariantsResponse> searchVariantsResult(SearchVariantsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchVariants(), request, SearchVariantsResponse.newBuilder())
+                    .map(SearchVariantsResponse.Builder::build);
+        }
+
+        /**
+         * Like {@link #searchVariants(SearchVariantsRequest)}, but each {@link Variant} is handed to <tt>onVariant</tt>
+         * as soon as it's parsed, instead of being added to the response, so only one is held in memory
+         * at a time. <tt>onVariant</tt> is called on the calling thread, in order; if it throws, the search
+         * stops and the exception is thrown from here.
+         *
+         * @param request the {@link SearchVariantsRequest} we'll issue
+         * @param onVariant told of each {@link Variant} in the page
+         * @return the {@link SearchVariantsResponse}, without its variants
+         * @throws GAWrapperException if the server finds the request invalid in some way
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the response from the server
+         */
+        public SearchVariantsResponse searchVariants(SearchVariantsRequest request, Consumer<? super Variant> onVariant)
+                throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
+            return searchVariantsResult(request, onVariant).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchVariants(SearchVariantsRequest, Consumer)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchVariantsRequest} we'll issue
+         * @param onVariant told of each {@link Variant} in the page
+         * @return the {@link SearchVariantsResponse} without its variants, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the response from the server
+         */
+        public Result<SearchVariantsResponse> searchVariantsResult(SearchVariantsRequest request, Consumer<? super Variant> onVariant)
+                throws InvalidProtocolBufferException, UnirestException {
+            return postStreaming(urls.getSearchVariants(), request, SearchVariantsResponse.newBuilder(),
+                                 SearchVariantsResponse.VARIANTS_FIELD_NUMBER, Variant.class, onVariant)
+                    .map(SearchVariantsResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchVariants(SearchVariantsRequest)}.
+         *
+         * @param request the {@link SearchVariantsRequest} we'll issue
+         * @return a future completing with the {@link SearchVariantsResponse}
+         */
+        public CompletableFuture<SearchVariantsResponse> searchVariantsAsync(SearchVariantsRequest request) {
+            return postAsync(urls.getSearchVariants(), request, SearchVariantsResponse.newBuilder())
+                    .thenApply(SearchVariantsResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link Variant} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchVariantsAsync(SearchVariantsRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchVariantsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<Variant> streamVariants(SearchVariantsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchVariantsAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchVariantsResponse::getVariantsList,
+                                 SearchVariantsResponse::getNextPageToken);
         }
 
         /**
@@ -277,9 +692,32 @@ public class Client {
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
         public Variant getVariant(String id) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-            Variant.Builder responseBuilder = Variant.newBuilder();
-            new Get<>(urls.getUrlRoot(), urls.getGetVariant(), id, null, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return getVariantResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getVariant(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link Variant} to get
+         * @return the {@link Variant}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<Variant> getVariantResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getGetVariant(), id, Variant.newBuilder())
+                    .map(Variant.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getVariant(String)}.
+         *
+         * @param id the ID of the {@link Variant} to get
+         * @return a future completing with the {@link Variant}
+         */
+        public CompletableFuture<Variant> getVariantAsync(String id) {
+            return getAsync(urls.getGetVariant(), id, Variant.newBuilder())
+                    .thenApply(Variant.Builder::build);
         }
 
         /**
@@ -294,9 +732,48 @@ public class Client {
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
         public SearchCallSetsResponse searchCallSets(SearchCallSetsRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            SearchCallSetsResponse.Builder responseBuilder = SearchCallSetsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), urls.getSearchCallSets(), request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return searchCallSetsResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchCallSets(SearchCallSetsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchCallSetsRequest} we'll issue
+         * @return the {@link SearchCallSetsResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchCallSetsResponse> searchCallSetsResult(SearchCallSetsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchCallSets(), request, SearchCallSetsResponse.newBuilder())
+                    .map(SearchCallSetsResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchCallSets(SearchCallSetsRequest)}.
+         *
+         * @param request the {@link SearchCallSetsRequest} we'll issue
+         * @return a future completing with the {@link SearchCallSetsResponse}
+         */
+        public CompletableFuture<SearchCallSetsResponse> searchCallSetsAsync(SearchCallSetsRequest request) {
+            return postAsync(urls.getSearchCallSets(), request, SearchCallSetsResponse.newBuilder())
+                    .thenApply(SearchCallSetsResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link CallSet} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchCallSetsAsync(SearchCallSetsRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchCallSetsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<CallSet> streamCallSets(SearchCallSetsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchCallSetsAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchCallSetsResponse::getCallSetsList,
+                                 SearchCallSetsResponse::getNextPageToken);
         }
 
         /**
@@ -309,9 +786,32 @@ public class Client {
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
         public CallSet getCallSet(String id) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-            CallSet.Builder responseBuilder = CallSet.newBuilder();
-            new Get<>(urls.getUrlRoot(), urls.getGetCallSet(), id, null, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return getCallSetResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getCallSet(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link CallSet} to get
+         * @return the {@link CallSet}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<CallSet> getCallSetResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getGetCallSet(), id, CallSet.newBuilder())
+                    .map(CallSet.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getCallSet(String)}.
+         *
+         * @param id the ID of the {@link CallSet} to get
+         * @return a future completing with the {@link CallSet}
+         */
+        public CompletableFuture<CallSet> getCallSetAsync(String id) {
+            return getAsync(urls.getGetCallSet(), id, CallSet.newBuilder())
+                    .thenApply(CallSet.Builder::build);
         }
     }
 
@@ -334,97 +834,318 @@ public class Client {
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
         public SearchReadsResponse searchReads(SearchReadsRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            SearchReadsResponse.Builder responseBuilder = SearchReadsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), urls.getSearchReads(), request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return searchReadsResult(request).get();
         }
 
         /**
-         * Gets a list of {@link ReadGroupSet} matching the search criteria.
-         * <p>
-         * <tt>POST /readgroupsets/search</tt> accepts a {@link SearchReadGroupSetsRequest}
-         * and returns a {@link SearchReadGroupSetsResponse}.</p>
+         * Non-throwing version of {@link #searchReads(SearchReadsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
          *
-         * @param request filled-in Avro object to be serialized as JSON to the server
-         * @throws GAWrapperException if the server finds the request invalid in some way
+         * @param request the {@link SearchReadsRequest} we'll issue
+         * @return the {@link SearchReadsResponse}, or the server's error
          * @throws UnirestException if there's a problem speaking HTTP to the server
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
-        public SearchReadGroupSetsResponse searchReadGroupSets(SearchReadGroupSetsRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            SearchReadGroupSetsResponse.Builder responseBuilder = SearchReadGroupSetsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), urls.getSearchReadGroupSets(), request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+        public Result<SearchReadsResponse> searchReadsResult(SearchReadsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchReads(), request, SearchReadsResponse.newBuilder())
+                    .map(SearchReadsResponse.Builder::build);
         }
 
         /**
-         * Gets a {@link ReadGroupSet} by ID.
-         * <tt>GET /readgroupsets/{id}</tt> will return a JSON version of {@link ReadGroupSet}.
+         * Like {@link #searchReads(SearchReadsRequest)}, but each {@link ReadAlignment} is handed to <tt>onAlignment</tt>
+         * as soon as it's parsed, instead of being added to the response, so only one is held in memory
+         * at a time. <tt>onAlignment</tt> is called on the calling thread, in order; if it throws, the search
+         * stops and the exception is thrown from here.
          *
-         * @param id the ID of the read group set
+         * @param request the {@link SearchReadsRequest} we'll issue
+         * @param onAlignment told of each {@link ReadAlignment} in the page
+         * @return the {@link SearchReadsResponse}, without its alignments
          * @throws GAWrapperException if the server finds the request invalid in some way
          * @throws UnirestException if there's a problem speaking HTTP to the server
-         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the response from the server
          */
-        public ReadGroupSet getReadGroupSet(String id) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-            ReadGroupSet.Builder responseBuilder = ReadGroupSet.newBuilder();
-            new Get<>(urls.getUrlRoot(), urls.getGetReadGroupSet(), id, null, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+        public SearchReadsResponse searchReads(SearchReadsRequest request, Consumer<? super ReadAlignment> onAlignment)
+                throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
+            return searchReadsResult(request, onAlignment).get();
         }
 
         /**
-         * Gets a {@link ReadGroup} by ID.
-         * <tt>GET /readgroups/{id}</tt> will return a JSON version of {@link ReadGroup}.
+         * Non-throwing version of {@link #searchReads(SearchReadsRequest, Consumer)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
          *
-         * @param id the ID of the read group
-         * @throws GAWrapperException if the server finds the request invalid in some way
+         * @param request the {@link SearchReadsRequest} we'll issue
+         * @param onAlignment told of each {@link ReadAlignment} in the page
+         * @return the {@link SearchReadsResponse} without its alignments, or the server's error
          * @throws UnirestException if there's a problem speaking HTTP to the server
-         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the response from the server
          */
-        public ReadGroup getReadGroup(String id) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-            ReadGroup.Builder responseBuilder = ReadGroup.newBuilder();
-            new Get<>(urls.getUrlRoot(), urls.getGetReadGroup(), id, null, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+        public Result<SearchReadsResponse> searchReadsResult(SearchReadsRequest request, Consumer<? super ReadAlignment> onAlignment)
+                throws InvalidProtocolBufferException, UnirestException {
+            return postStreaming(urls.getSearchReads(), request, SearchReadsResponse.newBuilder(),
+                                 SearchReadsResponse.ALIGNMENTS_FIELD_NUMBER, ReadAlignment.class, onAlignment)
+                    .map(SearchReadsResponse.Builder::build);
         }
-    }
 
-    /**
-     * Inner class holding all references-related methods.  Gathering them in an inner class like
-     * this
-     * makes it a little easier for someone writing tests to use their IDE's auto-complete
-     * to type method names.
-     */
-    public class References {
+        /**
+         * Asynchronous version of {@link #searchReads(SearchReadsRequest)}.
+         *
+         * @param request the {@link SearchReadsRequest} we'll issue
+         * @return a future completing with the {@link SearchReadsResponse}
+         */
+        public CompletableFuture<SearchReadsResponse> searchReadsAsync(SearchReadsRequest request) {
+            return postAsync(urls.getSearchReads(), request, SearchReadsResponse.newBuilder())
+                    .thenApply(SearchReadsResponse.Builder::build);
+        }
 
         /**
-         * Gets a list of {@link ReferenceSet} matching the search criteria.
-         * <p>
-         * <tt>POST /referencesets/search</tt> accepts a {@link SearchReferenceSetsRequest}
-         * and returns a {@link SearchReferenceSetsResponse}.
+         * Lazily streams every {@link ReadAlignment} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchReadsAsync(SearchReadsRequest)} as soon as the one before it arrives.
          *
-         * @param request Avro object to be serialized as JSON to the server
-         * @throws GAWrapperException if the server finds the request invalid in some way
-         * @throws UnirestException if there's a problem speaking HTTP to the server
-         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         * @param request the {@link SearchReadsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
          */
-        public SearchReferenceSetsResponse searchReferenceSets(SearchReferenceSetsRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            SearchReferenceSetsResponse.Builder responseBuilder = SearchReferenceSetsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), urls.getSearchReferenceSets(), request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+        public Stream<ReadAlignment> streamReads(SearchReadsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchReadsAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchReadsResponse::getAlignmentsList,
+                                 SearchReadsResponse::getNextPageToken);
         }
 
         /**
-         * Gets a {@link ReferenceSet} by ID.
-         * <tt>GET /referencesets/{id}</tt> returns a {@link ReferenceSet}.
+         * Gets a list of {@link ReadGroupSet} matching the search criteria.
+         * <p>
+         * <tt>POST /readgroupsets/search</tt> accepts a {@link SearchReadGroupSetsRequest}
+         * and returns a {@link SearchReadGroupSetsResponse}.</p>
          *
-         * @param id the reference set ID
+         * @param request filled-in Avro object to be serialized as JSON to the server
          * @throws GAWrapperException if the server finds the request invalid in some way
          * @throws UnirestException if there's a problem speaking HTTP to the server
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
-        public ReferenceSet getReferenceSet(String id) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-            ReferenceSet.Builder responseBuilder = ReferenceSet.newBuilder();
-            new Get<>(urls.getUrlRoot(), urls.getReferenceSets(), id, null, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+        public SearchReadGroupSetsResponse searchReadGroupSets(SearchReadGroupSetsRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
+            return searchReadGroupSetsResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchReadGroupSets(SearchReadGroupSetsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchReadGroupSetsRequest} we'll issue
+         * @return the {@link SearchReadGroupSetsResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchReadGroupSetsResponse> searchReadGroupSetsResult(SearchReadGroupSetsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchReadGroupSets(), request, SearchReadGroupSetsResponse.newBuilder())
+                    .map(SearchReadGroupSetsResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchReadGroupSets(SearchReadGroupSetsRequest)}.
+         *
+         * @param request the {@link SearchReadGroupSetsRequest} we'll issue
+         * @return a future completing with the {@link SearchReadGroupSetsResponse}
+         */
+        public CompletableFuture<SearchReadGroupSetsResponse> searchReadGroupSetsAsync(SearchReadGroupSetsRequest request) {
+            return postAsync(urls.getSearchReadGroupSets(), request, SearchReadGroupSetsResponse.newBuilder())
+                    .thenApply(SearchReadGroupSetsResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link ReadGroupSet} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchReadGroupSetsAsync(SearchReadGroupSetsRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchReadGroupSetsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<ReadGroupSet> streamReadGroupSets(SearchReadGroupSetsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchReadGroupSetsAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchReadGroupSetsResponse::getReadGroupSetsList,
+                                 SearchReadGroupSetsResponse::getNextPageToken);
+        }
+
+        /**
+         * Gets a {@link ReadGroupSet} by ID.
+         * <tt>GET /readgroupsets/{id}</tt> will return a JSON version of {@link ReadGroupSet}.
+         *
+         * @param id the ID of the read group set
+         * @throws GAWrapperException if the server finds the request invalid in some way
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public ReadGroupSet getReadGroupSet(String id) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
+            return getReadGroupSetResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getReadGroupSet(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link ReadGroupSet} to get
+         * @return the {@link ReadGroupSet}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<ReadGroupSet> getReadGroupSetResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getGetReadGroupSet(), id, ReadGroupSet.newBuilder())
+                    .map(ReadGroupSet.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getReadGroupSet(String)}.
+         *
+         * @param id the ID of the {@link ReadGroupSet} to get
+         * @return a future completing with the {@link ReadGroupSet}
+         */
+        public CompletableFuture<ReadGroupSet> getReadGroupSetAsync(String id) {
+            return getAsync(urls.getGetReadGroupSet(), id, ReadGroupSet.newBuilder())
+                    .thenApply(ReadGroupSet.Builder::build);
+        }
+
+        /**
+         * Gets a {@link ReadGroup} by ID.
+         * <tt>GET /readgroups/{id}</tt> will return a JSON version of {@link ReadGroup}.
+         *
+         * @param id the ID of the read group
+         * @throws GAWrapperException if the server finds the request invalid in some way
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public ReadGroup getReadGroup(String id) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
+            return getReadGroupResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getReadGroup(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link ReadGroup} to get
+         * @return the {@link ReadGroup}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<ReadGroup> getReadGroupResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getGetReadGroup(), id, ReadGroup.newBuilder())
+                    .map(ReadGroup.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getReadGroup(String)}.
+         *
+         * @param id the ID of the {@link ReadGroup} to get
+         * @return a future completing with the {@link ReadGroup}
+         */
+        public CompletableFuture<ReadGroup> getReadGroupAsync(String id) {
+            return getAsync(urls.getGetReadGroup(), id, ReadGroup.newBuilder())
+                    .thenApply(ReadGroup.Builder::build);
+        }
+    }
+
+    /**
+     * Inner class holding all references-related methods.  Gathering them in an inner class like
+     * this
+     * makes it a little easier for someone writing tests to use their IDE's auto-complete
+     * to type method names.
+     */
+    public class References {
+
+        /**
+         * Gets a list of {@link ReferenceSet} matching the search criteria.
+         * <p>
+         * <tt>POST /referencesets/search</tt> accepts a {@link SearchReferenceSetsRequest}
+         * and returns a {@link SearchReferenceSetsResponse}.
+         *
+         * @param request Avro object to be serialized as JSON to the server
+         * @throws GAWrapperException if the server finds the request invalid in some way
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public SearchReferenceSetsResponse searchReferenceSets(SearchReferenceSetsRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
+            return searchReferenceSetsResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchReferenceSets(SearchReferenceSetsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchReferenceSetsRequest} we'll issue
+         * @return the {@link SearchReferenceSetsResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchReferenceSetsResponse> searchReferenceSetsResult(SearchReferenceSetsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchReferenceSets(), request, SearchReferenceSetsResponse.newBuilder())
+                    .map(SearchReferenceSetsResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchReferenceSets(SearchReferenceSetsRequest)}.
+         *
+         * @param request the {@link SearchReferenceSetsRequest} we'll issue
+         * @return a future completing with the {@link SearchReferenceSetsResponse}
+         */
+        public CompletableFuture<SearchReferenceSetsResponse> searchReferenceSetsAsync(SearchReferenceSetsRequest request) {
+            return postAsync(urls.getSearchReferenceSets(), request, SearchReferenceSetsResponse.newBuilder())
+                    .thenApply(SearchReferenceSetsResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link ReferenceSet} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchReferenceSetsAsync(SearchReferenceSetsRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchReferenceSetsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<ReferenceSet> streamReferenceSets(SearchReferenceSetsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchReferenceSetsAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchReferenceSetsResponse::getReferenceSetsList,
+                                 SearchReferenceSetsResponse::getNextPageToken);
+        }
+
+        /**
+         * Gets a {@link ReferenceSet} by ID.
+         * <tt>GET /referencesets/{id}</tt> returns a {@link ReferenceSet}.
+         *
+         * @param id the reference set ID
+         * @throws GAWrapperException if the server finds the request invalid in some way
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public ReferenceSet getReferenceSet(String id) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
+            return getReferenceSetResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getReferenceSet(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link ReferenceSet} to get
+         * @return the {@link ReferenceSet}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<ReferenceSet> getReferenceSetResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getReferenceSets(), id, ReferenceSet.newBuilder())
+                    .map(ReferenceSet.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getReferenceSet(String)}.
+         *
+         * @param id the ID of the {@link ReferenceSet} to get
+         * @return a future completing with the {@link ReferenceSet}
+         */
+        public CompletableFuture<ReferenceSet> getReferenceSetAsync(String id) {
+            return getAsync(urls.getReferenceSets(), id, ReferenceSet.newBuilder())
+                    .thenApply(ReferenceSet.Builder::build);
         }
 
         /**
@@ -439,9 +1160,48 @@ public class Client {
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
         public SearchReferencesResponse searchReferences(SearchReferencesRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            SearchReferencesResponse.Builder responseBuilder = SearchReferencesResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), urls.getSearchReferences(), request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return searchReferencesResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchReferences(SearchReferencesRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchReferencesRequest} we'll issue
+         * @return the {@link SearchReferencesResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchReferencesResponse> searchReferencesResult(SearchReferencesRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchReferences(), request, SearchReferencesResponse.newBuilder())
+                    .map(SearchReferencesResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchReferences(SearchReferencesRequest)}.
+         *
+         * @param request the {@link SearchReferencesRequest} we'll issue
+         * @return a future completing with the {@link SearchReferencesResponse}
+         */
+        public CompletableFuture<SearchReferencesResponse> searchReferencesAsync(SearchReferencesRequest request) {
+            return postAsync(urls.getSearchReferences(), request, SearchReferencesResponse.newBuilder())
+                    .thenApply(SearchReferencesResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link Reference} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchReferencesAsync(SearchReferencesRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchReferencesRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<Reference> streamReferences(SearchReferencesRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchReferencesAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchReferencesResponse::getReferencesList,
+                                 SearchReferencesResponse::getNextPageToken);
         }
 
         /**
@@ -454,9 +1214,32 @@ public class Client {
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
         public Reference getReference(String id) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-            Reference.Builder responseBuilder = Reference.newBuilder();
-            new Get<>(urls.getUrlRoot(), urls.getReference(), id, null, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return getReferenceResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getReference(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link Reference} to get
+         * @return the {@link Reference}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<Reference> getReferenceResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getReference(), id, Reference.newBuilder())
+                    .map(Reference.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getReference(String)}.
+         *
+         * @param id the ID of the {@link Reference} to get
+         * @return a future completing with the {@link Reference}
+         */
+        public CompletableFuture<Reference> getReferenceAsync(String id) {
+            return getAsync(urls.getReference(), id, Reference.newBuilder())
+                    .thenApply(Reference.Builder::build);
         }
 
         /**
@@ -485,9 +1268,32 @@ public class Client {
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
         public ListReferenceBasesResponse getReferenceBases(ListReferenceBasesRequest request) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-            ListReferenceBasesResponse.Builder responseBuilder = ListReferenceBasesResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), urls.getSearchReferenceBases(), request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return getReferenceBasesResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getReferenceBases(ListReferenceBasesRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link ListReferenceBasesRequest} we'll issue
+         * @return the {@link ListReferenceBasesResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<ListReferenceBasesResponse> getReferenceBasesResult(ListReferenceBasesRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchReferenceBases(), request, ListReferenceBasesResponse.newBuilder())
+                    .map(ListReferenceBasesResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getReferenceBases(ListReferenceBasesRequest)}.
+         *
+         * @param request the {@link ListReferenceBasesRequest} we'll issue
+         * @return a future completing with the {@link ListReferenceBasesResponse}
+         */
+        public CompletableFuture<ListReferenceBasesResponse> getReferenceBasesAsync(ListReferenceBasesRequest request) {
+            return postAsync(urls.getSearchReferenceBases(), request, ListReferenceBasesResponse.newBuilder())
+                    .thenApply(ListReferenceBasesResponse.Builder::build);
         }
     }
 
@@ -496,56 +1302,309 @@ public class Client {
      */
     public class SequenceAnnotations {
         public SearchFeatureSetsResponse searchFeatureSets(SearchFeatureSetsRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getSearchFeatureSets();
-            SearchFeatureSetsResponse.Builder responseBuilder = SearchFeatureSetsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return searchFeatureSetsResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchFeatureSets(SearchFeatureSetsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchFeatureSetsRequest} we'll issue
+         * @return the {@link SearchFeatureSetsResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchFeatureSetsResponse> searchFeatureSetsResult(SearchFeatureSetsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchFeatureSets(), request, SearchFeatureSetsResponse.newBuilder())
+                    .map(SearchFeatureSetsResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchFeatureSets(SearchFeatureSetsRequest)}.
+         *
+         * @param request the {@link SearchFeatureSetsRequest} we'll issue
+         * @return a future completing with the {@link SearchFeatureSetsResponse}
+         */
+        public CompletableFuture<SearchFeatureSetsResponse> searchFeatureSetsAsync(SearchFeatureSetsRequest request) {
+            return postAsync(urls.getSearchFeatureSets(), request, SearchFeatureSetsResponse.newBuilder())
+                    .thenApply(SearchFeatureSetsResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link FeatureSet} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchFeatureSetsAsync(SearchFeatureSetsRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchFeatureSetsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<FeatureSet> streamFeatureSets(SearchFeatureSetsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchFeatureSetsAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchFeatureSetsResponse::getFeatureSetsList,
+                                 SearchFeatureSetsResponse::getNextPageToken);
         }
 
 
         public FeatureSet getFeatureSet(String id) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-            String path = urls.getGetFeatureSet();
-            FeatureSet.Builder builder = FeatureSet.newBuilder();
-            new Get<>(urls.getUrlRoot(), path, id, null, builder, wireTracker).performQuery();
-            return builder.build();
+            return getFeatureSetResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getFeatureSet(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link FeatureSet} to get
+         * @return the {@link FeatureSet}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<FeatureSet> getFeatureSetResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getGetFeatureSet(), id, FeatureSet.newBuilder())
+                    .map(FeatureSet.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getFeatureSet(String)}.
+         *
+         * @param id the ID of the {@link FeatureSet} to get
+         * @return a future completing with the {@link FeatureSet}
+         */
+        public CompletableFuture<FeatureSet> getFeatureSetAsync(String id) {
+            return getAsync(urls.getGetFeatureSet(), id, FeatureSet.newBuilder())
+                    .thenApply(FeatureSet.Builder::build);
         }
 
         public SearchFeaturesResponse searchFeatures(SequenceAnnotationServiceOuterClass.SearchFeaturesRequest request)
                 throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getSearchFeatures();
-            SearchFeaturesResponse.Builder responseBuilder = SearchFeaturesResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return searchFeaturesResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchFeatures(SequenceAnnotationServiceOuterClass.SearchFeaturesRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SequenceAnnotationServiceOuterClass.SearchFeaturesRequest} we'll issue
+         * @return the {@link SearchFeaturesResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchFeaturesResponse> searchFeaturesResult(SequenceAnnotationServiceOuterClass.SearchFeaturesRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchFeatures(), request, SearchFeaturesResponse.newBuilder())
+                    .map(SearchFeaturesResponse.Builder::build);
+        }
+
+        /**
+         * Like {@link #searchFeatures(SequenceAnnotationServiceOuterClass.SearchFeaturesRequest)}, but each {@link Feature} is handed to <tt>onFeature</tt>
+         * as soon as it's parsed, instead of being added to the response, so only one is held in memory
+         * at a time. <tt>onFeature</tt> is called on the calling thread, in order; if it throws, the search
+         * stops and the exception is thrown from here.
+         *
+         * @param request the {@link SequenceAnnotationServiceOuterClass.SearchFeaturesRequest} we'll issue
+         * @param onFeature told of each {@link Feature} in the page
+         * @return the {@link SearchFeaturesResponse}, without its features
+         * @throws GAWrapperException if the server finds the request invalid in some way
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the response from the server
+         */
+        public SearchFeaturesResponse searchFeatures(SequenceAnnotationServiceOuterClass.SearchFeaturesRequest request, Consumer<? super Feature> onFeature)
+                throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
+            return searchFeaturesResult(request, onFeature).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchFeatures(SequenceAnnotationServiceOuterClass.SearchFeaturesRequest, Consumer)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SequenceAnnotationServiceOuterClass.SearchFeaturesRequest} we'll issue
+         * @param onFeature told of each {@link Feature} in the page
+         * @return the {@link SearchFeaturesResponse} without its features, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the response from the server
+         */
+        public Result<SearchFeaturesResponse> searchFeaturesResult(SequenceAnnotationServiceOuterClass.SearchFeaturesRequest request, Consumer<? super Feature> onFeature)
+                throws InvalidProtocolBufferException, UnirestException {
+            return postStreaming(urls.getSearchFeatures(), request, SearchFeaturesResponse.newBuilder(),
+                                 SearchFeaturesResponse.FEATURES_FIELD_NUMBER, Feature.class, onFeature)
+                    .map(SearchFeaturesResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchFeatures(SequenceAnnotationServiceOuterClass.SearchFeaturesRequest)}.
+         *
+         * @param request the {@link SequenceAnnotationServiceOuterClass.SearchFeaturesRequest} we'll issue
+         * @return a future completing with the {@link SearchFeaturesResponse}
+         */
+        public CompletableFuture<SearchFeaturesResponse> searchFeaturesAsync(SequenceAnnotationServiceOuterClass.SearchFeaturesRequest request) {
+            return postAsync(urls.getSearchFeatures(), request, SearchFeaturesResponse.newBuilder())
+                    .thenApply(SearchFeaturesResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link Feature} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchFeaturesAsync(SequenceAnnotationServiceOuterClass.SearchFeaturesRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SequenceAnnotationServiceOuterClass.SearchFeaturesRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<Feature> streamFeatures(SequenceAnnotationServiceOuterClass.SearchFeaturesRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchFeaturesAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchFeaturesResponse::getFeaturesList,
+                                 SearchFeaturesResponse::getNextPageToken);
         }
 
         public Feature getFeature(String id) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getGetFeature();
-            Feature.Builder builder = Feature.newBuilder();
-            new Get<>(urls.getUrlRoot(), path, id, null, builder, wireTracker).performQuery();
-            return builder.build();
+            return getFeatureResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getFeature(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link Feature} to get
+         * @return the {@link Feature}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<Feature> getFeatureResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getGetFeature(), id, Feature.newBuilder())
+                    .map(Feature.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getFeature(String)}.
+         *
+         * @param id the ID of the {@link Feature} to get
+         * @return a future completing with the {@link Feature}
+         */
+        public CompletableFuture<Feature> getFeatureAsync(String id) {
+            return getAsync(urls.getGetFeature(), id, Feature.newBuilder())
+                    .thenApply(Feature.Builder::build);
         }
 
         public SearchContinuousSetsResponse searchContinuousSets(SearchContinuousSetsRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getSearchContinuousSets();
-            SearchContinuousSetsResponse.Builder responseBuilder = SearchContinuousSetsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return searchContinuousSetsResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchContinuousSets(SearchContinuousSetsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchContinuousSetsRequest} we'll issue
+         * @return the {@link SearchContinuousSetsResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchContinuousSetsResponse> searchContinuousSetsResult(SearchContinuousSetsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchContinuousSets(), request, SearchContinuousSetsResponse.newBuilder())
+                    .map(SearchContinuousSetsResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchContinuousSets(SearchContinuousSetsRequest)}.
+         *
+         * @param request the {@link SearchContinuousSetsRequest} we'll issue
+         * @return a future completing with the {@link SearchContinuousSetsResponse}
+         */
+        public CompletableFuture<SearchContinuousSetsResponse> searchContinuousSetsAsync(SearchContinuousSetsRequest request) {
+            return postAsync(urls.getSearchContinuousSets(), request, SearchContinuousSetsResponse.newBuilder())
+                    .thenApply(SearchContinuousSetsResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link ContinuousSet} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchContinuousSetsAsync(SearchContinuousSetsRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchContinuousSetsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<ContinuousSet> streamContinuousSets(SearchContinuousSetsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchContinuousSetsAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchContinuousSetsResponse::getContinuousSetsList,
+                                 SearchContinuousSetsResponse::getNextPageToken);
         }
 
 
         public ContinuousSet getContinuousSet(String id) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-            String path = urls.getGetContinuousSet();
-            ContinuousSet.Builder builder = ContinuousSet.newBuilder();
-            new Get<>(urls.getUrlRoot(), path, id, null, builder, wireTracker).performQuery();
-            return builder.build();
+            return getContinuousSetResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getContinuousSet(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link ContinuousSet} to get
+         * @return the {@link ContinuousSet}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<ContinuousSet> getContinuousSetResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getGetContinuousSet(), id, ContinuousSet.newBuilder())
+                    .map(ContinuousSet.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getContinuousSet(String)}.
+         *
+         * @param id the ID of the {@link ContinuousSet} to get
+         * @return a future completing with the {@link ContinuousSet}
+         */
+        public CompletableFuture<ContinuousSet> getContinuousSetAsync(String id) {
+            return getAsync(urls.getGetContinuousSet(), id, ContinuousSet.newBuilder())
+                    .thenApply(ContinuousSet.Builder::build);
         }
 
         public SearchContinuousResponse searchContinuous(SequenceAnnotationServiceOuterClass.SearchContinuousRequest request)
                 throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getSearchContinuous();
-            SearchContinuousResponse.Builder responseBuilder = SearchContinuousResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return searchContinuousResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchContinuous(SequenceAnnotationServiceOuterClass.SearchContinuousRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SequenceAnnotationServiceOuterClass.SearchContinuousRequest} we'll issue
+         * @return the {@link SearchContinuousResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchContinuousResponse> searchContinuousResult(SequenceAnnotationServiceOuterClass.SearchContinuousRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchContinuous(), request, SearchContinuousResponse.newBuilder())
+                    .map(SearchContinuousResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchContinuous(SequenceAnnotationServiceOuterClass.SearchContinuousRequest)}.
+         *
+         * @param request the {@link SequenceAnnotationServiceOuterClass.SearchContinuousRequest} we'll issue
+         * @return a future completing with the {@link SearchContinuousResponse}
+         */
+        public CompletableFuture<SearchContinuousResponse> searchContinuousAsync(SequenceAnnotationServiceOuterClass.SearchContinuousRequest request) {
+            return postAsync(urls.getSearchContinuous(), request, SearchContinuousResponse.newBuilder())
+                    .thenApply(SearchContinuousResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link Continuous} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchContinuousAsync(SequenceAnnotationServiceOuterClass.SearchContinuousRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SequenceAnnotationServiceOuterClass.SearchContinuousRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<Continuous> streamContinuous(SequenceAnnotationServiceOuterClass.SearchContinuousRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchContinuousAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchContinuousResponse::getContinuousList,
+                                 SearchContinuousResponse::getNextPageToken);
         }
 
     }
@@ -564,56 +1623,176 @@ public class Client {
          * @throws UnirestException if there's a problem speaking HTTP to the server
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
-        public SearchBiosamplesResponse searchBiosamples(SearchBiosamplesRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getSearchBiosamples();
-            SearchBiosamplesResponse.Builder responseBuilder = SearchBiosamplesResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+        public SearchBiosamplesResponse searchBiosamples(SearchBiosamplesRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
+            return searchBiosamplesResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchBiosamples(SearchBiosamplesRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchBiosamplesRequest} we'll issue
+         * @return the {@link SearchBiosamplesResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchBiosamplesResponse> searchBiosamplesResult(SearchBiosamplesRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchBiosamples(), request, SearchBiosamplesResponse.newBuilder())
+                    .map(SearchBiosamplesResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchBiosamples(SearchBiosamplesRequest)}.
+         *
+         * @param request the {@link SearchBiosamplesRequest} we'll issue
+         * @return a future completing with the {@link SearchBiosamplesResponse}
+         */
+        public CompletableFuture<SearchBiosamplesResponse> searchBiosamplesAsync(SearchBiosamplesRequest request) {
+            return postAsync(urls.getSearchBiosamples(), request, SearchBiosamplesResponse.newBuilder())
+                    .thenApply(SearchBiosamplesResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link Biosample} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchBiosamplesAsync(SearchBiosamplesRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchBiosamplesRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<Biosample> streamBiosamples(SearchBiosamplesRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchBiosamplesAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchBiosamplesResponse::getBiosamplesList,
+                                 SearchBiosamplesResponse::getNextPageToken);
+        }
+
+        /**
+         * Get a biosample by ID by getting the /biosamples/id endpoint
+         * @param id
+         * @return Biosample
+         * @throws GAWrapperException if the server finds the request invalid in some way
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Biosample getBiosample(String id) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
+            return getBiosampleResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getBiosample(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link Biosample} to get
+         * @return the {@link Biosample}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<Biosample> getBiosampleResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getGetBiosample(), id, Biosample.newBuilder())
+                    .map(Biosample.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getBiosample(String)}.
+         *
+         * @param id the ID of the {@link Biosample} to get
+         * @return a future completing with the {@link Biosample}
+         */
+        public CompletableFuture<Biosample> getBiosampleAsync(String id) {
+            return getAsync(urls.getGetBiosample(), id, Biosample.newBuilder())
+                    .thenApply(Biosample.Builder::build);
+        }
+
+        /**
+         * Searches individuals at the /individuals/search endpoint using the given request.
+         * @param request   A SearchIndividuals request
+         * @return SearchIndividualsResponse
+         * @throws GAWrapperException if the server finds the request invalid in some way
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public SearchIndividualsResponse searchIndividuals(SearchIndividualsRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
+            return searchIndividualsResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchIndividuals(SearchIndividualsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchIndividualsRequest} we'll issue
+         * @return the {@link SearchIndividualsResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchIndividualsResponse> searchIndividualsResult(SearchIndividualsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchIndividuals(), request, SearchIndividualsResponse.newBuilder())
+                    .map(SearchIndividualsResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchIndividuals(SearchIndividualsRequest)}.
+         *
+         * @param request the {@link SearchIndividualsRequest} we'll issue
+         * @return a future completing with the {@link SearchIndividualsResponse}
+         */
+        public CompletableFuture<SearchIndividualsResponse> searchIndividualsAsync(SearchIndividualsRequest request) {
+            return postAsync(urls.getSearchIndividuals(), request, SearchIndividualsResponse.newBuilder())
+                    .thenApply(SearchIndividualsResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link Individual} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchIndividualsAsync(SearchIndividualsRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchIndividualsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<Individual> streamIndividuals(SearchIndividualsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchIndividualsAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchIndividualsResponse::getIndividualsList,
+                                 SearchIndividualsResponse::getNextPageToken);
         }
 
         /**
-         * Get a biosample by ID by getting the /biosamples/id endpoint
+         * Get an individual by ID by getting the /biosamples/id endpoint
          * @param id
-         * @return Biosample
+         * @return Individual
          * @throws GAWrapperException if the server finds the request invalid in some way
          * @throws UnirestException if there's a problem speaking HTTP to the server
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
-        public Biosample getBiosample(String id) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getGetBiosample();
-            Biosample.Builder builder = Biosample.newBuilder();
-            new Get<>(urls.getUrlRoot(), path, id, null, builder, wireTracker).performQuery();
-            return builder.build();
+        public Individual getIndividual(String id) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
+            return getIndividualResult(id).get();
         }
 
         /**
-         * Searches individuals at the /individuals/search endpoint using the given request.
-         * @param request   A SearchIndividuals request
-         * @return SearchIndividualsResponse
-         * @throws GAWrapperException if the server finds the request invalid in some way
+         * Non-throwing version of {@link #getIndividual(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link Individual} to get
+         * @return the {@link Individual}, or the server's error
          * @throws UnirestException if there's a problem speaking HTTP to the server
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
-        public SearchIndividualsResponse searchIndividuals(SearchIndividualsRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getSearchIndividuals();
-            SearchIndividualsResponse.Builder responseBuilder = SearchIndividualsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+        public Result<Individual> getIndividualResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getGetIndividual(), id, Individual.newBuilder())
+                    .map(Individual.Builder::build);
         }
 
         /**
-         * Get an individual by ID by getting the /biosamples/id endpoint
-         * @param id
-         * @return Individual
-         * @throws GAWrapperException if the server finds the request invalid in some way
-         * @throws UnirestException if there's a problem speaking HTTP to the server
-         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         * Asynchronous version of {@link #getIndividual(String)}.
+         *
+         * @param id the ID of the {@link Individual} to get
+         * @return a future completing with the {@link Individual}
          */
-        public Individual getIndividual(String id) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getGetIndividual();
-            Individual.Builder builder = Individual.newBuilder();
-            new Get<>(urls.getUrlRoot(), path, id, null, builder, wireTracker).performQuery();
-            return builder.build();
+        public CompletableFuture<Individual> getIndividualAsync(String id) {
+            return getAsync(urls.getGetIndividual(), id, Individual.newBuilder())
+                    .thenApply(Individual.Builder::build);
         }
     }
 
@@ -630,10 +1809,48 @@ public class Client {
          */
         public SearchVariantAnnotationSetsResponse searchVariantAnnotationSets(SearchVariantAnnotationSetsRequest request)
                 throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getSearchVariantAnnotationSets();
-            SearchVariantAnnotationSetsResponse.Builder responseBuilder = SearchVariantAnnotationSetsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return searchVariantAnnotationSetsResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchVariantAnnotationSets(SearchVariantAnnotationSetsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchVariantAnnotationSetsRequest} we'll issue
+         * @return the {@link SearchVariantAnnotationSetsResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchVariantAnnotationSetsResponse> searchVariantAnnotationSetsResult(SearchVariantAnnotationSetsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchVariantAnnotationSets(), request, SearchVariantAnnotationSetsResponse.newBuilder())
+                    .map(SearchVariantAnnotationSetsResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchVariantAnnotationSets(SearchVariantAnnotationSetsRequest)}.
+         *
+         * @param request the {@link SearchVariantAnnotationSetsRequest} we'll issue
+         * @return a future completing with the {@link SearchVariantAnnotationSetsResponse}
+         */
+        public CompletableFuture<SearchVariantAnnotationSetsResponse> searchVariantAnnotationSetsAsync(SearchVariantAnnotationSetsRequest request) {
+            return postAsync(urls.getSearchVariantAnnotationSets(), request, SearchVariantAnnotationSetsResponse.newBuilder())
+                    .thenApply(SearchVariantAnnotationSetsResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link VariantAnnotationSet} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchVariantAnnotationSetsAsync(SearchVariantAnnotationSetsRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchVariantAnnotationSetsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<VariantAnnotationSet> streamVariantAnnotationSets(SearchVariantAnnotationSetsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchVariantAnnotationSetsAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchVariantAnnotationSetsResponse::getVariantAnnotationSetsList,
+                                 SearchVariantAnnotationSetsResponse::getNextPageToken);
         }
 
         /**
@@ -642,11 +1859,32 @@ public class Client {
          * @param id the ID of the variant annotation set
          */
         public VariantAnnotationSet getVariantAnnotationSet(String id) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getGetVariantAnnotationSet();
+            return getVariantAnnotationSetResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getVariantAnnotationSet(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link VariantAnnotationSet} to get
+         * @return the {@link VariantAnnotationSet}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<VariantAnnotationSet> getVariantAnnotationSetResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getGetVariantAnnotationSet(), id, VariantAnnotationSet.newBuilder())
+                    .map(VariantAnnotationSet.Builder::build);
+        }
 
-            VariantAnnotationSet.Builder builder = VariantAnnotationSet.newBuilder();
-            new Get<>(urls.getUrlRoot(), path, id, null, builder, wireTracker).performQuery();
-            return builder.build();
+        /**
+         * Asynchronous version of {@link #getVariantAnnotationSet(String)}.
+         *
+         * @param id the ID of the {@link VariantAnnotationSet} to get
+         * @return a future completing with the {@link VariantAnnotationSet}
+         */
+        public CompletableFuture<VariantAnnotationSet> getVariantAnnotationSetAsync(String id) {
+            return getAsync(urls.getGetVariantAnnotationSet(), id, VariantAnnotationSet.newBuilder())
+                    .thenApply(VariantAnnotationSet.Builder::build);
         }
 
         /**
@@ -657,10 +1895,48 @@ public class Client {
          */
         public SearchVariantAnnotationsResponse searchVariantAnnotations(SearchVariantAnnotationsRequest request)
                 throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getSearchVariantAnnotations();
-            SearchVariantAnnotationsResponse.Builder builder = SearchVariantAnnotationsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, builder, wireTracker).performQuery();
-            return builder.build();
+            return searchVariantAnnotationsResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchVariantAnnotations(SearchVariantAnnotationsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchVariantAnnotationsRequest} we'll issue
+         * @return the {@link SearchVariantAnnotationsResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchVariantAnnotationsResponse> searchVariantAnnotationsResult(SearchVariantAnnotationsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchVariantAnnotations(), request, SearchVariantAnnotationsResponse.newBuilder())
+                    .map(SearchVariantAnnotationsResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchVariantAnnotations(SearchVariantAnnotationsRequest)}.
+         *
+         * @param request the {@link SearchVariantAnnotationsRequest} we'll issue
+         * @return a future completing with the {@link SearchVariantAnnotationsResponse}
+         */
+        public CompletableFuture<SearchVariantAnnotationsResponse> searchVariantAnnotationsAsync(SearchVariantAnnotationsRequest request) {
+            return postAsync(urls.getSearchVariantAnnotations(), request, SearchVariantAnnotationsResponse.newBuilder())
+                    .thenApply(SearchVariantAnnotationsResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link VariantAnnotation} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchVariantAnnotationsAsync(SearchVariantAnnotationsRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchVariantAnnotationsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<VariantAnnotation> streamVariantAnnotations(SearchVariantAnnotationsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchVariantAnnotationsAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchVariantAnnotationsResponse::getVariantAnnotationsList,
+                                 SearchVariantAnnotationsResponse::getNextPageToken);
         }
 
     }
@@ -679,10 +1955,32 @@ public class Client {
          * @param id the rna quantification ID
          */
         public RnaQuantification getRnaQuantification(String id) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getGetRnaQuantification();
-            RnaQuantification.Builder builder = RnaQuantification.newBuilder();
-            new Get<>(urls.getUrlRoot(), path, id, null, builder, wireTracker).performQuery();
-            return builder.build();
+            return getRnaQuantificationResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getRnaQuantification(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link RnaQuantification} to get
+         * @return the {@link RnaQuantification}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<RnaQuantification> getRnaQuantificationResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getGetRnaQuantification(), id, RnaQuantification.newBuilder())
+                    .map(RnaQuantification.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getRnaQuantification(String)}.
+         *
+         * @param id the ID of the {@link RnaQuantification} to get
+         * @return a future completing with the {@link RnaQuantification}
+         */
+        public CompletableFuture<RnaQuantification> getRnaQuantificationAsync(String id) {
+            return getAsync(urls.getGetRnaQuantification(), id, RnaQuantification.newBuilder())
+                    .thenApply(RnaQuantification.Builder::build);
         }
 
         /**
@@ -692,10 +1990,32 @@ public class Client {
          * @param id the rna quantification set ID
          */
         public RnaQuantificationSet getRnaQuantificationSet(String id) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getGetRnaQuantificationSet();
-            RnaQuantificationSet.Builder builder = RnaQuantificationSet.newBuilder();
-            new Get<>(urls.getUrlRoot(), path, id, null, builder, wireTracker).performQuery();
-            return builder.build();
+            return getRnaQuantificationSetResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getRnaQuantificationSet(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link RnaQuantificationSet} to get
+         * @return the {@link RnaQuantificationSet}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<RnaQuantificationSet> getRnaQuantificationSetResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getGetRnaQuantificationSet(), id, RnaQuantificationSet.newBuilder())
+                    .map(RnaQuantificationSet.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getRnaQuantificationSet(String)}.
+         *
+         * @param id the ID of the {@link RnaQuantificationSet} to get
+         * @return a future completing with the {@link RnaQuantificationSet}
+         */
+        public CompletableFuture<RnaQuantificationSet> getRnaQuantificationSetAsync(String id) {
+            return getAsync(urls.getGetRnaQuantificationSet(), id, RnaQuantificationSet.newBuilder())
+                    .thenApply(RnaQuantificationSet.Builder::build);
         }
 
         /**
@@ -708,10 +2028,48 @@ public class Client {
          */
         public SearchExpressionLevelsResponse searchExpressionLevel(SearchExpressionLevelsRequest request)
                 throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getSearchExpressionLevel();
-            SearchExpressionLevelsResponse.Builder responseBuilder = SearchExpressionLevelsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return searchExpressionLevelResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchExpressionLevel(SearchExpressionLevelsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchExpressionLevelsRequest} we'll issue
+         * @return the {@link SearchExpressionLevelsResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchExpressionLevelsResponse> searchExpressionLevelResult(SearchExpressionLevelsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchExpressionLevel(), request, SearchExpressionLevelsResponse.newBuilder())
+                    .map(SearchExpressionLevelsResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchExpressionLevel(SearchExpressionLevelsRequest)}.
+         *
+         * @param request the {@link SearchExpressionLevelsRequest} we'll issue
+         * @return a future completing with the {@link SearchExpressionLevelsResponse}
+         */
+        public CompletableFuture<SearchExpressionLevelsResponse> searchExpressionLevelAsync(SearchExpressionLevelsRequest request) {
+            return postAsync(urls.getSearchExpressionLevel(), request, SearchExpressionLevelsResponse.newBuilder())
+                    .thenApply(SearchExpressionLevelsResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link ExpressionLevel} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchExpressionLevelAsync(SearchExpressionLevelsRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchExpressionLevelsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<ExpressionLevel> streamExpressionLevels(SearchExpressionLevelsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchExpressionLevelAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchExpressionLevelsResponse::getExpressionLevelsList,
+                                 SearchExpressionLevelsResponse::getNextPageToken);
         }
 
         /**
@@ -723,10 +2081,32 @@ public class Client {
          */
         public ExpressionLevel getExpressionLevel(String id)
                 throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getGetExpressionLevel();
-            ExpressionLevel.Builder builder = ExpressionLevel.newBuilder();
-            new Get<>(urls.getUrlRoot(), path, id, null, builder, wireTracker).performQuery();
-            return builder.build();
+            return getExpressionLevelResult(id).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getExpressionLevel(String)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param id the ID of the {@link ExpressionLevel} to get
+         * @return the {@link ExpressionLevel}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<ExpressionLevel> getExpressionLevelResult(String id) throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getGetExpressionLevel(), id, ExpressionLevel.newBuilder())
+                    .map(ExpressionLevel.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getExpressionLevel(String)}.
+         *
+         * @param id the ID of the {@link ExpressionLevel} to get
+         * @return a future completing with the {@link ExpressionLevel}
+         */
+        public CompletableFuture<ExpressionLevel> getExpressionLevelAsync(String id) {
+            return getAsync(urls.getGetExpressionLevel(), id, ExpressionLevel.newBuilder())
+                    .thenApply(ExpressionLevel.Builder::build);
         }
 
         /**
@@ -739,10 +2119,48 @@ public class Client {
          */
         public SearchRnaQuantificationsResponse searchRnaQuantification(SearchRnaQuantificationsRequest request)
                 throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getSearchRnaQuantification();
-            SearchRnaQuantificationsResponse.Builder responseBuilder = SearchRnaQuantificationsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return searchRnaQuantificationResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchRnaQuantification(SearchRnaQuantificationsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchRnaQuantificationsRequest} we'll issue
+         * @return the {@link SearchRnaQuantificationsResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchRnaQuantificationsResponse> searchRnaQuantificationResult(SearchRnaQuantificationsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchRnaQuantification(), request, SearchRnaQuantificationsResponse.newBuilder())
+                    .map(SearchRnaQuantificationsResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchRnaQuantification(SearchRnaQuantificationsRequest)}.
+         *
+         * @param request the {@link SearchRnaQuantificationsRequest} we'll issue
+         * @return a future completing with the {@link SearchRnaQuantificationsResponse}
+         */
+        public CompletableFuture<SearchRnaQuantificationsResponse> searchRnaQuantificationAsync(SearchRnaQuantificationsRequest request) {
+            return postAsync(urls.getSearchRnaQuantification(), request, SearchRnaQuantificationsResponse.newBuilder())
+                    .thenApply(SearchRnaQuantificationsResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link RnaQuantification} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchRnaQuantificationAsync(SearchRnaQuantificationsRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchRnaQuantificationsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<RnaQuantification> streamRnaQuantifications(SearchRnaQuantificationsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchRnaQuantificationAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchRnaQuantificationsResponse::getRnaQuantificationsList,
+                                 SearchRnaQuantificationsResponse::getNextPageToken);
         }
 
         /**
@@ -755,10 +2173,48 @@ public class Client {
          */
         public SearchRnaQuantificationSetsResponse searchRnaQuantificationSets(SearchRnaQuantificationSetsRequest request)
                 throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getSearchRnaQuantificationSets();
-            SearchRnaQuantificationSetsResponse.Builder responseBuilder = SearchRnaQuantificationSetsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return searchRnaQuantificationSetsResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchRnaQuantificationSets(SearchRnaQuantificationSetsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchRnaQuantificationSetsRequest} we'll issue
+         * @return the {@link SearchRnaQuantificationSetsResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchRnaQuantificationSetsResponse> searchRnaQuantificationSetsResult(SearchRnaQuantificationSetsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchRnaQuantificationSets(), request, SearchRnaQuantificationSetsResponse.newBuilder())
+                    .map(SearchRnaQuantificationSetsResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchRnaQuantificationSets(SearchRnaQuantificationSetsRequest)}.
+         *
+         * @param request the {@link SearchRnaQuantificationSetsRequest} we'll issue
+         * @return a future completing with the {@link SearchRnaQuantificationSetsResponse}
+         */
+        public CompletableFuture<SearchRnaQuantificationSetsResponse> searchRnaQuantificationSetsAsync(SearchRnaQuantificationSetsRequest request) {
+            return postAsync(urls.getSearchRnaQuantificationSets(), request, SearchRnaQuantificationSetsResponse.newBuilder())
+                    .thenApply(SearchRnaQuantificationSetsResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link RnaQuantificationSet} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchRnaQuantificationSetsAsync(SearchRnaQuantificationSetsRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchRnaQuantificationSetsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<RnaQuantificationSet> streamRnaQuantificationSets(SearchRnaQuantificationSetsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchRnaQuantificationSetsAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchRnaQuantificationSetsResponse::getRnaQuantificationSetsList,
+                                 SearchRnaQuantificationSetsResponse::getNextPageToken);
         }
     }
 
@@ -777,11 +2233,48 @@ public class Client {
          * @param request the {@link SearchPhenotypesRequest} we'll issue
          */
         public SearchPhenotypesResponse searchPhenotypes(SearchPhenotypesRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getSearchPhenotypes();
-            assert( path != null );
-            SearchPhenotypesResponse.Builder builder = SearchPhenotypesResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, builder, wireTracker).performQuery();
-            return builder.build();
+            return searchPhenotypesResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchPhenotypes(SearchPhenotypesRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchPhenotypesRequest} we'll issue
+         * @return the {@link SearchPhenotypesResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchPhenotypesResponse> searchPhenotypesResult(SearchPhenotypesRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchPhenotypes(), request, SearchPhenotypesResponse.newBuilder())
+                    .map(SearchPhenotypesResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchPhenotypes(SearchPhenotypesRequest)}.
+         *
+         * @param request the {@link SearchPhenotypesRequest} we'll issue
+         * @return a future completing with the {@link SearchPhenotypesResponse}
+         */
+        public CompletableFuture<SearchPhenotypesResponse> searchPhenotypesAsync(SearchPhenotypesRequest request) {
+            return postAsync(urls.getSearchPhenotypes(), request, SearchPhenotypesResponse.newBuilder())
+                    .thenApply(SearchPhenotypesResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link ga4gh.GenotypePhenotype.PhenotypeInstance} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchPhenotypesAsync(SearchPhenotypesRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchPhenotypesRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<ga4gh.GenotypePhenotype.PhenotypeInstance> streamPhenotypes(SearchPhenotypesRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchPhenotypesAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchPhenotypesResponse::getPhenotypesList,
+                                 SearchPhenotypesResponse::getNextPageToken);
         }
 
         /**
@@ -791,11 +2284,48 @@ public class Client {
          * @param request the {@link SearchGenotypePhenotypeRequest} we'll issue
          */
         public SearchGenotypePhenotypeResponse searchGenotypePhenotypes(SearchGenotypePhenotypeRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getSearchGenotypePhenotype();
-            assert( path != null );
-            SearchGenotypePhenotypeResponse.Builder builder = SearchGenotypePhenotypeResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, builder, wireTracker).performQuery();
-            return builder.build();
+            return searchGenotypePhenotypesResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchGenotypePhenotypes(SearchGenotypePhenotypeRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchGenotypePhenotypeRequest} we'll issue
+         * @return the {@link SearchGenotypePhenotypeResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchGenotypePhenotypeResponse> searchGenotypePhenotypesResult(SearchGenotypePhenotypeRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchGenotypePhenotype(), request, SearchGenotypePhenotypeResponse.newBuilder())
+                    .map(SearchGenotypePhenotypeResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchGenotypePhenotypes(SearchGenotypePhenotypeRequest)}.
+         *
+         * @param request the {@link SearchGenotypePhenotypeRequest} we'll issue
+         * @return a future completing with the {@link SearchGenotypePhenotypeResponse}
+         */
+        public CompletableFuture<SearchGenotypePhenotypeResponse> searchGenotypePhenotypesAsync(SearchGenotypePhenotypeRequest request) {
+            return postAsync(urls.getSearchGenotypePhenotype(), request, SearchGenotypePhenotypeResponse.newBuilder())
+                    .thenApply(SearchGenotypePhenotypeResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link ga4gh.GenotypePhenotype.FeaturePhenotypeAssociation} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchGenotypePhenotypesAsync(SearchGenotypePhenotypeRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchGenotypePhenotypeRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<ga4gh.GenotypePhenotype.FeaturePhenotypeAssociation> streamGenotypePhenotypes(SearchGenotypePhenotypeRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchGenotypePhenotypesAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchGenotypePhenotypeResponse::getAssociationsList,
+                                 SearchGenotypePhenotypeResponse::getNextPageToken);
         }
 
         /**
@@ -805,11 +2335,48 @@ public class Client {
          * @param request the {@link SearchPhenotypeAssociationSetsRequest} we'll issue
          */
         public SearchPhenotypeAssociationSetsResponse searchPhenotypeAssociationSets(SearchPhenotypeAssociationSetsRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getSearchPhenotypeAssociationSets();
-            assert( path != null );
-            SearchPhenotypeAssociationSetsResponse.Builder builder = SearchPhenotypeAssociationSetsResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, builder, wireTracker).performQuery();
-            return builder.build();
+            return searchPhenotypeAssociationSetsResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #searchPhenotypeAssociationSets(SearchPhenotypeAssociationSetsRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link SearchPhenotypeAssociationSetsRequest} we'll issue
+         * @return the {@link SearchPhenotypeAssociationSetsResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<SearchPhenotypeAssociationSetsResponse> searchPhenotypeAssociationSetsResult(SearchPhenotypeAssociationSetsRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getSearchPhenotypeAssociationSets(), request, SearchPhenotypeAssociationSetsResponse.newBuilder())
+                    .map(SearchPhenotypeAssociationSetsResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #searchPhenotypeAssociationSets(SearchPhenotypeAssociationSetsRequest)}.
+         *
+         * @param request the {@link SearchPhenotypeAssociationSetsRequest} we'll issue
+         * @return a future completing with the {@link SearchPhenotypeAssociationSetsResponse}
+         */
+        public CompletableFuture<SearchPhenotypeAssociationSetsResponse> searchPhenotypeAssociationSetsAsync(SearchPhenotypeAssociationSetsRequest request) {
+            return postAsync(urls.getSearchPhenotypeAssociationSets(), request, SearchPhenotypeAssociationSetsResponse.newBuilder())
+                    .thenApply(SearchPhenotypeAssociationSetsResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link ga4gh.GenotypePhenotype.PhenotypeAssociationSet} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #searchPhenotypeAssociationSetsAsync(SearchPhenotypeAssociationSetsRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link SearchPhenotypeAssociationSetsRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<ga4gh.GenotypePhenotype.PhenotypeAssociationSet> streamPhenotypeAssociationSets(SearchPhenotypeAssociationSetsRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> searchPhenotypeAssociationSetsAsync(request.toBuilder().setPageToken(token).build()),
+                                 SearchPhenotypeAssociationSetsResponse::getPhenotypeAssociationSetsList,
+                                 SearchPhenotypeAssociationSetsResponse::getNextPageToken);
         }
     }
 
@@ -826,10 +2393,48 @@ public class Client {
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
         public ListPeersResponse listPeers(ListPeersRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getListPeers();
-            ListPeersResponse.Builder responseBuilder = ListPeersResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return listPeersResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #listPeers(ListPeersRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link ListPeersRequest} we'll issue
+         * @return the {@link ListPeersResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<ListPeersResponse> listPeersResult(ListPeersRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getListPeers(), request, ListPeersResponse.newBuilder())
+                    .map(ListPeersResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #listPeers(ListPeersRequest)}.
+         *
+         * @param request the {@link ListPeersRequest} we'll issue
+         * @return a future completing with the {@link ListPeersResponse}
+         */
+        public CompletableFuture<ListPeersResponse> listPeersAsync(ListPeersRequest request) {
+            return postAsync(urls.getListPeers(), request, ListPeersResponse.newBuilder())
+                    .thenApply(ListPeersResponse.Builder::build);
+        }
+
+        /**
+         * Lazily streams every {@link Peer} matching the search criteria, following
+         * <tt>nextPageToken</tt> until the last page. Each page is requested via
+         * {@link #listPeersAsync(ListPeersRequest)} as soon as the one before it arrives.
+         *
+         * @param request the {@link ListPeersRequest} to start from; its page token is replaced on later pages
+         * @return an ordered stream of the results
+         * @throws PagingException from the stream if fetching a page fails
+         */
+        public Stream<Peer> streamPeers(ListPeersRequest request) {
+            return Paging.stream(request.getPageToken(),
+                                 token -> listPeersAsync(request.toBuilder().setPageToken(token).build()),
+                                 ListPeersResponse::getPeersList,
+                                 ListPeersResponse::getNextPageToken);
         }
 
         /**
@@ -840,10 +2445,30 @@ public class Client {
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
         public GetInfoResponse getInfo() throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getInfo();
-            GetInfoResponse.Builder builder = GetInfoResponse.newBuilder();
-            new Get<>(urls.getUrlRoot(), path, null, null, builder, wireTracker).performQuery();
-            return builder.build();
+            return getInfoResult().get();
+        }
+
+        /**
+         * Non-throwing version of {@link #getInfo()}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @return the {@link GetInfoResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<GetInfoResponse> getInfoResult() throws InvalidProtocolBufferException, UnirestException {
+            return getResult(urls.getInfo(), null, GetInfoResponse.newBuilder())
+                    .map(GetInfoResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #getInfo()}.
+         *
+         * @return a future completing with the {@link GetInfoResponse}
+         */
+        public CompletableFuture<GetInfoResponse> getInfoAsync() {
+            return getAsync(urls.getInfo(), null, GetInfoResponse.newBuilder())
+                    .thenApply(GetInfoResponse.Builder::build);
         }
 
         /**
@@ -855,10 +2480,32 @@ public class Client {
          * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
          */
         public AnnouncePeerResponse announcePeer(AnnouncePeerRequest request) throws InvalidProtocolBufferException, GAWrapperException, UnirestException {
-            String path = urls.getAnnounce();
-            AnnouncePeerResponse.Builder responseBuilder = AnnouncePeerResponse.newBuilder();
-            new Post<>(urls.getUrlRoot(), path, request, responseBuilder, wireTracker).performQuery();
-            return responseBuilder.build();
+            return announcePeerResult(request).get();
+        }
+
+        /**
+         * Non-throwing version of {@link #announcePeer(AnnouncePeerRequest)}: an error from the server is
+         * returned in the {@link Result} rather than thrown.
+         *
+         * @param request the {@link AnnouncePeerRequest} we'll issue
+         * @return the {@link AnnouncePeerResponse}, or the server's error
+         * @throws UnirestException if there's a problem speaking HTTP to the server
+         * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+         */
+        public Result<AnnouncePeerResponse> announcePeerResult(AnnouncePeerRequest request) throws InvalidProtocolBufferException, UnirestException {
+            return postResult(urls.getAnnounce(), request, AnnouncePeerResponse.newBuilder())
+                    .map(AnnouncePeerResponse.Builder::build);
+        }
+
+        /**
+         * Asynchronous version of {@link #announcePeer(AnnouncePeerRequest)}.
+         *
+         * @param request the {@link AnnouncePeerRequest} we'll issue
+         * @return a future completing with the {@link AnnouncePeerResponse}
+         */
+        public CompletableFuture<AnnouncePeerResponse> announcePeerAsync(AnnouncePeerRequest request) {
+            return postAsync(urls.getAnnounce(), request, AnnouncePeerResponse.newBuilder())
+                    .thenApply(AnnouncePeerResponse.Builder::build);
         }
 
     }
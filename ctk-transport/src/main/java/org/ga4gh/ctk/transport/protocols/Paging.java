@@ -0,0 +1,119 @@
+package org.ga4gh.ctk.transport.protocols;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Turns a paged search endpoint into a lazy {@link Stream} of its results.</p>
+ * <p>Nothing is fetched until the stream is consumed. As soon as a page arrives the request
+ * for the following page is sent, so the next page is on its way while the caller works
+ * through the current one. Only the current page and the one in flight are held in memory.</p>
+ * <p>A failed fetch surfaces as a {@link PagingException} from the stream operation that
+ * needed the page. Closing the stream cancels any prefetch in flight.</p>
+ */
+public final class Paging {
+
+    /**
+     * You can't instantiate one of these.
+     */
+    private Paging() {
+    }
+
+    /**
+     * Stream every element of every page of a search.
+     *
+     * @param firstPageToken the page token to start from (usually empty)
+     * @param fetch          issues the search for the given page token
+     * @param elements       extracts the elements from a response page
+     * @param nextPageToken  extracts the next page token from a response page
+     * @param <R>            the search response type
+     * @param <E>            the element type
+     * @return a sequential, ordered stream of the elements
+     */
+    public static <R, E> Stream<E> stream(String firstPageToken,
+                                          Function<String, CompletableFuture<R>> fetch,
+                                          Function<R, List<E>> elements,
+                                          Function<R, String> nextPageToken) {
+        PageSpliterator<R, E> spliterator = new PageSpliterator<>(firstPageToken, fetch, elements, nextPageToken);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::cancel);
+    }
+
+    private static class PageSpliterator<R, E> extends Spliterators.AbstractSpliterator<E> {
+
+        private final Function<String, CompletableFuture<R>> fetch;
+
+        private final Function<R, List<E>> elements;
+
+        private final Function<R, String> nextPageToken;
+
+        private String firstPageToken;
+
+        /**
+         * The page being fetched, or null once the last page has been taken.
+         */
+        private CompletableFuture<R> nextPage;
+
+        private Iterator<E> current = Collections.emptyIterator();
+
+        PageSpliterator(String firstPageToken,
+                        Function<String, CompletableFuture<R>> fetch,
+                        Function<R, List<E>> elements,
+                        Function<R, String> nextPageToken) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.firstPageToken = firstPageToken == null ? "" : firstPageToken;
+            this.fetch = fetch;
+            this.elements = elements;
+            this.nextPageToken = nextPageToken;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (firstPageToken != null) {
+                nextPage = fetch.apply(firstPageToken);
+                firstPageToken = null;
+            }
+            while (!current.hasNext()) {
+                if (nextPage == null) {
+                    return false;
+                }
+                R page = await(nextPage);
+                String token = nextPageToken.apply(page);
+                // start on the next page before handing out this one
+                nextPage = (token == null || token.isEmpty()) ? null : fetch.apply(token);
+                current = elements.apply(page).iterator();
+            }
+            action.accept(current.next());
+            return true;
+        }
+
+        void cancel() {
+            if (nextPage != null) {
+                nextPage.cancel(false);
+                nextPage = null;
+            }
+        }
+
+        private R await(CompletableFuture<R> page) {
+            try {
+                return page.join();
+            } catch (CompletionException e) {
+                nextPage = null;
+                throw new PagingException(e.getCause() != null ? e.getCause() : e);
+            } catch (CancellationException e) {
+                // e.g. by the transport, when the request was aborted
+                nextPage = null;
+                throw new PagingException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.ga4gh.ctk.transport.protocols;
+
+/**
+ * <p>Thrown while consuming one of the {@link Client}'s auto-paging streams, when fetching a
+ * page fails.</p>
+ * <p>A {@link java.util.stream.Stream} can't throw checked exceptions, so the original
+ * {@link org.ga4gh.ctk.transport.GAWrapperException},
+ * {@link com.google.protobuf.InvalidProtocolBufferException} or
+ * {@link com.mashape.unirest.http.exceptions.UnirestException} is carried as the cause.</p>
+ */
+public class PagingException extends RuntimeException {
+
+    /**
+     * Wrap the failure of a page fetch.
+     *
+     * @param cause what went wrong fetching the page
+     */
+    public PagingException(Throwable cause) {
+        super(cause.getMessage(), cause);
+    }
+}
@@ -18,10 +18,10 @@
  * the messages defined in the IDL and presents a pure Java interface
  * for test classes to use.  Most such methods take a single Request object and return
  * a single Response object; some take a simple parameter (e.g. a {@link java.lang.String} instead
- * of a Request object.  Each endpoint method also has an overloaded version which
- * takes an additional WireTracker object the test can supply. If present,
- * the WireTracker captures the details of the wire communications such as actual JSON
- * strings, response code, timing.</p>
+ * of a Request object.  A client can be given a WireTracker, which keeps
+ * the details of its latest wire communication such as actual JSON
+ * strings, response code, timing; or WireListeners, which are given every
+ * exchange as an immutable WireExchange, so a client can be shared between threads.</p>
  *
  * <p>Created by Wayne Stidolph on 6/9/2015.</p>
  */
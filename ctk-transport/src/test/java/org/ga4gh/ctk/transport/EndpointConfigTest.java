@@ -0,0 +1,98 @@
+package org.ga4gh.ctk.transport;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link EndpointConfig} and the {@link EndpointSnapshot}s {@link URLMAPPINGImpl} reads.
+ */
+public class EndpointConfigTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void resourcesAreResolvedOnce() {
+        assertSame(new URLMAPPINGImpl().getSnapshot(), new URLMAPPINGImpl().getSnapshot());
+        assertSame(EndpointConfig.get(""), EndpointConfig.get(EndpointConfig.DEFAULT_RESOURCE));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void endpointsCantBeChangedInPlace() {
+        new URLMAPPINGImpl().getEndpoints().put("ctk.tgt.searchReads", "elsewhere");
+    }
+
+    @Test
+    public void settingsStayWithTheirInstance() {
+        URLMAPPINGImpl changed = new URLMAPPINGImpl();
+        changed.setSearchReads("elsewhere/search");
+        assertEquals("elsewhere/search", changed.getSearchReads());
+        assertEquals("reads/search", new URLMAPPINGImpl().getSearchReads());
+    }
+
+    @Test
+    public void reloadsKeepInstanceSettings() throws IOException {
+        Path file = write("reads/v1");
+        URLMAPPINGImpl urls = new URLMAPPINGImpl();
+        urls.doInit(file.toString());
+        urls.setUrlRoot("http://override:8000");
+        assertEquals("reads/v1", urls.getSearchReads());
+
+        write("reads/v2");
+        EndpointConfig.reload(file.toString());
+        assertEquals("reads/v2", urls.getSearchReads());
+        assertEquals("http://override:8000", urls.getUrlRoot());
+    }
+
+    @Test
+    public void unchangedReloadsKeepTheSnapshot() throws IOException {
+        Path file = write("reads/v1");
+        EndpointSnapshot loaded = EndpointConfig.get(file.toString());
+        assertSame(loaded, EndpointConfig.reload(file.toString()));
+    }
+
+    @Test
+    public void replacedEndpointsDontFollowReloads() throws IOException {
+        Path file = write("reads/v1");
+        URLMAPPINGImpl urls = new URLMAPPINGImpl();
+        urls.doInit(file.toString());
+        urls.setEndpoints(EndpointConfig.get(file.toString()).with("ctk.tgt.searchVariants", "v/search").getEndpoints());
+
+        write("reads/v2");
+        EndpointConfig.reload(file.toString());
+        assertEquals("reads/v1", urls.getSearchReads());
+        assertEquals("v/search", urls.getSearchVariants());
+    }
+
+    @Test
+    public void watchedFilesAreReloaded() throws Exception {
+        Path file = write("reads/v1");
+        URLMAPPINGImpl urls = new URLMAPPINGImpl();
+        urls.doInit(file.toString());
+        try (Closeable watch = EndpointConfig.watch(file.toString())) {
+            assertSame(watch, EndpointConfig.watch(file.toString()));
+            write("reads/v2");
+            long deadline = System.currentTimeMillis() + 30000;
+            while (!"reads/v2".equals(urls.getSearchReads()) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals("reads/v2", urls.getSearchReads());
+        }
+    }
+
+    private Path write(String searchReads) throws IOException {
+        Path file = tmp.getRoot().toPath().resolve("endpoints.properties");
+        Files.write(file, ("ctk.tgt.searchReads=" + searchReads + "\n").getBytes(StandardCharsets.ISO_8859_1));
+        return file;
+    }
+}
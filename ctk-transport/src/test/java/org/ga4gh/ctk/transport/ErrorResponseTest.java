@@ -0,0 +1,86 @@
+package org.ga4gh.ctk.transport;
+
+import ga4gh.Common.GAException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link ErrorResponse} and its use by {@link GAWrapperException} and {@link WireTracker}.
+ */
+public class ErrorResponseTest {
+
+    private static final String BODY = "{\"message\": \"no such dataset\", \"errorCode\": 1234}";
+
+    @Test
+    public void parsesAGAException() {
+        ErrorResponse error = ErrorResponse.parse(404, BODY);
+        assertTrue(error.isParseable());
+        assertEquals(404, error.getHttpStatus());
+        assertEquals(1234, error.getErrorCode());
+        assertEquals("no such dataset", error.getMessage());
+        assertSame(BODY, error.getBody());
+    }
+
+    @Test
+    public void keepsABodyThatIsNotAGAException() {
+        ErrorResponse error = ErrorResponse.parse(500, "<html>Internal Server Error</html>");
+        assertFalse(error.isParseable());
+        assertNull(error.getGae());
+        assertEquals(-1, error.getErrorCode());
+        assertEquals("<html>Internal Server Error</html>", error.getMessage());
+    }
+
+    @Test
+    public void theTrackerSharesTheExchangesError() {
+        ErrorResponse error = ErrorResponse.parse(404, BODY);
+        WireTracker tracker = new WireTracker();
+        tracker.exchanged(new WireExchange("http://host/datasets/{id}", null, null, 0, 404, WireFormat.JSON,
+                BODY, BODY.length(), new WireTimings(), error));
+
+        assertSame(error, tracker.getError());
+        assertSame(error.getGae(), tracker.getGae());
+        assertTrue(tracker.gotParseableGAE());
+        assertEquals(1234, tracker.getErrorCode());
+        assertEquals("no such dataset", tracker.getMessage());
+    }
+
+    @Test
+    public void theTrackerParsesAHandSetBodyOnce() {
+        WireTracker tracker = new WireTracker();
+        tracker.setResponseStatus(RespCode.BAD_REQUEST);
+        tracker.bodyReceived = BODY;
+        ErrorResponse error = tracker.getError();
+        assertEquals(1234, error.getErrorCode());
+        assertSame(error, tracker.getError());
+
+        tracker.bodyReceived = "{\"message\": \"bad\", \"errorCode\": 1}";
+        assertEquals("bad", tracker.getMessage());
+
+        tracker.setResponseStatus(RespCode.OK);
+        assertNull(tracker.getGae());
+        assertFalse(tracker.gotParseableGAE());
+    }
+
+    @Test
+    public void expectedFailuresHaveNoStackTrace() throws Throwable {
+        GAException gae = GAException.newBuilder().setMessage("synthetic").build();
+        assertTrue(new GAWrapperException(gae, 404).getStackTrace().length > 0);
+        try {
+            GAWrapperException.withoutStackTrace(() -> {
+                throw new GAWrapperException(gae, 404);
+            });
+            fail("expected a GAWrapperException");
+        } catch (GAWrapperException e) {
+            assertEquals(0, e.getStackTrace().length);
+            assertEquals("synthetic", e.getMessage());
+            assertEquals(404, e.getHttpStatusCode());
+        }
+        assertTrue(new GAWrapperException(gae, 404).getStackTrace().length > 0);
+    }
+}
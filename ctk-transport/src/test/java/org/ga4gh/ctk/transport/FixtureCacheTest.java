@@ -0,0 +1,77 @@
+package org.ga4gh.ctk.transport;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link FixtureCache}.
+ */
+public class FixtureCacheTest {
+
+    @Test
+    public void concurrentRequestsLoadTheValueOnce() throws Exception {
+        FixtureCache cache = new FixtureCache();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> cache.get("k", () -> {
+                    loads.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "v";
+                })));
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("v", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getLoads());
+        assertEquals(7, cache.getHits());
+    }
+
+    @Test
+    public void failuresAreNotCached() throws Exception {
+        FixtureCache cache = new FixtureCache();
+        IOException failure = new IOException("server down");
+        try {
+            cache.get("k", () -> {
+                throw failure;
+            });
+            fail("expected the loader's exception");
+        } catch (IOException e) {
+            assertSame(failure, e);
+        }
+        assertEquals("v", cache.get("k", () -> "v"));
+        assertEquals(2, cache.getLoads());
+    }
+
+    @Test
+    public void eachRunHasItsOwnCache() throws Exception {
+        RunContext run = new RunContext(Collections.emptyMap());
+        FixtureCache inRun = run.call(FixtureCache::current);
+        assertSame(run.getFixtures(), inRun);
+        assertNotSame(FixtureCache.current(), inRun);
+        assertEquals("http://a/|ds|readGroupId|x|y", FixtureCache.key("http://a/", "ds", "readGroupId", "x", "y"));
+    }
+}
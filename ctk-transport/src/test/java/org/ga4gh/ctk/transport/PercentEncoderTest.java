@@ -0,0 +1,117 @@
+package org.ga4gh.ctk.transport;
+
+import org.junit.Test;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link PercentEncoder}.
+ */
+public class PercentEncoderTest {
+
+    private static final String[] SAMPLES = {
+            "",
+            "WyJicmNhMSIsInJncyIsIkhHMDAwOTYiLCJTUlIwNjI2MzQiXQ",
+            "brca1:HG00096/SRR062634 [phase 3]",
+            "a+b=c&d#e%f?g",
+            " .-*_!$&'()+,;=~:@/?",
+            "caf\u00e9 \u00fcber \u20ac5",
+            "\ud83e\uddec genome",
+            "lone \ud800 surrogate \udc00",
+            "tab\tnew\nline\u007f"
+    };
+
+    @Test
+    public void formMatchesUrlEncoder() throws Exception {
+        for (String s : SAMPLES) {
+            assertEquals(s, URLEncoder.encode(s, "UTF-8"), PercentEncoder.FORM.encode(s));
+        }
+    }
+
+    @Test
+    public void pathSegmentWritesSpaceAsPercent20() throws Exception {
+        for (String s : SAMPLES) {
+            assertEquals(s, URLEncoder.encode(s, "UTF-8").replace("+", "%20"), PercentEncoder.PATH_SEGMENT.encode(s));
+        }
+    }
+
+    @Test
+    public void fragmentMatchesTheCharsetPath() throws Exception {
+        // an alias of UTF-8 which FragmentEncoder doesn't recognize, so it takes its general path
+        for (String s : SAMPLES) {
+            assertEquals(s, FragmentEncoder.encode(s, "unicode-1-1-utf-8"), PercentEncoder.FRAGMENT.encode(s));
+        }
+    }
+
+    @Test
+    public void decodingUndoesEncoding() throws Exception {
+        for (String s : SAMPLES) {
+            if (s.indexOf('\ud800') >= 0) {
+                continue; // unpaired surrogates are encoded as '?', so don't round trip
+            }
+            assertEquals(s, PercentEncoder.FORM.decode(PercentEncoder.FORM.encode(s)));
+            if (s.indexOf('+') < 0) {
+                // fragments keep a literal '+' but decode it as a space, as FragmentEncoder always has
+                assertEquals(s, PercentEncoder.FRAGMENT.decode(PercentEncoder.FRAGMENT.encode(s)));
+            }
+            assertEquals(s, PercentEncoder.PATH_SEGMENT.decode(PercentEncoder.PATH_SEGMENT.encode(s)));
+            assertEquals(s, URLDecoder.decode(PercentEncoder.FORM.encode(s), "UTF-8"));
+        }
+        assertEquals("a+b", PercentEncoder.PATH_SEGMENT.decode("a+b"));
+        assertEquals("a b", PercentEncoder.FORM.decode("a+b"));
+    }
+
+    @Test
+    public void malformedUtf8DecodesAsReplacementCharacters() throws Exception {
+        for (String s : new String[]{"%C3", "%C3x", "%C3%28", "%80", "%FF%41", "%F0%9F%A7", "%E0x%C3%80", "%F4x%C3%80"}) {
+            assertEquals(s, URLDecoder.decode(s, "UTF-8"), PercentEncoder.FORM.decode(s));
+        }
+        // overlong forms, surrogates and code points past U+10FFFF; JDKs differ in how many U+FFFDs they give
+        for (String s : new String[]{"%C0%AF", "%E0%80%AF", "%ED%A0%80", "%F4%90%80%80"}) {
+            String decoded = PercentEncoder.FORM.decode(s);
+            assertTrue(s, !decoded.isEmpty() && decoded.chars().allMatch(c -> c == '\ufffd'));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void incompleteEscapeIsRejected() {
+        PercentEncoder.FORM.decode("abc%4");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidEscapeIsRejected() {
+        PercentEncoder.FORM.decode("abc%4g");
+    }
+
+    @Test
+    public void unchangedStringsAreReturnedAsIs() {
+        String id = SAMPLES[1];
+        assertSame(id, PercentEncoder.PATH_SEGMENT.encode(id));
+        assertSame(id, PercentEncoder.FORM.decode(id));
+    }
+
+    @Test
+    public void encodesOntoTheEndOfBuffers() {
+        String s = SAMPLES[5];
+        StringBuilder out = new StringBuilder("prefix/");
+        assertEquals("prefix/" + PercentEncoder.FORM.encode(s), PercentEncoder.FORM.encode(s, out).toString());
+
+        ByteBuffer bytes = ByteBuffer.allocate(64);
+        PercentEncoder.FORM.encode(s, bytes).flip();
+        assertEquals(PercentEncoder.FORM.encode(s), StandardCharsets.US_ASCII.decode(bytes).toString());
+    }
+
+    @Test
+    public void routesEncodeTheIdInPlace() {
+        RouteTable.Route route = RouteTable.route("http://localhost:8000", "readgroupsets/{id}");
+        String id = SAMPLES[2];
+        assertEquals(route.expand(PercentEncoder.PATH_SEGMENT.encode(id)), route.expand(id, PercentEncoder.PATH_SEGMENT));
+    }
+}
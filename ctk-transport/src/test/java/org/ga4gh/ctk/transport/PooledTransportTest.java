@@ -0,0 +1,253 @@
+package org.ga4gh.ctk.transport;
+
+import com.google.common.io.ByteStreams;
+import com.google.protobuf.util.JsonFormat;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ga4gh.Metadata.Dataset;
+import ga4gh.MetadataServiceOuterClass.SearchDatasetsRequest;
+import ga4gh.MetadataServiceOuterClass.SearchDatasetsResponse;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.ga4gh.ctk.transport.protobuf.Post;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link PooledTransport}, against a server in the test's own process: connection
+ * reuse and the stats, timeouts, asynchronous requests, and the fallback to JSON when a
+ * server refuses binary protobuf.
+ */
+public class PooledTransportTest {
+
+    private static final String PROTOBUF = WireFormat.PROTOBUF.getMediaType();
+
+    private static final SearchDatasetsResponse DATASETS = SearchDatasetsResponse.newBuilder()
+            .addDatasets(Dataset.newBuilder().setId("d1").setName("one"))
+            .addDatasets(Dataset.newBuilder().setId("d2").setName("two"))
+            .setNextPageToken("n")
+            .build();
+
+    private static final ResponseHandler<String> BODY = response -> EntityUtils.toString(response.getEntity());
+
+    private final ExecutorService serverThreads = Executors.newCachedThreadPool();
+
+    /**
+     * The Content-Type of each dataset search the server received.
+     */
+    private final Queue<String> searchesReceived = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean refuseProtobuf;
+
+    private HttpServer server;
+
+    private String urlRoot;
+
+    private PooledTransport transport;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(serverThreads);
+        server.createContext("/echo", exchange ->
+                respond(exchange, 200, "text/plain", exchange.getRequestURI().getPath().getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "text/plain", new byte[0]);
+        });
+        server.createContext("/datasets/search", this::searchDatasets);
+        server.start();
+        urlRoot = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void stopServer() throws IOException {
+        if (transport != null) {
+            transport.close();
+        }
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    /**
+     * Answers in binary protobuf if that's what was sent, unless told to refuse it, else in JSON.
+     */
+    private void searchDatasets(HttpExchange exchange) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        searchesReceived.add(contentType);
+        if (contentType.startsWith(PROTOBUF)) {
+            if (refuseProtobuf) {
+                respond(exchange, 415, "text/plain", new byte[0]);
+            } else {
+                respond(exchange, 200, PROTOBUF, DATASETS.toByteArray());
+            }
+        } else {
+            respond(exchange, 200, "application/json",
+                    JsonFormat.printer().print(DATASETS).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body)
+            throws IOException {
+        ByteStreams.toByteArray(exchange.getRequestBody()); // read it all, so the connection can be kept
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private String get(String path) throws IOException {
+        return transport.execute(new HttpGet(urlRoot + path), BODY);
+    }
+
+    private SearchDatasetsResponse.Builder searchDatasets() throws Exception {
+        SearchDatasetsResponse.Builder response = SearchDatasetsResponse.newBuilder();
+        new Post<>(urlRoot, "datasets/search", SearchDatasetsRequest.getDefaultInstance(), response, null, transport)
+                .performQuery();
+        return response;
+    }
+
+    @Test
+    public void reusesKeptAliveConnections() throws Exception {
+        transport = PooledTransport.builder().build();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("/echo", get("/echo"));
+        }
+        TransportStats stats = transport.getStats();
+        assertEquals(3, stats.getRequests());
+        assertEquals(2, stats.getReusedConnections());
+        assertEquals(0, stats.getLeased());
+        assertEquals(1, stats.getAvailable());
+    }
+
+    @Test
+    public void aSilentServerTimesOut() throws Exception {
+        transport = PooledTransport.builder().socketTimeoutMillis(200).build();
+        long start = System.nanoTime();
+        try {
+            get("/slow");
+            fail("expected a SocketTimeoutException");
+        } catch (SocketTimeoutException e) {
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1500));
+        }
+        assertEquals(0, transport.getStats().getLeased());
+    }
+
+    @Test
+    public void asyncRequestsComplete() throws Exception {
+        transport = PooledTransport.builder().build();
+        List<String> bodies = new ArrayList<>();
+        for (String path : Arrays.asList("/echo/a", "/echo/b")) {
+            bodies.add(transport.executeAsync(new HttpGet(urlRoot + path), BODY).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(Arrays.asList("/echo/a", "/echo/b"), bodies);
+        assertEquals(2, transport.getStats().getRequests());
+    }
+
+    @Test
+    public void anAsyncRequestToAServerThatIsDownFails() throws Exception {
+        int port;
+        try (ServerSocket closed = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = closed.getLocalPort();
+        }
+        transport = PooledTransport.builder().connectTimeoutMillis(1000).build();
+        try {
+            transport.executeAsync(new HttpGet("http://127.0.0.1:" + port + "/echo"), BODY).get(5, TimeUnit.SECONDS);
+            fail("expected the request to fail");
+        } catch (ExecutionException e) {
+            assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void anErrorInTheHandlerFailsTheFuture() throws Exception {
+        transport = PooledTransport.builder().build();
+        AssertionError thrown = new AssertionError("unexpected page");
+        try {
+            transport.executeAsync(new HttpGet(urlRoot + "/echo"), response -> {
+                throw thrown;
+            }).get(5, TimeUnit.SECONDS);
+            fail("expected the handler's error");
+        } catch (ExecutionException e) {
+            assertSame(thrown, e.getCause());
+        }
+        // and the I/O reactor is still serving
+        assertEquals("/echo", transport.executeAsync(new HttpGet(urlRoot + "/echo"), BODY).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void decodesABinaryResponse() throws Exception {
+        transport = PooledTransport.builder().wireFormat(WireFormat.PROTOBUF).build();
+        assertEquals(DATASETS, searchDatasets().build());
+        assertEquals(Arrays.asList(PROTOBUF), new ArrayList<>(searchesReceived));
+    }
+
+    @Test
+    public void streamsTheElementsOfABinaryResponse() throws Exception {
+        transport = PooledTransport.builder().wireFormat(WireFormat.PROTOBUF).build();
+        SearchDatasetsResponse.Builder response = SearchDatasetsResponse.newBuilder();
+        List<Object> datasets = new ArrayList<>();
+        new Post<>(urlRoot, "datasets/search", SearchDatasetsRequest.getDefaultInstance(), response, null, transport)
+                .streamElements(SearchDatasetsResponse.getDescriptor().findFieldByName("datasets"), datasets::add)
+                .performQuery();
+        assertEquals(DATASETS.getDatasetsList(), datasets);
+        assertEquals(0, response.getDatasetsCount());
+        assertEquals("n", response.getNextPageToken());
+    }
+
+    @Test
+    public void fallsBackToJsonWhenProtobufIsRefused() throws Exception {
+        refuseProtobuf = true;
+        transport = PooledTransport.builder().wireFormat(WireFormat.PROTOBUF).build();
+        assertEquals(DATASETS, searchDatasets().build());
+        assertEquals(WireFormat.JSON, transport.getWireFormat(urlRoot));
+        // later requests go as JSON straight away
+        assertEquals(DATASETS, searchDatasets().build());
+        List<String> received = new ArrayList<>(searchesReceived);
+        assertEquals(3, received.size());
+        assertTrue(received.get(0).startsWith(PROTOBUF));
+        assertTrue(received.get(1).startsWith("application/json"));
+        assertTrue(received.get(2).startsWith("application/json"));
+    }
+
+    @Test
+    public void anAsyncRequestFallsBackToJsonWhenProtobufIsRefused() throws Exception {
+        refuseProtobuf = true;
+        transport = PooledTransport.builder().wireFormat(WireFormat.PROTOBUF).build();
+        SearchDatasetsResponse.Builder response = SearchDatasetsResponse.newBuilder();
+        new Post<>(urlRoot, "datasets/search", SearchDatasetsRequest.getDefaultInstance(), response, null, transport)
+                .performQueryAsync().get(5, TimeUnit.SECONDS);
+        assertEquals(DATASETS, response.build());
+        assertEquals(WireFormat.JSON, transport.getWireFormat(urlRoot));
+        assertEquals(2, searchesReceived.size());
+    }
+}
@@ -0,0 +1,158 @@
+package org.ga4gh.ctk.transport;
+
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link RecordingTransport} and {@link ReplayTransport}.
+ */
+public class ReplayTransportTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    /**
+     * Answers each request with a numbered echo of its body.
+     */
+    private static class EchoTransport implements Transport {
+        final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public <R> R execute(HttpUriRequest request, HttpContext context, ResponseHandler<? extends R> handler)
+                throws IOException {
+            String body = request instanceof HttpEntityEnclosingRequest
+                    ? EntityUtils.toString(((HttpEntityEnclosingRequest) request).getEntity()) : "";
+            int n = count.incrementAndGet();
+            HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, body.isEmpty() ? 404 : 200,
+                                                          "whatever");
+            response.setEntity(new StringEntity(n + ":" + body, ContentType.APPLICATION_JSON));
+            return handler.handleResponse(response);
+        }
+
+        @Override
+        public <R> CompletableFuture<R> executeAsync(HttpUriRequest request, HttpContext context,
+                                                     ResponseHandler<? extends R> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TransportStats getStats() {
+            return new TransportStats(count.get(), 0, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static HttpPost post(String url, String body) {
+        HttpPost post = new HttpPost(url);
+        post.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+        return post;
+    }
+
+    private static String send(Transport transport, HttpUriRequest request) throws IOException {
+        return transport.execute(request, response ->
+                response.getStatusLine().getStatusCode() + " "
+                        + response.getEntity().getContentType().getValue() + " "
+                        + EntityUtils.toString(response.getEntity()));
+    }
+
+    @Test
+    public void replaysWhatWasRecorded() throws Exception {
+        Path capture = tmp.getRoot().toPath().resolve("run.cap");
+        try (RecordingTransport recording = new RecordingTransport(new EchoTransport(), capture)) {
+            assertEquals("200 application/json; charset=UTF-8 1:{\"a\":1}",
+                         send(recording, post("http://host/reads/search", "{\"a\":1}")));
+            send(recording, post("http://host/reads/search", "{\"a\":2}"));
+            send(recording, post("http://host/reads/search", "{\"a\":1}"));
+            send(recording, new HttpGet("http://host/readgroups/x"));
+            assertEquals(4, recording.getRecorded());
+        }
+
+        ReplayTransport replay = ReplayTransport.open(capture);
+        assertEquals(WireFormat.JSON, replay.getWireFormat("http://host"));
+        // repeated requests get their responses in order, then the last one again
+        assertEquals("200 application/json; charset=UTF-8 1:{\"a\":1}",
+                     send(replay, post("http://host/reads/search", "{\"a\":1}")));
+        assertEquals("200 application/json; charset=UTF-8 3:{\"a\":1}",
+                     send(replay, post("http://host/reads/search", "{\"a\":1}")));
+        assertEquals("200 application/json; charset=UTF-8 3:{\"a\":1}",
+                     send(replay, post("http://host/reads/search", "{\"a\":1}")));
+        assertEquals("200 application/json; charset=UTF-8 2:{\"a\":2}",
+                     send(replay, post("http://host/reads/search", "{\"a\":2}")));
+        assertEquals("404 application/json; charset=UTF-8 4:",
+                     replay.executeAsync(new HttpGet("http://host/readgroups/x"), response ->
+                             response.getStatusLine().getStatusCode() + " "
+                                     + response.getEntity().getContentType().getValue() + " "
+                                     + EntityUtils.toString(response.getEntity())).get());
+        assertEquals(5, replay.getStats().getRequests());
+    }
+
+    @Test
+    public void unrecordedRequestsFail() throws Exception {
+        Path capture = tmp.getRoot().toPath().resolve("run.cap");
+        try (RecordingTransport recording = new RecordingTransport(new EchoTransport(), capture)) {
+            send(recording, post("http://host/reads/search", "{\"a\":1}"));
+        }
+        try {
+            send(ReplayTransport.open(capture), post("http://host/reads/search", "{\"a\":3}"));
+            fail("expected an IOException");
+        } catch (IOException e) {
+            // as though the server were down
+        }
+    }
+
+    @Test
+    public void recordingAppendsToAnExistingCapture() throws Exception {
+        Path capture = tmp.getRoot().toPath().resolve("run.cap");
+        try (RecordingTransport recording = new RecordingTransport(new EchoTransport(), capture)) {
+            send(recording, post("http://host/a", "1"));
+        }
+        try (RecordingTransport recording = new RecordingTransport(new EchoTransport(), capture)) {
+            send(recording, post("http://host/b", "2"));
+        }
+        ReplayTransport replay = ReplayTransport.open(capture);
+        assertEquals("200 application/json; charset=UTF-8 1:1", send(replay, post("http://host/a", "1")));
+        assertEquals("200 application/json; charset=UTF-8 1:2", send(replay, post("http://host/b", "2")));
+    }
+
+    @Test
+    public void eachRunReplaysFromTheStart() throws Exception {
+        Path capture = tmp.getRoot().toPath().resolve("run.cap");
+        try (RecordingTransport recording = new RecordingTransport(new EchoTransport(), capture)) {
+            send(recording, post("http://host/a", "1"));
+            send(recording, post("http://host/a", "1"));
+        }
+        ReplayTransport replay = ReplayTransport.open(capture);
+        for (int run = 0; run < 2; run++) {
+            new RunContext(Collections.emptyMap()).call(() -> {
+                assertEquals("200 application/json; charset=UTF-8 1:1", send(replay, post("http://host/a", "1")));
+                assertEquals("200 application/json; charset=UTF-8 2:1", send(replay, post("http://host/a", "1")));
+                return null;
+            });
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.ga4gh.ctk.transport;
+
+import org.ga4gh.ctk.transport.RouteTable.Route;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link RouteTable}.
+ */
+public class RouteTableTest {
+
+    @Test
+    public void routesMatchMakeUrl() {
+        String[] roots = {"http://localhost:8000", "http://localhost:8000/", "https://ga4gh.example.org/v0.6?key=abc"};
+        String[] paths = {"reads/search", "/datasets/search/", "readgroupsets/{id}"};
+        for (String root : roots) {
+            for (String path : paths) {
+                String expected = TransportUtils.makeUrl(root, path.replaceAll("^/+|/+$", ""));
+                assertEquals(expected, RouteTable.route(root, path).getTemplate());
+            }
+        }
+    }
+
+    @Test
+    public void theIdSlotIsFilledIn() {
+        Route route = RouteTable.route("https://ga4gh.example.org/v0.6?key=abc", "variants/{id}");
+        assertTrue(route.hasIdSlot());
+        assertEquals(TransportUtils.makeUrl("https://ga4gh.example.org/v0.6?key=abc", "variants/{id}")
+                                   .replace("{id}", "WyIxIl0"),
+                     route.expand("WyIxIl0"));
+
+        Route search = RouteTable.route("http://localhost:8000", "variants/search");
+        assertFalse(search.hasIdSlot());
+        assertSame(search.getTemplate(), search.expand("ignored"));
+    }
+
+    @Test
+    public void pathsOutsideTheMappingAreAddedToTheTable() {
+        String root = "http://routes.example.org:8000";
+        Route route = RouteTable.route(root, "not/a/real/endpoint");
+        assertSame(route, RouteTable.forRoot(root).getRoutes().get("not/a/real/endpoint"));
+        assertSame(route, RouteTable.route(root, "/not/a/real/endpoint/"));
+    }
+}
@@ -0,0 +1,90 @@
+package org.ga4gh.ctk.transport;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link TrafficRecorder}.
+ */
+public class TrafficRecorderTest {
+
+    @Test
+    public void exchangesAreTalliedPerMethodAndEndpoint() throws Exception {
+        TrafficRecorder recorder = new TrafficRecorder();
+        recorder.record("POST", "reads/search", 200, 100, 1000, TimeUnit.MILLISECONDS.toNanos(5));
+        recorder.record("POST", "reads/search", 404, 100, 50, TimeUnit.MILLISECONDS.toNanos(1));
+        recorder.record("GET", "readgroups/{id}", 200, 0, 300, TimeUnit.MILLISECONDS.toNanos(2));
+
+        List<EndpointTraffic> snapshot = recorder.snapshot();
+        assertEquals(2, snapshot.size());
+        EndpointTraffic reads = snapshot.get(1);
+        assertEquals("reads/search", reads.getEndpoint());
+        assertEquals("POST", reads.getMethod());
+        assertEquals(2, reads.getRequests());
+        assertEquals(Long.valueOf(1), reads.getStatuses().get(200));
+        assertEquals(Long.valueOf(1), reads.getStatuses().get(404));
+        assertEquals(200, reads.getBytesSent());
+        assertEquals(1050, reads.getBytesReceived());
+        assertEquals(5.0, reads.getMaxMillis(), 0.01);
+    }
+
+    @Test
+    public void concurrentRecordingLosesNothing() throws Exception {
+        TrafficRecorder recorder = new TrafficRecorder();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    recorder.record("GET", "datasets/{id}", 200, 0, 1, 1000);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        EndpointTraffic traffic = recorder.snapshot().get(0);
+        assertEquals(80000, traffic.getRequests());
+        assertEquals(80000, traffic.getBytesReceived());
+    }
+
+    @Test
+    public void resetStartsANewRun() throws Exception {
+        TrafficRecorder recorder = new TrafficRecorder();
+        recorder.record("GET", "datasets/{id}", 0, 0, 0, 0);
+        recorder.reset();
+        assertTrue(recorder.snapshot().isEmpty());
+    }
+
+    @Test
+    public void currentIsTheRunsRecorder() throws Exception {
+        TrafficRecorder runs = new TrafficRecorder();
+        RunContext run = new RunContext(Collections.emptyMap(), runs);
+        assertSame(runs, run.call(TrafficRecorder::current));
+        assertSame(TrafficRecorder.getDefault(), TrafficRecorder.current());
+    }
+
+    @Test
+    public void jsonExport() throws Exception {
+        TrafficRecorder recorder = new TrafficRecorder();
+        recorder.record("POST", "variants/search", 200, 10, 20, TimeUnit.MILLISECONDS.toNanos(3));
+
+        JsonObject endpoint = new JsonParser().parse(recorder.toJson()).getAsJsonObject()
+                .getAsJsonArray("endpoints").get(0).getAsJsonObject();
+        assertEquals("variants/search", endpoint.get("endpoint").getAsString());
+        assertEquals(1, endpoint.get("requests").getAsLong());
+        assertEquals(1, endpoint.getAsJsonObject("statuses").get("200").getAsLong());
+        assertEquals(3.0, endpoint.getAsJsonObject("latencyMillis").get("p50").getAsDouble(), 0.01);
+    }
+}
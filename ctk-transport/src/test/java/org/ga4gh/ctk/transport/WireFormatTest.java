@@ -0,0 +1,33 @@
+package org.ga4gh.ctk.transport;
+
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link WireFormat}.
+ */
+public class WireFormatTest {
+
+    @Test
+    public void protobufContentTypeIsRecognized() throws Exception {
+        ByteArrayEntity entity = new ByteArrayEntity(new byte[0], ContentType.create("application/x-protobuf"));
+        assertEquals(WireFormat.PROTOBUF, WireFormat.of(entity));
+    }
+
+    @Test
+    public void jsonAndMissingContentTypesAreJson() throws Exception {
+        assertEquals(WireFormat.JSON, WireFormat.of(new StringEntity("{}", ContentType.APPLICATION_JSON)));
+        assertEquals(WireFormat.JSON, WireFormat.of(new ByteArrayEntity(new byte[0])));
+        assertEquals(WireFormat.JSON, WireFormat.of(null));
+    }
+
+    @Test
+    public void protobufAcceptHeaderStillAcceptsJson() throws Exception {
+        assertEquals("application/json", WireFormat.JSON.getAcceptHeader());
+        assertEquals("application/x-protobuf, application/json;q=0.5", WireFormat.PROTOBUF.getAcceptHeader());
+    }
+}
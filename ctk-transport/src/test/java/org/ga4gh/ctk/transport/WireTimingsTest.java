@@ -0,0 +1,73 @@
+package org.ga4gh.ctk.transport;
+
+import org.apache.http.client.protocol.HttpClientContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link WireTimings}.
+ */
+public class WireTimingsTest {
+
+    @Test
+    public void phasesNotReachedAreZero() throws Exception {
+        WireTimings timings = new WireTimings();
+        timings.markStart();
+        timings.markRequestBuilt();
+        assertEquals(0, timings.getConnectNanos());
+        assertEquals(0, timings.getTimeToFirstByteNanos());
+        assertEquals(0, timings.getDecodeNanos());
+        assertEquals(timings.getBuildNanos(), timings.getTotalNanos());
+    }
+
+    @Test
+    public void nothingIsTimedBeforeTheStart() throws Exception {
+        WireTimings timings = new WireTimings();
+        timings.markRequestSent();
+        timings.markResponseReceived();
+        assertEquals(0, timings.getTimeToFirstByteNanos());
+        assertEquals(0, timings.getTotalNanos());
+    }
+
+    @Test
+    public void theTotalRunsToTheLastPhaseRecorded() throws Exception {
+        WireTimings timings = new WireTimings();
+        timings.markStart();
+        timings.markRequestBuilt();
+        timings.markRequestSent();
+        Thread.sleep(2);
+        timings.markResponseReceived();
+        assertTrue(timings.getTotalNanos() >= 2_000_000);
+        assertEquals(timings.getTotalNanos(),
+                timings.getBuildNanos() + timings.getAcquireNanos() + timings.getTimeToFirstByteNanos());
+    }
+
+    @Test
+    public void phasesAddUpToTheTotal() throws Exception {
+        WireTimings timings = new WireTimings();
+        timings.markStart();
+        timings.markRequestBuilt();
+        timings.markRequestSent();
+        Thread.sleep(2);
+        timings.markResponseReceived();
+        timings.markBodyReceived();
+        timings.markDecoded();
+        assertTrue(timings.getTimeToFirstByteNanos() >= 2_000_000);
+        assertEquals(timings.getTotalNanos(),
+                timings.getBuildNanos() + timings.getAcquireNanos() + timings.getTimeToFirstByteNanos()
+                        + timings.getDownloadNanos() + timings.getDecodeNanos());
+    }
+
+    @Test
+    public void foundThroughTheContext() throws Exception {
+        HttpClientContext context = HttpClientContext.create();
+        assertNull(WireTimings.from(context));
+        WireTimings timings = new WireTimings();
+        context.setAttribute(WireTimings.CONTEXT_ATTRIBUTE, timings);
+        assertSame(timings, WireTimings.from(context));
+    }
+}
@@ -0,0 +1,112 @@
+package org.ga4gh.ctk.transport.protobuf;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
+import ga4gh.Reads.ReadAlignment;
+import ga4gh.Variants.Variant;
+import org.junit.Test;
+
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests that {@link JsonCodec} prints exactly what {@link JsonFormat} prints, and parses what it parses.
+ */
+public class JsonCodecTest {
+
+    private static final String READ = "{\"id\": \"r1\", \"readGroupId\": \"rg\", "
+            + "\"fragmentName\": \"a<b>&c='d' \\\"q\\\" \\\\ \\t \\u0001 \\u2028 \\u00e9\", "
+            + "\"improperPlacement\": true, \"numberReads\": 2, \"fragmentLength\": -350, "
+            + "\"alignment\": {\"position\": {\"referenceName\": \"1\", \"position\": \"41196311\", "
+            + "\"strand\": \"NEG_STRAND\"}, \"mappingQuality\": 60, "
+            + "\"cigar\": [{\"operation\": \"ALIGNMENT_MATCH\", \"operationLength\": \"90\"}, "
+            + "{\"operation\": \"CLIP_SOFT\", \"operationLength\": \"11\"}]}, "
+            + "\"alignedSequence\": \"ACGT\", \"alignedQuality\": [30, 31, 32, 0]}";
+
+    private static final String VARIANT = "{\"id\": \"v1\", \"variantSetId\": \"vs\", \"names\": [\"rs1\"], "
+            + "\"referenceName\": \"1\", \"start\": \"41196311\", \"end\": \"41196312\", "
+            + "\"referenceBases\": \"A\", \"alternateBases\": [\"G\", \"T\"], "
+            + "\"attributes\": {\"attr\": {\"AC\": {\"values\": [{\"stringValue\": \"3\"}]}, "
+            + "\"DP\": {\"values\": [{\"stringValue\": \"12\"}]}}}, "
+            + "\"calls\": [{\"callSetName\": \"HG00096\", \"callSetId\": \"cs\", \"genotype\": [0, 1], "
+            + "\"phaseset\": \"*\"}, {\"callSetName\": \"HG00099\", \"genotype\": [-1, 0]}]}";
+
+    private static <B extends Message.Builder> B jsonFormat(String json, B builder) throws InvalidProtocolBufferException {
+        JsonFormat.parser().merge(json, builder);
+        return builder;
+    }
+
+    @Test
+    public void printsWhatJsonFormatPrints() throws Exception {
+        Message[] messages = {
+                ReadAlignment.getDefaultInstance(),
+                jsonFormat(READ, ReadAlignment.newBuilder()).build(),
+                jsonFormat(VARIANT, Variant.newBuilder()).build()
+        };
+        for (Message message : messages) {
+            JsonCodec codec = JsonCodec.of(message.getDescriptorForType());
+            assertEquals(JsonFormat.printer().print(message), codec.print(message));
+            StringBuilder appended = new StringBuilder();
+            codec.print(message, appended);
+            assertEquals(JsonFormat.printer().print(message), appended.toString());
+        }
+    }
+
+    @Test
+    public void parsesWhatJsonFormatParses() throws Exception {
+        ReadAlignment.Builder read = ReadAlignment.newBuilder();
+        JsonCodec.of(ReadAlignment.getDescriptor()).merge(READ, read);
+        assertEquals(jsonFormat(READ, ReadAlignment.newBuilder()).build(), read.build());
+
+        Variant.Builder variant = Variant.newBuilder();
+        JsonCodec.of(Variant.getDescriptor()).merge(new StringReader(VARIANT), variant);
+        assertEquals(jsonFormat(VARIANT, Variant.newBuilder()).build(), variant.build());
+    }
+
+    @Test
+    public void acceptsProtoNamesNumbersAsStringsAndEnumNumbers() throws Exception {
+        String json = "{\"read_group_id\": \"rg\", \"fragmentLength\": \"12\", \"numberReads\": 2.0, "
+                + "\"alignment\": {\"position\": {\"position\": 7, \"strand\": 2}}, \"alignedQuality\": null}";
+        ReadAlignment.Builder read = ReadAlignment.newBuilder();
+        JsonCodec.of(ReadAlignment.getDescriptor()).merge(json, read);
+        assertEquals(jsonFormat(json, ReadAlignment.newBuilder()).build(), read.build());
+    }
+
+    @Test
+    public void aRepeatedKeyKeepsTheLastValue() throws Exception {
+        ReadAlignment.Builder read = ReadAlignment.newBuilder();
+        JsonCodec.of(ReadAlignment.getDescriptor()).merge("{\"id\": \"a\", \"alignedQuality\": [1], "
+                + "\"id\": \"b\", \"alignedQuality\": [2, 3]}", read);
+        assertEquals("b", read.getId());
+        assertEquals(2, read.getAlignedQualityCount());
+    }
+
+    @Test(expected = InvalidProtocolBufferException.class)
+    public void rejectsAnUnknownField() throws Exception {
+        JsonCodec.of(ReadAlignment.getDescriptor()).merge("{\"id\": \"a\", \"nonsense\": 1}", ReadAlignment.newBuilder());
+    }
+
+    @Test(expected = InvalidProtocolBufferException.class)
+    public void rejectsAFieldSetUnderBothNames() throws Exception {
+        JsonCodec.of(ReadAlignment.getDescriptor()).merge("{\"readGroupId\": \"a\", \"read_group_id\": \"b\"}",
+                ReadAlignment.newBuilder());
+    }
+
+    @Test(expected = InvalidProtocolBufferException.class)
+    public void rejectsAnOutOfRangeInt32() throws Exception {
+        JsonCodec.of(ReadAlignment.getDescriptor()).merge("{\"fragmentLength\": 4294967296}", ReadAlignment.newBuilder());
+    }
+
+    @Test(expected = InvalidProtocolBufferException.class)
+    public void rejectsMalformedJson() throws Exception {
+        JsonCodec.of(ReadAlignment.getDescriptor()).merge("{\"id\": \"a\",", ReadAlignment.newBuilder());
+    }
+
+    @Test
+    public void codecsAreShared() {
+        assertSame(JsonCodec.of(ReadAlignment.getDescriptor()), JsonCodec.of(ReadAlignment.getDescriptor()));
+    }
+}
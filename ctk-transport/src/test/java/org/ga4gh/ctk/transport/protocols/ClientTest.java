@@ -0,0 +1,297 @@
+package org.ga4gh.ctk.transport.protocols;
+
+import com.google.gson.JsonParser;
+import ga4gh.MetadataServiceOuterClass.SearchDatasetsRequest;
+import ga4gh.MetadataServiceOuterClass.SearchDatasetsResponse;
+import ga4gh.ReadServiceOuterClass.SearchReadsRequest;
+import ga4gh.ReadServiceOuterClass.SearchReadsResponse;
+import ga4gh.Reads.ReadAlignment;
+import ga4gh.VariantServiceOuterClass.SearchVariantsRequest;
+import ga4gh.VariantServiceOuterClass.SearchVariantsResponse;
+import ga4gh.Variants.Variant;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+import org.ga4gh.ctk.transport.GAWrapperException;
+import org.ga4gh.ctk.transport.RespCode;
+import org.ga4gh.ctk.transport.Result;
+import org.ga4gh.ctk.transport.Transport;
+import org.ga4gh.ctk.transport.TransportStats;
+import org.ga4gh.ctk.transport.URLMAPPINGImpl;
+import org.ga4gh.ctk.transport.WireExchange;
+import org.ga4gh.ctk.transport.WireFormat;
+import org.ga4gh.ctk.transport.WireListener;
+import org.ga4gh.ctk.transport.WireTracker;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests that one {@link Client} can be shared between threads, each call getting its own {@link WireExchange},
+ * that its {@link Result} methods return the server's errors, and that its streaming searches
+ * hand over each element as it's parsed.
+ */
+public class ClientTest {
+
+    private static final int CALLS = 200;
+
+    /**
+     * Answers each dataset search with the page token it was sent, as the next page token,
+     * or with a 404 if the token is "missing".
+     */
+    private static class EchoTransport implements Transport {
+
+        @Override
+        public <R> R execute(HttpUriRequest request, HttpContext context, ResponseHandler<? extends R> handler)
+                throws IOException {
+            String body = EntityUtils.toString(((HttpEntityEnclosingRequest) request).getEntity());
+            String token = new JsonParser().parse(body).getAsJsonObject().get("pageToken").getAsString();
+            HttpResponse response;
+            if (token.equals("missing")) {
+                response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 404, "Not Found");
+                response.setEntity(new StringEntity("{\"message\": \"no such page\", \"errorCode\": 7}",
+                        ContentType.APPLICATION_JSON));
+            } else {
+                response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+                response.setEntity(new StringEntity("{\"nextPageToken\": \"" + token + "\"}",
+                        ContentType.APPLICATION_JSON));
+            }
+            return handler.handleResponse(response);
+        }
+
+        @Override
+        public <R> CompletableFuture<R> executeAsync(HttpUriRequest request, HttpContext context,
+                                                     ResponseHandler<? extends R> handler) {
+            try {
+                return CompletableFuture.completedFuture(execute(request, context, handler));
+            } catch (IOException e) {
+                CompletableFuture<R> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                return failed;
+            }
+        }
+
+        @Override
+        public TransportStats getStats() {
+            return new TransportStats(0, 0, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Answers every request with the same page.
+     */
+    private static class PageTransport implements Transport {
+
+        private final HttpEntity page;
+
+        PageTransport(HttpEntity page) {
+            this.page = page;
+        }
+
+        @Override
+        public <R> R execute(HttpUriRequest request, HttpContext context, ResponseHandler<? extends R> handler)
+                throws IOException {
+            HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+            response.setEntity(page);
+            return handler.handleResponse(response);
+        }
+
+        @Override
+        public <R> CompletableFuture<R> executeAsync(HttpUriRequest request, HttpContext context,
+                                                     ResponseHandler<? extends R> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TransportStats getStats() {
+            return new TransportStats(0, 0, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static String token(String json) {
+        JsonParser parser = new JsonParser();
+        return json.contains("pageToken")
+                ? parser.parse(json).getAsJsonObject().get("pageToken").getAsString()
+                : parser.parse(json).getAsJsonObject().get("nextPageToken").getAsString();
+    }
+
+    private static List<Future<SearchDatasetsResponse>> searchConcurrently(Client client) {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<SearchDatasetsResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < CALLS; i++) {
+                SearchDatasetsRequest request = SearchDatasetsRequest.newBuilder().setPageToken("t" + i).build();
+                responses.add(pool.submit(() -> client.metadata.searchDatasets(request)));
+            }
+            return responses;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void eachCallGetsItsOwnExchange() throws Exception {
+        WireTracker tracker = new WireTracker();
+        Client client = new Client(new URLMAPPINGImpl(), tracker, new EchoTransport());
+        Queue<WireExchange> exchanges = new ConcurrentLinkedQueue<>();
+        client.addWireListener(exchanges::add);
+
+        List<Future<SearchDatasetsResponse>> responses = searchConcurrently(client);
+        for (int i = 0; i < CALLS; i++) {
+            assertEquals("t" + i, responses.get(i).get().getNextPageToken());
+        }
+
+        assertEquals(CALLS, exchanges.size());
+        for (WireExchange exchange : exchanges) {
+            assertEquals(200, exchange.getStatus());
+            assertEquals(RespCode.OK, exchange.getResponseStatus());
+            assertEquals(WireFormat.JSON, exchange.getFormatSent());
+            assertEquals(token(exchange.getBodySent()), token(exchange.getBodyReceived()));
+            assertNotNull(exchange.getTimings());
+        }
+
+        // the tracker holds the last exchange whole, not a mix of several
+        WireExchange last = tracker.getLastExchange();
+        assertEquals(token(last.getBodySent()), token(last.getBodyReceived()));
+        assertEquals(last.getBodySent(), tracker.bodySent);
+        assertEquals(last.getBodyReceived(), tracker.bodyReceived);
+    }
+
+    @Test
+    public void resultsCarryErrorsWithoutThrowing() throws Exception {
+        WireTracker tracker = new WireTracker();
+        Client client = new Client(new URLMAPPINGImpl(), tracker, new EchoTransport());
+
+        Result<SearchDatasetsResponse> found =
+                client.metadata.searchDatasetsResult(SearchDatasetsRequest.newBuilder().setPageToken("t").build());
+        assertTrue(found.isOk());
+        assertEquals(200, found.getHttpStatus());
+        assertEquals("t", found.get().getNextPageToken());
+
+        Result<SearchDatasetsResponse> missing =
+                client.metadata.searchDatasetsResult(SearchDatasetsRequest.newBuilder().setPageToken("missing").build());
+        assertFalse(missing.isOk());
+        assertNull(missing.getValue());
+        assertEquals(404, missing.getHttpStatus());
+        assertEquals(7, missing.getGae().getErrorCode());
+        assertSame(missing.getError(), tracker.getLastExchange().getError());
+
+        try {
+            client.metadata.searchDatasets(SearchDatasetsRequest.newBuilder().setPageToken("missing").build());
+            fail("expected a GAWrapperException");
+        } catch (GAWrapperException e) {
+            assertEquals(404, e.getHttpStatusCode());
+            assertEquals("no such page", e.getMessage());
+        }
+    }
+
+    @Test
+    public void listenersCanBeRemoved() throws Exception {
+        Client client = new Client(new URLMAPPINGImpl(), null, new EchoTransport());
+        Queue<WireExchange> exchanges = new ConcurrentLinkedQueue<>();
+        WireListener listener = exchanges::add;
+        client.addWireListener(listener);
+        client.metadata.searchDatasets(SearchDatasetsRequest.newBuilder().setPageToken("a").build());
+        client.removeWireListener(listener);
+        client.metadata.searchDatasets(SearchDatasetsRequest.newBuilder().setPageToken("b").build());
+
+        assertEquals(1, exchanges.size());
+        assertEquals("a", token(exchanges.peek().getBodySent()));
+    }
+
+    @Test
+    public void callsWithoutListenersStillWork() throws Exception {
+        Client client = new Client(new URLMAPPINGImpl(), null, new EchoTransport());
+        for (Future<SearchDatasetsResponse> response : searchConcurrently(client)) {
+            assertNotNull(response.get().getNextPageToken());
+        }
+        assertNull(client.wireTracker);
+    }
+
+    @Test
+    public void streamedReadsArriveOneByOne() throws Exception {
+        StringEntity page = new StringEntity("{\"alignments\": [{\"id\": \"a\"}, {\"id\": \"b\"}, {\"id\": \"c\"}], "
+                + "\"nextPageToken\": \"n\"}", ContentType.APPLICATION_JSON);
+        for (WireTracker tracker : Arrays.asList(null, new WireTracker())) {
+            Client client = new Client(new URLMAPPINGImpl(), tracker, new PageTransport(page));
+            List<String> ids = new ArrayList<>();
+            SearchReadsResponse response =
+                    client.reads.searchReads(SearchReadsRequest.getDefaultInstance(), read -> ids.add(read.getId()));
+            assertEquals(Arrays.asList("a", "b", "c"), ids);
+            assertEquals(0, response.getAlignmentsCount());
+            assertEquals("n", response.getNextPageToken());
+        }
+    }
+
+    @Test
+    public void streamedVariantsArriveOneByOneFromProtobuf() throws Exception {
+        SearchVariantsResponse full = SearchVariantsResponse.newBuilder()
+                .addVariants(Variant.newBuilder().setId("v1").setStart(10))
+                .addVariants(Variant.newBuilder().setId("v2").setStart(20))
+                .setNextPageToken("n")
+                .build();
+        ByteArrayEntity page = new ByteArrayEntity(full.toByteArray(),
+                ContentType.create(WireFormat.PROTOBUF.getMediaType()));
+        for (WireTracker tracker : Arrays.asList(null, new WireTracker())) {
+            Client client = new Client(new URLMAPPINGImpl(), tracker, new PageTransport(page));
+            List<Variant> variants = new ArrayList<>();
+            SearchVariantsResponse response =
+                    client.variants.searchVariants(SearchVariantsRequest.getDefaultInstance(), variants::add);
+            assertEquals(full.getVariantsList(), variants);
+            assertEquals(0, response.getVariantsCount());
+            assertEquals("n", response.getNextPageToken());
+        }
+    }
+
+    @Test
+    public void aFailingCallbackStopsTheSearch() throws Exception {
+        StringEntity page = new StringEntity("{\"alignments\": [{\"id\": \"a\"}, {\"id\": \"b\"}]}",
+                ContentType.APPLICATION_JSON);
+        Client client = new Client(new URLMAPPINGImpl(), null, new PageTransport(page));
+        List<ReadAlignment> reads = new ArrayList<>();
+        try {
+            client.reads.searchReads(SearchReadsRequest.getDefaultInstance(), read -> {
+                reads.add(read);
+                throw new IllegalStateException("enough");
+            });
+            fail("expected the callback's exception");
+        } catch (IllegalStateException e) {
+            assertEquals("enough", e.getMessage());
+        }
+        assertEquals(1, reads.size());
+    }
+}
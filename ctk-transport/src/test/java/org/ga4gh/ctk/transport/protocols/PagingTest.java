@@ -0,0 +1,109 @@
+package org.ga4gh.ctk.transport.protocols;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link Paging}, using canned pages in place of a server.
+ */
+public class PagingTest {
+
+    /**
+     * A stand-in for a search response: some elements and the token of the next page.
+     */
+    private static class Page {
+        final List<String> elements;
+        final String next;
+
+        Page(String next, String... elements) {
+            this.elements = Arrays.asList(elements);
+            this.next = next;
+        }
+    }
+
+    private final Map<String, Page> pages = new HashMap<>();
+
+    private final List<String> fetched = new ArrayList<>();
+
+    private final Function<String, CompletableFuture<Page>> fetch = token -> {
+        fetched.add(token);
+        return CompletableFuture.completedFuture(pages.get(token));
+    };
+
+    private Stream<String> stream() {
+        return Paging.stream("", fetch, page -> page.elements, page -> page.next);
+    }
+
+    @Test
+    public void followsPageTokensToTheEnd() throws Exception {
+        pages.put("", new Page("p2", "a", "b"));
+        pages.put("p2", new Page("p3"));
+        pages.put("p3", new Page("", "c"));
+
+        assertEquals(Arrays.asList("a", "b", "c"), stream().collect(Collectors.toList()));
+        assertEquals(Arrays.asList("", "p2", "p3"), fetched);
+    }
+
+    @Test
+    public void fetchesNothingUntilConsumed() throws Exception {
+        pages.put("", new Page("", "a"));
+
+        Stream<String> stream = stream();
+        assertTrue(fetched.isEmpty());
+        stream.findFirst();
+        assertEquals(Arrays.asList(""), fetched);
+    }
+
+    @Test
+    public void prefetchesOnlyTheNextPage() throws Exception {
+        pages.put("", new Page("p2", "a"));
+        pages.put("p2", new Page("p3", "b"));
+        pages.put("p3", new Page("", "c"));
+
+        assertEquals("a", stream().findFirst().get());
+        assertEquals(Arrays.asList("", "p2"), fetched);
+    }
+
+    @Test
+    public void fetchFailureIsRethrownAsPagingException() throws Exception {
+        IOException failure = new IOException("no route to host");
+        CompletableFuture<Page> failed = new CompletableFuture<>();
+        failed.completeExceptionally(failure);
+
+        try {
+            Paging.<Page, String>stream("", token -> failed, page -> page.elements, page -> page.next).count();
+            fail("expected a PagingException");
+        } catch (PagingException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    public void aCancelledFetchIsRethrownAsPagingException() throws Exception {
+        CompletableFuture<Page> cancelled = new CompletableFuture<>();
+        cancelled.cancel(false);
+
+        try {
+            Paging.<Page, String>stream("", token -> cancelled, page -> page.elements, page -> page.next).count();
+            fail("expected a PagingException");
+        } catch (PagingException e) {
+            assertTrue(e.getCause() instanceof CancellationException);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import ga4gh.References.ReferenceSet;
+import org.ga4gh.ctk.transport.RunContext;
 
 import static org.ga4gh.cts.api.Utils.aSingle;
 
@@ -167,10 +168,11 @@ public class TestData {
     /**
      * Return the ID of the compliance dataset on the server being tested.
      * By default this is the value of {@link #DEFAULT_DATASET_ID}, but
-     * you can override it by setting the Java property <tt>-Dctk.tgt.dataset_id</tt>.
+     * you can override it by setting the Java property <tt>-Dctk.tgt.dataset_id</tt>
+     * (or, when run by the CTK, in the run's {@link RunContext}).
      */
     public static String getDatasetId() {
-        final String propValue = System.getProperty(DATASET_PROP_NAME);
+        final String propValue = RunContext.getProperty(DATASET_PROP_NAME);
         if (propValue != null) {
             return propValue;
         } else {
@@ -29,6 +29,7 @@ import ga4gh.MetadataServiceOuterClass.*;
 import ga4gh.BioMetadata.*;
 import ga4gh.BioMetadataServiceOuterClass.*;
 import org.assertj.core.api.ThrowableAssert;
+import org.ga4gh.ctk.transport.FixtureCache;
 import org.ga4gh.ctk.transport.GAWrapperException;
 import org.ga4gh.ctk.transport.protocols.Client;
 
@@ -54,6 +55,33 @@ public class Utils {
     private Utils() {
     }
 
+    /**
+     * Look a value up on the server at most once per run, target and dataset; the helpers
+     * below which find the IDs the tests need to set themselves up all go through here, so
+     * their searches aren't repeated by every test class.
+     * @param client the connection to the server
+     * @param name what the value is
+     * @param loader looks the value up
+     * @param args anything else the value depends on
+     * @param <T> the value's type
+     * @return the value
+     * @throws GAWrapperException if the server finds the request invalid in some way
+     * @throws UnirestException if there's a problem speaking HTTP to the server
+     * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
+     * @see FixtureCache
+     */
+    private static <T> T fixture(Client client, String name, Callable<T> loader, Object... args)
+            throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
+        final String key = FixtureCache.key(client.getUrls().getUrlRoot(), TestData.getDatasetId(), name, args);
+        try {
+            return FixtureCache.current().get(key, loader);
+        } catch (InvalidProtocolBufferException | UnirestException | GAWrapperException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * For some reason, the class {@link java.net.HttpURLConnection} doesn't define a constant
      * for HTTP status 416, "Requested Range Not Satisfiable."  (See
@@ -145,17 +173,19 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static String getValidReferenceId(Client client) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-        final SearchReferencesRequest refsReq = SearchReferencesRequest
-                .newBuilder()
-                .setReferenceSetId(Utils.getReferenceSetIdByAssemblyId(client, TestData.REFERENCESET_ASSEMBLY_ID))
-                .setMd5Checksum(TestData.REFERENCE_BRCA1_MD5_CHECKSUM)
-                .build();
-        final SearchReferencesResponse refsResp = client.references.searchReferences(refsReq);
-        assertThat(refsResp).isNotNull();
-        final List<Reference> references = refsResp.getReferencesList();
-        assertThat(references).isNotNull().isNotEmpty();
-        assertThat(references).hasSize(1);
-        return references.get(0).getId();
+        return fixture(client, "referenceId", () -> {
+            final SearchReferencesRequest refsReq = SearchReferencesRequest
+                    .newBuilder()
+                    .setReferenceSetId(Utils.getReferenceSetIdByAssemblyId(client, TestData.REFERENCESET_ASSEMBLY_ID))
+                    .setMd5Checksum(TestData.REFERENCE_BRCA1_MD5_CHECKSUM)
+                    .build();
+            final SearchReferencesResponse refsResp = client.references.searchReferences(refsReq);
+            assertThat(refsResp).isNotNull();
+            final List<Reference> references = refsResp.getReferencesList();
+            assertThat(references).isNotNull().isNotEmpty();
+            assertThat(references).hasSize(1);
+            return references.get(0).getId();
+        });
     }
 
     /**
@@ -167,22 +197,24 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static String getReadGroupId(Client client) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-        final SearchReadGroupSetsRequest readGroupSetsReq =
-                SearchReadGroupSetsRequest
-                        .newBuilder()
-                        .setDatasetId(TestData.getDatasetId())
-                        .build();
-        final SearchReadGroupSetsResponse readGroupSetsResp =
-                client.reads.searchReadGroupSets(readGroupSetsReq);
-        assertThat(readGroupSetsResp).isNotNull();
-        final List<ReadGroupSet> readGroupSets = readGroupSetsResp.getReadGroupSetsList();
-        assertThat(readGroupSets).isNotEmpty().isNotNull();
-        final ReadGroupSet readGroupSet = readGroupSets.get(0);
-        List<ReadGroup> readGroups = readGroupSet.getReadGroupsList();
-        assertThat(readGroups).isNotEmpty().isNotNull();
-        final ReadGroup readGroup = readGroups.get(0);
-        assertThat(readGroup).isNotNull();
-        return readGroup.getId();
+        return fixture(client, "readGroupId", () -> {
+            final SearchReadGroupSetsRequest readGroupSetsReq =
+                    SearchReadGroupSetsRequest
+                            .newBuilder()
+                            .setDatasetId(TestData.getDatasetId())
+                            .build();
+            final SearchReadGroupSetsResponse readGroupSetsResp =
+                    client.reads.searchReadGroupSets(readGroupSetsReq);
+            assertThat(readGroupSetsResp).isNotNull();
+            final List<ReadGroupSet> readGroupSets = readGroupSetsResp.getReadGroupSetsList();
+            assertThat(readGroupSets).isNotEmpty().isNotNull();
+            final ReadGroupSet readGroupSet = readGroupSets.get(0);
+            List<ReadGroup> readGroups = readGroupSet.getReadGroupsList();
+            assertThat(readGroups).isNotEmpty().isNotNull();
+            final ReadGroup readGroup = readGroups.get(0);
+            assertThat(readGroup).isNotNull();
+            return readGroup.getId();
+        });
     }
 
     /**
@@ -196,20 +228,22 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static String getReadGroupIdForName(Client client, String readGroupSetName, String readGroupName) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-        final SearchReadGroupSetsRequest readGroupSetsReq =
-                SearchReadGroupSetsRequest.newBuilder()
-                        .setDatasetId(TestData.getDatasetId())
-                        .setName(readGroupSetName)
-                        .build();
-        final SearchReadGroupSetsResponse readGroupSetsResp =
-                client.reads.searchReadGroupSets(readGroupSetsReq);
-        final List<ReadGroupSet> readGroupSets = readGroupSetsResp.getReadGroupSetsList();
-        assertThat(readGroupSets).isNotEmpty().isNotNull();
-        final ReadGroupSet readGroupSet = readGroupSets.get(0);
-        final List<ReadGroup> readGroups = readGroupSet.getReadGroupsList();
-        final Optional<ReadGroup> result =
-                readGroups.stream().filter(readGroup -> readGroupName.equals(readGroup.getName())).findFirst();
-        return result.isPresent() ? result.get().getId() : null;
+        return fixture(client, "readGroupId", () -> {
+            final SearchReadGroupSetsRequest readGroupSetsReq =
+                    SearchReadGroupSetsRequest.newBuilder()
+                            .setDatasetId(TestData.getDatasetId())
+                            .setName(readGroupSetName)
+                            .build();
+            final SearchReadGroupSetsResponse readGroupSetsResp =
+                    client.reads.searchReadGroupSets(readGroupSetsReq);
+            final List<ReadGroupSet> readGroupSets = readGroupSetsResp.getReadGroupSetsList();
+            assertThat(readGroupSets).isNotEmpty().isNotNull();
+            final ReadGroupSet readGroupSet = readGroupSets.get(0);
+            final List<ReadGroup> readGroups = readGroupSet.getReadGroupsList();
+            final Optional<ReadGroup> result =
+                    readGroups.stream().filter(readGroup -> readGroupName.equals(readGroup.getName())).findFirst();
+            return result.isPresent() ? result.get().getId() : null;
+        }, readGroupSetName, readGroupName);
     }
 
     /**
@@ -221,27 +255,29 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static List<ReadGroupSet> getAllReadGroupSets(Client client) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-        final List<ReadGroupSet> result = new LinkedList<>();
-
-        String pageToken = "";
-        do {
-            final SearchReadGroupSetsRequest readGroupSetsReq =
-                    SearchReadGroupSetsRequest
-                            .newBuilder()
-                            .setPageSize(100)
-                            .setPageToken(pageToken)
-                            .setDatasetId(TestData.getDatasetId())
-                            .build();
-            final SearchReadGroupSetsResponse readGroupSetsResp =
-                    client.reads.searchReadGroupSets(readGroupSetsReq);
-            pageToken = readGroupSetsResp.getNextPageToken();
-            assertThat(readGroupSetsResp).isNotNull();
-            final List<ReadGroupSet> readGroupSets = readGroupSetsResp.getReadGroupSetsList();
-            assertThat(readGroupSets).isNotEmpty().isNotNull();
-            result.addAll(readGroupSets);
-        } while (pageToken != null && !pageToken.equals(""));
-
-        return result;
+        return new LinkedList<>(fixture(client, "readGroupSets", () -> {
+            final List<ReadGroupSet> result = new LinkedList<>();
+
+            String pageToken = "";
+            do {
+                final SearchReadGroupSetsRequest readGroupSetsReq =
+                        SearchReadGroupSetsRequest
+                                .newBuilder()
+                                .setPageSize(100)
+                                .setPageToken(pageToken)
+                                .setDatasetId(TestData.getDatasetId())
+                                .build();
+                final SearchReadGroupSetsResponse readGroupSetsResp =
+                        client.reads.searchReadGroupSets(readGroupSetsReq);
+                pageToken = readGroupSetsResp.getNextPageToken();
+                assertThat(readGroupSetsResp).isNotNull();
+                final List<ReadGroupSet> readGroupSets = readGroupSetsResp.getReadGroupSetsList();
+                assertThat(readGroupSets).isNotEmpty().isNotNull();
+                result.addAll(readGroupSets);
+            } while (pageToken != null && !pageToken.equals(""));
+
+            return result;
+        }));
     }
 
     /**
@@ -290,17 +326,19 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static String getReferenceSetIdByAssemblyId(Client client, String assemblyId) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-        final SearchReferenceSetsRequest req =
-                SearchReferenceSetsRequest.newBuilder()
-                        .setAssemblyId(assemblyId)
-                        .build();
-        final SearchReferenceSetsResponse resp =
-                client.references.searchReferenceSets(req);
-        final List<ReferenceSet> refSets = resp.getReferenceSetsList();
-        assertThat(refSets).isNotNull();
-        assertThat(refSets).hasSize(1);
-        final ReferenceSet refSet = refSets.get(0);
-        return refSet.getId();
+        return fixture(client, "referenceSetId", () -> {
+            final SearchReferenceSetsRequest req =
+                    SearchReferenceSetsRequest.newBuilder()
+                            .setAssemblyId(assemblyId)
+                            .build();
+            final SearchReferenceSetsResponse resp =
+                    client.references.searchReferenceSets(req);
+            final List<ReferenceSet> refSets = resp.getReferenceSetsList();
+            assertThat(refSets).isNotNull();
+            assertThat(refSets).hasSize(1);
+            final ReferenceSet refSet = refSets.get(0);
+            return refSet.getId();
+        }, assemblyId);
     }
 
     /**
@@ -312,15 +350,17 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static String getVariantSetId(Client client) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-        final SearchVariantSetsRequest req =
-                SearchVariantSetsRequest.newBuilder()
-                        .setDatasetId(TestData.getDatasetId())
-                        .build();
-        final SearchVariantSetsResponse resp = client.variants.searchVariantSets(req);
+        return fixture(client, "variantSetId", () -> {
+            final SearchVariantSetsRequest req =
+                    SearchVariantSetsRequest.newBuilder()
+                            .setDatasetId(TestData.getDatasetId())
+                            .build();
+            final SearchVariantSetsResponse resp = client.variants.searchVariantSets(req);
 
-        final List<VariantSet> variantSets = resp.getVariantSetsList();
-        assertThat(variantSets).isNotEmpty();
-        return variantSets.get(0).getId();
+            final List<VariantSet> variantSets = resp.getVariantSetsList();
+            assertThat(variantSets).isNotEmpty();
+            return variantSets.get(0).getId();
+        });
     }
 
     /**
@@ -390,22 +430,23 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static List<VariantSet> getAllVariantSets(Client client) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-
-        final List<VariantSet> result = new LinkedList<>();
-        String pageToken = "";
-        do {
-            final SearchVariantSetsRequest req =
-                    SearchVariantSetsRequest.newBuilder()
-                            .setDatasetId(TestData.getDatasetId())
-                            .setPageSize(100)
-                            .setPageToken(pageToken)
-                            .build();
-            final SearchVariantSetsResponse resp = client.variants.searchVariantSets(req);
-            pageToken = resp.getNextPageToken();
-            result.addAll(resp.getVariantSetsList());
-        } while (pageToken != null && !pageToken.equals(""));
-
-        return result;
+        return new LinkedList<>(fixture(client, "variantSets", () -> {
+            final List<VariantSet> result = new LinkedList<>();
+            String pageToken = "";
+            do {
+                final SearchVariantSetsRequest req =
+                        SearchVariantSetsRequest.newBuilder()
+                                .setDatasetId(TestData.getDatasetId())
+                                .setPageSize(100)
+                                .setPageToken(pageToken)
+                                .build();
+                final SearchVariantSetsResponse resp = client.variants.searchVariantSets(req);
+                pageToken = resp.getNextPageToken();
+                result.addAll(resp.getVariantSetsList());
+            } while (pageToken != null && !pageToken.equals(""));
+
+            return result;
+        }));
     }
 
     /**
@@ -445,21 +486,23 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static List<ReferenceSet> getAllReferenceSets(Client client) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-        final List<ReferenceSet> result = new LinkedList<>();
-        String pageToken = "";
-        do {
-            final SearchReferenceSetsRequest refSetsReq =
-                    SearchReferenceSetsRequest.newBuilder()
-                            .setPageSize(100)
-                            .setPageToken(pageToken)
-                            .build();
-            final SearchReferenceSetsResponse refSetsResp =
-                    client.references.searchReferenceSets(refSetsReq);
-            pageToken = refSetsResp.getNextPageToken();
-            result.addAll(refSetsResp.getReferenceSetsList());
-        } while (pageToken != null && !pageToken.equals(""));
-
-        return result;
+        return new LinkedList<>(fixture(client, "referenceSets", () -> {
+            final List<ReferenceSet> result = new LinkedList<>();
+            String pageToken = "";
+            do {
+                final SearchReferenceSetsRequest refSetsReq =
+                        SearchReferenceSetsRequest.newBuilder()
+                                .setPageSize(100)
+                                .setPageToken(pageToken)
+                                .build();
+                final SearchReferenceSetsResponse refSetsResp =
+                        client.references.searchReferenceSets(refSetsReq);
+                pageToken = refSetsResp.getNextPageToken();
+                result.addAll(refSetsResp.getReferenceSetsList());
+            } while (pageToken != null && !pageToken.equals(""));
+
+            return result;
+        }));
     }
 
     /**
@@ -527,19 +570,21 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static List<Dataset> getAllDatasets(Client client) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-        final List<Dataset> result = new LinkedList<>();
-        String pageToken = "";
-        do {
-            final SearchDatasetsRequest req =
-                    SearchDatasetsRequest.newBuilder()
-                            .setPageSize(100)
-                            .setPageToken(pageToken)
-                            .build();
-            final SearchDatasetsResponse resp = client.metadata.searchDatasets(req);
-            pageToken = resp.getNextPageToken();
-            result.addAll(resp.getDatasetsList());
-        } while (pageToken != null && !pageToken.equals(""));
-        return result;
+        return new LinkedList<>(fixture(client, "datasets", () -> {
+            final List<Dataset> result = new LinkedList<>();
+            String pageToken = "";
+            do {
+                final SearchDatasetsRequest req =
+                        SearchDatasetsRequest.newBuilder()
+                                .setPageSize(100)
+                                .setPageToken(pageToken)
+                                .build();
+                final SearchDatasetsResponse resp = client.metadata.searchDatasets(req);
+                pageToken = resp.getNextPageToken();
+                result.addAll(resp.getDatasetsList());
+            } while (pageToken != null && !pageToken.equals(""));
+            return result;
+        }));
     }
 
     /**
@@ -551,15 +596,17 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static String getRnaQuantificationId(Client client, String rnaQuantificationSetId) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-        final SearchRnaQuantificationsRequest req =
-                SearchRnaQuantificationsRequest.newBuilder()
-                        .setRnaQuantificationSetId(rnaQuantificationSetId)
-                        .build();
-        final SearchRnaQuantificationsResponse resp = client.rnaquantifications.searchRnaQuantification(req);
+        return fixture(client, "rnaQuantificationId", () -> {
+            final SearchRnaQuantificationsRequest req =
+                    SearchRnaQuantificationsRequest.newBuilder()
+                            .setRnaQuantificationSetId(rnaQuantificationSetId)
+                            .build();
+            final SearchRnaQuantificationsResponse resp = client.rnaquantifications.searchRnaQuantification(req);
 
-        final List<RnaQuantification> rnaQuantifications = resp.getRnaQuantificationsList();
-        assertThat(rnaQuantifications).isNotEmpty();
-        return rnaQuantifications.get(0).getId();
+            final List<RnaQuantification> rnaQuantifications = resp.getRnaQuantificationsList();
+            assertThat(rnaQuantifications).isNotEmpty();
+            return rnaQuantifications.get(0).getId();
+        }, rnaQuantificationSetId);
     }
 
     /**
@@ -571,14 +618,16 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static String getRnaQuantificationSetId(Client client) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-        final SearchRnaQuantificationSetsRequest req =
-                SearchRnaQuantificationSetsRequest.newBuilder()
-                        .setDatasetId(TestData.getDatasetId())
-                        .build();
-        final SearchRnaQuantificationSetsResponse resp = client.rnaquantifications.searchRnaQuantificationSets(req);
-        final List<RnaQuantificationSet> rnaQuantificationSets = resp.getRnaQuantificationSetsList();
-        assertThat(rnaQuantificationSets).isNotEmpty();
-        return rnaQuantificationSets.get(0).getId();
+        return fixture(client, "rnaQuantificationSetId", () -> {
+            final SearchRnaQuantificationSetsRequest req =
+                    SearchRnaQuantificationSetsRequest.newBuilder()
+                            .setDatasetId(TestData.getDatasetId())
+                            .build();
+            final SearchRnaQuantificationSetsResponse resp = client.rnaquantifications.searchRnaQuantificationSets(req);
+            final List<RnaQuantificationSet> rnaQuantificationSets = resp.getRnaQuantificationSetsList();
+            assertThat(rnaQuantificationSets).isNotEmpty();
+            return rnaQuantificationSets.get(0).getId();
+        });
     }
 
     /**
@@ -591,14 +640,16 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static String getExpressionLevelId(Client client, String rnaQuantificationId) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-        final SearchExpressionLevelsRequest req =
-                SearchExpressionLevelsRequest.newBuilder()
-                        .setRnaQuantificationId(rnaQuantificationId)
-                        .build();
-        final SearchExpressionLevelsResponse resp = client.rnaquantifications.searchExpressionLevel(req);
-        final List<ExpressionLevel> expressionLevels = resp.getExpressionLevelsList();
-        assertThat(expressionLevels).isNotEmpty();
-        return expressionLevels.get(0).getId();
+        return fixture(client, "expressionLevelId", () -> {
+            final SearchExpressionLevelsRequest req =
+                    SearchExpressionLevelsRequest.newBuilder()
+                            .setRnaQuantificationId(rnaQuantificationId)
+                            .build();
+            final SearchExpressionLevelsResponse resp = client.rnaquantifications.searchExpressionLevel(req);
+            final List<ExpressionLevel> expressionLevels = resp.getExpressionLevelsList();
+            assertThat(expressionLevels).isNotEmpty();
+            return expressionLevels.get(0).getId();
+        }, rnaQuantificationId);
     }
 
     /**
@@ -607,13 +658,14 @@ public class Utils {
      * If the enclosed code doesn't throw the expected {@link GAWrapperException}, this method calls
      * {@link org.assertj.core.api.StrictAssertions#fail(String)} to cause the enclosing test to fail
      * and log the stack trace.
+     * Since the exception is expected, it's thrown without a stack trace.
      * @param thisShouldThrow the {@link Callable} we're calling, which should throw {@link GAWrapperException}
      * @return the {@link Throwable} thrown in the execution of the {@link Callable}
      */
     public static GAWrapperException catchGAWrapperException(ThrowableAssert.ThrowingCallable
                                                                      thisShouldThrow) {
         final GAWrapperException maybeAnException =
-                (GAWrapperException)catchThrowable(thisShouldThrow);
+                (GAWrapperException)catchThrowable(() -> GAWrapperException.withoutStackTrace(thisShouldThrow::call));
         if (maybeAnException == null) {
             // we were expecting an exception and didn't get one.  log it as a failure.
             fail("Expected but did not receive GAWrapperException");
@@ -668,29 +720,31 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static List<VariantAnnotationSet> getAllVariantAnnotationSets(Client client) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-        // Get all compliance variant sets.
-        final List<VariantSet> variantSetsCompliance = getAllVariantSets(client);
+        return new LinkedList<>(fixture(client, "variantAnnotationSets", () -> {
+            // Get all compliance variant sets.
+            final List<VariantSet> variantSetsCompliance = getAllVariantSets(client);
 
-        //Check some sets are available.
-        assertThat(variantSetsCompliance).isNotEmpty();
+            //Check some sets are available.
+            assertThat(variantSetsCompliance).isNotEmpty();
 
-        // Build a list of VariantAnnotationSets.
-        final List<VariantAnnotationSet> result = new LinkedList<>();
+            // Build a list of VariantAnnotationSets.
+            final List<VariantAnnotationSet> result = new LinkedList<>();
 
-        // there may be multiple variantSets to check
-        for (final VariantSet variantSet : variantSetsCompliance) {
-            final SearchVariantAnnotationSetsRequest req =
-                    SearchVariantAnnotationSetsRequest.newBuilder()
-                            .setVariantSetId(variantSet.getId())
-                            .build();
+            // there may be multiple variantSets to check
+            for (final VariantSet variantSet : variantSetsCompliance) {
+                final SearchVariantAnnotationSetsRequest req =
+                        SearchVariantAnnotationSetsRequest.newBuilder()
+                                .setVariantSetId(variantSet.getId())
+                                .build();
 
-            final SearchVariantAnnotationSetsResponse resp = client.variantAnnotations.searchVariantAnnotationSets(req);
-            if (resp.getVariantAnnotationSetsList() != null) {
-                result.addAll(resp.getVariantAnnotationSetsList());
-            }
+                final SearchVariantAnnotationSetsResponse resp = client.variantAnnotations.searchVariantAnnotationSets(req);
+                if (resp.getVariantAnnotationSetsList() != null) {
+                    result.addAll(resp.getVariantAnnotationSetsList());
+                }
 
-        }
-        return result;
+            }
+            return result;
+        }));
     }
 
     /**
@@ -741,22 +795,23 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static List<FeatureSet> getAllFeatureSets(Client client) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-
-        final List<FeatureSet> result = new LinkedList<>();
-        String pageToken = "";
-        do {
-            final SearchFeatureSetsRequest req =
-                    SearchFeatureSetsRequest.newBuilder()
-                            .setDatasetId(TestData.getDatasetId())
-                            .setPageSize(100)
-                            .setPageToken(pageToken)
-                            .build();
-            final SearchFeatureSetsResponse resp = client.sequenceAnnotations.searchFeatureSets(req);
-            pageToken = resp.getNextPageToken();
-            result.addAll(resp.getFeatureSetsList());
-        } while (!pageToken.equals(""));
-
-        return result;
+        return new LinkedList<>(fixture(client, "featureSets", () -> {
+            final List<FeatureSet> result = new LinkedList<>();
+            String pageToken = "";
+            do {
+                final SearchFeatureSetsRequest req =
+                        SearchFeatureSetsRequest.newBuilder()
+                                .setDatasetId(TestData.getDatasetId())
+                                .setPageSize(100)
+                                .setPageToken(pageToken)
+                                .build();
+                final SearchFeatureSetsResponse resp = client.sequenceAnnotations.searchFeatureSets(req);
+                pageToken = resp.getNextPageToken();
+                result.addAll(resp.getFeatureSetsList());
+            } while (!pageToken.equals(""));
+
+            return result;
+        }));
     }
 
     /**
@@ -806,22 +861,23 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static List<ContinuousSet> getAllContinuousSets(Client client) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-
-        final List<ContinuousSet> result = new LinkedList<>();
-        String pageToken = "";
-        do {
-            final SearchContinuousSetsRequest req =
-                    SearchContinuousSetsRequest.newBuilder()
-                            .setDatasetId(TestData.getDatasetId())
-                            .setPageSize(100)
-                            .setPageToken(pageToken)
-                            .build();
-            final SearchContinuousSetsResponse resp = client.sequenceAnnotations.searchContinuousSets(req);
-            pageToken = resp.getNextPageToken();
-            result.addAll(resp.getContinuousSetsList());
-        } while (!pageToken.equals(""));
-
-        return result;
+        return new LinkedList<>(fixture(client, "continuousSets", () -> {
+            final List<ContinuousSet> result = new LinkedList<>();
+            String pageToken = "";
+            do {
+                final SearchContinuousSetsRequest req =
+                        SearchContinuousSetsRequest.newBuilder()
+                                .setDatasetId(TestData.getDatasetId())
+                                .setPageSize(100)
+                                .setPageToken(pageToken)
+                                .build();
+                final SearchContinuousSetsResponse resp = client.sequenceAnnotations.searchContinuousSets(req);
+                pageToken = resp.getNextPageToken();
+                result.addAll(resp.getContinuousSetsList());
+            } while (!pageToken.equals(""));
+
+            return result;
+        }));
     }
 
     /**
@@ -871,14 +927,16 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      */
     public static Biosample getBiosampleByName(Client client, String name) throws InvalidProtocolBufferException, UnirestException, GAWrapperException {
-        final SearchBiosamplesRequest req =
-                SearchBiosamplesRequest.newBuilder()
-                        .setDatasetId(TestData.getDatasetId())
-                        .setName(name)
-                        .build();
+        return fixture(client, "biosample", () -> {
+            final SearchBiosamplesRequest req =
+                    SearchBiosamplesRequest.newBuilder()
+                            .setDatasetId(TestData.getDatasetId())
+                            .setName(name)
+                            .build();
 
-        final SearchBiosamplesResponse resp = client.bioMetadata.searchBiosamples(req);
-        return (Biosample)resp.getBiosamplesList().get(0);
+            final SearchBiosamplesResponse resp = client.bioMetadata.searchBiosamples(req);
+            return (Biosample)resp.getBiosamplesList().get(0);
+        }, name);
     }
 
     /**
@@ -905,14 +963,16 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      **/
     public static String getPhenotypeAssociationSetId(Client client) throws  InvalidProtocolBufferException, UnirestException, GAWrapperException {
-        final SearchPhenotypeAssociationSetsRequest req =
-                SearchPhenotypeAssociationSetsRequest.newBuilder()
-                        .setDatasetId(getDatasetId(client))
-                        .build();
-        final SearchPhenotypeAssociationSetsResponse resp = client.genotypePhenotype.searchPhenotypeAssociationSets(req);
-        final List<PhenotypeAssociationSet> phenotypeAssociationSets = resp.getPhenotypeAssociationSetsList();
-        assertThat(phenotypeAssociationSets).isNotEmpty();
-        return phenotypeAssociationSets.get(0).getId();
+        return fixture(client, "phenotypeAssociationSetId", () -> {
+            final SearchPhenotypeAssociationSetsRequest req =
+                    SearchPhenotypeAssociationSetsRequest.newBuilder()
+                            .setDatasetId(getDatasetId(client))
+                            .build();
+            final SearchPhenotypeAssociationSetsResponse resp = client.genotypePhenotype.searchPhenotypeAssociationSets(req);
+            final List<PhenotypeAssociationSet> phenotypeAssociationSets = resp.getPhenotypeAssociationSetsList();
+            assertThat(phenotypeAssociationSets).isNotEmpty();
+            return phenotypeAssociationSets.get(0).getId();
+        });
     }
 
     /**
@@ -924,11 +984,13 @@ public class Utils {
      * @throws InvalidProtocolBufferException if there's a problem processing the JSON response from the server
      **/
     public static String getDatasetId(Client client) throws  InvalidProtocolBufferException, UnirestException, GAWrapperException  {
-        final SearchDatasetsRequest req =
-                SearchDatasetsRequest.newBuilder()
-                        .build();
-        final SearchDatasetsResponse resp = client.metadata.searchDatasets(req);
-        assertThat(resp.getDatasetsList()).isNotEmpty();
-        return resp.getDatasets(0).getId() ;
+        return fixture(client, "datasetId", () -> {
+            final SearchDatasetsRequest req =
+                    SearchDatasetsRequest.newBuilder()
+                            .build();
+            final SearchDatasetsResponse resp = client.metadata.searchDatasets(req);
+            assertThat(resp.getDatasetsList()).isNotEmpty();
+            return resp.getDatasets(0).getId() ;
+        });
     }
 }
@@ -1,11 +1,14 @@
 package org.ga4gh.cts.core;
 
 import org.ga4gh.ctk.testcategories.CoreTests;
+import org.ga4gh.ctk.transport.RunContext;
 import org.ga4gh.cts.api.TestData;
 import org.ga4gh.cts.api.Utils;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.util.Collections;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -18,6 +21,12 @@ public class DatasetIdPropertyIT {
 
     private static final String PROP_NAME = "ctk.tgt.dataset_id";
 
+    /**
+     * A {@link RunContext} with no settings of its own, so lookups fall through to the
+     * {@link System} properties even when the CTK runs this test with a dataset configured.
+     */
+    private static final RunContext NO_RUN = new RunContext(Collections.emptyMap());
+
     /**
      * Check that {@link TestData#getDatasetId()} returns the default dataset ID when
      * there's no overriding value in the Java {@link System} properties.
@@ -29,8 +38,8 @@ public class DatasetIdPropertyIT {
             System.clearProperty(PROP_NAME);
             assertThat(System.getProperty(PROP_NAME)).isNull();
 
-            // the real test:
-            assertThat(TestData.getDatasetId()).isEqualTo(TestData.DEFAULT_DATASET_ID);
+            // the real test, outside of the run's own context:
+            NO_RUN.run(() -> assertThat(TestData.getDatasetId()).isEqualTo(TestData.DEFAULT_DATASET_ID));
 
         } finally {
             // the system properties are a global resource, so clean up
@@ -55,8 +64,8 @@ public class DatasetIdPropertyIT {
             System.setProperty(PROP_NAME, madeUpId);
             assertThat(System.getProperty(PROP_NAME)).isEqualTo(madeUpId);
 
-            // the real test:
-            assertThat(TestData.getDatasetId()).isEqualTo(madeUpId);
+            // the real test, outside of the run's own context:
+            NO_RUN.run(() -> assertThat(TestData.getDatasetId()).isEqualTo(madeUpId));
 
         } finally {
             // the system properties are a global resource, so clean up
@@ -68,4 +77,15 @@ public class DatasetIdPropertyIT {
         }
     }
 
+    /**
+     * Check that {@link TestData#getDatasetId()} prefers the dataset ID of the
+     * {@link RunContext} it's running in over the Java {@link System} properties.
+     */
+    @Test
+    public void checkRunContextValue() {
+        final String madeUpId = Utils.randomId();
+        new RunContext(Collections.singletonMap(PROP_NAME, madeUpId))
+                .run(() -> assertThat(TestData.getDatasetId()).isEqualTo(madeUpId));
+    }
+
 }